@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.auth;
+
+import cn.hippo4j.auth.filter.JWTAuthorizationFilter;
+import cn.hippo4j.auth.security.JwtTokenManager;
+import cn.hippo4j.auth.security.TokenAuthenticationCache;
+import cn.hippo4j.auth.toolkit.JwtTokenUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static cn.hippo4j.common.constant.Constants.ACCESS_TOKEN;
+
+/**
+ * Average time of {@link JWTAuthorizationFilter} per request, with and without the cache of verified tokens.
+ * The requests of clients carry the access token as a parameter, the requests of console carry the token header.
+ * Each request picks one of {@code clientCount} tokens, all of them fit in the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthorizationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    @Param({"1000"})
+    public int clientCount;
+
+    private JWTAuthorizationFilter filter;
+
+    private MockHttpServletRequest[] accessTokenRequests;
+
+    private MockHttpServletRequest[] tokenHeaderRequests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtTokenManager tokenManager = new JwtTokenManager();
+        long tokenCacheSize = cached ? TokenAuthenticationCache.DEFAULT_MAXIMUM_SIZE : 0L;
+        filter = new JWTAuthorizationFilter(tokenManager, authentication -> authentication, tokenCacheSize);
+        accessTokenRequests = new MockHttpServletRequest[clientCount];
+        tokenHeaderRequests = new MockHttpServletRequest[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            accessTokenRequests[i] = new MockHttpServletRequest();
+            accessTokenRequests[i].setParameter(ACCESS_TOKEN, tokenManager.createToken("client-" + i));
+            tokenHeaderRequests[i] = new MockHttpServletRequest();
+            tokenHeaderRequests[i].addHeader(JwtTokenUtil.TOKEN_HEADER,
+                    JwtTokenUtil.TOKEN_PREFIX + JwtTokenUtil.createToken((long) i, "user-" + i, "ROLE_ADMIN", false));
+        }
+    }
+
+    @Benchmark
+    public Object accessToken() throws IOException, ServletException {
+        return doFilter(accessTokenRequests[ThreadLocalRandom.current().nextInt(clientCount)]);
+    }
+
+    @Benchmark
+    public Object tokenHeader() throws IOException, ServletException {
+        return doFilter(tokenHeaderRequests[ThreadLocalRandom.current().nextInt(clientCount)]);
+    }
+
+    private Object doFilter(MockHttpServletRequest request) throws IOException, ServletException {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthorizationFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.config;
+
+import cn.hippo4j.config.model.CacheItem;
+import cn.hippo4j.config.service.ConfigCacheService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ConfigCacheService#isUpdateData} checked by many long polling threads at the same time,
+ * compared with the map of maps guarded by a single monitor which was used before the cache was indexed.
+ * The cache is warmed up in the setup, so the config service is never called.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigCacheServiceBenchmark {
+
+    private static final String MD5 = "f5a3e4d1c2b7a8e9f0d1c2b3a4e5f6a7";
+
+    @State(Scope.Benchmark)
+    public static class CacheState {
+
+        @Param({"1000", "20000"})
+        public int instanceCount;
+
+        public String[] keys;
+
+        public String[] identifies;
+
+        public SynchronizedConfigCache synchronizedCache;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            keys = new String[instanceCount];
+            identifies = new String[instanceCount];
+            synchronizedCache = new SynchronizedConfigCache();
+            for (int i = 0; i < instanceCount; i++) {
+                identifies[i] = "127.0.0.1:" + (8000 + i % 1000) + "_" + i;
+                keys[i] = "message-produce-" + (i % 100) + "+dynamic-threadpool-example+prescription+" + identifies[i];
+                ConfigCacheService.makeSure(keys[i], identifies[i]).setMd5(MD5);
+                synchronizedCache.makeSure(keys[i], identifies[i]).setMd5(MD5);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean indexed1Thread(CacheState state) {
+        return indexed(state);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean indexed16Threads(CacheState state) {
+        return indexed(state);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean indexed64Threads(CacheState state) {
+        return indexed(state);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean synchronized1Thread(CacheState state) {
+        return synchronizedMap(state);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean synchronized16Threads(CacheState state) {
+        return synchronizedMap(state);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean synchronized64Threads(CacheState state) {
+        return synchronizedMap(state);
+    }
+
+    private static boolean indexed(CacheState state) {
+        int i = ThreadLocalRandom.current().nextInt(state.instanceCount);
+        return ConfigCacheService.isUpdateData(state.keys[i], MD5, state.identifies[i]);
+    }
+
+    private static boolean synchronizedMap(CacheState state) {
+        int i = ThreadLocalRandom.current().nextInt(state.instanceCount);
+        return state.synchronizedCache.isUpdateData(state.keys[i], MD5, state.identifies[i]);
+    }
+
+    /**
+     * Config cache checked under a single monitor, the same way as {@link ConfigCacheService} did before.
+     */
+    private static class SynchronizedConfigCache {
+
+        private final ConcurrentHashMap<String, Map<String, CacheItem>> cache = new ConcurrentHashMap<>();
+
+        boolean isUpdateData(String groupKey, String md5, String clientIdentify) {
+            return Objects.equals(getContentMd5IsNullPut(groupKey, clientIdentify), md5);
+        }
+
+        private synchronized String getContentMd5IsNullPut(String groupKey, String clientIdentify) {
+            Map<String, CacheItem> cacheItemMap = cache.getOrDefault(groupKey, new HashMap<>());
+            CacheItem cacheItem = cacheItemMap.get(clientIdentify);
+            return cacheItem != null ? cacheItem.getMd5() : null;
+        }
+
+        synchronized CacheItem makeSure(String groupKey, String ip) {
+            return cache.computeIfAbsent(groupKey, each -> new HashMap<>()).computeIfAbsent(ip, each -> new CacheItem(groupKey));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConfigCacheServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
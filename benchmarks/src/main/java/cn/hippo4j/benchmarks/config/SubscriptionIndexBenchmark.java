@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.config;
+
+import cn.hippo4j.config.toolkit.SubscriptionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to find the subscribers of a thread-pool through {@link SubscriptionIndex#getSubscribers},
+ * compared with scanning the keys of every subscriber, which was done before the subscriptions were indexed.
+ * Each subscriber listens to 3 of the thread-pools.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionIndexBenchmark {
+
+    private static final int POOL_COUNT = 100;
+
+    private static final int KEYS_PER_SUBSCRIBER = 3;
+
+    @State(Scope.Benchmark)
+    public static class IndexState {
+
+        @Param({"10000", "50000", "100000"})
+        public int subscriberCount;
+
+        public String[] groupKeys;
+
+        public SubscriptionIndex<Integer> index;
+
+        public Map<Integer, List<String>> subscriptions;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            groupKeys = new String[POOL_COUNT];
+            for (int i = 0; i < POOL_COUNT; i++) {
+                groupKeys[i] = "tp" + i + "+item+tenant";
+            }
+            index = new SubscriptionIndex<>();
+            subscriptions = new HashMap<>(subscriberCount);
+            for (int i = 0; i < subscriberCount; i++) {
+                List<String> keys = new ArrayList<>(KEYS_PER_SUBSCRIBER);
+                for (int j = 0; j < KEYS_PER_SUBSCRIBER; j++) {
+                    keys.add(groupKeys[(i + j) % POOL_COUNT] + "+127.0.0.1:" + i + "_id");
+                }
+                index.register(i, keys);
+                subscriptions.put(i, keys);
+            }
+        }
+    }
+
+    @Benchmark
+    public int indexed(IndexState state) {
+        String groupKey = state.groupKeys[ThreadLocalRandom.current().nextInt(POOL_COUNT)];
+        return state.index.getSubscribers(groupKey).size();
+    }
+
+    @Benchmark
+    public int linearScan(IndexState state) {
+        String groupKey = state.groupKeys[ThreadLocalRandom.current().nextInt(POOL_COUNT)];
+        int count = 0;
+        for (List<String> keys : state.subscriptions.values()) {
+            for (String key : keys) {
+                if (SubscriptionIndex.matches(key, groupKey)) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SubscriptionIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.executor;
+
+import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offer and poll throughput of the work queues of {@link BlockingQueueTypeEnum} at different numbers of producers and consumers.
+ * {@code SynchronousQueue} is left out, it has no capacity and non-blocking offers only succeed while a consumer is waiting.
+ * Unbounded queues are bounded by a counter of pending elements, so that the producers can not outrun the consumers without limit.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingQueueBenchmark {
+
+    /**
+     * Comparable, so it can be ordered by {@code PriorityBlockingQueue}
+     */
+    private static final Runnable TASK = new ComparableTask();
+
+    @State(Scope.Group)
+    public static class QueueState {
+
+        @Param({"ArrayBlockingQueue", "LinkedBlockingQueue", "LinkedBlockingDeque", "LinkedTransferQueue", "PriorityBlockingQueue",
+                "ResizableCapacityLinkedBlockingQueue", "ResizableMpmcArrayBlockingQueue"})
+        public String queueType;
+
+        @Param({"1024"})
+        public int capacity;
+
+        public BlockingQueue<Runnable> queue;
+
+        /**
+         * Pending elements of unbounded queues, null for bounded queues
+         */
+        public AtomicInteger pending;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            queue = BlockingQueueTypeEnum.createBlockingQueue(queueType, capacity);
+            pending = queue.remainingCapacity() == Integer.MAX_VALUE ? new AtomicInteger() : null;
+        }
+
+        boolean offer() {
+            if (pending != null && pending.incrementAndGet() > capacity) {
+                pending.decrementAndGet();
+                return false;
+            }
+            return queue.offer(TASK);
+        }
+
+        Runnable poll() {
+            Runnable result = queue.poll();
+            if (result != null && pending != null) {
+                pending.decrementAndGet();
+            }
+            return result;
+        }
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public boolean offer1P1C(QueueState state) {
+        return offer(state);
+    }
+
+    @Benchmark
+    @Group("p1c1")
+    @GroupThreads(1)
+    public void poll1P1C(QueueState state, Blackhole blackhole) {
+        blackhole.consume(state.poll());
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public boolean offer4P4C(QueueState state) {
+        return offer(state);
+    }
+
+    @Benchmark
+    @Group("p4c4")
+    @GroupThreads(4)
+    public void poll4P4C(QueueState state, Blackhole blackhole) {
+        blackhole.consume(state.poll());
+    }
+
+    @Benchmark
+    @Group("p8c2")
+    @GroupThreads(8)
+    public boolean offer8P2C(QueueState state) {
+        return offer(state);
+    }
+
+    @Benchmark
+    @Group("p8c2")
+    @GroupThreads(2)
+    public void poll8P2C(QueueState state, Blackhole blackhole) {
+        blackhole.consume(state.poll());
+    }
+
+    private static boolean offer(QueueState state) {
+        boolean offered = state.offer();
+        if (!offered) {
+            // queue is full, let the consumers catch up
+            Thread.yield();
+        }
+        return offered;
+    }
+
+    private static final class ComparableTask implements Runnable, Comparable<ComparableTask> {
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public int compareTo(ComparableTask other) {
+            return 0;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BlockingQueueBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.executor;
+
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
+import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submit cost of {@link ExtensibleThreadPoolExecutor} with no plugin and with several no-op plugins,
+ * the end-to-end throughput of batches, and the latency distribution of a single {@code execute}.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorSubmitBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private static final Runnable TASK = () -> {
+    };
+
+    @State(Scope.Benchmark)
+    public static class ExecutorState {
+
+        @Param({"0", "1", "4", "8"})
+        public int pluginCount;
+
+        public ExtensibleThreadPoolExecutor executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = new ExtensibleThreadPoolExecutor(
+                    "benchmark", new DefaultThreadPoolPluginManager(), POOL_SIZE, POOL_SIZE, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), Thread::new, new ThreadPoolExecutor.AbortPolicy());
+            executor.prestartAllCoreThreads();
+            for (int i = 0; i < pluginCount; i++) {
+                executor.register(new NoopPlugin("noop-" + i));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(1)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void batch1Thread(ExecutorState state) throws InterruptedException {
+        submitBatch(state.executor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(8)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void batch8Threads(ExecutorState state) throws InterruptedException {
+        submitBatch(state.executor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(1)
+    public void execute(ExecutorState state) {
+        state.executor.execute(TASK);
+    }
+
+    private static void submitBatch(ThreadPoolExecutor executor) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            executor.execute(latch::countDown);
+        }
+        latch.await();
+    }
+
+    /**
+     * Plugin which is called on every task but does nothing.
+     */
+    private static class NoopPlugin implements TaskAwarePlugin, ExecuteAwarePlugin {
+
+        private final String id;
+
+        NoopPlugin(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public Runnable beforeTaskExecute(Runnable runnable) {
+            return runnable;
+        }
+
+        @Override
+        public void beforeExecute(Thread thread, Runnable runnable) {
+        }
+
+        @Override
+        public void afterExecute(Runnable runnable, Throwable throwable) {
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExecutorSubmitBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.executor;
+
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import cn.hippo4j.core.executor.support.TaskQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of a burst of I/O like tasks submitted to a pool with the standard queue-first behaviour,
+ * and to the fast pool which starts threads up to the maximum pool size before queuing tasks.
+ * Run with {@link Mode#SampleTime}, so the p99 of the burst completion time is reported.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FastPoolBurstLatencyBenchmark {
+
+    private static final int CORE_POOL_SIZE = 4;
+
+    private static final int MAXIMUM_POOL_SIZE = 64;
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    @State(Scope.Benchmark)
+    public static class ExecutorState {
+
+        @Param({"QUEUE_FIRST", "FAST_POOL"})
+        public String executorType;
+
+        @Param({"16", "64"})
+        public int burstSize;
+
+        @Param({"100"})
+        public long taskMicros;
+
+        public ThreadPoolExecutor executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = new ExtensibleThreadPoolExecutor(
+                    "benchmark", new DefaultThreadPoolPluginManager(),
+                    CORE_POOL_SIZE, MAXIMUM_POOL_SIZE, 60L, TimeUnit.SECONDS,
+                    "FAST_POOL".equals(executorType) ? new TaskQueue(QUEUE_CAPACITY) : new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                    Thread::new, new ThreadPoolExecutor.AbortPolicy());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void burst(ExecutorState state) throws InterruptedException {
+        int burstSize = state.burstSize;
+        long taskNanos = TimeUnit.MICROSECONDS.toNanos(state.taskMicros);
+        CountDownLatch latch = new CountDownLatch(burstSize);
+        for (int i = 0; i < burstSize; i++) {
+            state.executor.execute(() -> {
+                LockSupport.parkNanos(taskNanos);
+                latch.countDown();
+            });
+        }
+        latch.await();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FastPoolBurstLatencyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
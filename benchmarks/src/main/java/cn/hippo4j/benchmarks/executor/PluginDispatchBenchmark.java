@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.executor;
+
+import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginRegistrar;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginManager;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSupport;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submit throughput of a bare {@link ThreadPoolExecutor}, the list based plugin dispatch
+ * used before the plugin snapshot was introduced, and {@link DynamicThreadPoolExecutor}
+ * which dispatches plugins through the lock-free snapshot.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PluginDispatchBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    @State(Scope.Benchmark)
+    public static class ExecutorState {
+
+        @Param({"THREAD_POOL_EXECUTOR", "LIST_DISPATCH", "SNAPSHOT_DISPATCH"})
+        public String executorType;
+
+        public ThreadPoolExecutor executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            switch (executorType) {
+                case "THREAD_POOL_EXECUTOR":
+                    executor = new ThreadPoolExecutor(
+                            POOL_SIZE, POOL_SIZE, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+                    break;
+                case "LIST_DISPATCH":
+                    ListDispatchThreadPoolExecutor listDispatchExecutor = new ListDispatchThreadPoolExecutor(POOL_SIZE);
+                    new DefaultThreadPoolPluginRegistrar(0L, 0L).doRegister(listDispatchExecutor);
+                    executor = listDispatchExecutor;
+                    break;
+                default:
+                    executor = new DynamicThreadPoolExecutor(
+                            POOL_SIZE, POOL_SIZE, 60L, TimeUnit.SECONDS, 0L, false, 0L,
+                            new LinkedBlockingQueue<>(), "benchmark", Thread::new, new ThreadPoolExecutor.AbortPolicy());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void submit1Thread(ExecutorState state) throws InterruptedException {
+        submitBatch(state.executor);
+    }
+
+    @Benchmark
+    @Threads(8)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void submit8Threads(ExecutorState state) throws InterruptedException {
+        submitBatch(state.executor);
+    }
+
+    @Benchmark
+    @Threads(64)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void submit64Threads(ExecutorState state) throws InterruptedException {
+        submitBatch(state.executor);
+    }
+
+    private static void submitBatch(ThreadPoolExecutor executor) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            executor.execute(latch::countDown);
+        }
+        latch.await();
+    }
+
+    /**
+     * Thread-pool which dispatches plugins through the plugin lists of the manager,
+     * the same way as {@link cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor} did before.
+     */
+    private static class ListDispatchThreadPoolExecutor extends ThreadPoolExecutor implements ThreadPoolPluginSupport {
+
+        @Getter
+        private final ThreadPoolPluginManager threadPoolPluginManager =
+                new DefaultThreadPoolPluginManager().setPluginComparator(AnnotationAwareOrderComparator.INSTANCE);
+
+        ListDispatchThreadPoolExecutor(int poolSize) {
+            super(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        }
+
+        @Override
+        public void execute(Runnable runnable) {
+            for (TaskAwarePlugin taskAwarePlugin : threadPoolPluginManager.getTaskAwarePluginList()) {
+                runnable = taskAwarePlugin.beforeTaskExecute(runnable);
+                if (Objects.isNull(runnable)) {
+                    return;
+                }
+            }
+            super.execute(runnable);
+        }
+
+        @Override
+        protected void beforeExecute(Thread thread, Runnable runnable) {
+            threadPoolPluginManager.getExecuteAwarePluginList().forEach(aware -> aware.beforeExecute(thread, runnable));
+        }
+
+        @Override
+        protected void afterExecute(Runnable runnable, Throwable throwable) {
+            threadPoolPluginManager.getExecuteAwarePluginList().forEach(aware -> aware.afterExecute(runnable, throwable));
+        }
+
+        @Override
+        public String getThreadPoolId() {
+            return "benchmark";
+        }
+
+        @Override
+        public ThreadPoolExecutor getThreadPoolExecutor() {
+            return this;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PluginDispatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
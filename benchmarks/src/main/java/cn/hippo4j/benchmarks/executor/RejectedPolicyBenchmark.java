@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.executor;
+
+import cn.hippo4j.common.executor.support.RejectedPolicyTypeEnum;
+import cn.hippo4j.common.executor.support.RunsOldestTaskPolicy;
+import cn.hippo4j.common.executor.support.SyncPutQueuePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submit latency of a saturated thread-pool with each {@link RejectedPolicyTypeEnum},
+ * {@link RunsOldestTaskPolicy} and {@link SyncPutQueuePolicy} against the JDK policies.
+ * Submitters outnumber the workers and the queue is small, so most of the submits are rejected.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectedPolicyBenchmark {
+
+    private static final int POOL_SIZE = 2;
+
+    private static final int QUEUE_CAPACITY = 16;
+
+    private static final int TASK_TOKENS = 200;
+
+    private static final Runnable TASK = () -> Blackhole.consumeCPU(TASK_TOKENS);
+
+    @State(Scope.Benchmark)
+    public static class ExecutorState {
+
+        @Param({"CallerRunsPolicy", "AbortPolicy", "DiscardPolicy", "DiscardOldestPolicy", "RunsOldestTaskPolicy", "SyncPutQueuePolicy"})
+        public String policy;
+
+        public ThreadPoolExecutor executor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY), Thread::new, RejectedPolicyTypeEnum.createPolicy(policy));
+            executor.prestartAllCoreThreads();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void execute(ExecutorState state) {
+        try {
+            state.executor.execute(TASK);
+        } catch (RejectedExecutionException ignored) {
+            // expected for AbortPolicy
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RejectedPolicyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.monitor;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.toolkit.MessageConvert;
+import cn.hippo4j.rpc.coder.ObjectEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of converting a batch of runtime messages by {@link MessageConvert},
+ * and of encoding the converted {@link MessageWrapper} by the rpc {@link ObjectEncoder}.
+ * The encoded bytes are reported as the secondary result {@code encodedBytes},
+ * divide it by the primary result to get the bytes per batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageEncodeBenchmark {
+
+    private RuntimeMessage batch;
+
+    private MessageWrapper wrapper;
+
+    private EmbeddedChannel channel;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EncodedBytes {
+
+        public long encodedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            encodedBytes = 0L;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        batch = RuntimeMessageCodecBenchmark.newBatches().get(0);
+        wrapper = MessageConvert.convert(batch);
+        channel = new EmbeddedChannel(new ObjectEncoder());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public MessageWrapper convertToWrapper() {
+        return MessageConvert.convert(batch);
+    }
+
+    @Benchmark
+    public Message convertFromWrapper() {
+        return MessageConvert.convert(wrapper);
+    }
+
+    @Benchmark
+    public int encodeWrapper(EncodedBytes counter) {
+        channel.writeOutbound(wrapper);
+        ByteBuf encoded = channel.readOutbound();
+        int length = encoded.readableBytes();
+        encoded.release();
+        counter.encodedBytes += length;
+        return length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MessageEncodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
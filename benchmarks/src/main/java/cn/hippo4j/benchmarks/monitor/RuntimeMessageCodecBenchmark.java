@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.monitor;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageCodec;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageDecoder;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageEncoder;
+import cn.hippo4j.common.toolkit.MessageConvert;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per sample of encoding and decoding a batch of runtime messages, in nanoseconds,
+ * java serialization of {@link MessageWrapper} used by the legacy netty protocol versus the binary codec.
+ * The binary decoder is stateful, so each decode replays the frames of a connection from the beginning.
+ * Bytes per sample are printed by {@link #main}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RuntimeMessageCodecBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final int BATCH_COUNT = 10;
+
+    private static final int SAMPLE_COUNT = BATCH_SIZE * BATCH_COUNT;
+
+    private List<RuntimeMessage> batches;
+
+    private List<byte[]> serializedFrames;
+
+    private List<byte[]> binaryFrames;
+
+    private List<byte[]> compressedFrames;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        batches = newBatches();
+        serializedFrames = new ArrayList<>(BATCH_COUNT);
+        for (RuntimeMessage each : batches) {
+            serializedFrames.add(serialize(each));
+        }
+        binaryFrames = encode(batches, RuntimeMessageCodec.COMPRESSION_NONE);
+        compressedFrames = encode(batches, RuntimeMessageCodec.COMPRESSION_DEFLATE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public int encodeSerialized() throws IOException {
+        int length = 0;
+        for (RuntimeMessage each : batches) {
+            length += serialize(each).length;
+        }
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public int encodeBinary() {
+        return totalLength(encode(batches, RuntimeMessageCodec.COMPRESSION_NONE));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public int encodeBinaryCompressed() {
+        return totalLength(encode(batches, RuntimeMessageCodec.COMPRESSION_DEFLATE));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public int decodeSerialized() throws IOException, ClassNotFoundException {
+        int count = 0;
+        for (byte[] each : serializedFrames) {
+            try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(each))) {
+                count += MessageConvert.convert((MessageWrapper) inputStream.readObject()).getMessages().size();
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public int decodeBinary() {
+        return decode(binaryFrames);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_COUNT)
+    public int decodeBinaryCompressed() {
+        return decode(compressedFrames);
+    }
+
+    private static byte[] serialize(RuntimeMessage batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+            outputStream.writeObject(MessageConvert.convert(batch));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<byte[]> encode(List<RuntimeMessage> batches, int compression) {
+        RuntimeMessageEncoder encoder = new RuntimeMessageEncoder();
+        encoder.setCompression(compression);
+        List<byte[]> frames = new ArrayList<>(batches.size());
+        for (RuntimeMessage each : batches) {
+            frames.add(encoder.encode(each));
+        }
+        encoder.close();
+        return frames;
+    }
+
+    private static int decode(List<byte[]> frames) {
+        RuntimeMessageDecoder decoder = new RuntimeMessageDecoder();
+        int count = 0;
+        for (byte[] each : frames) {
+            count += decoder.decode(each).getMessages().size();
+        }
+        decoder.close();
+        return count;
+    }
+
+    private static int totalLength(List<byte[]> frames) {
+        int length = 0;
+        for (byte[] each : frames) {
+            length += each.length;
+        }
+        return length;
+    }
+
+    static List<RuntimeMessage> newBatches() {
+        List<RuntimeMessage> batches = new ArrayList<>(BATCH_COUNT);
+        long timestamp = System.currentTimeMillis();
+        for (int round = 0; round < BATCH_COUNT; round++) {
+            List<Message> samples = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                RuntimeMessage sample = new RuntimeMessage();
+                sample.setGroupKey("message-produce-" + i + "+dynamic-threadpool-example+prescription+127.0.0.1:8088_" + i);
+                sample.setCurrentLoad(String.valueOf((round + i) % 100));
+                sample.setPeakLoad(String.valueOf((round + i) % 100 + 10));
+                sample.setPoolSize(8);
+                sample.setLargestPoolSize(16);
+                sample.setActiveSize(String.valueOf((round + i) % 8));
+                sample.setQueueCapacity(1024);
+                sample.setQueueSize((round * 7 + i) % 1024);
+                sample.setQueueRemainingCapacity(String.valueOf(1024 - (round * 7 + i) % 1024));
+                sample.setCompletedTaskCount(1000000L + round * 500L + i);
+                sample.setRejectCount(round);
+                sample.setQueueWaitTimeP50(20000L + round * 10L);
+                sample.setQueueWaitTimeP90(80000L + round * 10L);
+                sample.setQueueWaitTimeP99(300000L + round * 100L);
+                sample.setQueueWaitTimeP999(900000L + round * 100L);
+                sample.setTimestamp(timestamp + round * 5000L);
+                samples.add(sample);
+            }
+            RuntimeMessage batch = new RuntimeMessage();
+            batch.setMessageType(MessageTypeEnum.RUNTIME);
+            batch.setMessages(samples);
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        RuntimeMessageCodecBenchmark benchmark = new RuntimeMessageCodecBenchmark();
+        benchmark.setUp();
+        System.out.printf("Bytes per sample, serialized: %.1f, binary: %.1f, binary compressed: %.1f%n",
+                totalLength(benchmark.serializedFrames) / (double) SAMPLE_COUNT,
+                totalLength(benchmark.binaryFrames) / (double) SAMPLE_COUNT,
+                totalLength(benchmark.compressedFrames) / (double) SAMPLE_COUNT);
+        new Runner(new OptionsBuilder().include(RuntimeMessageCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
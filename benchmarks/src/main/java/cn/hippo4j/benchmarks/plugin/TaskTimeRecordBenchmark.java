@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.plugin;
+
+import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskExecuteTimeHistogramPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskTimeRecordPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording overhead per task of the task time plugins, in nanoseconds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskTimeRecordBenchmark {
+
+    private static final Runnable TASK = () -> {
+    };
+
+    @State(Scope.Benchmark)
+    public static class PluginState {
+
+        @Param({"TASK_TIME_RECORD", "TASK_EXECUTE_TIME_HISTOGRAM"})
+        public String pluginType;
+
+        public ExecuteAwarePlugin plugin;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            plugin = "TASK_TIME_RECORD".equals(pluginType)
+                    ? new TaskTimeRecordPlugin(Runtime.getRuntime().availableProcessors())
+                    : new TaskExecuteTimeHistogramPlugin();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void record1Thread(PluginState state) {
+        record(state.plugin);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void record8Threads(PluginState state) {
+        record(state.plugin);
+    }
+
+    private static void record(ExecuteAwarePlugin plugin) {
+        Thread thread = Thread.currentThread();
+        plugin.beforeExecute(thread, TASK);
+        plugin.afterExecute(TASK, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TaskTimeRecordBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.benchmarks.toolkit;
+
+import cn.hippo4j.common.model.ManyThreadPoolRunStateInfo;
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.toolkit.BeanUtil;
+import cn.hippo4j.common.toolkit.ThreadPoolRunStateInfoConvert;
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per conversion of thread-pool run state info, in nanoseconds.
+ * Run with {@code -prof gc} to compare the allocation per conversion.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BeanConvertBenchmark {
+
+    private Mapper dozerMapper;
+
+    private ThreadPoolRunStateInfo source;
+
+    private ThreadPoolRunStateInfo cached;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dozerMapper = DozerBeanMapperBuilder.buildDefault();
+        source = ThreadPoolRunStateInfo.builder()
+                .currentLoad("30")
+                .peakLoad("50")
+                .tpId("message-produce")
+                .poolSize(5)
+                .activeSize(3)
+                .largestPoolSize(6)
+                .queueSize(10)
+                .queueRemainingCapacity(90)
+                .completedTaskCount(1000L)
+                .rejectCount(7L)
+                .host("127.0.0.1")
+                .memoryProportion("10%")
+                .freeMemory("1G")
+                .clientLastRefreshTime("2023-01-01 00:00:00")
+                .timestamp(System.currentTimeMillis())
+                .build();
+        source.setCoreSize(5);
+        source.setMaximumSize(10);
+        source.setQueueType("ResizableCapacityLinkedBlockingQueue");
+        source.setQueueCapacity(100);
+        source.setRejectedName("AbortPolicy");
+        cached = new ThreadPoolRunStateInfo();
+    }
+
+    @Benchmark
+    public RuntimeMessage toRuntimeMessageDozer() {
+        return dozerMapper.map(source, RuntimeMessage.class);
+    }
+
+    @Benchmark
+    public RuntimeMessage toRuntimeMessageBeanUtil() {
+        return BeanUtil.convert(source, RuntimeMessage.class);
+    }
+
+    @Benchmark
+    public RuntimeMessage toRuntimeMessageHandWritten() {
+        return ThreadPoolRunStateInfoConvert.toRuntimeMessage(source);
+    }
+
+    @Benchmark
+    public ManyThreadPoolRunStateInfo toManyThreadPoolRunStateInfoDozer() {
+        return dozerMapper.map(source, ManyThreadPoolRunStateInfo.class);
+    }
+
+    @Benchmark
+    public ManyThreadPoolRunStateInfo toManyThreadPoolRunStateInfoHandWritten() {
+        return ThreadPoolRunStateInfoConvert.toManyThreadPoolRunStateInfo(source);
+    }
+
+    @Benchmark
+    public ThreadPoolRunStateInfo copyToCachedDozer() {
+        dozerMapper.map(source, cached);
+        return cached;
+    }
+
+    @Benchmark
+    public ThreadPoolRunStateInfo copyToCachedHandWritten() {
+        return ThreadPoolRunStateInfoConvert.copy(source, cached);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BeanConvertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
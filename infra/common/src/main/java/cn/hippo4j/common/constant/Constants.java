@@ -66,6 +66,8 @@ public class Constants {
 
     public static final String LISTENER_PATH = CONFIG_CONTROLLER_PATH + "/listener";
 
+    public static final String BATCH_CONFIG_PATH = CONFIG_CONTROLLER_PATH + "/batch";
+
     public static final String VERIFY_PATH = CONFIG_CONTROLLER_PATH + "/verify";
 
     public static final String MONITOR_PATH = BASE_PATH + "/monitor";
@@ -78,6 +80,8 @@ public class Constants {
 
     public static final String HEALTH_CHECK_PATH = BASE_PATH + "/health/check";
 
+    public static final String CLUSTER_MEMBERS_PATH = BASE_PATH + "/cluster/members";
+
     public static final String PROBE_MODIFY_REQUEST = "Listening-Configs";
 
     public static final String LONG_PULLING_TIMEOUT = "Long-Pulling-Timeout";
@@ -86,6 +90,8 @@ public class Constants {
 
     public static final String LONG_PULLING_CLIENT_IDENTIFICATION = "Long-Pulling-Client-Identification";
 
+    public static final String LONG_PULLING_INLINE_CONFIGS = "Long-Pulling-Inline-Configs";
+
     public static final String LISTENING_CONFIGS = "Listening-Configs";
 
     public static final String WEIGHT_CONFIGS = "Weight-Configs";
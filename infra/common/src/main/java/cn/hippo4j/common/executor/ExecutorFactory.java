@@ -17,6 +17,7 @@
 
 package cn.hippo4j.common.executor;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -40,5 +41,11 @@ public class ExecutorFactory {
             THREAD_POOL_MANAGER.register(DEFAULT_NAMESPACE, group, executorService);
             return executorService;
         }
+
+        public static ExecutorService newFixedExecutorService(String group, int nThreads, ThreadFactory threadFactory) {
+            ExecutorService executorService = Executors.newFixedThreadPool(nThreads, threadFactory);
+            THREAD_POOL_MANAGER.register(DEFAULT_NAMESPACE, group, executorService);
+            return executorService;
+        }
     }
 }
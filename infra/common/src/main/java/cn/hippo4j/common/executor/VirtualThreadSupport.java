@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>Access to the virtual threads of JDK 21 and later. <br />
+ * The API is looked up reflectively once, so the class can be loaded and compiled on JDK 8,
+ * and {@link #isSupported()} returns false when virtual threads are not available.
+ */
+public final class VirtualThreadSupport {
+
+    /**
+     * Factory of unnamed virtual threads, null if virtual threads are not supported
+     */
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+    private VirtualThreadSupport() {
+    }
+
+    /**
+     * Whether virtual threads are supported by the current JVM.
+     *
+     * @return true if virtual threads are supported
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * Get the factory of unnamed virtual threads, which is safe for use by multiple threads.
+     * The name can be given by {@link ThreadFactoryBuilder#threadFactory}, but virtual threads are always daemon,
+     * so the daemon flag must not be set.
+     *
+     * @return virtual thread factory
+     * @throws UnsupportedOperationException if virtual threads are not supported
+     */
+    public static ThreadFactory threadFactory() {
+        if (VIRTUAL_THREAD_FACTORY == null) {
+            throw new UnsupportedOperationException(
+                    String.format("Virtual threads require JDK 21 or later, current java version: %s", System.getProperty("java.version")));
+        }
+        return VIRTUAL_THREAD_FACTORY;
+    }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            // JDK before 21, or preview features are not enabled on JDK 19 and 20
+            return null;
+        }
+    }
+}
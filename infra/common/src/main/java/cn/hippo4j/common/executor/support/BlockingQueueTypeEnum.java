@@ -149,6 +149,22 @@ public enum BlockingQueueTypeEnum {
         <T> BlockingQueue<T> of() {
             return new ResizableCapacityLinkedBlockingQueue<>();
         }
+    },
+
+    /**
+     * {@link ResizableMpmcArrayBlockingQueue}
+     */
+    RESIZABLE_MPMC_ARRAY_BLOCKING_QUEUE(10, "ResizableMpmcArrayBlockingQueue") {
+
+        @Override
+        <T> BlockingQueue<T> of(Integer capacity) {
+            return new ResizableMpmcArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        <T> BlockingQueue<T> of() {
+            return new ResizableMpmcArrayBlockingQueue<>(DEFAULT_CAPACITY);
+        }
     };
 
     @Getter
@@ -304,6 +320,18 @@ public enum BlockingQueueTypeEnum {
                 .orElse("");
     }
 
+    /**
+     * Whether the capacity of the queue with the given {@link BlockingQueueTypeEnum#type BlockingQueueTypeEnum.type}
+     * can be changed at runtime.
+     *
+     * @param type {@link BlockingQueueTypeEnum#type BlockingQueueTypeEnum.type}
+     * @return true if the queue implements {@link ResizableCapacityQueue}
+     */
+    public static boolean isResizable(Integer type) {
+        return Objects.equals(RESIZABLE_LINKED_BLOCKING_QUEUE.type, type)
+                || Objects.equals(RESIZABLE_MPMC_ARRAY_BLOCKING_QUEUE.type, type);
+    }
+
     /**
      * find {@link BlockingQueueTypeEnum} by {@link BlockingQueueTypeEnum#name BlockingQueueTypeEnum.name }
      * or {@link BlockingQueueTypeEnum#LINKED_BLOCKING_QUEUE} if can't mapping.
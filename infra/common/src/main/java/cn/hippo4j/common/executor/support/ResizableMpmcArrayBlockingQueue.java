@@ -0,0 +1,664 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Bounded multi-producer multi-consumer blocking queue based on ring buffers,
+ * whose capacity can be changed while it is in use. <br />
+ * Elements are stored in a ring buffer whose length is a power of two, each slot has a sequence number
+ * which tells producers and consumers whether the slot is free or filled,
+ * so {@link #offer} and {@link #poll} only compare-and-set the padded producer or consumer index,
+ * and nothing is allocated for each element.
+ *
+ * <p>Growing beyond the length of the current ring buffer appends a larger ring buffer:
+ * the current one is sealed so that producers move on to the new one,
+ * and consumers move on after the sealed one has been drained, so the FIFO order is kept.
+ * Shrinking only lowers the soft limit checked by producers, the ring buffer is kept.
+ * Concurrent producers may exceed the soft limit slightly, but never the length of the ring buffer.
+ *
+ * <p>Threads blocked in {@link #take}, {@link #put} and the timed variants are parked on conditions,
+ * the lock of the conditions is taken by producers and consumers only when there are blocked threads.
+ * The iterator is weakly consistent, elements removed by {@link #remove(Object)} or the iterator
+ * are skipped by consumers but still counted by {@link #size()} until then.
+ *
+ * @param <E> the type of elements held in this queue
+ */
+public class ResizableMpmcArrayBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E>, ResizableCapacityQueue {
+
+    /**
+     * Max capacity of queue
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Min length of ring buffer
+     */
+    private static final int MIN_RING_LENGTH = 2;
+
+    private static final AtomicReferenceFieldUpdater<ResizableMpmcArrayBlockingQueue, Ring> CONSUMER_RING_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(ResizableMpmcArrayBlockingQueue.class, Ring.class, "consumerRing");
+
+    /**
+     * Soft limit of the number of elements
+     */
+    private volatile int capacity;
+
+    /**
+     * Ring buffer which producers put elements into
+     */
+    private volatile Ring<E> producerRing;
+
+    /**
+     * Ring buffer which consumers take elements from, it's before or the same as {@link #producerRing}
+     */
+    private volatile Ring<E> consumerRing;
+
+    /**
+     * Lock held while resizing
+     */
+    private final Object resizeLock = new Object();
+
+    /**
+     * Lock of the conditions which blocked threads wait on
+     */
+    private final ReentrantLock waitLock = new ReentrantLock();
+
+    /**
+     * Wait queue for waiting takes
+     */
+    private final Condition notEmpty = waitLock.newCondition();
+
+    /**
+     * Wait queue for waiting puts
+     */
+    private final Condition notFull = waitLock.newCondition();
+
+    /**
+     * Number of threads blocked in take
+     */
+    private final AtomicInteger waitingTakers = new AtomicInteger();
+
+    /**
+     * Number of threads blocked in put
+     */
+    private final AtomicInteger waitingPutters = new AtomicInteger();
+
+    /**
+     * Creates a {@code ResizableMpmcArrayBlockingQueue} with the given capacity.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity} is not greater than zero or greater than {@link #MAX_CAPACITY}
+     */
+    public ResizableMpmcArrayBlockingQueue(int capacity) {
+        checkCapacity(capacity);
+        this.capacity = capacity;
+        Ring<E> ring = new Ring<>(ringLength(capacity));
+        this.producerRing = ring;
+        this.consumerRing = ring;
+    }
+
+    /**
+     * Set a new capacity for the queue. Increasing the capacity can
+     * cause any waiting {@link #put(Object)} invocations to succeed.
+     *
+     * @param capacity the new capacity for the queue
+     * @throws IllegalArgumentException if {@code capacity} is not greater than zero or greater than {@link #MAX_CAPACITY}
+     */
+    @Override
+    public void setCapacity(int capacity) {
+        checkCapacity(capacity);
+        synchronized (resizeLock) {
+            Ring<E> ring = producerRing;
+            if (capacity > ring.length()) {
+                Ring<E> next = new Ring<>(ringLength(capacity));
+                // link before sealing, producers who see the sealed ring move on to the next one
+                ring.next = next;
+                ring.seal();
+                producerRing = next;
+            }
+            this.capacity = capacity;
+        }
+        if (waitingPutters.get() > 0) {
+            waitLock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Get the capacity of queue.
+     *
+     * @return capacity of queue
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (!doOffer(e)) {
+            return false;
+        }
+        signalNotEmpty();
+        return true;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (doOffer(e)) {
+            signalNotEmpty();
+            return;
+        }
+        waitLock.lockInterruptibly();
+        try {
+            waitingPutters.incrementAndGet();
+            try {
+                while (!doOffer(e)) {
+                    notFull.await();
+                }
+            } finally {
+                waitingPutters.decrementAndGet();
+            }
+        } finally {
+            waitLock.unlock();
+        }
+        signalNotEmpty();
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (doOffer(e)) {
+            signalNotEmpty();
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        waitLock.lockInterruptibly();
+        try {
+            waitingPutters.incrementAndGet();
+            try {
+                while (!doOffer(e)) {
+                    if (nanos <= 0L) {
+                        return false;
+                    }
+                    nanos = notFull.awaitNanos(nanos);
+                }
+            } finally {
+                waitingPutters.decrementAndGet();
+            }
+        } finally {
+            waitLock.unlock();
+        }
+        signalNotEmpty();
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        E e = doPoll();
+        if (e != null) {
+            signalNotFull();
+        }
+        return e;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e = doPoll();
+        if (e == null) {
+            waitLock.lockInterruptibly();
+            try {
+                waitingTakers.incrementAndGet();
+                try {
+                    while ((e = doPoll()) == null) {
+                        notEmpty.await();
+                    }
+                } finally {
+                    waitingTakers.decrementAndGet();
+                }
+                cascadeNotEmpty();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalNotFull();
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = doPoll();
+        if (e == null) {
+            long nanos = unit.toNanos(timeout);
+            waitLock.lockInterruptibly();
+            try {
+                waitingTakers.incrementAndGet();
+                try {
+                    while ((e = doPoll()) == null) {
+                        if (nanos <= 0L) {
+                            return null;
+                        }
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                } finally {
+                    waitingTakers.decrementAndGet();
+                }
+                cascadeNotEmpty();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalNotFull();
+        return e;
+    }
+
+    @Override
+    public E peek() {
+        for (Ring<E> ring = consumerRing; ring != null; ring = ring.next) {
+            E e = ring.peek();
+            if (e != null) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        long size = 0L;
+        for (Ring<E> ring = consumerRing; ring != null; ring = ring.next) {
+            size += ring.size();
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(capacity - size(), 0);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (Ring<E> ring = consumerRing; ring != null; ring = ring.next) {
+            if (ring.remove(o, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = doPoll()) != null) {
+            c.add(e);
+            n++;
+        }
+        if (n > 0) {
+            signalNotFull();
+        }
+        return n;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this queue,
+     * the elements are taken as a snapshot when the iterator is created.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    @Override
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<>();
+        for (Ring<E> ring = consumerRing; ring != null; ring = ring.next) {
+            ring.collect(snapshot);
+        }
+        return new Itr(snapshot);
+    }
+
+    private boolean doOffer(E e) {
+        Ring<E> ring = producerRing;
+        // the ring buffer itself bounds the queue if the capacity fills it up exactly
+        if ((capacity < ring.length() || ring != consumerRing) && size() >= capacity) {
+            return false;
+        }
+        for (;;) {
+            int result = ring.offer(e);
+            if (result == Ring.OFFERED) {
+                return true;
+            }
+            if (result == Ring.FULL) {
+                return false;
+            }
+            ring = ring.next;
+        }
+    }
+
+    private E doPoll() {
+        Ring<E> ring = consumerRing;
+        for (;;) {
+            E e = ring.poll();
+            if (e != null) {
+                return e;
+            }
+            long producerIndex = ring.producerIndex.get();
+            if (!Ring.isSealed(producerIndex)) {
+                return null;
+            }
+            if (ring.consumerIndex.get() >= Ring.indexOf(producerIndex)) {
+                // the sealed ring has been drained, move on to the next one
+                CONSUMER_RING_UPDATER.compareAndSet(this, ring, ring.next);
+                ring = consumerRing;
+            } else {
+                // an element is being published into the sealed ring
+                Thread.yield();
+            }
+        }
+    }
+
+    private void signalNotEmpty() {
+        if (waitingTakers.get() > 0) {
+            waitLock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    private void cascadeNotEmpty() {
+        if (waitingTakers.get() > 0 && peek() != null) {
+            notEmpty.signal();
+        }
+    }
+
+    private void signalNotFull() {
+        if (waitingPutters.get() > 0) {
+            waitLock.lock();
+            try {
+                notFull.signal();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("The capacity must be in (0, " + MAX_CAPACITY + "], current capacity: " + capacity);
+        }
+    }
+
+    private static int ringLength(int capacity) {
+        // at least two slots, otherwise a filled slot can not be told apart from a free one
+        int length = Integer.highestOneBit(Math.max(capacity, MIN_RING_LENGTH));
+        return length < capacity ? length << 1 : length;
+    }
+
+    /**
+     * Weakly consistent iterator over a snapshot of elements.
+     */
+    private class Itr implements Iterator<E> {
+
+        private final Iterator<E> snapshot;
+
+        private E lastRet;
+
+        Itr(List<E> snapshot) {
+            this.snapshot = snapshot.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return snapshot.hasNext();
+        }
+
+        @Override
+        public E next() {
+            if (!snapshot.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastRet = snapshot.next();
+            return lastRet;
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet == null) {
+                throw new IllegalStateException();
+            }
+            for (Ring<E> ring = consumerRing; ring != null; ring = ring.next) {
+                if (ring.remove(lastRet, true)) {
+                    break;
+                }
+            }
+            lastRet = null;
+        }
+    }
+
+    /**
+     * Ring buffer with a power of two length, the producer index is sealed by setting its sign bit.
+     *
+     * @param <E> the type of elements held in this ring buffer
+     */
+    static final class Ring<E> {
+
+        static final int OFFERED = 0;
+
+        static final int FULL = 1;
+
+        static final int SEALED = 2;
+
+        private static final long SEALED_BIT = Long.MIN_VALUE;
+
+        private final int mask;
+
+        private final AtomicReferenceArray<E> elements;
+
+        /**
+         * Sequence of each slot, equals to the index of the next producer if the slot is free,
+         * or the index of the producer plus one if the slot is filled
+         */
+        private final AtomicLongArray sequences;
+
+        private final PaddedAtomicLong producerIndex = new PaddedAtomicLong();
+
+        private final PaddedAtomicLong consumerIndex = new PaddedAtomicLong();
+
+        /**
+         * Next ring buffer, set before this one is sealed
+         */
+        volatile Ring<E> next;
+
+        Ring(int length) {
+            this.mask = length - 1;
+            this.elements = new AtomicReferenceArray<>(length);
+            this.sequences = new AtomicLongArray(length);
+            for (int i = 0; i < length; i++) {
+                sequences.lazySet(i, i);
+            }
+        }
+
+        int length() {
+            return mask + 1;
+        }
+
+        int offer(E e) {
+            long index = producerIndex.get();
+            for (;;) {
+                if (isSealed(index)) {
+                    return SEALED;
+                }
+                int slot = (int) index & mask;
+                long difference = sequences.get(slot) - index;
+                if (difference == 0L) {
+                    if (producerIndex.compareAndSet(index, index + 1)) {
+                        elements.lazySet(slot, e);
+                        sequences.set(slot, index + 1);
+                        return OFFERED;
+                    }
+                    index = producerIndex.get();
+                } else if (difference < 0L) {
+                    return FULL;
+                } else {
+                    index = producerIndex.get();
+                }
+            }
+        }
+
+        E poll() {
+            long index = consumerIndex.get();
+            for (;;) {
+                int slot = (int) index & mask;
+                long difference = sequences.get(slot) - (index + 1);
+                if (difference == 0L) {
+                    if (consumerIndex.compareAndSet(index, index + 1)) {
+                        E e = elements.getAndSet(slot, null);
+                        sequences.set(slot, index + mask + 1);
+                        if (e != null) {
+                            return e;
+                        }
+                        // the element has been removed, skip the slot
+                    }
+                    index = consumerIndex.get();
+                } else if (difference < 0L) {
+                    return null;
+                } else {
+                    index = consumerIndex.get();
+                }
+            }
+        }
+
+        E peek() {
+            long index = consumerIndex.get();
+            long end = indexOf(producerIndex.get());
+            for (; index < end; index++) {
+                int slot = (int) index & mask;
+                if (sequences.get(slot) == index + 1) {
+                    E e = elements.get(slot);
+                    if (e != null) {
+                        return e;
+                    }
+                }
+            }
+            return null;
+        }
+
+        long size() {
+            long consumed = consumerIndex.get();
+            long produced = indexOf(producerIndex.get());
+            return Math.max(produced - consumed, 0L);
+        }
+
+        void seal() {
+            long index;
+            do {
+                index = producerIndex.get();
+            } while (!isSealed(index) && !producerIndex.compareAndSet(index, index | SEALED_BIT));
+        }
+
+        boolean remove(Object o, boolean identity) {
+            long index = consumerIndex.get();
+            long end = indexOf(producerIndex.get());
+            for (; index < end; index++) {
+                int slot = (int) index & mask;
+                E e = elements.get(slot);
+                if (e != null && (identity ? e == o : o.equals(e)) && elements.compareAndSet(slot, e, null)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void collect(List<E> snapshot) {
+            long index = consumerIndex.get();
+            long end = indexOf(producerIndex.get());
+            for (; index < end; index++) {
+                int slot = (int) index & mask;
+                if (sequences.get(slot) == index + 1) {
+                    E e = elements.get(slot);
+                    if (e != null) {
+                        snapshot.add(e);
+                    }
+                }
+            }
+        }
+
+        static boolean isSealed(long producerIndex) {
+            return (producerIndex & SEALED_BIT) != 0L;
+        }
+
+        static long indexOf(long producerIndex) {
+            return producerIndex & ~SEALED_BIT;
+        }
+    }
+
+    /**
+     * {@link AtomicLong} padded to occupy a whole cache line, to avoid false sharing between
+     * the producer index and the consumer index.
+     */
+    @SuppressWarnings("unused")
+    static final class PaddedAtomicLong extends AtomicLong {
+
+        private static final long serialVersionUID = 1L;
+
+        private long p1, p2, p3, p4, p5, p6, p7;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Long polling response carrying the changed configs inline,
+ * which is sent to the clients asking for it by the header {@code Long-Pulling-Inline-Configs}.
+ *
+ * @param <T> type of config
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangedConfigsInfo<T> implements Serializable {
+
+    private static final long serialVersionUID = -4127830984761220175L;
+
+    /**
+     * Changed group keys, encoded in the same way as the response without configs
+     */
+    private String changedGroups;
+
+    /**
+     * Most recent configs of the changed thread-pools, the thread-pools failed to load are absent
+     */
+    private List<T> configs;
+}
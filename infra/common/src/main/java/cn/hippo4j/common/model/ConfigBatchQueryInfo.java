@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Query of the configs of several thread-pools in one request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigBatchQueryInfo implements Serializable {
+
+    private static final long serialVersionUID = 2903742519465327419L;
+
+    /**
+     * Instance id
+     */
+    private String instanceId;
+
+    /**
+     * Thread-pools to query, only tenant id, item id and thread-pool id are required
+     */
+    private List<ThreadPoolParameterInfo> parameters;
+}
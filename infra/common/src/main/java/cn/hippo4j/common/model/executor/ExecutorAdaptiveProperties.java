@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.model.executor;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dynamic thread-pool adaptive sizing properties.
+ */
+@Data
+@NoArgsConstructor
+public class ExecutorAdaptiveProperties {
+
+    /**
+     * Whether to enable adaptive sizing
+     */
+    private Boolean enable = Boolean.FALSE;
+
+    /**
+     * Sizing algorithm, aimd or gradient
+     */
+    private String algorithm = "aimd";
+
+    /**
+     * Lower bound of core pool size
+     */
+    private Integer minPoolSize = 1;
+
+    /**
+     * Upper bound of core and maximum pool size, the maximum pool size of thread-pool when first evaluated if null
+     */
+    private Integer maxPoolSize;
+
+    /**
+     * Evaluation interval. unit: ms
+     */
+    private Long interval = 5000L;
+
+    /**
+     * Minimum interval between two changes. unit: ms
+     */
+    private Long cooldown = 15000L;
+
+    /**
+     * Max threads added by one change
+     */
+    private Integer maxStep = 4;
+
+    /**
+     * Consecutive evaluations proposing the same direction required before a change
+     */
+    private Integer stableCount = 2;
+
+    /**
+     * Target queue wait time. unit: ms
+     */
+    private Long queueWaitTarget = 100L;
+
+    /**
+     * Active ratio of core threads above which the thread-pool is busy. unit: %
+     */
+    private Integer activeHigh = 80;
+
+    /**
+     * Active ratio of core threads below which the thread-pool is idle. unit: %
+     */
+    private Integer activeLow = 30;
+}
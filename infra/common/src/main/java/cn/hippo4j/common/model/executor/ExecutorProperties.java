@@ -99,11 +99,21 @@ public class ExecutorProperties implements IExecutorProperties {
      */
     private Integer capacityAlarm;
 
+    /**
+     * Queue wait alarm, p99 of task queue wait time in milliseconds
+     */
+    private Long queueWaitAlarm;
+
     /**
      * Notify
      */
     private ExecutorNotifyProperties notify;
 
+    /**
+     * Adaptive sizing
+     */
+    private ExecutorAdaptiveProperties adaptive;
+
     /**
      * Nodes, application startup is not affect, change properties is effect
      */
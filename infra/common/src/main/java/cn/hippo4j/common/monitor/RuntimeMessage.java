@@ -77,6 +77,46 @@ public class RuntimeMessage extends AbstractMessage {
      */
     private Integer rejectCount;
 
+    /**
+     * p50 of task execute time in nanoseconds, null if not recorded
+     */
+    private Long executeTimeP50;
+
+    /**
+     * p90 of task execute time in nanoseconds, null if not recorded
+     */
+    private Long executeTimeP90;
+
+    /**
+     * p99 of task execute time in nanoseconds, null if not recorded
+     */
+    private Long executeTimeP99;
+
+    /**
+     * p999 of task execute time in nanoseconds, null if not recorded
+     */
+    private Long executeTimeP999;
+
+    /**
+     * p50 of task queue wait time in nanoseconds, null if not recorded
+     */
+    private Long queueWaitTimeP50;
+
+    /**
+     * p90 of task queue wait time in nanoseconds, null if not recorded
+     */
+    private Long queueWaitTimeP90;
+
+    /**
+     * p99 of task queue wait time in nanoseconds, null if not recorded
+     */
+    private Long queueWaitTimeP99;
+
+    /**
+     * p999 of task queue wait time in nanoseconds, null if not recorded
+     */
+    private Long queueWaitTimeP999;
+
     /**
      * timestamp
      */
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor.codec;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>Constants and handshake of the binary wire format of monitoring messages. <br />
+ * Each frame starts with a header of 4 bytes: {@link #MAGIC} in 2 bytes, frame type and flags.
+ * The magic never equals the stream header of java serialization, so the server can tell
+ * binary clients from the legacy ones by the first frame.
+ *
+ * <p>A binary client sends {@link #TYPE_HELLO} with its version and supported compressions,
+ * and the server replies {@link #TYPE_HELLO_ACK} with the version and compression selected for the connection.
+ * The encoder and decoder of a connection are stateful, see {@link RuntimeMessageEncoder}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RuntimeMessageCodec {
+
+    /**
+     * Magic of binary frame, "H4"
+     */
+    public static final int MAGIC = 0x4834;
+
+    /**
+     * Current version of wire format, version 2 appends the execute time percentiles to the schema of version 1
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Oldest version of wire format still supported
+     */
+    public static final int MIN_VERSION = 1;
+
+    /**
+     * Length of frame header
+     */
+    public static final int HEADER_LENGTH = 4;
+
+    /**
+     * Handshake of client
+     */
+    public static final int TYPE_HELLO = 1;
+
+    /**
+     * Handshake reply of server
+     */
+    public static final int TYPE_HELLO_ACK = 2;
+
+    /**
+     * Heartbeat, no body
+     */
+    public static final int TYPE_HEARTBEAT = 3;
+
+    /**
+     * Batch of {@link cn.hippo4j.common.monitor.RuntimeMessage}
+     */
+    public static final int TYPE_RUNTIME_BATCH = 4;
+
+    /**
+     * {@link cn.hippo4j.common.monitor.MessageWrapper} in java serialization, for the messages without schema
+     */
+    public static final int TYPE_WRAPPER = 5;
+
+    /**
+     * Flag of compressed body
+     */
+    public static final int FLAG_COMPRESSED = 1;
+
+    /**
+     * No compression
+     */
+    public static final int COMPRESSION_NONE = 0;
+
+    /**
+     * Deflate compression of frame body
+     */
+    public static final int COMPRESSION_DEFLATE = 1;
+
+    /**
+     * Mask of compressions supported by this version
+     */
+    public static final int SUPPORTED_COMPRESSIONS = 1 << COMPRESSION_DEFLATE;
+
+    /**
+     * Max size of the group key dictionary of a connection
+     */
+    static final int MAX_DICTIONARY_SIZE = 4096;
+
+    /**
+     * Max length of frame body after decompression
+     */
+    static final int MAX_BODY_LENGTH = 16 * 1024 * 1024;
+
+    // Fields of RuntimeMessage in schema order, numeric values are encoded as
+    // zigzag varint deltas against the previous sample of the same group key.
+    // New fields are only appended, a connection of an older version writes the fields of its schema only.
+
+    static final int F_CURRENT_LOAD = 0;
+
+    static final int F_PEAK_LOAD = 1;
+
+    static final int F_POOL_SIZE = 2;
+
+    static final int F_LARGEST_POOL_SIZE = 3;
+
+    static final int F_ACTIVE_SIZE = 4;
+
+    static final int F_QUEUE_CAPACITY = 5;
+
+    static final int F_QUEUE_SIZE = 6;
+
+    static final int F_QUEUE_REMAINING_CAPACITY = 7;
+
+    static final int F_COMPLETED_TASK_COUNT = 8;
+
+    static final int F_REJECT_COUNT = 9;
+
+    static final int F_QUEUE_WAIT_TIME_P50 = 10;
+
+    static final int F_QUEUE_WAIT_TIME_P90 = 11;
+
+    static final int F_QUEUE_WAIT_TIME_P99 = 12;
+
+    static final int F_QUEUE_WAIT_TIME_P999 = 13;
+
+    static final int F_TIMESTAMP = 14;
+
+    static final int F_EXECUTE_TIME_P50 = 15;
+
+    static final int F_EXECUTE_TIME_P90 = 16;
+
+    static final int F_EXECUTE_TIME_P99 = 17;
+
+    static final int F_EXECUTE_TIME_P999 = 18;
+
+    static final int FIELD_COUNT = 19;
+
+    /**
+     * Count of fields in the schema of version 1
+     */
+    static final int V1_FIELD_COUNT = 15;
+
+    /**
+     * Reference of null group key
+     */
+    static final int GROUP_KEY_NULL = 0;
+
+    /**
+     * Reference of group key written inline and not added to the dictionary
+     */
+    static final int GROUP_KEY_LITERAL = 1;
+
+    /**
+     * Offset of dictionary index in group key reference
+     */
+    static final int GROUP_KEY_INDEX_OFFSET = 2;
+
+    /**
+     * Whether the bytes start with the magic of binary frame.
+     *
+     * @param first  first byte
+     * @param second second byte
+     * @return true if binary frame
+     */
+    public static boolean isBinaryFrame(int first, int second) {
+        return (first & 0xFF) == (MAGIC >>> 8) && (second & 0xFF) == (MAGIC & 0xFF);
+    }
+
+    /**
+     * Build a frame without body.
+     *
+     * @param type frame type
+     * @return frame
+     */
+    public static byte[] headerOnlyFrame(int type) {
+        WireOutput output = new WireOutput(HEADER_LENGTH);
+        writeHeader(output, type, 0);
+        return output.toByteArray();
+    }
+
+    /**
+     * Build {@link #TYPE_HELLO} frame.
+     *
+     * @param version          version of client
+     * @param compressionsMask mask of compressions supported by client
+     * @return frame
+     */
+    public static byte[] hello(int version, int compressionsMask) {
+        return handshakeFrame(TYPE_HELLO, version, compressionsMask);
+    }
+
+    /**
+     * Build {@link #TYPE_HELLO_ACK} frame.
+     *
+     * @param version     version selected by server
+     * @param compression compression selected by server
+     * @return frame
+     */
+    public static byte[] helloAck(int version, int compression) {
+        return handshakeFrame(TYPE_HELLO_ACK, version, compression);
+    }
+
+    /**
+     * Select version and compression of the connection for the hello of client.
+     *
+     * @param hello hello of client
+     * @return handshake to reply
+     */
+    public static Handshake negotiate(Handshake hello) {
+        int version = Math.min(VERSION, hello.getVersion());
+        int compression = (hello.getCompression() & SUPPORTED_COMPRESSIONS) != 0 ? COMPRESSION_DEFLATE : COMPRESSION_NONE;
+        return new Handshake(version, compression);
+    }
+
+    /**
+     * Get the count of fields in the schema of the version.
+     *
+     * @param version version of wire format
+     * @return count of fields
+     */
+    static int fieldCountOf(int version) {
+        return version < 2 ? V1_FIELD_COUNT : FIELD_COUNT;
+    }
+
+    /**
+     * Read {@link #TYPE_HELLO} or {@link #TYPE_HELLO_ACK} frame.
+     *
+     * @param frame frame
+     * @param type  expected frame type
+     * @return handshake, the compression is a mask for hello
+     */
+    public static Handshake readHandshake(byte[] frame, int type) {
+        WireInput input = new WireInput(frame, 0, frame.length);
+        if (readHeader(input) != type) {
+            throw new IllegalArgumentException("Unexpected frame type, expected: " + type);
+        }
+        return new Handshake(input.readVarInt(), input.readVarInt());
+    }
+
+    /**
+     * Get type of frame.
+     *
+     * @param frame frame
+     * @return frame type
+     */
+    public static int frameType(byte[] frame) {
+        if (frame.length < HEADER_LENGTH || !isBinaryFrame(frame[0], frame[1])) {
+            throw new IllegalArgumentException("Not a binary monitoring frame.");
+        }
+        return frame[2];
+    }
+
+    static void writeHeader(WireOutput output, int type, int flags) {
+        output.writeByte(MAGIC >>> 8);
+        output.writeByte(MAGIC);
+        output.writeByte(type);
+        output.writeByte(flags);
+    }
+
+    /**
+     * Read header of frame.
+     *
+     * @param input input
+     * @return frame type, flags are discarded
+     */
+    static int readHeader(WireInput input) {
+        if (input.remaining() < HEADER_LENGTH || !isBinaryFrame(input.readByte(), input.readByte())) {
+            throw new IllegalArgumentException("Not a binary monitoring frame.");
+        }
+        int type = input.readByte();
+        input.readByte();
+        return type;
+    }
+
+    private static byte[] handshakeFrame(int type, int version, int compression) {
+        WireOutput output = new WireOutput(HEADER_LENGTH + 4);
+        writeHeader(output, type, 0);
+        output.writeVarLong(version);
+        output.writeVarLong(compression);
+        return output.toByteArray();
+    }
+
+    /**
+     * Handshake of connection.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Handshake {
+
+        /**
+         * Version of wire format
+         */
+        private final int version;
+
+        /**
+         * Compression, or mask of compressions for hello
+         */
+        private final int compression;
+    }
+}
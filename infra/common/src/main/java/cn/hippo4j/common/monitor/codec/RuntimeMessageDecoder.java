@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor.codec;
+
+import cn.hippo4j.common.monitor.AbstractMessage;
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.toolkit.MessageConvert;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static cn.hippo4j.common.monitor.codec.RuntimeMessageCodec.*;
+
+/**
+ * Stateful decoder of the frames written by {@link RuntimeMessageEncoder} of a connection, not thread-safe.
+ * Frames must be decoded in the order they were encoded, since the group key dictionary
+ * and the previous values of deltas are shared by all the frames of a connection.
+ */
+public class RuntimeMessageDecoder {
+
+    /**
+     * Classes allowed in a wrapper frame, the wrapper itself and the values of json maps in its content
+     */
+    private static final Set<String> WRAPPER_CLASSES = new HashSet<>(Arrays.asList(
+            MessageWrapper.class.getName(), MessageTypeEnum.class.getName(), Enum.class.getName(),
+            ArrayList.class.getName(), HashMap.class.getName(), LinkedHashMap.class.getName(),
+            String.class.getName(), Number.class.getName(), Boolean.class.getName(), Integer.class.getName(),
+            Long.class.getName(), Double.class.getName(), Float.class.getName(), Short.class.getName(),
+            Byte.class.getName(), BigInteger.class.getName(), BigDecimal.class.getName()));
+
+    private final List<String> groupKeys = new ArrayList<>();
+
+    private final List<long[]> previousValues = new ArrayList<>();
+
+    private final long[] values = new long[FIELD_COUNT];
+
+    private final String[] literals = new String[FIELD_COUNT];
+
+    private int presentMask;
+
+    private int literalMask;
+
+    private Inflater inflater;
+
+    /**
+     * Decode a frame.
+     *
+     * @param frame frame without length prefix
+     * @return message, null if the frame carries no message, eg: heartbeat
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    public Message decode(byte[] frame) {
+        int type = frameType(frame);
+        switch (type) {
+            case TYPE_HEARTBEAT:
+                return null;
+            case TYPE_RUNTIME_BATCH:
+                return decodeRuntimeBatch(body(frame));
+            case TYPE_WRAPPER:
+                return decodeWrapper(body(frame));
+            default:
+                throw new IllegalArgumentException("Unexpected frame type: " + type);
+        }
+    }
+
+    /**
+     * Release the native resources of decompression.
+     */
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    private WireInput body(byte[] frame) {
+        WireInput input = new WireInput(frame, HEADER_LENGTH, frame.length - HEADER_LENGTH);
+        if ((frame[3] & FLAG_COMPRESSED) == 0) {
+            return input;
+        }
+        int length = input.readVarInt();
+        if (length > MAX_BODY_LENGTH) {
+            throw new IllegalArgumentException("Frame body too long: " + length);
+        }
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        byte[] body = new byte[length];
+        inflater.reset();
+        inflater.setInput(frame, input.position(), input.remaining());
+        try {
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int count = inflater.inflate(body, inflated, length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != length || !inflater.finished()) {
+                throw new IllegalArgumentException("Truncated compressed frame.");
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Malformed compressed frame.", ex);
+        }
+        return new WireInput(body, 0, length);
+    }
+
+    private Message decodeRuntimeBatch(WireInput input) {
+        int count = input.readVarInt();
+        // each sample takes at least 3 bytes, guard against allocating by a corrupted count
+        List<Message> messages = new ArrayList<>(Math.min(count, input.remaining() / 3 + 1));
+        for (int i = 0; i < count; i++) {
+            messages.add(readSample(input));
+        }
+        if (input.remaining() != 0) {
+            throw new IllegalArgumentException("Unexpected trailing bytes: " + input.remaining());
+        }
+        RuntimeMessage batch = new RuntimeMessage();
+        batch.setMessageType(MessageTypeEnum.RUNTIME);
+        batch.setMessages(messages);
+        return batch;
+    }
+
+    private RuntimeMessage readSample(WireInput input) {
+        RuntimeMessage message = new RuntimeMessage();
+        long[] previous = readGroupKey(input, message);
+        presentMask = input.readVarInt();
+        literalMask = input.readVarInt();
+        if ((presentMask >>> FIELD_COUNT) != 0 || (literalMask & ~presentMask) != 0) {
+            throw new IllegalArgumentException("Malformed field mask.");
+        }
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            int bit = 1 << i;
+            if ((presentMask & bit) == 0) {
+                continue;
+            }
+            if ((literalMask & bit) != 0) {
+                literals[i] = input.readString();
+                continue;
+            }
+            long value = input.readZigZag() + (previous == null ? 0L : previous[i]);
+            if (previous != null) {
+                previous[i] = value;
+            }
+            values[i] = value;
+        }
+        message.setCurrentLoad(stringField(F_CURRENT_LOAD));
+        message.setPeakLoad(stringField(F_PEAK_LOAD));
+        message.setPoolSize(intField(F_POOL_SIZE));
+        message.setLargestPoolSize(intField(F_LARGEST_POOL_SIZE));
+        message.setActiveSize(stringField(F_ACTIVE_SIZE));
+        message.setQueueCapacity(intField(F_QUEUE_CAPACITY));
+        message.setQueueSize(intField(F_QUEUE_SIZE));
+        message.setQueueRemainingCapacity(stringField(F_QUEUE_REMAINING_CAPACITY));
+        message.setCompletedTaskCount(longField(F_COMPLETED_TASK_COUNT));
+        message.setRejectCount(intField(F_REJECT_COUNT));
+        message.setQueueWaitTimeP50(longField(F_QUEUE_WAIT_TIME_P50));
+        message.setQueueWaitTimeP90(longField(F_QUEUE_WAIT_TIME_P90));
+        message.setQueueWaitTimeP99(longField(F_QUEUE_WAIT_TIME_P99));
+        message.setQueueWaitTimeP999(longField(F_QUEUE_WAIT_TIME_P999));
+        message.setTimestamp(longField(F_TIMESTAMP));
+        message.setExecuteTimeP50(longField(F_EXECUTE_TIME_P50));
+        message.setExecuteTimeP90(longField(F_EXECUTE_TIME_P90));
+        message.setExecuteTimeP99(longField(F_EXECUTE_TIME_P99));
+        message.setExecuteTimeP999(longField(F_EXECUTE_TIME_P999));
+        return message;
+    }
+
+    private long[] readGroupKey(WireInput input, RuntimeMessage message) {
+        long reference = input.readVarLong();
+        if (reference == GROUP_KEY_NULL) {
+            return null;
+        }
+        if (reference == GROUP_KEY_LITERAL) {
+            message.setGroupKey(input.readString());
+            return null;
+        }
+        long index = reference - GROUP_KEY_INDEX_OFFSET;
+        if (index < groupKeys.size()) {
+            message.setGroupKey(groupKeys.get((int) index));
+            return previousValues.get((int) index);
+        }
+        if (index != groupKeys.size() || index >= MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Unknown group key reference: " + reference);
+        }
+        String groupKey = input.readString();
+        long[] previous = new long[FIELD_COUNT];
+        groupKeys.add(groupKey);
+        previousValues.add(previous);
+        message.setGroupKey(groupKey);
+        return previous;
+    }
+
+    private boolean isPresent(int field) {
+        return (presentMask & (1 << field)) != 0;
+    }
+
+    private String stringField(int field) {
+        if (!isPresent(field)) {
+            return null;
+        }
+        if ((literalMask & (1 << field)) != 0) {
+            String literal = literals[field];
+            literals[field] = null;
+            return literal;
+        }
+        return String.valueOf(values[field]);
+    }
+
+    private Integer intField(int field) {
+        return isPresent(field) ? (int) values[field] : null;
+    }
+
+    private Long longField(int field) {
+        return isPresent(field) ? values[field] : null;
+    }
+
+    private Message decodeWrapper(WireInput input) {
+        Object wrapper;
+        try (ObjectInputStream inputStream = new WrapperInputStream(new ByteArrayInputStream(input.buffer(), input.position(), input.remaining()))) {
+            wrapper = inputStream.readObject();
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new IllegalArgumentException("Malformed wrapper frame.", ex);
+        }
+        if (!(wrapper instanceof MessageWrapper)) {
+            throw new IllegalArgumentException("Unexpected wrapper frame content: " + (wrapper == null ? null : wrapper.getClass().getName()));
+        }
+        Class<?> responseClass = ((MessageWrapper) wrapper).getResponseClass();
+        if (responseClass == null || !AbstractMessage.class.isAssignableFrom(responseClass)) {
+            throw new IllegalArgumentException("Unexpected wrapper frame message class: " + responseClass);
+        }
+        return MessageConvert.convert((MessageWrapper) wrapper);
+    }
+
+    /**
+     * Object input of wrapper frame, which only resolves the classes of {@link #WRAPPER_CLASSES}
+     * and the message classes referred by {@link MessageWrapper#getResponseClass()},
+     * so nothing else is ever instantiated by java serialization.
+     */
+    private static final class WrapperInputStream extends ObjectInputStream {
+
+        WrapperInputStream(InputStream inputStream) throws IOException {
+            super(inputStream);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            if (WRAPPER_CLASSES.contains(name)) {
+                return super.resolveClass(desc);
+            }
+            // message classes are only referred as class, never deserialized as object, load them without initializing
+            Class<?> clazz = Class.forName(name, false, RuntimeMessageDecoder.class.getClassLoader());
+            if (!AbstractMessage.class.isAssignableFrom(clazz)) {
+                throw new InvalidClassException(name, "Class not allowed in wrapper frame");
+            }
+            return clazz;
+        }
+    }
+}
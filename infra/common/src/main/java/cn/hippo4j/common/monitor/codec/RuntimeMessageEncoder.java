@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor.codec;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.toolkit.MessageConvert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static cn.hippo4j.common.monitor.codec.RuntimeMessageCodec.*;
+
+/**
+ * <p>Stateful encoder of monitoring messages of a connection, not thread-safe. <br />
+ * Group keys are written once and then referenced by index of a per-connection dictionary,
+ * numeric fields are written as zigzag varint deltas against the previous sample of the same group key,
+ * so the frames must be decoded in order by a {@link RuntimeMessageDecoder} of the same connection.
+ *
+ * <p>Batch body: <br />
+ * {@code varint count, sample*} <br />
+ * {@code sample: varint groupKeyRef, [string groupKey], varint presentMask, varint literalMask, field*} <br />
+ * String fields holding a canonical integer are encoded as numbers, others as literal strings.
+ */
+public class RuntimeMessageEncoder {
+
+    /**
+     * Bodies shorter than this are not compressed
+     */
+    private static final int COMPRESSION_THRESHOLD = 512;
+
+    /**
+     * Previous values of samples without dictionary entry, never updated
+     */
+    private static final long[] NO_PREVIOUS_VALUES = new long[FIELD_COUNT];
+
+    private final Map<String, Integer> groupKeyIndexes = new HashMap<>();
+
+    private final List<long[]> previousValues = new ArrayList<>();
+
+    private final long[] values = new long[FIELD_COUNT];
+
+    private final String[] literals = new String[FIELD_COUNT];
+
+    private final WireOutput body = new WireOutput(1024);
+
+    private final WireOutput frame = new WireOutput(1024);
+
+    private int presentMask;
+
+    private int literalMask;
+
+    private int compression = COMPRESSION_NONE;
+
+    private int fieldCount = FIELD_COUNT;
+
+    private Deflater deflater;
+
+    /**
+     * Set compression negotiated for the connection.
+     *
+     * @param compression {@link RuntimeMessageCodec#COMPRESSION_NONE} or {@link RuntimeMessageCodec#COMPRESSION_DEFLATE}
+     */
+    public void setCompression(int compression) {
+        this.compression = compression;
+        if (compression == COMPRESSION_DEFLATE && deflater == null) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+    }
+
+    /**
+     * Set version negotiated for the connection, fields not in the schema of the version are not written.
+     *
+     * @param version version between {@link RuntimeMessageCodec#MIN_VERSION} and {@link RuntimeMessageCodec#VERSION}
+     */
+    public void setVersion(int version) {
+        this.fieldCount = fieldCountOf(version);
+    }
+
+    /**
+     * Encode message into a frame.
+     *
+     * @param message message
+     * @return frame
+     */
+    public byte[] encode(Message message) {
+        List<Message> messages = message.getMessages();
+        if (message.getMessageType() == MessageTypeEnum.RUNTIME && isRuntimeMessages(messages)) {
+            return encodeRuntimeBatch(messages);
+        }
+        return encodeWrapper(message);
+    }
+
+    /**
+     * Release the native resources of compression.
+     */
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private byte[] encodeRuntimeBatch(List<Message> messages) {
+        body.reset();
+        body.writeVarLong(messages.size());
+        for (Message each : messages) {
+            writeSample((RuntimeMessage) each);
+        }
+        return finish(TYPE_RUNTIME_BATCH);
+    }
+
+    private void writeSample(RuntimeMessage message) {
+        long[] previous = writeGroupKey(message.getGroupKey());
+        presentMask = 0;
+        literalMask = 0;
+        putString(F_CURRENT_LOAD, message.getCurrentLoad());
+        putString(F_PEAK_LOAD, message.getPeakLoad());
+        putLong(F_POOL_SIZE, message.getPoolSize());
+        putLong(F_LARGEST_POOL_SIZE, message.getLargestPoolSize());
+        putString(F_ACTIVE_SIZE, message.getActiveSize());
+        putLong(F_QUEUE_CAPACITY, message.getQueueCapacity());
+        putLong(F_QUEUE_SIZE, message.getQueueSize());
+        putString(F_QUEUE_REMAINING_CAPACITY, message.getQueueRemainingCapacity());
+        putLong(F_COMPLETED_TASK_COUNT, message.getCompletedTaskCount());
+        putLong(F_REJECT_COUNT, message.getRejectCount());
+        putLong(F_QUEUE_WAIT_TIME_P50, message.getQueueWaitTimeP50());
+        putLong(F_QUEUE_WAIT_TIME_P90, message.getQueueWaitTimeP90());
+        putLong(F_QUEUE_WAIT_TIME_P99, message.getQueueWaitTimeP99());
+        putLong(F_QUEUE_WAIT_TIME_P999, message.getQueueWaitTimeP999());
+        putLong(F_TIMESTAMP, message.getTimestamp());
+        putLong(F_EXECUTE_TIME_P50, message.getExecuteTimeP50());
+        putLong(F_EXECUTE_TIME_P90, message.getExecuteTimeP90());
+        putLong(F_EXECUTE_TIME_P99, message.getExecuteTimeP99());
+        putLong(F_EXECUTE_TIME_P999, message.getExecuteTimeP999());
+        body.writeVarLong(presentMask);
+        body.writeVarLong(literalMask);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            int bit = 1 << i;
+            if ((presentMask & bit) == 0) {
+                continue;
+            }
+            if ((literalMask & bit) != 0) {
+                body.writeString(literals[i]);
+                literals[i] = null;
+                continue;
+            }
+            body.writeZigZag(values[i] - previous[i]);
+            if (previous != NO_PREVIOUS_VALUES) {
+                previous[i] = values[i];
+            }
+        }
+    }
+
+    private long[] writeGroupKey(String groupKey) {
+        if (groupKey == null) {
+            body.writeVarLong(GROUP_KEY_NULL);
+            return NO_PREVIOUS_VALUES;
+        }
+        Integer index = groupKeyIndexes.get(groupKey);
+        if (index != null) {
+            body.writeVarLong(index + GROUP_KEY_INDEX_OFFSET);
+            return previousValues.get(index);
+        }
+        if (groupKeyIndexes.size() >= MAX_DICTIONARY_SIZE) {
+            body.writeVarLong(GROUP_KEY_LITERAL);
+            body.writeString(groupKey);
+            return NO_PREVIOUS_VALUES;
+        }
+        int newIndex = groupKeyIndexes.size();
+        groupKeyIndexes.put(groupKey, newIndex);
+        long[] previous = new long[FIELD_COUNT];
+        previousValues.add(previous);
+        body.writeVarLong(newIndex + GROUP_KEY_INDEX_OFFSET);
+        body.writeString(groupKey);
+        return previous;
+    }
+
+    private void putLong(int field, Number value) {
+        if (value != null && field < fieldCount) {
+            values[field] = value.longValue();
+            presentMask |= 1 << field;
+        }
+    }
+
+    private void putString(int field, String value) {
+        if (value == null) {
+            return;
+        }
+        presentMask |= 1 << field;
+        if (isCanonicalLong(value)) {
+            values[field] = Long.parseLong(value);
+        } else {
+            literals[field] = value;
+            literalMask |= 1 << field;
+        }
+    }
+
+    private byte[] encodeWrapper(Message message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+            outputStream.writeObject(MessageConvert.convert(message));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to serialize message.", ex);
+        }
+        body.reset();
+        body.writeBytes(bytes.toByteArray(), 0, bytes.size());
+        return finish(TYPE_WRAPPER);
+    }
+
+    private byte[] finish(int type) {
+        frame.reset();
+        int length = body.size();
+        if (compression != COMPRESSION_DEFLATE || length < COMPRESSION_THRESHOLD) {
+            writeHeader(frame, type, 0);
+            frame.writeBytes(body.buffer(), 0, length);
+            return frame.toByteArray();
+        }
+        writeHeader(frame, type, FLAG_COMPRESSED);
+        frame.writeVarLong(length);
+        deflater.reset();
+        deflater.setInput(body.buffer(), 0, length);
+        deflater.finish();
+        while (!deflater.finished()) {
+            frame.ensureCapacity(Math.max(256, length >>> 1));
+            frame.skip(deflater.deflate(frame.buffer(), frame.size(), frame.buffer().length - frame.size()));
+        }
+        return frame.toByteArray();
+    }
+
+    private static boolean isRuntimeMessages(List<Message> messages) {
+        if (messages == null) {
+            return false;
+        }
+        for (Message each : messages) {
+            if (!(each instanceof RuntimeMessage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the string is the canonical form of an integer of at most 18 digits,
+     * so it can be restored exactly by {@link String#valueOf(long)}.
+     *
+     * @param value string
+     * @return true if canonical integer
+     */
+    static boolean isCanonicalLong(String value) {
+        int length = value.length();
+        int start = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        int digits = length - start;
+        if (digits <= 0 || digits > 18) {
+            return false;
+        }
+        if (value.charAt(start) == '0' && (digits > 1 || start > 0)) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
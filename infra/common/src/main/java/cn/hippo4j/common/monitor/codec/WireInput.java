@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte array input with varint decoding.
+ */
+public class WireInput {
+
+    private final byte[] buffer;
+
+    private final int limit;
+
+    private int position;
+
+    public WireInput(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Read a byte.
+     *
+     * @return byte
+     */
+    public int readByte() {
+        checkReadable(1);
+        return buffer[position++];
+    }
+
+    /**
+     * Read an unsigned varint.
+     *
+     * @return value
+     */
+    public long readVarLong() {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+
+    /**
+     * Read an unsigned varint which must fit in int.
+     *
+     * @return value
+     */
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value < 0L || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Read a zigzag varint.
+     *
+     * @return value
+     */
+    public long readZigZag() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1L);
+    }
+
+    /**
+     * Read a string in UTF-8 with the length prefixed.
+     *
+     * @return string
+     */
+    public String readString() {
+        int length = readVarInt();
+        checkReadable(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Get the underlying buffer.
+     *
+     * @return buffer
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Get current position.
+     *
+     * @return position
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Get count of readable bytes.
+     *
+     * @return count of readable bytes
+     */
+    public int remaining() {
+        return limit - position;
+    }
+
+    private void checkReadable(int length) {
+        if (length > limit - position) {
+            throw new IllegalArgumentException("Unexpected end of frame.");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte array output with varint encoding, reused between frames.
+ */
+public class WireOutput {
+
+    private byte[] buffer;
+
+    private int size;
+
+    public WireOutput(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    /**
+     * Write a byte.
+     *
+     * @param value byte
+     */
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Write bytes.
+     *
+     * @param bytes  bytes
+     * @param offset offset of bytes
+     * @param length length of bytes
+     */
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    /**
+     * Write an unsigned varint, 7 bits per byte.
+     *
+     * @param value value, treated as unsigned
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0L) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Write a signed value with zigzag varint, so small negative values are encoded in few bytes.
+     *
+     * @param value value
+     */
+    public void writeZigZag(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Write a string in UTF-8 with the length prefixed.
+     *
+     * @param value string, must not be null
+     */
+    public void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Get size of written bytes.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the underlying buffer, valid from 0 to {@link #size()}.
+     *
+     * @return buffer
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Copy written bytes.
+     *
+     * @return bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Discard written bytes.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Make sure there is space for more bytes.
+     *
+     * @param length count of bytes to write
+     */
+    public void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + length));
+        }
+    }
+
+    /**
+     * Mark bytes written directly into {@link #buffer()} after {@link #ensureCapacity}.
+     *
+     * @param length count of bytes written
+     */
+    public void skip(int length) {
+        size += length;
+    }
+}
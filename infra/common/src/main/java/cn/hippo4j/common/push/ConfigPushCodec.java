@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.push;
+
+import cn.hippo4j.common.toolkit.JSONUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Wire format of the config push channel. <br />
+ * Frames are prefixed with a length of 4 bytes by the transport, each frame starts with {@link #MAGIC} in 2 bytes
+ * followed by a {@link ConfigPushMessage} in JSON. The magic differs from the binary monitoring protocol and
+ * the stream header of java serialization, so the channel is served on the netty port of monitoring.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConfigPushCodec {
+
+    /**
+     * Magic of config push frame, "HP"
+     */
+    public static final int MAGIC = 0x4850;
+
+    /**
+     * Length of frame header
+     */
+    public static final int HEADER_LENGTH = 2;
+
+    /**
+     * Whether the bytes start with the magic of config push frame.
+     *
+     * @param first  first byte
+     * @param second second byte
+     * @return true if config push frame
+     */
+    public static boolean isPushFrame(int first, int second) {
+        return (first & 0xFF) == (MAGIC >>> 8) && (second & 0xFF) == (MAGIC & 0xFF);
+    }
+
+    /**
+     * Encode the message into a frame.
+     *
+     * @param message message
+     * @return frame
+     */
+    public static byte[] encode(ConfigPushMessage<?> message) {
+        byte[] body = JSONUtil.toJSONString(message).getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[HEADER_LENGTH + body.length];
+        frame[0] = (byte) (MAGIC >>> 8);
+        frame[1] = (byte) MAGIC;
+        System.arraycopy(body, 0, frame, HEADER_LENGTH, body.length);
+        return frame;
+    }
+
+    /**
+     * Decode the frame into a message.
+     *
+     * @param frame frame
+     * @param type  type of message
+     * @param <T>   type of config
+     * @return message
+     */
+    public static <T> ConfigPushMessage<T> decode(byte[] frame, TypeReference<ConfigPushMessage<T>> type) {
+        if (frame.length < HEADER_LENGTH || !isPushFrame(frame[0], frame[1])) {
+            throw new IllegalArgumentException("Not a config push frame.");
+        }
+        ConfigPushMessage<T> message = JSONUtil.parseObject(new String(frame, HEADER_LENGTH, frame.length - HEADER_LENGTH, StandardCharsets.UTF_8), type);
+        if (message == null || message.getType() == null) {
+            throw new IllegalArgumentException("Config push frame without message type.");
+        }
+        return message;
+    }
+}
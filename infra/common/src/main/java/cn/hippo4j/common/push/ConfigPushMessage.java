@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.push;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Message of the config push channel, encoded by {@link ConfigPushCodec}.
+ *
+ * @param <T> type of config
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true)
+public class ConfigPushMessage<T> implements Serializable {
+
+    private static final long serialVersionUID = 3586420163372541297L;
+
+    /**
+     * Message type
+     */
+    private Type type;
+
+    /**
+     * Identify of client, sent with {@link Type#SUBSCRIBE}
+     */
+    private String identify;
+
+    /**
+     * Access token of client, sent with {@link Type#SUBSCRIBE}
+     */
+    private String accessToken;
+
+    /**
+     * Group key tpId+itemId+tenantId -> md5 of the config held by client, sent with {@link Type#SUBSCRIBE}
+     */
+    private Map<String, String> md5;
+
+    /**
+     * Most recent configs of the changed thread-pools, sent with {@link Type#SUBSCRIBED} and {@link Type#CHANGED}
+     */
+    private List<T> configs;
+
+    /**
+     * Create a message without body.
+     *
+     * @param type message type
+     * @param <T>  type of config
+     * @return message
+     */
+    public static <T> ConfigPushMessage<T> of(Type type) {
+        return new ConfigPushMessage<T>().setType(type);
+    }
+
+    /**
+     * Message type.
+     */
+    public enum Type {
+
+        /**
+         * Subscribe the thread-pools of client, which replaces the previous subscription of the channel
+         */
+        SUBSCRIBE,
+
+        /**
+         * Reply of subscription, carrying the configs which differ from the md5 of client
+         */
+        SUBSCRIBED,
+
+        /**
+         * Configs changed after subscription
+         */
+        CHANGED,
+
+        /**
+         * Rejection of subscription for the invalid access token, the channel is closed by server afterwards
+         */
+        REJECTED,
+
+        /**
+         * Heartbeat of client, echoed by server
+         */
+        HEARTBEAT
+    }
+}
@@ -17,6 +17,9 @@
 
 package cn.hippo4j.common.toolkit;
 
+import cn.hippo4j.common.model.ManyThreadPoolRunStateInfo;
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
+import cn.hippo4j.common.monitor.RuntimeMessage;
 import com.github.dozermapper.core.DozerBeanMapperBuilder;
 import com.github.dozermapper.core.Mapper;
 import lombok.AccessLevel;
@@ -31,29 +34,56 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * Bean util.<br>
- * use com.github.dozermapper
+ * use com.github.dozermapper<br>
+ * Mappings registered by {@link #registerMapping} are used before Dozer, to avoid reflection on hot paths.
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class BeanUtil {
 
     protected static final Mapper BEAN_MAPPER_BUILDER;
 
+    /**
+     * Registered mappings, source class -> target class -> mapping
+     */
+    private static final Map<Class<?>, Map<Class<?>, BeanMapping<?, ?>>> BEAN_MAPPINGS = new ConcurrentHashMap<>();
+
     static {
         BEAN_MAPPER_BUILDER = DozerBeanMapperBuilder.buildDefault();
+        registerMapping(ThreadPoolRunStateInfo.class, ThreadPoolRunStateInfo.class, ThreadPoolRunStateInfo::new, ThreadPoolRunStateInfoConvert::copy);
+        registerMapping(ThreadPoolRunStateInfo.class, ManyThreadPoolRunStateInfo.class, ManyThreadPoolRunStateInfo::new, ThreadPoolRunStateInfoConvert::copy);
+        registerMapping(ThreadPoolRunStateInfo.class, RuntimeMessage.class, RuntimeMessage::new, ThreadPoolRunStateInfoConvert::copy);
+    }
+
+    /**
+     * Register a hand-written mapping, which is used instead of Dozer
+     * when the classes of source and target are exactly the given classes.
+     *
+     * @param sourceClass source class
+     * @param targetClass target class
+     * @param factory     factory of target
+     * @param copier      copy the properties of source to target
+     * @param <S>         type of source
+     * @param <T>         type of target
+     */
+    public static <S, T> void registerMapping(Class<S> sourceClass, Class<T> targetClass, Supplier<T> factory, BiConsumer<S, T> copier) {
+        BEAN_MAPPINGS.computeIfAbsent(sourceClass, each -> new ConcurrentHashMap<>()).put(targetClass, new BeanMapping<>(factory, copier));
     }
 
     public static <T, S> T convert(S source, Class<T> clazz) {
         return Optional.ofNullable(source)
-                .map(each -> BEAN_MAPPER_BUILDER.map(each, clazz))
+                .map(each -> mapToClass(each, clazz))
                 .orElse(null);
     }
 
     public static <T, S> T convert(S source, T target) {
         Optional.ofNullable(source)
-                .ifPresent(each -> BEAN_MAPPER_BUILDER.map(each, target));
+                .ifPresent(each -> mapToTarget(each, target));
         return target;
     }
 
@@ -61,7 +91,7 @@ public class BeanUtil {
         return Optional.ofNullable(sources)
                 .map(each -> {
                     List<T> targetList = new ArrayList<T>(each.size());
-                    each.forEach(item -> targetList.add(BEAN_MAPPER_BUILDER.map(item, clazz)));
+                    each.forEach(item -> targetList.add(mapToClass(item, clazz)));
                     return targetList;
                 })
                 .orElse(null);
@@ -71,12 +101,38 @@ public class BeanUtil {
         return Optional.ofNullable(sources)
                 .map(each -> {
                     Set<T> targetSize = new HashSet<T>(each.size());
-                    each.forEach(item -> targetSize.add(BEAN_MAPPER_BUILDER.map(item, clazz)));
+                    each.forEach(item -> targetSize.add(mapToClass(item, clazz)));
                     return targetSize;
                 })
                 .orElse(null);
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T, S> T mapToClass(S source, Class<T> clazz) {
+        BeanMapping<S, T> mapping = (BeanMapping<S, T>) getMapping(source.getClass(), clazz);
+        if (mapping == null) {
+            return BEAN_MAPPER_BUILDER.map(source, clazz);
+        }
+        T target = mapping.factory.get();
+        mapping.copier.accept(source, target);
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, S> void mapToTarget(S source, T target) {
+        BeanMapping<S, T> mapping = (BeanMapping<S, T>) getMapping(source.getClass(), target.getClass());
+        if (mapping == null) {
+            BEAN_MAPPER_BUILDER.map(source, target);
+            return;
+        }
+        mapping.copier.accept(source, target);
+    }
+
+    private static BeanMapping<?, ?> getMapping(Class<?> sourceClass, Class<?> targetClass) {
+        Map<Class<?>, BeanMapping<?, ?>> mappings = BEAN_MAPPINGS.get(sourceClass);
+        return mappings == null ? null : mappings.get(targetClass);
+    }
+
     /**
      * map to bean
      *
@@ -160,4 +216,19 @@ public class BeanUtil {
             throw new RuntimeException("not find setter for" + propertiesName + "in" + o.getName(), e);
         }
     }
+
+    /**
+     * Hand-written mapping.
+     */
+    private static class BeanMapping<S, T> {
+
+        private final Supplier<T> factory;
+
+        private final BiConsumer<S, T> copier;
+
+        BeanMapping(Supplier<T> factory, BiConsumer<S, T> copier) {
+            this.factory = factory;
+            this.copier = copier;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.toolkit;
+
+import cn.hippo4j.common.model.ManyThreadPoolRunStateInfo;
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * <p>Hand-written converters of {@link ThreadPoolRunStateInfo}, which is converted per thread-pool per collection. <br />
+ * The result is the same as {@link BeanUtil#convert}, but no reflection happens per call.
+ * These converters are also registered to {@link BeanUtil}, so {@link BeanUtil#convert} uses them before Dozer.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ThreadPoolRunStateInfoConvert {
+
+    /**
+     * Copy all the properties of source to target, null values included.
+     *
+     * @param source source
+     * @param target target, may be a subclass of {@link ThreadPoolRunStateInfo}
+     * @param <T>    type of target
+     * @return target
+     */
+    public static <T extends ThreadPoolRunStateInfo> T copy(ThreadPoolRunStateInfo source, T target) {
+        target.setCoreSize(source.getCoreSize());
+        target.setMaximumSize(source.getMaximumSize());
+        target.setQueueType(source.getQueueType());
+        target.setQueueCapacity(source.getQueueCapacity());
+        target.setRejectedName(source.getRejectedName());
+        target.setKeepAliveTime(source.getKeepAliveTime());
+        target.setCurrentLoad(source.getCurrentLoad());
+        target.setPeakLoad(source.getPeakLoad());
+        target.setTpId(source.getTpId());
+        target.setActiveCount(source.getActiveCount());
+        target.setPoolSize(source.getPoolSize());
+        target.setActiveSize(source.getActiveSize());
+        target.setLargestPoolSize(source.getLargestPoolSize());
+        target.setQueueSize(source.getQueueSize());
+        target.setQueueRemainingCapacity(source.getQueueRemainingCapacity());
+        target.setCompletedTaskCount(source.getCompletedTaskCount());
+        target.setRejectCount(source.getRejectCount());
+        target.setExecuteTimeP50(source.getExecuteTimeP50());
+        target.setExecuteTimeP90(source.getExecuteTimeP90());
+        target.setExecuteTimeP99(source.getExecuteTimeP99());
+        target.setExecuteTimeP999(source.getExecuteTimeP999());
+        target.setQueueWaitTimeP50(source.getQueueWaitTimeP50());
+        target.setQueueWaitTimeP90(source.getQueueWaitTimeP90());
+        target.setQueueWaitTimeP99(source.getQueueWaitTimeP99());
+        target.setQueueWaitTimeP999(source.getQueueWaitTimeP999());
+        target.setHost(source.getHost());
+        target.setMemoryProportion(source.getMemoryProportion());
+        target.setFreeMemory(source.getFreeMemory());
+        target.setClientLastRefreshTime(source.getClientLastRefreshTime());
+        target.setTimestamp(source.getTimestamp());
+        return target;
+    }
+
+    /**
+     * {@link ThreadPoolRunStateInfo} to {@link ManyThreadPoolRunStateInfo}.
+     *
+     * @param source source
+     * @return many thread-pool run state info, null if source is null
+     */
+    public static ManyThreadPoolRunStateInfo toManyThreadPoolRunStateInfo(ThreadPoolRunStateInfo source) {
+        return source == null ? null : copy(source, new ManyThreadPoolRunStateInfo());
+    }
+
+    /**
+     * {@link ThreadPoolRunStateInfo} to {@link RuntimeMessage}.
+     *
+     * @param source source
+     * @return runtime message, null if source is null
+     */
+    public static RuntimeMessage toRuntimeMessage(ThreadPoolRunStateInfo source) {
+        return source == null ? null : copy(source, new RuntimeMessage());
+    }
+
+    /**
+     * Copy the properties of {@link ThreadPoolRunStateInfo} to {@link RuntimeMessage}.
+     *
+     * @param source source
+     * @param target target
+     * @return target
+     */
+    public static RuntimeMessage copy(ThreadPoolRunStateInfo source, RuntimeMessage target) {
+        target.setCurrentLoad(source.getCurrentLoad());
+        target.setPeakLoad(source.getPeakLoad());
+        target.setPoolSize(source.getPoolSize());
+        target.setLargestPoolSize(source.getLargestPoolSize());
+        target.setActiveSize(toStr(source.getActiveSize()));
+        target.setQueueCapacity(source.getQueueCapacity());
+        target.setQueueSize(source.getQueueSize());
+        target.setQueueRemainingCapacity(toStr(source.getQueueRemainingCapacity()));
+        target.setCompletedTaskCount(source.getCompletedTaskCount());
+        target.setRejectCount(source.getRejectCount() == null ? null : source.getRejectCount().intValue());
+        target.setExecuteTimeP50(source.getExecuteTimeP50());
+        target.setExecuteTimeP90(source.getExecuteTimeP90());
+        target.setExecuteTimeP99(source.getExecuteTimeP99());
+        target.setExecuteTimeP999(source.getExecuteTimeP999());
+        target.setQueueWaitTimeP50(source.getQueueWaitTimeP50());
+        target.setQueueWaitTimeP90(source.getQueueWaitTimeP90());
+        target.setQueueWaitTimeP99(source.getQueueWaitTimeP99());
+        target.setQueueWaitTimeP999(source.getQueueWaitTimeP999());
+        target.setTimestamp(source.getTimestamp());
+        return target;
+    }
+
+    private static String toStr(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
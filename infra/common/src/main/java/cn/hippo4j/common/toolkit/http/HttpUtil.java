@@ -318,7 +318,7 @@ public class HttpUtil {
             JdkHttpClientResponse response = new JdkHttpClientResponse(connection);
             if (!HttpResponseCode.isOk(response.getStatusCode())) {
                 String msg = String.format("HttpPost response code error. [code] %s [url] %s [body] %s", response.getStatusCode(), connection.getURL(), response.getBodyString());
-                throw new RuntimeException(msg);
+                throw new HttpStatusException(response.getStatusCode(), msg);
             }
             return response;
         } catch (Throwable ex) {
@@ -78,6 +78,9 @@ public final class BlockingQueueTypeEnumTest {
 
         final String resizableLinkedBlockingQueueName = BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getName();
         Assert.assertThrows(IllegalArgumentException.class, () -> BlockingQueueTypeEnum.createBlockingQueue(resizableLinkedBlockingQueueName, -100));
+
+        final String resizableMpmcArrayBlockingQueueName = BlockingQueueTypeEnum.RESIZABLE_MPMC_ARRAY_BLOCKING_QUEUE.getName();
+        Assert.assertThrows(IllegalArgumentException.class, () -> BlockingQueueTypeEnum.createBlockingQueue(resizableMpmcArrayBlockingQueueName, -100));
     }
 
     @Test
@@ -96,6 +99,7 @@ public final class BlockingQueueTypeEnumTest {
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(5, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(6, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(9, null));
+        Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(10, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(100, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(-1, null));
         Assert.assertNotNull(BlockingQueueTypeEnum.createBlockingQueue(0, null));
@@ -111,6 +115,7 @@ public final class BlockingQueueTypeEnumTest {
         Assert.assertEquals("LinkedTransferQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(5));
         Assert.assertEquals("PriorityBlockingQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(6));
         Assert.assertEquals("ResizableCapacityLinkedBlockingQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(9));
+        Assert.assertEquals("ResizableMpmcArrayBlockingQueue", BlockingQueueTypeEnum.getBlockingQueueNameByType(10));
         // check illegal range of type
         Assert.assertEquals("", BlockingQueueTypeEnum.getBlockingQueueNameByType(0));
         Assert.assertEquals("", BlockingQueueTypeEnum.getBlockingQueueNameByType(-1));
@@ -127,8 +132,17 @@ public final class BlockingQueueTypeEnumTest {
         Assert.assertEquals(BlockingQueueTypeEnum.LINKED_TRANSFER_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("LinkedTransferQueue"));
         Assert.assertEquals(BlockingQueueTypeEnum.PRIORITY_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("PriorityBlockingQueue"));
         Assert.assertEquals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("ResizableCapacityLinkedBlockingQueue"));
+        Assert.assertEquals(BlockingQueueTypeEnum.RESIZABLE_MPMC_ARRAY_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("ResizableMpmcArrayBlockingQueue"));
         // check illegal range of name
         Assert.assertEquals(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName("Hello"));
         Assert.assertEquals(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE, BlockingQueueTypeEnum.getBlockingQueueTypeEnumByName(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAssertIsResizable() {
+        Assert.assertTrue(BlockingQueueTypeEnum.isResizable(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getType()));
+        Assert.assertTrue(BlockingQueueTypeEnum.isResizable(BlockingQueueTypeEnum.RESIZABLE_MPMC_ARRAY_BLOCKING_QUEUE.getType()));
+        Assert.assertFalse(BlockingQueueTypeEnum.isResizable(BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE.getType()));
+        Assert.assertFalse(BlockingQueueTypeEnum.isResizable(null));
+    }
+}
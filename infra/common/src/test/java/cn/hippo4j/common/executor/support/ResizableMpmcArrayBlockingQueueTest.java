@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.executor.support;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * test for {@link ResizableMpmcArrayBlockingQueue}
+ */
+public class ResizableMpmcArrayBlockingQueueTest {
+
+    @Test
+    public void testOfferAndPollInOrder() {
+        ResizableMpmcArrayBlockingQueue<Integer> queue = new ResizableMpmcArrayBlockingQueue<>(10);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        Assert.assertFalse(queue.offer(10));
+        Assert.assertEquals(10, queue.size());
+        Assert.assertEquals(0, queue.remainingCapacity());
+        Assert.assertEquals(Integer.valueOf(0), queue.peek());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        Assert.assertNull(queue.poll());
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testIncreaseCapacity() {
+        ResizableMpmcArrayBlockingQueue<Integer> queue = new ResizableMpmcArrayBlockingQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        Assert.assertFalse(queue.offer(4));
+        queue.setCapacity(10);
+        for (int i = 4; i < 10; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        Assert.assertFalse(queue.offer(10));
+        Assert.assertEquals(10, queue.size());
+        // elements of the sealed ring buffer are taken first
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(10, queue.remainingCapacity());
+    }
+
+    @Test
+    public void testDecreaseCapacity() {
+        ResizableMpmcArrayBlockingQueue<Integer> queue = new ResizableMpmcArrayBlockingQueue<>(8);
+        for (int i = 0; i < 6; i++) {
+            Assert.assertTrue(queue.offer(i));
+        }
+        queue.setCapacity(4);
+        Assert.assertFalse(queue.offer(6));
+        Assert.assertEquals(0, queue.remainingCapacity());
+        queue.poll();
+        queue.poll();
+        Assert.assertFalse(queue.offer(6));
+        queue.poll();
+        Assert.assertTrue(queue.offer(6));
+        Assert.assertEquals(4, queue.size());
+    }
+
+    @Test
+    public void testIllegalCapacity() {
+        try {
+            new ResizableMpmcArrayBlockingQueue<>(0);
+            Assert.fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+        ResizableMpmcArrayBlockingQueue<Integer> queue = new ResizableMpmcArrayBlockingQueue<>(1);
+        try {
+            queue.setCapacity(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void testDrainToAndRemove() {
+        ResizableMpmcArrayBlockingQueue<Integer> queue = new ResizableMpmcArrayBlockingQueue<>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        Assert.assertTrue(queue.remove(3));
+        Assert.assertFalse(queue.remove(100));
+        Iterator<Integer> iterator = queue.iterator();
+        Assert.assertEquals(Integer.valueOf(0), iterator.next());
+        iterator.remove();
+        List<Integer> drained = new ArrayList<>();
+        Assert.assertEquals(5, queue.drainTo(drained, 5));
+        Assert.assertEquals(Integer.valueOf(1), drained.get(0));
+        Assert.assertEquals(Integer.valueOf(2), drained.get(1));
+        Assert.assertEquals(Integer.valueOf(4), drained.get(2));
+        drained.clear();
+        Assert.assertEquals(3, queue.drainTo(drained));
+        Assert.assertEquals(Integer.valueOf(9), drained.get(2));
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test
+    public void testBlockingTakeAndPut() throws InterruptedException {
+        ResizableMpmcArrayBlockingQueue<Integer> queue = new ResizableMpmcArrayBlockingQueue<>(1);
+        Assert.assertNull(queue.poll(10L, TimeUnit.MILLISECONDS));
+        CountDownLatch taken = new CountDownLatch(1);
+        Thread taker = new Thread(() -> {
+            try {
+                Assert.assertEquals(Integer.valueOf(1), queue.take());
+                taken.countDown();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        taker.start();
+        Thread.sleep(50L);
+        queue.put(1);
+        Assert.assertTrue(taken.await(1L, TimeUnit.SECONDS));
+
+        queue.put(2);
+        Assert.assertFalse(queue.offer(3, 10L, TimeUnit.MILLISECONDS));
+        Thread putter = new Thread(() -> {
+            try {
+                queue.put(3);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        putter.start();
+        Thread.sleep(50L);
+        Assert.assertEquals(Integer.valueOf(2), queue.take());
+        putter.join(1000L);
+        Assert.assertEquals(Integer.valueOf(3), queue.poll());
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws InterruptedException {
+        int producerCount = 4;
+        int consumerCount = 4;
+        int elementsPerProducer = 100000;
+        ResizableMpmcArrayBlockingQueue<Long> queue = new ResizableMpmcArrayBlockingQueue<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producerCount + consumerCount);
+        AtomicLong sum = new AtomicLong();
+        CountDownLatch consumed = new CountDownLatch(producerCount * elementsPerProducer);
+        for (int i = 0; i < consumerCount; i++) {
+            executor.execute(() -> {
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        sum.addAndGet(queue.take());
+                        consumed.countDown();
+                    }
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (int i = 0; i < producerCount; i++) {
+            executor.execute(() -> {
+                try {
+                    for (long value = 1; value <= elementsPerProducer; value++) {
+                        queue.put(value);
+                    }
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        // resize while producers and consumers are running
+        queue.setCapacity(200);
+        queue.setCapacity(32);
+        queue.setCapacity(1000);
+        Assert.assertTrue(consumed.await(30L, TimeUnit.SECONDS));
+        executor.shutdownNow();
+        long expected = (long) elementsPerProducer * (elementsPerProducer + 1) / 2 * producerCount;
+        Assert.assertEquals(expected, sum.get());
+        Assert.assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.monitor.codec;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.toolkit.JSONUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * test for {@link RuntimeMessageEncoder} and {@link RuntimeMessageDecoder}
+ */
+public class RuntimeMessageCodecTest {
+
+    @Test
+    public void testRoundTripAcrossBatches() {
+        RuntimeMessageEncoder encoder = new RuntimeMessageEncoder();
+        RuntimeMessageDecoder decoder = new RuntimeMessageDecoder();
+        int firstFrameLength = 0;
+        for (int round = 0; round < 5; round++) {
+            RuntimeMessage batch = newBatch(20, round);
+            byte[] frame = encoder.encode(batch);
+            if (round == 0) {
+                firstFrameLength = frame.length;
+            } else {
+                // group keys are referenced and the values are deltas after the first frame
+                Assert.assertTrue(frame.length < firstFrameLength * 2 / 3);
+            }
+            assertBatchEquals(batch, decoder.decode(frame));
+        }
+    }
+
+    @Test
+    public void testNullAndLiteralValues() {
+        RuntimeMessage sample = new RuntimeMessage();
+        sample.setGroupKey(null);
+        sample.setCurrentLoad("007");
+        sample.setPeakLoad("-0");
+        sample.setActiveSize("12.5");
+        sample.setQueueRemainingCapacity("");
+        sample.setCompletedTaskCount(Long.MAX_VALUE);
+        sample.setQueueWaitTimeP50(Long.MIN_VALUE);
+        sample.setRejectCount(-1);
+        RuntimeMessage literalKeySample = newSample("tenant+item+literal", 1);
+        literalKeySample.setPoolSize(null);
+        RuntimeMessage batch = newBatch(Collections.singletonList(sample));
+        batch.getMessages().add(literalKeySample);
+        RuntimeMessageEncoder encoder = new RuntimeMessageEncoder();
+        RuntimeMessageDecoder decoder = new RuntimeMessageDecoder();
+        assertBatchEquals(batch, decoder.decode(encoder.encode(batch)));
+        assertBatchEquals(batch, decoder.decode(encoder.encode(batch)));
+    }
+
+    @Test
+    public void testVersion1SkipsExecuteTime() {
+        RuntimeMessageEncoder encoder = new RuntimeMessageEncoder();
+        encoder.setVersion(RuntimeMessageCodec.MIN_VERSION);
+        RuntimeMessageDecoder decoder = new RuntimeMessageDecoder();
+        RuntimeMessage batch = newBatch(3, 1);
+        Message decoded = decoder.decode(encoder.encode(batch));
+        for (int i = 0; i < batch.getMessages().size(); i++) {
+            RuntimeMessage expected = (RuntimeMessage) batch.getMessages().get(i);
+            RuntimeMessage actual = (RuntimeMessage) decoded.getMessages().get(i);
+            Assert.assertNull(actual.getExecuteTimeP50());
+            Assert.assertNull(actual.getExecuteTimeP999());
+            Assert.assertEquals(expected.getQueueWaitTimeP999(), actual.getQueueWaitTimeP999());
+            Assert.assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        }
+    }
+
+    @Test
+    public void testCompression() {
+        RuntimeMessageEncoder encoder = new RuntimeMessageEncoder();
+        encoder.setCompression(RuntimeMessageCodec.COMPRESSION_DEFLATE);
+        RuntimeMessageDecoder decoder = new RuntimeMessageDecoder();
+        RuntimeMessage batch = newBatch(100, 0);
+        byte[] frame = encoder.encode(batch);
+        Assert.assertEquals(RuntimeMessageCodec.FLAG_COMPRESSED, frame[3] & RuntimeMessageCodec.FLAG_COMPRESSED);
+        assertBatchEquals(batch, decoder.decode(frame));
+        // small bodies are not compressed
+        RuntimeMessage small = newBatch(1, 1);
+        byte[] smallFrame = encoder.encode(small);
+        Assert.assertEquals(0, smallFrame[3] & RuntimeMessageCodec.FLAG_COMPRESSED);
+        assertBatchEquals(small, decoder.decode(smallFrame));
+        encoder.close();
+        decoder.close();
+    }
+
+    @Test
+    public void testDictionaryOverflow() {
+        RuntimeMessageEncoder encoder = new RuntimeMessageEncoder();
+        RuntimeMessageDecoder decoder = new RuntimeMessageDecoder();
+        RuntimeMessage batch = newBatch(RuntimeMessageCodec.MAX_DICTIONARY_SIZE + 10, 0);
+        assertBatchEquals(batch, decoder.decode(encoder.encode(batch)));
+        batch = newBatch(RuntimeMessageCodec.MAX_DICTIONARY_SIZE + 10, 1);
+        assertBatchEquals(batch, decoder.decode(encoder.encode(batch)));
+    }
+
+    @Test
+    public void testWrapperFrame() {
+        RuntimeMessage message = new RuntimeMessage();
+        message.setMessageType(MessageTypeEnum.DEFAULT);
+        message.setMessages(Collections.singletonList(newSample("tenant+item+wrapper", 0)));
+        byte[] frame = new RuntimeMessageEncoder().encode(message);
+        Assert.assertEquals(RuntimeMessageCodec.TYPE_WRAPPER, RuntimeMessageCodec.frameType(frame));
+        Message decoded = new RuntimeMessageDecoder().decode(frame);
+        Assert.assertEquals(MessageTypeEnum.DEFAULT, decoded.getMessageType());
+        Assert.assertEquals(JSONUtil.toJSONString(message.getMessages()), JSONUtil.toJSONString(decoded.getMessages()));
+    }
+
+    @Test
+    public void testWrapperFrameRejectsOtherClasses() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+            outputStream.writeObject(new HashSet<>(Collections.singleton("not allowed")));
+        }
+        assertMalformed(new RuntimeMessageDecoder(), wrapperFrame(bytes.toByteArray()));
+
+        // the response class must be a message, it is instantiated by the decoder
+        bytes.reset();
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(bytes)) {
+            outputStream.writeObject(new MessageWrapper(new ArrayList<>(), String.class, MessageTypeEnum.DEFAULT));
+        }
+        assertMalformed(new RuntimeMessageDecoder(), wrapperFrame(bytes.toByteArray()));
+    }
+
+    @Test
+    public void testHeartbeat() {
+        byte[] frame = RuntimeMessageCodec.headerOnlyFrame(RuntimeMessageCodec.TYPE_HEARTBEAT);
+        Assert.assertTrue(RuntimeMessageCodec.isBinaryFrame(frame[0], frame[1]));
+        Assert.assertNull(new RuntimeMessageDecoder().decode(frame));
+    }
+
+    @Test
+    public void testHandshake() {
+        byte[] hello = RuntimeMessageCodec.hello(RuntimeMessageCodec.VERSION + 1, RuntimeMessageCodec.SUPPORTED_COMPRESSIONS);
+        RuntimeMessageCodec.Handshake negotiated = RuntimeMessageCodec.negotiate(RuntimeMessageCodec.readHandshake(hello, RuntimeMessageCodec.TYPE_HELLO));
+        Assert.assertEquals(RuntimeMessageCodec.VERSION, negotiated.getVersion());
+        Assert.assertEquals(RuntimeMessageCodec.COMPRESSION_DEFLATE, negotiated.getCompression());
+        byte[] ack = RuntimeMessageCodec.helloAck(negotiated.getVersion(), negotiated.getCompression());
+        RuntimeMessageCodec.Handshake handshake = RuntimeMessageCodec.readHandshake(ack, RuntimeMessageCodec.TYPE_HELLO_ACK);
+        Assert.assertEquals(RuntimeMessageCodec.VERSION, handshake.getVersion());
+        Assert.assertEquals(RuntimeMessageCodec.COMPRESSION_DEFLATE, handshake.getCompression());
+        hello = RuntimeMessageCodec.hello(RuntimeMessageCodec.MIN_VERSION, 0);
+        Assert.assertEquals(RuntimeMessageCodec.MIN_VERSION,
+                RuntimeMessageCodec.negotiate(RuntimeMessageCodec.readHandshake(hello, RuntimeMessageCodec.TYPE_HELLO)).getVersion());
+        hello = RuntimeMessageCodec.hello(RuntimeMessageCodec.VERSION, 0);
+        negotiated = RuntimeMessageCodec.negotiate(RuntimeMessageCodec.readHandshake(hello, RuntimeMessageCodec.TYPE_HELLO));
+        Assert.assertEquals(RuntimeMessageCodec.COMPRESSION_NONE, negotiated.getCompression());
+    }
+
+    @Test
+    public void testMalformedFrame() {
+        RuntimeMessageDecoder decoder = new RuntimeMessageDecoder();
+        assertMalformed(decoder, new byte[]{(byte) 0xAC, (byte) 0xED, 0, 5});
+        byte[] frame = new RuntimeMessageEncoder().encode(newBatch(3, 0));
+        byte[] truncated = new byte[frame.length - 2];
+        System.arraycopy(frame, 0, truncated, 0, truncated.length);
+        assertMalformed(decoder, truncated);
+        // reference to a group key never defined
+        assertMalformed(new RuntimeMessageDecoder(), new byte[]{0x48, 0x34, RuntimeMessageCodec.TYPE_RUNTIME_BATCH, 0, 1, 9, 0, 0});
+        assertMalformed(decoder, RuntimeMessageCodec.hello(RuntimeMessageCodec.VERSION, 0));
+    }
+
+    @Test
+    public void testIsCanonicalLong() {
+        Assert.assertTrue(RuntimeMessageEncoder.isCanonicalLong("0"));
+        Assert.assertTrue(RuntimeMessageEncoder.isCanonicalLong("-15"));
+        Assert.assertTrue(RuntimeMessageEncoder.isCanonicalLong("123456789012345678"));
+        Assert.assertFalse(RuntimeMessageEncoder.isCanonicalLong(""));
+        Assert.assertFalse(RuntimeMessageEncoder.isCanonicalLong("-"));
+        Assert.assertFalse(RuntimeMessageEncoder.isCanonicalLong("-0"));
+        Assert.assertFalse(RuntimeMessageEncoder.isCanonicalLong("01"));
+        Assert.assertFalse(RuntimeMessageEncoder.isCanonicalLong("+1"));
+        Assert.assertFalse(RuntimeMessageEncoder.isCanonicalLong("1.5"));
+        Assert.assertFalse(RuntimeMessageEncoder.isCanonicalLong("1234567890123456789"));
+    }
+
+    private static byte[] wrapperFrame(byte[] body) {
+        byte[] header = RuntimeMessageCodec.headerOnlyFrame(RuntimeMessageCodec.TYPE_WRAPPER);
+        byte[] frame = new byte[header.length + body.length];
+        System.arraycopy(header, 0, frame, 0, header.length);
+        System.arraycopy(body, 0, frame, header.length, body.length);
+        return frame;
+    }
+
+    private static void assertMalformed(RuntimeMessageDecoder decoder, byte[] frame) {
+        try {
+            decoder.decode(frame);
+            Assert.fail("Malformed frame should be rejected.");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    private static void assertBatchEquals(RuntimeMessage expected, Message actual) {
+        Assert.assertTrue(actual instanceof RuntimeMessage);
+        Assert.assertEquals(MessageTypeEnum.RUNTIME, actual.getMessageType());
+        Assert.assertEquals(expected.getMessages().size(), actual.getMessages().size());
+        for (int i = 0; i < expected.getMessages().size(); i++) {
+            Assert.assertEquals(JSONUtil.toJSONString(expected.getMessages().get(i)), JSONUtil.toJSONString(actual.getMessages().get(i)));
+        }
+    }
+
+    private static RuntimeMessage newBatch(int size, int round) {
+        List<Message> samples = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            samples.add(newSample("tenant+item+pool-" + i, round * 31 + i));
+        }
+        return newBatch(samples);
+    }
+
+    private static RuntimeMessage newBatch(List<? extends Message> samples) {
+        RuntimeMessage batch = new RuntimeMessage();
+        batch.setMessageType(MessageTypeEnum.RUNTIME);
+        batch.setMessages(new ArrayList<>(samples));
+        return batch;
+    }
+
+    private static RuntimeMessage newSample(String groupKey, int seed) {
+        RuntimeMessage sample = new RuntimeMessage();
+        sample.setGroupKey(groupKey);
+        sample.setCurrentLoad(String.valueOf(seed % 100));
+        sample.setPeakLoad(String.valueOf(seed % 100 + 10));
+        sample.setPoolSize(seed % 16);
+        sample.setLargestPoolSize(16);
+        sample.setActiveSize(String.valueOf(seed % 8));
+        sample.setQueueCapacity(1024);
+        sample.setQueueSize(seed % 1024);
+        sample.setQueueRemainingCapacity(String.valueOf(1024 - seed % 1024));
+        sample.setCompletedTaskCount(1000000L + seed * 97L);
+        sample.setRejectCount(seed % 3 == 0 ? null : seed);
+        sample.setQueueWaitTimeP50(seed * 1000L);
+        sample.setQueueWaitTimeP90(seed * 5000L);
+        sample.setQueueWaitTimeP99(seed * 20000L);
+        sample.setQueueWaitTimeP999(seed * 100000L);
+        sample.setExecuteTimeP50(2000000L + seed % 100 * 2000L);
+        sample.setExecuteTimeP90(6000000L + seed % 100 * 6000L);
+        sample.setExecuteTimeP99(30000000L + seed % 100 * 30000L);
+        sample.setExecuteTimeP999(200000000L + seed % 100 * 200000L);
+        sample.setTimestamp(1700000000000L + seed * 5000L);
+        return sample;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.push;
+
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * test for {@link ConfigPushCodec}
+ */
+public class ConfigPushCodecTest {
+
+    private static final TypeReference<ConfigPushMessage<ThreadPoolParameterInfo>> MESSAGE_TYPE =
+            new TypeReference<ConfigPushMessage<ThreadPoolParameterInfo>>() {
+            };
+
+    @Test
+    public void testRoundTrip() {
+        ConfigPushMessage<ThreadPoolParameterInfo> subscribe = ConfigPushMessage.of(ConfigPushMessage.Type.SUBSCRIBE);
+        subscribe.setIdentify("127.0.0.1:8080_a");
+        subscribe.setMd5(Collections.singletonMap("tp1+item+tenant", "md5"));
+        ConfigPushMessage<ThreadPoolParameterInfo> decoded = ConfigPushCodec.decode(ConfigPushCodec.encode(subscribe), MESSAGE_TYPE);
+        Assert.assertEquals(ConfigPushMessage.Type.SUBSCRIBE, decoded.getType());
+        Assert.assertEquals("127.0.0.1:8080_a", decoded.getIdentify());
+        Assert.assertEquals("md5", decoded.getMd5().get("tp1+item+tenant"));
+
+        ConfigPushMessage<ThreadPoolParameterInfo> changed = ConfigPushMessage.of(ConfigPushMessage.Type.CHANGED);
+        changed.setConfigs(Collections.singletonList(new ThreadPoolParameterInfo().setTpId("tp1").setCoreSize(8)));
+        decoded = ConfigPushCodec.decode(ConfigPushCodec.encode(changed), MESSAGE_TYPE);
+        Assert.assertEquals(ConfigPushMessage.Type.CHANGED, decoded.getType());
+        Assert.assertEquals("tp1", decoded.getConfigs().get(0).getTpId());
+        Assert.assertEquals(Integer.valueOf(8), decoded.getConfigs().get(0).getCoreSize());
+    }
+
+    @Test
+    public void testMagic() {
+        byte[] frame = ConfigPushCodec.encode(ConfigPushMessage.of(ConfigPushMessage.Type.HEARTBEAT));
+        Assert.assertTrue(ConfigPushCodec.isPushFrame(frame[0], frame[1]));
+        // distinguishable from the binary monitoring protocol and java serialization
+        Assert.assertFalse(RuntimeMessageCodec.isBinaryFrame(frame[0], frame[1]));
+        Assert.assertFalse((frame[0] & 0xFF) == 0xAC && (frame[1] & 0xFF) == 0xED);
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> ConfigPushCodec.decode(RuntimeMessageCodec.headerOnlyFrame(RuntimeMessageCodec.TYPE_HEARTBEAT), MESSAGE_TYPE));
+    }
+}
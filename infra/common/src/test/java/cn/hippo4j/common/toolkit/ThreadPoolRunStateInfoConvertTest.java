@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.common.toolkit;
+
+import cn.hippo4j.common.model.ManyThreadPoolRunStateInfo;
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * test for {@link ThreadPoolRunStateInfoConvert}
+ */
+public class ThreadPoolRunStateInfoConvertTest {
+
+    @Test
+    public void testCopySameAsDozer() {
+        ThreadPoolRunStateInfo source = newRunStateInfo();
+        ThreadPoolRunStateInfo expected = BeanUtil.BEAN_MAPPER_BUILDER.map(source, ThreadPoolRunStateInfo.class);
+        ThreadPoolRunStateInfo actual = ThreadPoolRunStateInfoConvert.copy(source, new ThreadPoolRunStateInfo());
+        Assert.assertEquals(JSONUtil.toJSONString(expected), JSONUtil.toJSONString(actual));
+    }
+
+    @Test
+    public void testCopyNullValues() {
+        ThreadPoolRunStateInfo target = newRunStateInfo();
+        ThreadPoolRunStateInfoConvert.copy(new ThreadPoolRunStateInfo(), target);
+        Assert.assertEquals(JSONUtil.toJSONString(new ThreadPoolRunStateInfo()), JSONUtil.toJSONString(target));
+    }
+
+    @Test
+    public void testToManyThreadPoolRunStateInfoSameAsDozer() {
+        ThreadPoolRunStateInfo source = newRunStateInfo();
+        ManyThreadPoolRunStateInfo expected = BeanUtil.BEAN_MAPPER_BUILDER.map(source, ManyThreadPoolRunStateInfo.class);
+        ManyThreadPoolRunStateInfo actual = ThreadPoolRunStateInfoConvert.toManyThreadPoolRunStateInfo(source);
+        Assert.assertEquals(JSONUtil.toJSONString(expected), JSONUtil.toJSONString(actual));
+        Assert.assertNull(ThreadPoolRunStateInfoConvert.toManyThreadPoolRunStateInfo(null));
+    }
+
+    @Test
+    public void testToRuntimeMessageSameAsDozer() {
+        ThreadPoolRunStateInfo source = newRunStateInfo();
+        RuntimeMessage expected = BeanUtil.BEAN_MAPPER_BUILDER.map(source, RuntimeMessage.class);
+        RuntimeMessage actual = ThreadPoolRunStateInfoConvert.toRuntimeMessage(source);
+        Assert.assertEquals(JSONUtil.toJSONString(expected), JSONUtil.toJSONString(actual));
+        Assert.assertEquals("3", actual.getActiveSize());
+        Assert.assertEquals(Integer.valueOf(7), actual.getRejectCount());
+        Assert.assertNull(ThreadPoolRunStateInfoConvert.toRuntimeMessage(null));
+    }
+
+    @Test
+    public void testBeanUtilUsesRegisteredMapping() {
+        ThreadPoolRunStateInfo source = newRunStateInfo();
+        RuntimeMessage runtimeMessage = BeanUtil.convert(source, RuntimeMessage.class);
+        Assert.assertEquals(JSONUtil.toJSONString(ThreadPoolRunStateInfoConvert.toRuntimeMessage(source)), JSONUtil.toJSONString(runtimeMessage));
+        ThreadPoolRunStateInfo cached = new ThreadPoolRunStateInfo();
+        Assert.assertSame(cached, BeanUtil.convert(source, cached));
+        Assert.assertEquals(source.getTpId(), cached.getTpId());
+        Assert.assertEquals(source.getQueueWaitTimeP999(), cached.getQueueWaitTimeP999());
+    }
+
+    private static ThreadPoolRunStateInfo newRunStateInfo() {
+        ThreadPoolRunStateInfo stateInfo = ThreadPoolRunStateInfo.builder()
+                .currentLoad("30")
+                .peakLoad("50")
+                .tpId("message-produce")
+                .activeCount(2)
+                .poolSize(5)
+                .activeSize(3)
+                .largestPoolSize(6)
+                .queueSize(10)
+                .queueRemainingCapacity(90)
+                .completedTaskCount(1000L)
+                .rejectCount(7L)
+                .executeTimeP50(1L)
+                .executeTimeP90(2L)
+                .executeTimeP99(3L)
+                .executeTimeP999(4L)
+                .queueWaitTimeP50(5L)
+                .queueWaitTimeP90(6L)
+                .queueWaitTimeP99(7L)
+                .queueWaitTimeP999(8L)
+                .host("127.0.0.1")
+                .memoryProportion("10%")
+                .freeMemory("1G")
+                .clientLastRefreshTime("2023-01-01 00:00:00")
+                .timestamp(1672502400000L)
+                .build();
+        stateInfo.setCoreSize(5);
+        stateInfo.setMaximumSize(10);
+        stateInfo.setQueueType("ResizableCapacityLinkedBlockingQueue");
+        stateInfo.setQueueCapacity(100);
+        stateInfo.setRejectedName("AbortPolicy");
+        stateInfo.setKeepAliveTime(60L);
+        return stateInfo;
+    }
+}
@@ -27,12 +27,14 @@ import cn.hippo4j.config.springboot.starter.refresher.event.AdapterExecutorsRefr
 import cn.hippo4j.config.springboot.starter.refresher.event.DynamicThreadPoolRefreshListener;
 import cn.hippo4j.config.springboot.starter.refresher.event.PlatformsRefreshListener;
 import cn.hippo4j.config.springboot.starter.refresher.event.WebExecutorRefreshListener;
+import cn.hippo4j.config.springboot.starter.support.AdaptiveThreadPoolSizeExecutor;
 import cn.hippo4j.config.springboot.starter.support.DynamicThreadPoolAdapterRegister;
 import cn.hippo4j.config.springboot.starter.support.DynamicThreadPoolConfigService;
 import cn.hippo4j.config.springboot.starter.support.DynamicThreadPoolPostProcessor;
 import cn.hippo4j.core.config.UtilAutoConfiguration;
 import cn.hippo4j.core.enable.MarkerConfiguration;
 import cn.hippo4j.core.executor.handler.DynamicThreadPoolBannerHandler;
+import cn.hippo4j.core.executor.state.RunStateSampler;
 import cn.hippo4j.message.api.NotifyConfigBuilder;
 import cn.hippo4j.message.config.MessageConfiguration;
 import cn.hippo4j.message.service.AlarmControlHandler;
@@ -91,8 +93,9 @@ public class DynamicThreadPoolAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public ThreadPoolCheckAlarm defaultThreadPoolCheckAlarmHandler(Hippo4jSendMessageService hippo4jSendMessageService) {
-        return new DefaultThreadPoolCheckAlarmHandler(hippo4jSendMessageService);
+    public ThreadPoolCheckAlarm defaultThreadPoolCheckAlarmHandler(Hippo4jSendMessageService hippo4jSendMessageService,
+                                                                   RunStateSampler hippo4jRunStateSampler) {
+        return new DefaultThreadPoolCheckAlarmHandler(hippo4jSendMessageService, hippo4jRunStateSampler);
     }
 
     @Bean
@@ -118,8 +121,14 @@ public class DynamicThreadPoolAutoConfiguration {
     }
 
     @Bean
-    public ThreadPoolMonitorExecutor hippo4jDynamicThreadPoolMonitorExecutor() {
-        return new ThreadPoolMonitorExecutor(bootstrapConfigProperties);
+    public ThreadPoolMonitorExecutor hippo4jDynamicThreadPoolMonitorExecutor(RunStateSampler hippo4jRunStateSampler) {
+        return new ThreadPoolMonitorExecutor(bootstrapConfigProperties, hippo4jRunStateSampler);
+    }
+
+    @Bean
+    public AdaptiveThreadPoolSizeExecutor hippo4jAdaptiveThreadPoolSizeExecutor(RunStateSampler hippo4jRunStateSampler,
+                                                                               DefaultThreadPoolConfigChangeHandler threadPoolConfigChange) {
+        return new AdaptiveThreadPoolSizeExecutor(hippo4jRunStateSampler, threadPoolConfigChange);
     }
 
     @Bean
@@ -21,17 +21,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import cn.hippo4j.core.config.ApplicationContextHolder;
-import cn.hippo4j.common.executor.ThreadFactoryBuilder;
 import cn.hippo4j.common.extension.spi.ServiceLoaderRegistry;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.threadpool.dynamic.mode.config.properties.BootstrapConfigProperties;
 import cn.hippo4j.threadpool.dynamic.mode.config.properties.MonitorProperties;
 import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
+import cn.hippo4j.core.executor.state.RunStateSampler;
+import cn.hippo4j.core.executor.state.RunStateTick;
 import cn.hippo4j.monitor.base.DynamicThreadPoolMonitor;
 import cn.hippo4j.monitor.base.ThreadPoolMonitor;
 import lombok.RequiredArgsConstructor;
@@ -45,6 +43,7 @@ import static cn.hippo4j.core.executor.manage.GlobalThreadPoolManage.getThreadPo
 
 /**
  * Thread-pool monitor executor.
+ * <p> Monitors are subscribed to {@link RunStateSampler}, so they share the same run state snapshots in each tick.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -52,7 +51,7 @@ public class ThreadPoolMonitorExecutor implements ApplicationRunner, DisposableB
 
     private final BootstrapConfigProperties properties;
 
-    private ScheduledThreadPoolExecutor collectScheduledExecutor;
+    private final RunStateSampler runStateSampler;
 
     private List<ThreadPoolMonitor> threadPoolMonitors;
 
@@ -67,38 +66,33 @@ public class ThreadPoolMonitorExecutor implements ApplicationRunner, DisposableB
         }
         log.info("Start monitoring the running status of dynamic thread pool.");
         threadPoolMonitors = new ArrayList<>();
-        collectScheduledExecutor = new ScheduledThreadPoolExecutor(
-                1,
-                ThreadFactoryBuilder.builder().daemon(true).prefix("client.scheduled.collect.data").build());
         // Get dynamic thread pool monitoring component.
         List<String> collectTypes = Arrays.asList(monitor.getCollectTypes().split(","));
         ApplicationContextHolder.getBeansOfType(ThreadPoolMonitor.class).forEach((beanName, bean) -> threadPoolMonitors.add(bean));
         Collection<DynamicThreadPoolMonitor> dynamicThreadPoolMonitors =
                 ServiceLoaderRegistry.getSingletonServiceInstances(DynamicThreadPoolMonitor.class);
         dynamicThreadPoolMonitors.stream().filter(each -> collectTypes.contains(each.getType())).forEach(each -> threadPoolMonitors.add(each));
-        // Execute dynamic thread pool monitoring component.
-        collectScheduledExecutor.scheduleWithFixedDelay(
-                this::scheduleRunnable,
-                monitor.getInitialDelay(),
+        // Execute dynamic thread pool monitoring component, each monitor consumes ticks on its own executor.
+        threadPoolMonitors.forEach(each -> runStateSampler.subscribe(
+                "monitor." + each.getType(),
+                tick -> scheduleRunnable(each, tick),
                 monitor.getCollectInterval(),
-                TimeUnit.MILLISECONDS);
+                monitor.getInitialDelay()));
         if (GlobalThreadPoolManage.getThreadPoolNum() > 0) {
             log.info("Dynamic thread pool: [{}]. The dynamic thread pool starts data collection and reporting.", getThreadPoolNum());
         }
     }
 
-    private void scheduleRunnable() {
-        for (ThreadPoolMonitor each : threadPoolMonitors) {
-            try {
-                each.collect();
-            } catch (Exception ex) {
-                log.error("Error monitoring the running status of dynamic thread pool. Type: {}", each.getType(), ex);
-            }
+    private void scheduleRunnable(ThreadPoolMonitor threadPoolMonitor, RunStateTick tick) {
+        try {
+            threadPoolMonitor.collect(tick);
+        } catch (Exception ex) {
+            log.error("Error monitoring the running status of dynamic thread pool. Type: {}", threadPoolMonitor.getType(), ex);
         }
     }
 
     @Override
     public void destroy() throws Exception {
-        Optional.ofNullable(collectScheduledExecutor).ifPresent(ScheduledThreadPoolExecutor::shutdown);
+        // Subscriptions are shut down with the run state sampler.
     }
 }
@@ -18,9 +18,8 @@
 package cn.hippo4j.config.springboot.starter.refresher.event;
 
 import cn.hippo4j.common.api.ThreadPoolConfigChange;
-import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
 import cn.hippo4j.common.executor.support.RejectedPolicyTypeEnum;
-import cn.hippo4j.common.executor.support.ResizableCapacityLinkedBlockingQueue;
+import cn.hippo4j.common.executor.support.ResizableCapacityQueue;
 import cn.hippo4j.common.toolkit.CollectionUtil;
 import cn.hippo4j.common.toolkit.ThreadPoolExecutorUtil;
 import cn.hippo4j.threadpool.dynamic.mode.config.properties.BootstrapConfigProperties;
@@ -28,6 +27,8 @@ import cn.hippo4j.common.model.executor.ExecutorProperties;
 import cn.hippo4j.config.springboot.starter.notify.ConfigModeNotifyConfigBuilder;
 import cn.hippo4j.threadpool.dynamic.core.executor.manage.GlobalConfigThreadPoolManage;
 import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueWaitTimeRecordPlugin;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSupport;
 import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
 import cn.hippo4j.message.dto.NotifyConfigDTO;
 import cn.hippo4j.message.request.ChangeParameterNotifyRequest;
@@ -83,6 +84,7 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
              * Check whether the notification configuration is consistent, this operation will not trigger the notification.
              */
             checkNotifyConsistencyAndReplace(properties);
+            checkAdaptiveConsistencyAndReplace(properties);
             if (!checkConsistency(threadPoolId, properties)) {
                 continue;
             }
@@ -124,6 +126,7 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
                 .executeTimeOut(Optional.ofNullable(properties.getExecuteTimeOut()).orElse(beforeProperties.getExecuteTimeOut()))
                 .rejectedHandler(Optional.ofNullable(properties.getRejectedHandler()).orElse(beforeProperties.getRejectedHandler()))
                 .allowCoreThreadTimeOut(Optional.ofNullable(properties.getAllowCoreThreadTimeOut()).orElse(beforeProperties.getAllowCoreThreadTimeOut()))
+                .adaptive(Optional.ofNullable(properties.getAdaptive()).orElse(beforeProperties.getAdaptive()))
                 .threadPoolId(beforeProperties.getThreadPoolId())
                 .build();
     }
@@ -193,21 +196,56 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
             Boolean isAlarm = executorProperties.getAlarm();
             Integer activeAlarm = executorProperties.getActiveAlarm();
             Integer capacityAlarm = executorProperties.getCapacityAlarm();
+            Long queueWaitAlarm = executorProperties.getQueueWaitAlarm();
             // FIXME Compare using Objects.equals
             if ((isAlarm != null && isAlarm != threadPoolNotifyAlarm.getAlarm())
                     || (activeAlarm != null && activeAlarm != threadPoolNotifyAlarm.getActiveAlarm())
-                    || (capacityAlarm != null && capacityAlarm != threadPoolNotifyAlarm.getCapacityAlarm())) {
+                    || (capacityAlarm != null && capacityAlarm != threadPoolNotifyAlarm.getCapacityAlarm())
+                    || (queueWaitAlarm != null && !Objects.equals(queueWaitAlarm, threadPoolNotifyAlarm.getQueueWaitAlarm()))) {
                 checkNotifyAlarm = true;
                 threadPoolNotifyAlarm.setAlarm(Optional.ofNullable(isAlarm).orElse(threadPoolNotifyAlarm.getAlarm()));
                 threadPoolNotifyAlarm.setActiveAlarm(Optional.ofNullable(activeAlarm).orElse(threadPoolNotifyAlarm.getActiveAlarm()));
                 threadPoolNotifyAlarm.setCapacityAlarm(Optional.ofNullable(capacityAlarm).orElse(threadPoolNotifyAlarm.getCapacityAlarm()));
+                threadPoolNotifyAlarm.setQueueWaitAlarm(Optional.ofNullable(queueWaitAlarm).orElse(threadPoolNotifyAlarm.getQueueWaitAlarm()));
             }
+            registerQueueWaitTimeRecordPlugin(executorProperties.getThreadPoolId(), threadPoolNotifyAlarm.getQueueWaitAlarm());
         }
         if (checkNotifyConfig || checkNotifyAlarm) {
             log.info("[{}] Dynamic thread pool notification property changes.", executorProperties.getThreadPoolId());
         }
     }
 
+    /**
+     * Register {@link TaskQueueWaitTimeRecordPlugin} once the queue wait alarm is configured by a refresh.
+     *
+     * @param threadPoolId   thread-pool id
+     * @param queueWaitAlarm queue wait alarm in milliseconds
+     */
+    private void registerQueueWaitTimeRecordPlugin(String threadPoolId, Long queueWaitAlarm) {
+        if (queueWaitAlarm == null || queueWaitAlarm <= 0) {
+            return;
+        }
+        ThreadPoolExecutor executor = GlobalThreadPoolManage.getExecutor(threadPoolId);
+        if (executor instanceof ThreadPoolPluginSupport && !((ThreadPoolPluginSupport) executor).isRegistered(TaskQueueWaitTimeRecordPlugin.PLUGIN_NAME)) {
+            ((ThreadPoolPluginSupport) executor).tryRegister(new TaskQueueWaitTimeRecordPlugin());
+        }
+    }
+
+    /**
+     * Check adaptive sizing consistency and replace, this operation will not trigger the notification.
+     *
+     * @param executorProperties executor properties
+     */
+    private void checkAdaptiveConsistencyAndReplace(ExecutorProperties executorProperties) {
+        ExecutorProperties beforeProperties = GlobalConfigThreadPoolManage.getProperties(executorProperties.getThreadPoolId());
+        if (beforeProperties == null || executorProperties.getAdaptive() == null
+                || Objects.equals(beforeProperties.getAdaptive(), executorProperties.getAdaptive())) {
+            return;
+        }
+        beforeProperties.setAdaptive(executorProperties.getAdaptive());
+        log.info("[{}] Dynamic thread pool adaptive sizing property changes.", executorProperties.getThreadPoolId());
+    }
+
     /**
      * Check consistency.
      *
@@ -228,7 +266,7 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
                 || (properties.getRejectedHandler() != null && !Objects.equals(beforeProperties.getRejectedHandler(), properties.getRejectedHandler()))
                 ||
                 ((properties.getQueueCapacity() != null && !Objects.equals(beforeProperties.getQueueCapacity(), properties.getQueueCapacity())
-                        && Objects.equals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getName(), executor.getQueue().getClass().getSimpleName())));
+                        && executor.getQueue() instanceof ResizableCapacityQueue));
         return result;
     }
 
@@ -267,13 +305,9 @@ public class DynamicThreadPoolRefreshListener extends AbstractRefreshListener<Ex
             executor.setKeepAliveTime(properties.getKeepAliveTime(), TimeUnit.SECONDS);
         }
         if (properties.getQueueCapacity() != null && !Objects.equals(beforeProperties.getQueueCapacity(), properties.getQueueCapacity())
-                && Objects.equals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getName(), executor.getQueue().getClass().getSimpleName())) {
-            if (executor.getQueue() instanceof ResizableCapacityLinkedBlockingQueue) {
-                ResizableCapacityLinkedBlockingQueue<?> queue = (ResizableCapacityLinkedBlockingQueue<?>) executor.getQueue();
-                queue.setCapacity(properties.getQueueCapacity());
-            } else {
-                log.warn("The queue length cannot be modified. Queue type mismatch. Current queue type: {}", executor.getQueue().getClass().getSimpleName());
-            }
+                && executor.getQueue() instanceof ResizableCapacityQueue) {
+            ResizableCapacityQueue queue = (ResizableCapacityQueue) executor.getQueue();
+            queue.setCapacity(properties.getQueueCapacity());
         }
     }
 }
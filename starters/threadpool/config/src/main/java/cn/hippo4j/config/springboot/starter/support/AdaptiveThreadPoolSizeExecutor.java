@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.springboot.starter.support;
+
+import cn.hippo4j.common.api.ThreadPoolConfigChange;
+import cn.hippo4j.common.model.executor.ExecutorAdaptiveProperties;
+import cn.hippo4j.common.model.executor.ExecutorProperties;
+import cn.hippo4j.core.executor.adaptive.AdaptivePoolSizeController;
+import cn.hippo4j.core.executor.adaptive.AdaptiveSizingDecision;
+import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
+import cn.hippo4j.core.executor.state.RunStateSampler;
+import cn.hippo4j.message.request.ChangeParameterNotifyRequest;
+import cn.hippo4j.threadpool.dynamic.core.executor.manage.GlobalConfigThreadPoolManage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive thread-pool size executor.
+ * <p> The {@link AdaptivePoolSizeController} is always subscribed to {@link RunStateSampler}, and each change it makes
+ * is sent through {@link ThreadPoolConfigChange} with the reason of the decision. Adaptive sizing, its bounds and targets
+ * can be enabled or refreshed with the other executor properties.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AdaptiveThreadPoolSizeExecutor implements ApplicationRunner {
+
+    /**
+     * Interval of ticks in milliseconds, each thread-pool is evaluated at its own interval
+     */
+    private static final long TICK_INTERVAL_MILLIS = 1000L;
+
+    private final RunStateSampler runStateSampler;
+
+    private final ThreadPoolConfigChange<ChangeParameterNotifyRequest> threadPoolConfigChange;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // always subscribed, thread-pools which disabled adaptive sizing are skipped on each tick until enabled by a refresh
+        AdaptivePoolSizeController controller = new AdaptivePoolSizeController(this::getAdaptiveProperties, this::sendPoolConfigChange);
+        runStateSampler.subscribe("adaptive-sizing", controller, TICK_INTERVAL_MILLIS, TICK_INTERVAL_MILLIS);
+        log.info("Dynamic thread pool adaptive sizing controller is started.");
+    }
+
+    private ExecutorAdaptiveProperties getAdaptiveProperties(String threadPoolId) {
+        return Optional.ofNullable(GlobalConfigThreadPoolManage.getProperties(threadPoolId))
+                .map(ExecutorProperties::getAdaptive)
+                .orElse(null);
+    }
+
+    private void sendPoolConfigChange(AdaptiveSizingDecision decision) {
+        ExecutorProperties properties = GlobalConfigThreadPoolManage.getProperties(decision.getThreadPoolId());
+        ThreadPoolExecutor executor = GlobalThreadPoolManage.getExecutor(decision.getThreadPoolId());
+        if (properties == null || executor == null) {
+            return;
+        }
+        long keepAliveTime = executor.getKeepAliveTime(TimeUnit.SECONDS);
+        ChangeParameterNotifyRequest changeRequest = ChangeParameterNotifyRequest.builder()
+                .beforeCorePoolSize(decision.getBeforeCorePoolSize())
+                .beforeMaximumPoolSize(decision.getBeforeMaximumPoolSize())
+                .beforeAllowsCoreThreadTimeOut(executor.allowsCoreThreadTimeOut())
+                .beforeKeepAliveTime(keepAliveTime)
+                .beforeQueueCapacity(properties.getQueueCapacity())
+                .beforeRejectedName(properties.getRejectedHandler())
+                .beforeExecuteTimeOut(properties.getExecuteTimeOut())
+                .blockingQueueName(properties.getBlockingQueue())
+                .nowCorePoolSize(decision.getCorePoolSize())
+                .nowMaximumPoolSize(decision.getMaximumPoolSize())
+                .nowAllowsCoreThreadTimeOut(executor.allowsCoreThreadTimeOut())
+                .nowKeepAliveTime(keepAliveTime)
+                .nowQueueCapacity(properties.getQueueCapacity())
+                .nowRejectedName(properties.getRejectedHandler())
+                .nowExecuteTimeOut(properties.getExecuteTimeOut())
+                .reason(decision.getReason())
+                .build();
+        changeRequest.setThreadPoolId(decision.getThreadPoolId());
+        threadPoolConfigChange.sendPoolConfigChange(changeRequest);
+    }
+}
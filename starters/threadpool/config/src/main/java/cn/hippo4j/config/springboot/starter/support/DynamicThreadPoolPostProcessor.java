@@ -30,6 +30,8 @@ import cn.hippo4j.core.executor.DynamicThreadPool;
 import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
 import cn.hippo4j.core.executor.DynamicThreadPoolWrapper;
 import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueWaitTimeRecordPlugin;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSupport;
 import cn.hippo4j.core.executor.support.adpter.DynamicThreadPoolAdapterChoose;
 import cn.hippo4j.core.toolkit.DynamicThreadPoolAnnotationUtil;
 import cn.hippo4j.common.toolkit.ThreadPoolExecutorUtil;
@@ -128,6 +130,7 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
             }
             ThreadPoolNotifyAlarm threadPoolNotifyAlarm = buildThreadPoolNotifyAlarm(executorProperties);
             GlobalNotifyAlarmManage.put(threadPoolId, threadPoolNotifyAlarm);
+            registerQueueWaitTimeRecordPlugin(executor, threadPoolNotifyAlarm.getQueueWaitAlarm());
         }
         GlobalThreadPoolManage.registerPool(dynamicThreadPoolWrapper.getThreadPoolId(), dynamicThreadPoolWrapper);
         GlobalConfigThreadPoolManage.register(
@@ -138,6 +141,23 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
         return executor;
     }
 
+    /**
+     * Register {@link TaskQueueWaitTimeRecordPlugin} if the queue wait alarm is configured,
+     * called after the queue of executor is replaced, since the plugin stamps the queue it is created with.
+     *
+     * @param executor       executor
+     * @param queueWaitAlarm queue wait alarm in milliseconds
+     */
+    private void registerQueueWaitTimeRecordPlugin(ThreadPoolExecutor executor, Long queueWaitAlarm) {
+        if (queueWaitAlarm == null || queueWaitAlarm <= 0 || !(executor instanceof ThreadPoolPluginSupport)) {
+            return;
+        }
+        ThreadPoolPluginSupport support = (ThreadPoolPluginSupport) executor;
+        if (!support.isRegistered(TaskQueueWaitTimeRecordPlugin.PLUGIN_NAME)) {
+            support.tryRegister(new TaskQueueWaitTimeRecordPlugin());
+        }
+    }
+
     /**
      * Build actual executor properties.
      *
@@ -226,10 +246,14 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getActiveAlarm).orElse(null)))
                 .capacityAlarm(Optional.ofNullable(executorProperties.getCapacityAlarm())
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getCapacityAlarm).orElse(null)))
+                .queueWaitAlarm(Optional.ofNullable(executorProperties.getQueueWaitAlarm())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getQueueWaitAlarm).orElse(null)))
                 .notify(Optional.ofNullable(executorProperties.getNotify())
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getNotify).orElse(null)))
                 .nodes(Optional.ofNullable(executorProperties.getNodes())
                         .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getNodes).orElse(null)))
+                .adaptive(Optional.ofNullable(executorProperties.getAdaptive())
+                        .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getAdaptive).orElse(null)))
                 .build();
     }
 
@@ -247,6 +271,8 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
                 .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getActiveAlarm).orElse(DEFAULT_ACTIVE_ALARM));
         int capacityAlarm = Optional.ofNullable(executorProperties.getCapacityAlarm())
                 .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getCapacityAlarm).orElse(DEFAULT_CAPACITY_ALARM));
+        Long queueWaitAlarm = Optional.ofNullable(executorProperties.getQueueWaitAlarm())
+                .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getQueueWaitAlarm).orElse(null));
         int interval = Optional.ofNullable(notify)
                 .map(ExecutorNotifyProperties::getInterval)
                 .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getNotify).map(ExecutorNotifyProperties::getInterval).orElse(DEFAULT_INTERVAL));
@@ -254,6 +280,7 @@ public final class DynamicThreadPoolPostProcessor implements BeanPostProcessor {
                 .map(ExecutorNotifyProperties::getReceives)
                 .orElseGet(() -> Optional.ofNullable(configProperties.getDefaultExecutor()).map(ExecutorProperties::getNotify).map(ExecutorNotifyProperties::getReceives).orElse(DEFAULT_RECEIVES));
         ThreadPoolNotifyAlarm threadPoolNotifyAlarm = new ThreadPoolNotifyAlarm(isAlarm, activeAlarm, capacityAlarm);
+        threadPoolNotifyAlarm.setQueueWaitAlarm(queueWaitAlarm);
         threadPoolNotifyAlarm.setInterval(interval);
         threadPoolNotifyAlarm.setReceives(receive);
         return threadPoolNotifyAlarm;
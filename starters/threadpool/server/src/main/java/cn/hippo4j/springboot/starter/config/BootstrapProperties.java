@@ -58,6 +58,11 @@ public class BootstrapProperties implements BootstrapPropertiesInterface {
      */
     private String reportType;
 
+    /**
+     * Whether to receive the config changes pushed on the netty server port, instead of long polling
+     */
+    private Boolean configPushEnable = Boolean.FALSE;
+
     /**
      * Namespace
      */
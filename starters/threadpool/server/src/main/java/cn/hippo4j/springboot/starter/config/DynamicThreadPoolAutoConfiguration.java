@@ -26,6 +26,7 @@ import cn.hippo4j.core.config.ApplicationContextHolder;
 import cn.hippo4j.common.constant.Constants;
 import cn.hippo4j.core.config.UtilAutoConfiguration;
 import cn.hippo4j.core.enable.MarkerConfiguration;
+import cn.hippo4j.core.executor.state.RunStateSampler;
 import cn.hippo4j.core.executor.state.ThreadPoolRunStateHandler;
 import cn.hippo4j.core.executor.support.service.DynamicThreadPoolService;
 import cn.hippo4j.core.executor.handler.DynamicThreadPoolBannerHandler;
@@ -45,6 +46,7 @@ import cn.hippo4j.springboot.starter.controller.WebThreadPoolRunStateController;
 import cn.hippo4j.springboot.starter.core.BaseThreadDetailStateHandler;
 import cn.hippo4j.springboot.starter.core.ClientShutdown;
 import cn.hippo4j.springboot.starter.core.ClientWorker;
+import cn.hippo4j.springboot.starter.core.ConfigPushClient;
 import cn.hippo4j.springboot.starter.core.DynamicThreadPoolSubscribeConfig;
 import cn.hippo4j.springboot.starter.core.ServerThreadPoolDynamicRefresh;
 import cn.hippo4j.springboot.starter.core.ThreadPoolAdapterRegister;
@@ -58,6 +60,7 @@ import cn.hippo4j.springboot.starter.remote.HttpAgent;
 import cn.hippo4j.springboot.starter.remote.HttpScheduledHealthCheck;
 import cn.hippo4j.springboot.starter.remote.ServerHealthCheck;
 import cn.hippo4j.springboot.starter.remote.ServerHttpAgent;
+import cn.hippo4j.springboot.starter.remote.ServerNettyAgent;
 import cn.hippo4j.springboot.starter.support.AdaptedThreadPoolDestroyPostProcessor;
 import cn.hippo4j.springboot.starter.support.DynamicThreadPoolConfigService;
 import cn.hippo4j.springboot.starter.support.DynamicThreadPoolPostProcessor;
@@ -121,6 +124,14 @@ public class DynamicThreadPoolAutoConfiguration {
         return new ClientWorker(httpAgent, identify, serverHealthCheck, dynamicThreadPoolBannerHandlers.getVersion(), hippo4jClientShutdown);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = Constants.CONFIGURATION_PROPERTIES_PREFIX, name = "config-push-enable", havingValue = "true")
+    public ConfigPushClient hippo4jConfigPushClient(HttpAgent httpAgent, ClientWorker hippo4jClientWorker) {
+        ConfigPushClient configPushClient = new ConfigPushClient(new ServerNettyAgent(properties), httpAgent, hippo4jClientWorker);
+        hippo4jClientWorker.setConfigPushClient(configPushClient);
+        return configPushClient;
+    }
+
     @Bean
     @SuppressWarnings("all")
     public DynamicThreadPoolService dynamicThreadPoolConfigService(HttpAgent httpAgent,
@@ -166,8 +177,9 @@ public class DynamicThreadPoolAutoConfiguration {
     @Bean
     public ReportingEventExecutor reportingEventExecutor(BootstrapProperties properties,
                                                          MessageSender messageSender,
-                                                         ServerHealthCheck serverHealthCheck) {
-        return new ReportingEventExecutor(properties, messageSender, serverHealthCheck);
+                                                         ServerHealthCheck serverHealthCheck,
+                                                         RunStateSampler hippo4jRunStateSampler) {
+        return new ReportingEventExecutor(properties, messageSender, serverHealthCheck, hippo4jRunStateSampler);
     }
 
     @Bean
@@ -219,8 +231,9 @@ public class DynamicThreadPoolAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public ThreadPoolCheckAlarm defaultThreadPoolCheckAlarmHandler(Hippo4jSendMessageService hippo4jSendMessageService) {
-        return new DefaultThreadPoolCheckAlarmHandler(hippo4jSendMessageService);
+    public ThreadPoolCheckAlarm defaultThreadPoolCheckAlarmHandler(Hippo4jSendMessageService hippo4jSendMessageService,
+                                                                   RunStateSampler hippo4jRunStateSampler) {
+        return new DefaultThreadPoolCheckAlarmHandler(hippo4jSendMessageService, hippo4jRunStateSampler);
     }
 
     @Bean
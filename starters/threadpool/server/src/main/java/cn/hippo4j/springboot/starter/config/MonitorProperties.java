@@ -56,4 +56,25 @@ public class MonitorProperties {
      * Task buffer container capacity
      */
     private Integer taskBufferSize = 4096;
+
+    /**
+     * Max count of thread-pool samples reported in a batch
+     */
+    private Integer reportBatchSize = 500;
+
+    /**
+     * Report interval, samples collected in the interval are coalesced by thread-pool. unit: ms
+     */
+    private Long reportFlushInterval = 5000L;
+
+    /**
+     * Max backoff after a failed report. unit: ms
+     */
+    private Long reportMaxBackoff = 60000L;
+
+    /**
+     * Max count of unreported batches kept while the server is unavailable,
+     * older batches are downsampled when it is full
+     */
+    private Integer reportSpillCapacity = 120;
 }
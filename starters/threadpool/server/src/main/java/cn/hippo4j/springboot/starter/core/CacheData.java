@@ -98,6 +98,19 @@ public class CacheData {
         this.md5 = getMd5String(this.content);
     }
 
+    /**
+     * Set the content fetched from server when the cache data is created,
+     * the listeners added before are not notified of it.
+     *
+     * @param content content of server
+     */
+    public void initContent(String content) {
+        setContent(content);
+        for (ManagerListenerWrapper managerListenerWrapper : listeners) {
+            managerListenerWrapper.setLastCallMd5(md5);
+        }
+    }
+
     public static String getMd5String(String config) {
         return (null == config) ? Constants.NULL : Md5Util.md5Hex(config, Constants.ENCODE);
     }
@@ -18,14 +18,18 @@
 package cn.hippo4j.springboot.starter.core;
 
 import cn.hippo4j.common.executor.ThreadFactoryBuilder;
+import cn.hippo4j.common.model.ChangedConfigsInfo;
+import cn.hippo4j.common.model.ConfigBatchQueryInfo;
 import cn.hippo4j.common.model.Result;
 import cn.hippo4j.common.model.ThreadPoolParameterInfo;
 import cn.hippo4j.common.toolkit.ContentUtil;
 import cn.hippo4j.common.toolkit.GroupKey;
 import cn.hippo4j.common.toolkit.IdUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
+import cn.hippo4j.common.toolkit.http.HttpStatusException;
 import cn.hippo4j.springboot.starter.remote.HttpAgent;
 import cn.hippo4j.springboot.starter.remote.ServerHealthCheck;
+import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
@@ -39,10 +43,13 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static cn.hippo4j.common.constant.Constants.CONFIG_LONG_POLL_TIMEOUT;
 import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER_TRANSLATION;
@@ -52,16 +59,25 @@ import static cn.hippo4j.common.constant.Constants.PROBE_MODIFY_REQUEST;
 import static cn.hippo4j.common.constant.Constants.WEIGHT_CONFIGS;
 import static cn.hippo4j.common.constant.Constants.LONG_PULLING_TIMEOUT;
 import static cn.hippo4j.common.constant.Constants.LONG_PULLING_CLIENT_IDENTIFICATION;
+import static cn.hippo4j.common.constant.Constants.LONG_PULLING_INLINE_CONFIGS;
 import static cn.hippo4j.common.constant.Constants.LONG_PULLING_TIMEOUT_NO_HANGUP;
 import static cn.hippo4j.common.constant.Constants.CLIENT_VERSION;
 import static cn.hippo4j.common.constant.Constants.LISTENER_PATH;
 import static cn.hippo4j.common.constant.Constants.INITIAL_CAPACITY;
 import static cn.hippo4j.common.constant.Constants.DATA_GROUP_TENANT_SIZE;
 import static cn.hippo4j.common.constant.Constants.CONFIG_CONTROLLER_PATH;
+import static cn.hippo4j.common.constant.Constants.BATCH_CONFIG_PATH;
 import static cn.hippo4j.common.constant.Constants.NULL;
+import static cn.hippo4j.common.constant.HttpResponseCode.SC_HTTP_BAD_METHOD;
+import static cn.hippo4j.common.constant.HttpResponseCode.SC_HTTP_NOT_FOUND;
 
 /**
- * Client worker.
+ * <p>Client worker. <br />
+ * The changed configs are sent inline in the long polling response by the servers supporting it,
+ * the others are fetched in one batch request, or one by one from the servers of old versions.
+ * The configs of the thread-pools registered on startup are fetched in one batch as well.
+ * If the config push is enabled, the configs are pushed by {@link ConfigPushClient} instead of being polled,
+ * and long polling is only used while the push channel is not subscribed.
  */
 @Slf4j
 public class ClientWorker implements DisposableBean {
@@ -79,8 +95,37 @@ public class ClientWorker implements DisposableBean {
     private final CountDownLatch cacheCondition = new CountDownLatch(1);
     private final ConcurrentHashMap<String, CacheData> cacheMap = new ConcurrentHashMap<>(16);
 
+    /**
+     * Cache data registered on startup, whose configs have not been fetched
+     */
+    private final ConcurrentLinkedQueue<CacheData> uninitializedCacheData = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether the server supports fetching configs in batch, null until known
+     */
+    private volatile Boolean batchConfigSupported;
+
+    /**
+     * Push client of configs, null if the push is disabled
+     */
+    private volatile ConfigPushClient configPushClient;
+
+    /**
+     * Configs pushed by server, an empty list wakes up the worker to check the push channel
+     */
+    private final LinkedBlockingQueue<List<ThreadPoolParameterInfo>> pushedConfigs = new LinkedBlockingQueue<>();
+
+    private static final TypeReference<ChangedConfigsInfo<ThreadPoolParameterInfo>> CHANGED_CONFIGS_TYPE =
+            new TypeReference<ChangedConfigsInfo<ThreadPoolParameterInfo>>() {
+            };
+
     private final long defaultTimedOut = 3000L;
 
+    /**
+     * Max time to wait for the push channel to be subscribed before long polling
+     */
+    private final long pushSubscribeTimeout = 3000L;
+
     @SuppressWarnings("all")
     public ClientWorker(HttpAgent httpAgent,
                         String identify,
@@ -144,20 +189,35 @@ public class ClientWorker implements DisposableBean {
                 cacheMapInitEmptyFlag = false;
             }
             serverHealthCheck.isHealthStatus();
+            initCacheData();
+            if (configPushClient != null && configPushClient.awaitSubscribed(pushSubscribeTimeout)) {
+                applyPushedConfigs();
+                executorService.execute(this);
+                return;
+            }
             List<CacheData> cacheDataList = new ArrayList<>();
             List<String> inInitializingCacheList = new ArrayList<>();
             cacheMap.forEach((key, val) -> cacheDataList.add(val));
-            List<String> changedTpIds = checkUpdateDataIds(cacheDataList, inInitializingCacheList);
+            Map<String, ThreadPoolParameterInfo> changedConfigs = new HashMap<>();
+            List<String> changedTpIds = checkUpdateDataIds(cacheDataList, inInitializingCacheList, changedConfigs);
+            List<ThreadPoolParameterInfo> absentParameters = new ArrayList<>();
+            for (String groupKey : changedTpIds) {
+                if (!changedConfigs.containsKey(groupKey)) {
+                    String[] keys = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
+                    absentParameters.add(new ThreadPoolParameterInfo().setTpId(keys[0]).setItemId(keys[1]).setTenantId(keys[2]));
+                }
+            }
+            changedConfigs.putAll(getServerConfigs(absentParameters));
             for (String groupKey : changedTpIds) {
-                String[] keys = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
-                String tpId = keys[0];
-                String itemId = keys[1];
-                String namespace = keys[2];
+                String tpId = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION)[0];
                 try {
-                    String content = getServerConfig(namespace, itemId, tpId, defaultTimedOut);
+                    ThreadPoolParameterInfo config = changedConfigs.get(groupKey);
+                    if (config == null) {
+                        log.error("Failed to get the latest thread pool configuration. threadPoolId: {}", tpId);
+                        continue;
+                    }
                     CacheData cacheData = cacheMap.get(tpId);
-                    String poolContent = ContentUtil.getPoolContent(JSONUtil.parseObject(content, ThreadPoolParameterInfo.class));
-                    cacheData.setContent(poolContent);
+                    cacheData.setContent(ContentUtil.getPoolContent(config));
                 } catch (Exception ignored) {
                     log.error("Failed to get the latest thread pool configuration.", ignored);
                 }
@@ -174,7 +234,36 @@ public class ClientWorker implements DisposableBean {
         }
     }
 
-    private List<String> checkUpdateDataIds(List<CacheData> cacheDataList, List<String> inInitializingCacheList) {
+    /**
+     * Wait for the pushed configs and refresh the cache data, instead of long polling.
+     */
+    private void applyPushedConfigs() throws InterruptedException {
+        List<ThreadPoolParameterInfo> configs = new ArrayList<>();
+        List<ThreadPoolParameterInfo> each = pushedConfigs.poll(timeout, TimeUnit.MILLISECONDS);
+        while (each != null) {
+            configs.addAll(each);
+            each = pushedConfigs.poll();
+        }
+        for (ThreadPoolParameterInfo config : configs) {
+            CacheData cacheData = cacheMap.get(config.getTpId());
+            if (cacheData == null) {
+                continue;
+            }
+            try {
+                cacheData.setContent(ContentUtil.getPoolContent(config));
+                log.info("[{}] Refresh thread pool changed.", config.getTpId());
+            } catch (Exception ex) {
+                log.error("Failed to refresh the pushed thread pool configuration.", ex);
+            }
+        }
+        for (CacheData cacheData : cacheMap.values()) {
+            cacheData.checkListenerMd5();
+            cacheData.setInitializing(false);
+        }
+    }
+
+    private List<String> checkUpdateDataIds(List<CacheData> cacheDataList, List<String> inInitializingCacheList,
+                                            Map<String, ThreadPoolParameterInfo> changedConfigs) {
         StringBuilder sb = new StringBuilder();
         for (CacheData cacheData : cacheDataList) {
             sb.append(cacheData.getThreadPoolId()).append(WORD_SEPARATOR);
@@ -187,10 +276,23 @@ public class ClientWorker implements DisposableBean {
             }
         }
         boolean isInitializingCacheList = !inInitializingCacheList.isEmpty();
-        return checkUpdateTpIds(sb.toString(), isInitializingCacheList);
+        return checkUpdateTpIds(sb.toString(), isInitializingCacheList, changedConfigs);
     }
 
     public List<String> checkUpdateTpIds(String probeUpdateString, boolean isInitializingCacheList) {
+        return checkUpdateTpIds(probeUpdateString, isInitializingCacheList, new HashMap<>());
+    }
+
+    /**
+     * Check the changed thread-pools by long polling.
+     *
+     * @param probeUpdateString       probe string of md5
+     * @param isInitializingCacheList whether there is new cache data initializing
+     * @param changedConfigs          the changed configs sent inline are put in, keyed by group key
+     * @return group keys of the changed thread-pools
+     */
+    public List<String> checkUpdateTpIds(String probeUpdateString, boolean isInitializingCacheList,
+                                         Map<String, ThreadPoolParameterInfo> changedConfigs) {
         if (StringUtils.isEmpty(probeUpdateString)) {
             return Collections.emptyList();
         }
@@ -206,11 +308,23 @@ public class ClientWorker implements DisposableBean {
             headers.put(LONG_PULLING_TIMEOUT_NO_HANGUP, "true");
         }
         headers.put(CLIENT_VERSION, version);
+        // Ask for the changed configs inline, the servers of old versions ignore it and send the group keys only.
+        headers.put(LONG_PULLING_INLINE_CONFIGS, "true");
         try {
             long readTimeoutMs = timeout + Math.round(timeout >> 1);
             Result result = agent.httpPostByConfig(LISTENER_PATH, headers, params, readTimeoutMs);
             if (result != null && result.isSuccess()) {
-                return parseUpdateDataIdResponse(result.getData().toString());
+                Object data = result.getData();
+                if (data instanceof Map) {
+                    // The server sending configs inline also supports fetching configs in batch.
+                    batchConfigSupported = true;
+                    ChangedConfigsInfo<ThreadPoolParameterInfo> changed = JSONUtil.parseObject(JSONUtil.toJSONString(data), CHANGED_CONFIGS_TYPE);
+                    if (changed.getConfigs() != null) {
+                        changed.getConfigs().forEach(each -> changedConfigs.put(getGroupKey(each), each));
+                    }
+                    return parseUpdateDataIdResponse(changed.getChangedGroups());
+                }
+                return parseUpdateDataIdResponse(data.toString());
             }
         } catch (Exception ex) {
             setHealthServer(false);
@@ -233,6 +347,54 @@ public class ClientWorker implements DisposableBean {
         return NULL;
     }
 
+    /**
+     * Get the configs of several thread-pools in one batch request,
+     * or one by one if the server does not support it.
+     *
+     * @param parameters tenant id, item id and thread-pool id of thread-pools
+     * @return configs keyed by group key, the thread-pools failed to get are absent
+     */
+    public Map<String, ThreadPoolParameterInfo> getServerConfigs(List<ThreadPoolParameterInfo> parameters) {
+        Map<String, ThreadPoolParameterInfo> configs = new HashMap<>(parameters.size());
+        if (parameters.isEmpty()) {
+            return configs;
+        }
+        if (!Boolean.FALSE.equals(batchConfigSupported)) {
+            try {
+                Result result = agent.httpPost(BATCH_CONFIG_PATH, new ConfigBatchQueryInfo(identify, parameters));
+                if (result != null && result.isSuccess()) {
+                    batchConfigSupported = true;
+                    JSONUtil.parseArray(JSONUtil.toJSONString(result.getData()), ThreadPoolParameterInfo.class)
+                            .forEach(each -> configs.put(getGroupKey(each), each));
+                    return configs;
+                }
+                log.warn("Failed to get thread pool configurations in batch, get them one by one. message: {}",
+                        result != null ? result.getMessage() : null);
+            } catch (HttpStatusException ex) {
+                if (ex.getStatusCode() == SC_HTTP_NOT_FOUND || ex.getStatusCode() == SC_HTTP_BAD_METHOD) {
+                    log.info("The server does not support getting thread pool configurations in batch, get them one by one.");
+                    batchConfigSupported = false;
+                } else {
+                    log.warn("Failed to get thread pool configurations in batch, get them one by one. error message: {}", ex.getMessage());
+                }
+            } catch (Exception ex) {
+                log.warn("Failed to get thread pool configurations in batch, get them one by one. error message: {}", ex.getMessage());
+            }
+        }
+        for (ThreadPoolParameterInfo each : parameters) {
+            try {
+                String content = getServerConfig(each.getTenantId(), each.getItemId(), each.getTpId(), defaultTimedOut);
+                ThreadPoolParameterInfo config = JSONUtil.parseObject(content, ThreadPoolParameterInfo.class);
+                if (config != null) {
+                    configs.put(getGroupKey(each), config);
+                }
+            } catch (Exception ex) {
+                log.error("Failed to get the latest thread pool configuration.", ex);
+            }
+        }
+        return configs;
+    }
+
     public List<String> parseUpdateDataIdResponse(String response) {
         if (StringUtils.isEmpty(response)) {
             return Collections.emptyList();
@@ -279,17 +441,85 @@ public class ClientWorker implements DisposableBean {
         cacheData = new CacheData(namespace, itemId, threadPoolId);
         CacheData lastCacheData = cacheMap.putIfAbsent(threadPoolId, cacheData);
         if (lastCacheData == null) {
-            String serverConfig;
+            if (awaitApplicationComplete.getCount() > 0L) {
+                // The configs of the thread-pools registered on startup are fetched in one batch before the first long polling.
+                uninitializedCacheData.add(cacheData);
+            } else {
+                initCacheData(Collections.singletonList(cacheData));
+                if (configPushClient != null) {
+                    configPushClient.subscribe();
+                }
+            }
+            lastCacheData = cacheData;
+        }
+        return lastCacheData;
+    }
+
+    private void initCacheData() {
+        List<CacheData> cacheDataList = new ArrayList<>();
+        CacheData cacheData;
+        while ((cacheData = uninitializedCacheData.poll()) != null) {
+            cacheDataList.add(cacheData);
+        }
+        if (!cacheDataList.isEmpty()) {
+            initCacheData(cacheDataList);
+        }
+    }
+
+    private void initCacheData(List<CacheData> cacheDataList) {
+        List<ThreadPoolParameterInfo> parameters = cacheDataList.stream()
+                .map(each -> new ThreadPoolParameterInfo().setTenantId(each.getTenantId()).setItemId(each.getItemId()).setTpId(each.getThreadPoolId()))
+                .collect(Collectors.toList());
+        Map<String, ThreadPoolParameterInfo> configs = getServerConfigs(parameters);
+        for (CacheData each : cacheDataList) {
+            ThreadPoolParameterInfo config = configs.get(GroupKey.getKeyTenant(each.getThreadPoolId(), each.getItemId(), each.getTenantId()));
+            if (config == null) {
+                log.error("Cache Data Error. Service Unavailable. threadPoolId: {}", each.getThreadPoolId());
+                continue;
+            }
             try {
-                serverConfig = getServerConfig(namespace, itemId, threadPoolId, defaultTimedOut);
-                ThreadPoolParameterInfo poolInfo = JSONUtil.parseObject(serverConfig, ThreadPoolParameterInfo.class);
-                cacheData.setContent(ContentUtil.getPoolContent(poolInfo));
+                each.initContent(ContentUtil.getPoolContent(config));
             } catch (Exception ex) {
                 log.error("Cache Data Error. Service Unavailable: {}", ex.getMessage());
             }
-            lastCacheData = cacheData;
         }
-        return lastCacheData;
+    }
+
+    /**
+     * Set the push client of configs, which is used when the push channel is subscribed.
+     *
+     * @param configPushClient push client of configs
+     */
+    public void setConfigPushClient(ConfigPushClient configPushClient) {
+        this.configPushClient = configPushClient;
+    }
+
+    /**
+     * Called by {@link ConfigPushClient} when configs are pushed, or with null when the push channel is lost.
+     *
+     * @param configs most recent configs of the changed thread-pools, or null
+     */
+    void onConfigsPushed(List<ThreadPoolParameterInfo> configs) {
+        pushedConfigs.offer(configs == null ? Collections.emptyList() : configs);
+    }
+
+    String getIdentify() {
+        return identify;
+    }
+
+    /**
+     * Get the md5 of the configs held by client.
+     *
+     * @return group key tpId+itemId+tenantId -> md5
+     */
+    Map<String, String> getCacheMd5() {
+        Map<String, String> md5 = new HashMap<>(cacheMap.size());
+        cacheMap.values().forEach(each -> md5.put(GroupKey.getKeyTenant(each.getThreadPoolId(), each.getItemId(), each.getTenantId()), each.getMd5()));
+        return md5;
+    }
+
+    private static String getGroupKey(ThreadPoolParameterInfo parameter) {
+        return GroupKey.getKeyTenant(parameter.getTpId(), parameter.getItemId(), parameter.getTenantId());
     }
 
     private void setHealthServer(boolean isHealthServer) {
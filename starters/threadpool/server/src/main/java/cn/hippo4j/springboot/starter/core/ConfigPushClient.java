@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.core;
+
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
+import cn.hippo4j.common.push.ConfigPushCodec;
+import cn.hippo4j.common.push.ConfigPushMessage;
+import cn.hippo4j.springboot.starter.remote.HttpAgent;
+import cn.hippo4j.springboot.starter.remote.ServerNettyAgent;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.timeout.IdleStateHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Config push client.
+ * <p> Subscribe the thread-pools of {@link ClientWorker} on a long-lived channel to the netty port of server,
+ * and hand the pushed configs over to it. The subscription carries the md5 of the configs held by client,
+ * so it is sent again after reconnection to receive the configs changed in the meantime.
+ * It carries the access token of {@link HttpAgent} as well, the rejected subscription is sent again after reconnection.
+ * <p> The channel sends heartbeats when idle and reconnects with backoff when it is lost,
+ * {@link ClientWorker} falls back to long polling while the channel is not subscribed.
+ * If the server closes the first channel before replying the subscription, it does not support the push,
+ * and long polling is used for the rest of the life of client.
+ */
+@Slf4j
+public class ConfigPushClient implements DisposableBean {
+
+    /**
+     * Interval of heartbeat when the channel is idle, in seconds
+     */
+    private static final int HEARTBEAT_INTERVAL_SECONDS = 30;
+
+    /**
+     * Close the channel if nothing is read for a while, the server echoes the heartbeats
+     */
+    private static final int READER_IDLE_SECONDS = 90;
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+
+    private static final long RECONNECT_BASE_DELAY_MILLIS = 1000L;
+
+    private static final long RECONNECT_MAX_DELAY_MILLIS = 30000L;
+
+    private static final int MAX_BACKOFF_SHIFT = 5;
+
+    private static final int LENGTH_FIELD_LENGTH = 4;
+
+    private static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    private final ServerNettyAgent serverNettyAgent;
+
+    private final HttpAgent httpAgent;
+
+    private final ClientWorker clientWorker;
+
+    private final Bootstrap bootstrap;
+
+    /**
+     * Notified when the subscription is replied or the connection fails
+     */
+    private final Object subscribeMonitor = new Object();
+
+    private volatile Channel channel;
+
+    private volatile boolean subscribed;
+
+    /**
+     * Whether a connection is being established or subscribed
+     */
+    private volatile boolean connecting;
+
+    /**
+     * Set when the server replies the subscription
+     */
+    private volatile boolean supported;
+
+    /**
+     * Set when the server closes the channel without replying the subscription, and never replied it before
+     */
+    private volatile boolean unsupported;
+
+    private volatile boolean closed;
+
+    private boolean reconnectScheduled;
+
+    private int reconnectAttempts;
+
+    public ConfigPushClient(ServerNettyAgent serverNettyAgent, HttpAgent httpAgent, ClientWorker clientWorker) {
+        this.serverNettyAgent = serverNettyAgent;
+        this.httpAgent = httpAgent;
+        this.clientWorker = clientWorker;
+        this.bootstrap = new Bootstrap()
+                .group(serverNettyAgent.getEventLoopGroup())
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
+                .handler(new ChannelInitializer<SocketChannel>() {
+
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ChannelPipeline pipeline = ch.pipeline();
+                        pipeline.addLast(new IdleStateHandler(READER_IDLE_SECONDS, HEARTBEAT_INTERVAL_SECONDS, 0));
+                        pipeline.addLast(new LengthFieldBasedFrameDecoder(MAX_FRAME_LENGTH, 0, LENGTH_FIELD_LENGTH, 0, LENGTH_FIELD_LENGTH));
+                        pipeline.addLast(new LengthFieldPrepender(LENGTH_FIELD_LENGTH));
+                        pipeline.addLast(new ConfigPushClientHandler(ConfigPushClient.this));
+                    }
+                });
+    }
+
+    /**
+     * Wait for the subscription to be replied, the server is connected if the channel is not established.
+     *
+     * @param timeoutMillis max time to wait
+     * @return true if subscribed, otherwise the configs should be polled
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitSubscribed(long timeoutMillis) throws InterruptedException {
+        if (subscribed) {
+            return true;
+        }
+        synchronized (this) {
+            // back off, the scheduled reconnection will establish the channel
+            if (closed || unsupported || reconnectScheduled) {
+                return false;
+            }
+            connect();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (subscribeMonitor) {
+            while (!subscribed && connecting) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    break;
+                }
+                subscribeMonitor.wait(TimeUnit.NANOSECONDS.toMillis(remaining) + 1L);
+            }
+        }
+        return subscribed;
+    }
+
+    public boolean isSubscribed() {
+        return subscribed;
+    }
+
+    /**
+     * Send the subscription of all the thread-pools of client, which replaces the previous one on server.
+     */
+    public void subscribe() {
+        Channel current = channel;
+        if (current == null || !current.isActive()) {
+            return;
+        }
+        ConfigPushMessage<Object> message = ConfigPushMessage.of(ConfigPushMessage.Type.SUBSCRIBE);
+        message.setIdentify(clientWorker.getIdentify());
+        message.setAccessToken(httpAgent.getAccessToken());
+        message.setMd5(clientWorker.getCacheMd5());
+        current.writeAndFlush(Unpooled.wrappedBuffer(ConfigPushCodec.encode(message))).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+    }
+
+    private synchronized void connect() {
+        Channel current = channel;
+        if (connecting || (current != null && current.isActive())) {
+            return;
+        }
+        connecting = true;
+        try {
+            bootstrap.connect(serverNettyAgent.getNettyServerAddress(), serverNettyAgent.getNettyServerPort())
+                    .addListener((ChannelFutureListener) future -> {
+                        if (future.isSuccess()) {
+                            onConnected(future.channel());
+                        } else {
+                            log.warn("Failed to connect netty server for config push. Reconnect later. message: {}", future.cause().getMessage());
+                            onConnectFailed();
+                        }
+                    });
+        } catch (Exception ex) {
+            log.error("Failed to connect netty server for config push. Reconnect later.", ex);
+            onConnectFailed();
+        }
+    }
+
+    private void onConnected(Channel connected) {
+        synchronized (this) {
+            if (closed) {
+                connected.close();
+                return;
+            }
+            channel = connected;
+        }
+        subscribe();
+    }
+
+    private void onConnectFailed() {
+        connecting = false;
+        signal();
+        scheduleReconnect();
+    }
+
+    /**
+     * Called when the server replies the subscription.
+     *
+     * @param configs configs changed since the md5 of subscription
+     */
+    void onSubscribed(List<ThreadPoolParameterInfo> configs) {
+        if (!subscribed) {
+            synchronized (this) {
+                reconnectAttempts = 0;
+            }
+            log.info("Config push channel to server is subscribed. {}", channel == null ? null : channel.remoteAddress());
+        }
+        supported = true;
+        subscribed = true;
+        connecting = false;
+        signal();
+        onChanged(configs);
+    }
+
+    /**
+     * Called when the server rejects the subscription for the invalid access token,
+     * the channel is closed by server and connected again later with the refreshed token.
+     */
+    void onRejected() {
+        log.warn("Config push subscription is rejected by server for the invalid access token, use long polling until reconnected. {}",
+                channel == null ? null : channel.remoteAddress());
+        supported = true;
+        connecting = false;
+        signal();
+    }
+
+    /**
+     * Called when the configs are pushed by server.
+     *
+     * @param configs most recent configs of the changed thread-pools
+     */
+    void onChanged(List<ThreadPoolParameterInfo> configs) {
+        clientWorker.onConfigsPushed(configs);
+    }
+
+    /**
+     * Called when the channel is closed, long polling takes over until the channel is subscribed again.
+     */
+    void onInactive() {
+        boolean wasSubscribed = subscribed;
+        subscribed = false;
+        connecting = false;
+        synchronized (this) {
+            channel = null;
+        }
+        signal();
+        clientWorker.onConfigsPushed(null);
+        if (closed) {
+            return;
+        }
+        if (!wasSubscribed && !supported) {
+            log.warn("Netty server does not support config push, use long polling instead.");
+            unsupported = true;
+            return;
+        }
+        if (wasSubscribed) {
+            log.warn("Config push channel to server is inactive, use long polling until reconnected.");
+        }
+        scheduleReconnect();
+    }
+
+    private synchronized void scheduleReconnect() {
+        if (closed || unsupported || reconnectScheduled) {
+            return;
+        }
+        reconnectScheduled = true;
+        long delay = Math.min(RECONNECT_BASE_DELAY_MILLIS << Math.min(reconnectAttempts++, MAX_BACKOFF_SHIFT), RECONNECT_MAX_DELAY_MILLIS);
+        serverNettyAgent.getEventLoopGroup().schedule(() -> {
+            synchronized (this) {
+                reconnectScheduled = false;
+                if (!closed) {
+                    connect();
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void signal() {
+        synchronized (subscribeMonitor) {
+            subscribeMonitor.notifyAll();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Channel current;
+        synchronized (this) {
+            closed = true;
+            current = channel;
+        }
+        if (current != null) {
+            current.close();
+        }
+        signal();
+        serverNettyAgent.getEventLoopGroup().shutdownGracefully();
+    }
+}
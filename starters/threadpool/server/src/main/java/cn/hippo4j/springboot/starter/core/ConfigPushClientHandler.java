@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.core;
+
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
+import cn.hippo4j.common.push.ConfigPushCodec;
+import cn.hippo4j.common.push.ConfigPushMessage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Config push client handler.
+ * <p> Hand the pushed configs over to {@link ConfigPushClient}, send heartbeats when the channel is idle for writing,
+ * and close the channel when nothing is read for a while, including the heartbeats echoed by server.
+ */
+@Slf4j
+@AllArgsConstructor
+public class ConfigPushClientHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+    private static final TypeReference<ConfigPushMessage<ThreadPoolParameterInfo>> MESSAGE_TYPE =
+            new TypeReference<ConfigPushMessage<ThreadPoolParameterInfo>>() {
+            };
+
+    private static final byte[] HEARTBEAT = ConfigPushCodec.encode(ConfigPushMessage.of(ConfigPushMessage.Type.HEARTBEAT));
+
+    private ConfigPushClient configPushClient;
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) throws Exception {
+        ConfigPushMessage<ThreadPoolParameterInfo> message = ConfigPushCodec.decode(ByteBufUtil.getBytes(frame), MESSAGE_TYPE);
+        switch (message.getType()) {
+            case SUBSCRIBED:
+                configPushClient.onSubscribed(message.getConfigs());
+                break;
+            case CHANGED:
+                configPushClient.onChanged(message.getConfigs());
+                break;
+            case REJECTED:
+                configPushClient.onRejected();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            if (((IdleStateEvent) evt).state() == IdleState.WRITER_IDLE) {
+                ctx.writeAndFlush(Unpooled.wrappedBuffer(HEARTBEAT)).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+            } else if (((IdleStateEvent) evt).state() == IdleState.READER_IDLE) {
+                log.warn("Config push channel to server is idle, close the channel. {}", ctx.channel().remoteAddress());
+                ctx.close();
+            }
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        configPushClient.onInactive();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        log.error("Config push channel to server error, close the channel. {}", ctx.channel().remoteAddress(), cause);
+        ctx.close();
+    }
+}
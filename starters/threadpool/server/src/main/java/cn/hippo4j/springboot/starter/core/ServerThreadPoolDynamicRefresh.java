@@ -21,7 +21,7 @@ import cn.hippo4j.common.api.ThreadPoolConfigChange;
 import cn.hippo4j.common.extension.enums.EnableEnum;
 import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
 import cn.hippo4j.common.executor.support.RejectedPolicyTypeEnum;
-import cn.hippo4j.common.executor.support.ResizableCapacityLinkedBlockingQueue;
+import cn.hippo4j.common.executor.support.ResizableCapacityQueue;
 import cn.hippo4j.common.model.ThreadPoolParameter;
 import cn.hippo4j.common.model.ThreadPoolParameterInfo;
 import cn.hippo4j.common.toolkit.JSONUtil;
@@ -120,9 +120,9 @@ public class ServerThreadPoolDynamicRefresh implements ThreadPoolDynamicRefresh
             }
         }
         if (parameter.getCapacity() != null
-                && Objects.equals(BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE.getType(), parameter.getQueueType())) {
-            if (executor.getQueue() instanceof ResizableCapacityLinkedBlockingQueue) {
-                ResizableCapacityLinkedBlockingQueue queue = (ResizableCapacityLinkedBlockingQueue) executor.getQueue();
+                && BlockingQueueTypeEnum.isResizable(parameter.getQueueType())) {
+            if (executor.getQueue() instanceof ResizableCapacityQueue) {
+                ResizableCapacityQueue queue = (ResizableCapacityQueue) executor.getQueue();
                 queue.setCapacity(parameter.getCapacity());
             } else {
                 log.warn("The queue length cannot be modified. Queue type mismatch. Current queue type: {}", executor.getQueue().getClass().getSimpleName());
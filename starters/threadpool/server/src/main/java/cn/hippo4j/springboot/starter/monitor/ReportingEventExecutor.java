@@ -18,48 +18,62 @@
 package cn.hippo4j.springboot.starter.monitor;
 
 import cn.hippo4j.core.config.ApplicationContextHolder;
-import cn.hippo4j.common.executor.ThreadFactoryBuilder;
 import cn.hippo4j.common.monitor.Message;
 import cn.hippo4j.common.extension.spi.ServiceLoaderRegistry;
 import cn.hippo4j.common.toolkit.CollectionUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.common.toolkit.ThreadUtil;
 import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
+import cn.hippo4j.core.executor.state.RunStateSampler;
+import cn.hippo4j.core.executor.state.RunStateTick;
 import cn.hippo4j.monitor.base.MonitorTypeEnum;
 import cn.hippo4j.monitor.base.ThreadPoolMonitor;
 import cn.hippo4j.springboot.starter.config.BootstrapProperties;
 import cn.hippo4j.springboot.starter.config.MonitorProperties;
+import cn.hippo4j.springboot.starter.monitor.buffer.ReportBuffer;
+import cn.hippo4j.springboot.starter.monitor.buffer.ReportBufferMetrics;
 import cn.hippo4j.springboot.starter.monitor.collect.Collector;
 import cn.hippo4j.springboot.starter.monitor.send.MessageSender;
 import cn.hippo4j.springboot.starter.remote.ServerHealthCheck;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.util.ClassUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import static cn.hippo4j.core.executor.manage.GlobalThreadPoolManage.getThreadPoolNum;
 
 /**
  * Dynamic thread pool collection and reporting event executor.
  *
- * <p> {@link BlockingQueue} Act as a buffer container, enabling a production-consumption model.
+ * <p> {@link ReportBuffer} Act as a buffer container, enabling a production-consumption model.
+ * Samples are coalesced by thread-pool and reported in batches, failed batches are kept in the spill ring
+ * of the buffer and uploaded after the server recovers, with exponential backoff between failures.
+ * <p> Monitors and collectors are subscribed to {@link RunStateSampler}, so they share the same run state snapshots in each tick.
  */
 @Slf4j
 @RequiredArgsConstructor
 public class ReportingEventExecutor implements Runnable, CommandLineRunner, DisposableBean {
 
+    private static final long BASE_BACKOFF_MILLIS = 1000L;
+
+    /**
+     * Max count of spilled entries uploaded after each successful flush,
+     * so the current samples are not delayed by a long backlog
+     */
+    private static final int MAX_BACKLOG_ENTRIES_PER_FLUSH = 8;
+
+    private static final boolean MICROMETER_PRESENT =
+            ClassUtils.isPresent("io.micrometer.core.instrument.Metrics", ReportingEventExecutor.class.getClassLoader());
+
     @NonNull
     private final BootstrapProperties properties;
 
@@ -69,6 +83,9 @@ public class ReportingEventExecutor implements Runnable, CommandLineRunner, Disp
     @NonNull
     private final ServerHealthCheck serverHealthCheck;
 
+    @NonNull
+    private final RunStateSampler runStateSampler;
+
     /**
      * Collection of data collection components.
      */
@@ -83,23 +100,31 @@ public class ReportingEventExecutor implements Runnable, CommandLineRunner, Disp
      * Buffer container for data collection, waiting
      * for ReportingEventExecutor to report to the server.
      */
-    private BlockingQueue<Message> messageCollectVessel;
+    private ReportBuffer reportBuffer;
 
-    /**
-     * Data collection timing executor, after Spring starts,
-     * it delays for a period of time to collect the running data of the dynamic thread pool.
-     */
-    private ScheduledThreadPoolExecutor collectVesselExecutor;
-
-    @SneakyThrows
     @Override
     public void run() {
-        while (true) {
+        MonitorProperties monitor = properties.getMonitor();
+        long backoffMillis = 0L;
+        while (!Thread.currentThread().isInterrupted()) {
             try {
-                Message message = messageCollectVessel.take();
-                messageSender.send(message);
+                List<Message> batches = reportBuffer.awaitBatches(monitor.getReportFlushInterval());
+                if (!serverHealthCheck.isHealthStatus()) {
+                    reportBuffer.spill(batches);
+                    continue;
+                }
+                if (!flush(batches)) {
+                    backoffMillis = Math.min(backoffMillis == 0L ? BASE_BACKOFF_MILLIS : backoffMillis << 1, monitor.getReportMaxBackoff());
+                    log.warn("Failed to report monitoring data, retry after {} ms. Spilled batches: {}", backoffMillis, reportBuffer.getSpillDepth());
+                    Thread.sleep(backoffMillis);
+                    continue;
+                }
+                backoffMillis = 0L;
+                uploadBacklog();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
             } catch (Throwable ex) {
-                log.error("Consumption buffer container task failed. Number of buffer container tasks: {}", messageCollectVessel.size(), ex);
+                log.error("Consumption buffer container task failed. Number of buffer container tasks: {}", reportBuffer.getDepth(), ex);
             }
         }
     }
@@ -115,9 +140,6 @@ public class ReportingEventExecutor implements Runnable, CommandLineRunner, Disp
         }
         threadPoolMonitors = new ArrayList<>();
         String collectType = Optional.ofNullable(StringUtil.emptyToNull(monitor.getCollectTypes())).orElse(MonitorTypeEnum.SERVER.name().toLowerCase());
-        collectVesselExecutor = new ScheduledThreadPoolExecutor(
-                new Integer(collectType.split(",").length),
-                ThreadFactoryBuilder.builder().daemon(true).prefix("client.scheduled.collect.data").build());
         Collection<ThreadPoolMonitor> dynamicThreadPoolMonitors =
                 ServiceLoaderRegistry.getSingletonServiceInstances(ThreadPoolMonitor.class);
         Map<String, ThreadPoolMonitor> threadPoolMonitorMap = ApplicationContextHolder.getBeansOfType(ThreadPoolMonitor.class);
@@ -125,22 +147,26 @@ public class ReportingEventExecutor implements Runnable, CommandLineRunner, Disp
         if (customerDynamicThreadPoolMonitorFlag) {
             threadPoolMonitorMap.forEach((beanName, bean) -> threadPoolMonitors.add(bean));
             dynamicThreadPoolMonitors.forEach(each -> threadPoolMonitors.add(each));
-            collectVesselExecutor.scheduleWithFixedDelay(
-                    () -> dynamicThreadPoolMonitor(),
-                    properties.getInitialDelay(),
+            // Each monitor consumes ticks on its own executor, so a slow monitor does not delay the others.
+            threadPoolMonitors.forEach(each -> runStateSampler.subscribe(
+                    "monitor." + each.getType(),
+                    tick -> dynamicThreadPoolMonitor(each, tick),
                     properties.getCollectInterval(),
-                    TimeUnit.MILLISECONDS);
+                    properties.getInitialDelay()));
         }
         if (collectType.contains(MonitorTypeEnum.SERVER.name().toLowerCase())) {
-            collectVesselExecutor.scheduleWithFixedDelay(
-                    () -> runTimeGatherTask(),
-                    properties.getInitialDelay(),
-                    properties.getCollectInterval(),
-                    TimeUnit.MILLISECONDS);
             Integer bufferSize = properties.getTaskBufferSize();
-            messageCollectVessel = new ArrayBlockingQueue(bufferSize);
+            reportBuffer = new ReportBuffer(bufferSize, monitor.getReportBatchSize(), monitor.getReportSpillCapacity());
+            if (MICROMETER_PRESENT) {
+                ReportBufferMetrics.bind(reportBuffer);
+            }
             // Get all data collection components, currently only historical operation data collection.
             collectors = ApplicationContextHolder.getBeansOfType(Collector.class);
+            runStateSampler.subscribe(
+                    "collect.server",
+                    this::runTimeGatherTask,
+                    properties.getCollectInterval(),
+                    properties.getInitialDelay());
             // Start reporting monitoring data thread.
             ThreadUtil.newThread(this, "client.thread.reporting.task", Boolean.TRUE).start();
         }
@@ -151,30 +177,84 @@ public class ReportingEventExecutor implements Runnable, CommandLineRunner, Disp
 
     @Override
     public void destroy() {
-        Optional.ofNullable(collectVesselExecutor).ifPresent((each) -> each.shutdown());
+        // Subscriptions are shut down with the run state sampler.
     }
 
     /**
      * Running dynamic thread pool monitoring.
+     *
+     * @param threadPoolMonitor thread-pool monitor
+     * @param tick              tick shared by all the monitors and collectors
      */
-    private void dynamicThreadPoolMonitor() {
-        threadPoolMonitors.forEach(each -> each.collect());
+    private void dynamicThreadPoolMonitor(ThreadPoolMonitor threadPoolMonitor, RunStateTick tick) {
+        try {
+            threadPoolMonitor.collect(tick);
+        } catch (Exception ex) {
+            log.error("Error monitoring the running status of dynamic thread pool. Type: {}", threadPoolMonitor.getType(), ex);
+        }
     }
 
     /**
      * Collect dynamic thread pool data and add buffer queues.
+     * Samples are collected even if the server is unhealthy, they are spilled and uploaded after the server recovers.
+     *
+     * @param tick tick shared by all the monitors and collectors
      */
-    private void runTimeGatherTask() {
-        boolean healthStatus = serverHealthCheck.isHealthStatus();
-        if (!healthStatus || CollectionUtil.isEmpty(collectors)) {
+    private void runTimeGatherTask(RunStateTick tick) {
+        if (CollectionUtil.isEmpty(collectors)) {
             return;
         }
-        collectors.forEach((beanName, collector) -> {
-            Message message = collector.collectMessage();
-            boolean offer = messageCollectVessel.offer(message);
-            if (!offer) {
-                log.warn("Buffer data starts stacking data...");
+        collectors.forEach((beanName, collector) -> reportBuffer.add(collector.collectMessage(tick)));
+    }
+
+    /**
+     * Report batches in order, the batches from the first failed one are spilled.
+     *
+     * @param batches batches
+     * @return true if all the batches are reported
+     */
+    private boolean flush(List<Message> batches) {
+        for (int i = 0; i < batches.size(); i++) {
+            if (!send(batches.get(i))) {
+                reportBuffer.spill(batches.subList(i, batches.size()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Upload the oldest spilled entries, an entry is removed only when all its batches are reported.
+     */
+    private void uploadBacklog() {
+        for (int i = 0; i < MAX_BACKLOG_ENTRIES_PER_FLUSH; i++) {
+            List<Message> backlog = reportBuffer.peekSpilled();
+            if (backlog == null) {
+                return;
             }
-        });
+            for (Message each : backlog) {
+                if (!send(each)) {
+                    return;
+                }
+            }
+            reportBuffer.removeSpilled();
+        }
+    }
+
+    private boolean send(Message batch) {
+        long startTime = System.nanoTime();
+        boolean success = messageSender.trySend(batch, this::spillFailed);
+        reportBuffer.recordFlush(System.nanoTime() - startTime, success);
+        return success;
+    }
+
+    /**
+     * Spill the batch which fails after it is handed over to the sender, eg: the write of channel fails.
+     *
+     * @param batch batch failed
+     */
+    private void spillFailed(Message batch) {
+        reportBuffer.recordFailure();
+        reportBuffer.spill(Collections.singletonList(batch));
     }
 }
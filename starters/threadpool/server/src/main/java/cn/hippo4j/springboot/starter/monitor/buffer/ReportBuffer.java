@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.monitor.buffer;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.toolkit.Assert;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Buffer of monitoring messages waiting to be reported to the server. <br />
+ * Samples of {@link RuntimeMessage} are coalesced by group key, so the buffer holds at most one pending sample
+ * of each thread-pool no matter how slow the server is: gauges are latest-wins, peaks take the max,
+ * and counters are cumulative totals, so the latest value already sums up the deltas of the coalesced samples.
+ *
+ * <p>Batches which can not be reported are kept in a bounded spill ring, one entry per flush.
+ * When the ring is full, adjacent entries are coalesced in pairs, the backlog of an outage is
+ * uploaded at a lower resolution instead of losing the oldest part of the window.
+ */
+public class ReportBuffer {
+
+    /**
+     * Max count of pending samples and other messages
+     */
+    private final int capacity;
+
+    /**
+     * Max count of samples in a batch
+     */
+    @Getter
+    private final int batchSize;
+
+    /**
+     * Max count of entries in the spill ring
+     */
+    private final int spillCapacity;
+
+    private final Map<String, RuntimeMessage> pendingSamples = new LinkedHashMap<>();
+
+    private final Deque<Message> pendingMessages = new ArrayDeque<>();
+
+    private final Deque<List<RuntimeMessage>> spillRing = new ArrayDeque<>();
+
+    private final LongAdder dropCount = new LongAdder();
+
+    private final LongAdder flushFailureCount = new LongAdder();
+
+    /**
+     * Latency of the latest flush, in milliseconds
+     */
+    @Getter
+    private volatile long lastFlushLatencyMillis;
+
+    public ReportBuffer(int capacity, int batchSize, int spillCapacity) {
+        Assert.isTrue(capacity > 0, "capacity must great then 0");
+        Assert.isTrue(batchSize > 0, "batchSize must great then 0");
+        Assert.isTrue(spillCapacity > 1, "spillCapacity must great then 1");
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.spillCapacity = spillCapacity;
+    }
+
+    /**
+     * Add a message collected, samples of runtime message are coalesced with the pending ones.
+     *
+     * @param message message
+     */
+    public synchronized void add(Message message) {
+        if (isRuntimeBatch(message)) {
+            for (Object each : message.getMessages()) {
+                offerSample((RuntimeMessage) each);
+            }
+        } else if (pendingMessages.size() < capacity) {
+            pendingMessages.addLast(message);
+        } else {
+            dropCount.increment();
+        }
+        if (getDepth() >= batchSize) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Wait until a batch is full or the flush interval elapses, then drain the pending messages.
+     *
+     * @param flushIntervalMillis flush interval in milliseconds
+     * @return batches to report, may be empty
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized List<Message> awaitBatches(long flushIntervalMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        long remaining;
+        while (getDepth() < batchSize && (remaining = deadline - System.nanoTime()) > 0L) {
+            wait(TimeUnit.NANOSECONDS.toMillis(remaining) + 1L);
+        }
+        List<Message> batches = new ArrayList<>(pendingMessages);
+        pendingMessages.clear();
+        addBatches(pendingSamples.values(), batches);
+        pendingSamples.clear();
+        return batches;
+    }
+
+    /**
+     * Keep the batches which can not be reported.
+     * Runtime samples go to the spill ring, the other messages are pended again if there is room.
+     *
+     * @param batches batches not reported
+     */
+    public synchronized void spill(List<Message> batches) {
+        List<RuntimeMessage> samples = new ArrayList<>();
+        for (Message each : batches) {
+            if (!isRuntimeBatch(each)) {
+                if (pendingMessages.size() < capacity) {
+                    pendingMessages.addLast(each);
+                } else {
+                    dropCount.increment();
+                }
+                continue;
+            }
+            for (Object sample : each.getMessages()) {
+                samples.add((RuntimeMessage) sample);
+            }
+        }
+        if (samples.isEmpty()) {
+            return;
+        }
+        if (spillRing.size() >= spillCapacity) {
+            downsampleSpillRing();
+        }
+        spillRing.addLast(samples);
+    }
+
+    /**
+     * Get the oldest spilled entry without removing it.
+     *
+     * @return batches of the oldest spilled entry, null if nothing spilled
+     */
+    public synchronized List<Message> peekSpilled() {
+        List<RuntimeMessage> samples = spillRing.peekFirst();
+        if (samples == null) {
+            return null;
+        }
+        List<Message> batches = new ArrayList<>();
+        addBatches(samples, batches);
+        return batches;
+    }
+
+    /**
+     * Remove the oldest spilled entry after it is reported.
+     */
+    public synchronized void removeSpilled() {
+        spillRing.pollFirst();
+    }
+
+    /**
+     * Record the result of a flush.
+     *
+     * @param latencyNanos latency of flush in nanoseconds
+     * @param success      whether the flush is successful
+     */
+    public void recordFlush(long latencyNanos, boolean success) {
+        lastFlushLatencyMillis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        if (!success) {
+            flushFailureCount.increment();
+        }
+    }
+
+    /**
+     * Record a flush which fails after it is handed over to the sender.
+     */
+    public void recordFailure() {
+        flushFailureCount.increment();
+    }
+
+    /**
+     * Get count of pending samples and other messages.
+     *
+     * @return buffer depth
+     */
+    public synchronized int getDepth() {
+        return pendingSamples.size() + pendingMessages.size();
+    }
+
+    /**
+     * Get count of entries in the spill ring.
+     *
+     * @return spill depth
+     */
+    public synchronized int getSpillDepth() {
+        return spillRing.size();
+    }
+
+    /**
+     * Get count of samples and messages dropped because the buffer is full.
+     *
+     * @return drop count
+     */
+    public long getDropCount() {
+        return dropCount.sum();
+    }
+
+    /**
+     * Get count of failed flushes.
+     *
+     * @return flush failure count
+     */
+    public long getFlushFailureCount() {
+        return flushFailureCount.sum();
+    }
+
+    private void offerSample(RuntimeMessage sample) {
+        String groupKey = sample.getGroupKey();
+        RuntimeMessage pending = pendingSamples.get(groupKey);
+        if (pending != null) {
+            pendingSamples.put(groupKey, coalesce(pending, sample));
+        } else if (pendingSamples.size() < capacity) {
+            pendingSamples.put(groupKey, sample);
+        } else {
+            dropCount.increment();
+        }
+    }
+
+    /**
+     * Halve the resolution of the spill ring by coalescing adjacent entries.
+     */
+    private void downsampleSpillRing() {
+        List<List<RuntimeMessage>> entries = new ArrayList<>(spillRing);
+        spillRing.clear();
+        Iterator<List<RuntimeMessage>> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            List<RuntimeMessage> older = iterator.next();
+            if (!iterator.hasNext()) {
+                spillRing.addLast(older);
+                break;
+            }
+            Map<String, RuntimeMessage> merged = new LinkedHashMap<>();
+            for (RuntimeMessage each : older) {
+                merged.put(each.getGroupKey(), each);
+            }
+            for (RuntimeMessage each : iterator.next()) {
+                RuntimeMessage previous = merged.get(each.getGroupKey());
+                merged.put(each.getGroupKey(), previous == null ? each : coalesce(previous, each));
+            }
+            spillRing.addLast(new ArrayList<>(merged.values()));
+        }
+    }
+
+    private void addBatches(Collection<RuntimeMessage> samples, List<Message> batches) {
+        List<Message> batch = null;
+        for (RuntimeMessage each : samples) {
+            if (batch == null || batch.size() >= batchSize) {
+                batch = new ArrayList<>(Math.min(batchSize, samples.size()));
+                RuntimeMessage message = new RuntimeMessage();
+                message.setMessageType(MessageTypeEnum.RUNTIME);
+                message.setMessages(batch);
+                batches.add(message);
+            }
+            batch.add(each);
+        }
+    }
+
+    /**
+     * Coalesce two samples of the same thread-pool into the newer one.
+     *
+     * @param older older sample
+     * @param newer newer sample
+     * @return coalesced sample
+     */
+    static RuntimeMessage coalesce(RuntimeMessage older, RuntimeMessage newer) {
+        newer.setPeakLoad(maxOf(older.getPeakLoad(), newer.getPeakLoad()));
+        if (older.getLargestPoolSize() != null
+                && (newer.getLargestPoolSize() == null || older.getLargestPoolSize() > newer.getLargestPoolSize())) {
+            newer.setLargestPoolSize(older.getLargestPoolSize());
+        }
+        return newer;
+    }
+
+    private static String maxOf(String older, String newer) {
+        if (older == null || newer == null) {
+            return newer == null ? older : newer;
+        }
+        try {
+            return Long.parseLong(older) > Long.parseLong(newer) ? older : newer;
+        } catch (NumberFormatException ex) {
+            return newer;
+        }
+    }
+
+    private static boolean isRuntimeBatch(Message message) {
+        if (message.getMessageType() != MessageTypeEnum.RUNTIME || message.getMessages() == null) {
+            return false;
+        }
+        for (Object each : message.getMessages()) {
+            if (!(each instanceof RuntimeMessage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.monitor.buffer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Register the metrics of {@link ReportBuffer} to the global registry of micrometer.
+ * Only loaded when micrometer is on the classpath.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReportBufferMetrics {
+
+    private static final String METRIC_NAME_PREFIX = "dynamic.thread-pool.report";
+
+    /**
+     * Bind the metrics of report buffer.
+     *
+     * @param reportBuffer report buffer
+     */
+    public static void bind(ReportBuffer reportBuffer) {
+        Gauge.builder(metricName("buffer.depth"), reportBuffer, ReportBuffer::getDepth)
+                .description("Count of samples and messages waiting to be reported")
+                .register(Metrics.globalRegistry);
+        Gauge.builder(metricName("spill.depth"), reportBuffer, ReportBuffer::getSpillDepth)
+                .description("Count of unreported batches kept in the spill ring")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder(metricName("drop.count"), reportBuffer, ReportBuffer::getDropCount)
+                .description("Count of samples and messages dropped because the buffer is full")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder(metricName("flush.failure.count"), reportBuffer, ReportBuffer::getFlushFailureCount)
+                .description("Count of failed flushes")
+                .register(Metrics.globalRegistry);
+        Gauge.builder(metricName("flush.latency"), reportBuffer, ReportBuffer::getLastFlushLatencyMillis)
+                .description("Latency of the latest flush")
+                .baseUnit("milliseconds")
+                .register(Metrics.globalRegistry);
+    }
+
+    private static String metricName(String name) {
+        return String.join(".", METRIC_NAME_PREFIX, name);
+    }
+}
@@ -18,6 +18,7 @@
 package cn.hippo4j.springboot.starter.monitor.collect;
 
 import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.core.executor.state.RunStateTick;
 
 /**
  * Collect thread-pool data.
@@ -30,4 +31,14 @@ public interface Collector {
      * @return message
      */
     Message collectMessage();
+
+    /**
+     * Collect message from the run state sampled in the tick.
+     *
+     * @param tick tick shared by all the collectors and monitors
+     * @return message
+     */
+    default Message collectMessage(RunStateTick tick) {
+        return collectMessage();
+    }
 }
@@ -22,9 +22,11 @@ import cn.hippo4j.common.monitor.AbstractMessage;
 import cn.hippo4j.common.monitor.Message;
 import cn.hippo4j.common.monitor.MessageTypeEnum;
 import cn.hippo4j.common.monitor.RuntimeMessage;
-import cn.hippo4j.common.toolkit.BeanUtil;
+import cn.hippo4j.common.toolkit.ThreadPoolRunStateInfoConvert;
 import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
 import cn.hippo4j.core.executor.state.AbstractThreadPoolRuntime;
+import cn.hippo4j.core.executor.state.RunStateSample;
+import cn.hippo4j.core.executor.state.RunStateTick;
 import cn.hippo4j.springboot.starter.config.BootstrapProperties;
 import lombok.AllArgsConstructor;
 
@@ -48,7 +50,7 @@ public class RunTimeInfoCollector extends AbstractThreadPoolRuntime implements C
         List<String> listThreadPoolId = GlobalThreadPoolManage.listThreadPoolId();
         for (String each : listThreadPoolId) {
             ThreadPoolRunStateInfo poolRunState = getPoolRunState(each);
-            RuntimeMessage runtimeMessage = BeanUtil.convert(poolRunState, RuntimeMessage.class);
+            RuntimeMessage runtimeMessage = ThreadPoolRunStateInfoConvert.toRuntimeMessage(poolRunState);
             runtimeMessage.setGroupKey(getThreadPoolIdentify(each, properties.getItemId(), properties.getNamespace()));
             runtimeMessages.add(runtimeMessage);
         }
@@ -57,6 +59,21 @@ public class RunTimeInfoCollector extends AbstractThreadPoolRuntime implements C
         return message;
     }
 
+    @Override
+    public Message collectMessage(RunStateTick tick) {
+        AbstractMessage message = new RuntimeMessage();
+        List<Message> runtimeMessages = new ArrayList<>(tick.size());
+        for (RunStateSample each : tick.getSamples()) {
+            ThreadPoolRunStateInfo poolRunState = getPoolRunState(each);
+            RuntimeMessage runtimeMessage = ThreadPoolRunStateInfoConvert.toRuntimeMessage(poolRunState);
+            runtimeMessage.setGroupKey(getThreadPoolIdentify(each.getThreadPoolId(), properties.getItemId(), properties.getNamespace()));
+            runtimeMessages.add(runtimeMessage);
+        }
+        message.setMessageType(MessageTypeEnum.RUNTIME);
+        message.setMessages(runtimeMessages);
+        return message;
+    }
+
     @Override
     public ThreadPoolRunStateInfo supplement(ThreadPoolRunStateInfo threadPoolRunStateInfo) {
         return threadPoolRunStateInfo;
@@ -19,6 +19,8 @@ package cn.hippo4j.springboot.starter.monitor.send;
 
 import cn.hippo4j.common.monitor.Message;
 
+import java.util.function.Consumer;
+
 /**
  * Message sender.
  */
@@ -30,4 +32,27 @@ public interface MessageSender {
      * @param message
      */
     void send(Message message);
+
+    /**
+     * Send and tell whether the message is handed over to the server.
+     *
+     * @param message
+     * @return false if the message is dropped or failed to send
+     */
+    default boolean trySend(Message message) {
+        send(message);
+        return true;
+    }
+
+    /**
+     * Send and tell whether the message is handed over to the server,
+     * the message which fails after it is handed over is passed to the failure callback.
+     *
+     * @param message         message
+     * @param failureCallback called with the message if it fails after this method returns
+     * @return false if the message is dropped or failed to send
+     */
+    default boolean trySend(Message message, Consumer<Message> failureCallback) {
+        return trySend(message);
+    }
 }
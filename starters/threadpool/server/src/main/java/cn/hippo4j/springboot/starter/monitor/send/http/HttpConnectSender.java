@@ -17,6 +17,7 @@
 
 package cn.hippo4j.springboot.starter.monitor.send.http;
 
+import cn.hippo4j.common.model.Result;
 import cn.hippo4j.common.monitor.Message;
 import cn.hippo4j.common.monitor.MessageWrapper;
 import cn.hippo4j.common.toolkit.MessageConvert;
@@ -38,11 +39,23 @@ public class HttpConnectSender implements MessageSender {
 
     @Override
     public void send(Message message) {
+        trySend(message);
+    }
+
+    @Override
+    public boolean trySend(Message message) {
         try {
             MessageWrapper messageWrapper = MessageConvert.convert(message);
-            httpAgent.httpPost(MONITOR_PATH, messageWrapper);
+            Result result = httpAgent.httpPost(MONITOR_PATH, messageWrapper);
+            // the server refuses the data when it is busy, report it later
+            if (result != null && !result.isSuccess()) {
+                log.warn("Server refused dynamic thread pool runtime data. code: {}, message: {}", result.getCode(), result.getMessage());
+                return false;
+            }
+            return true;
         } catch (Throwable ex) {
             log.error("Failed to push dynamic thread pool runtime data.", ex);
+            return false;
         }
     }
 }
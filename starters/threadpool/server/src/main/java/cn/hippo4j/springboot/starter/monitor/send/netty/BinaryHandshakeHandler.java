@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.monitor.send.netty;
+
+import cn.hippo4j.common.monitor.codec.RuntimeMessageCodec;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageCodec.Handshake;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Binary handshake handler.
+ * <p> Send hello when the channel is active and wait for the ack of server,
+ * then set the negotiated version and compression to {@link BinaryMessageEncoder} and remove itself.
+ * The promise fails if the server does not reply in time, eg: the server only speaks java serialization.
+ */
+public class BinaryHandshakeHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * Time to wait for the ack of server
+     */
+    static final long HANDSHAKE_TIMEOUT_MILLIS = 3000L;
+
+    private final BinaryMessageEncoder messageEncoder;
+
+    private final Promise<Channel> handshakePromise;
+
+    private ScheduledFuture<?> timeoutFuture;
+
+    public BinaryHandshakeHandler(BinaryMessageEncoder messageEncoder, Promise<Channel> handshakePromise) {
+        this.messageEncoder = messageEncoder;
+        this.handshakePromise = handshakePromise;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        ctx.writeAndFlush(Unpooled.wrappedBuffer(RuntimeMessageCodec.hello(RuntimeMessageCodec.VERSION, RuntimeMessageCodec.SUPPORTED_COMPRESSIONS)))
+                .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        timeoutFuture = ctx.executor().schedule(
+                () -> handshakePromise.tryFailure(new TimeoutException("Handshake of binary monitor protocol timed out.")),
+                HANDSHAKE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof ByteBuf)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        Handshake handshake;
+        try {
+            handshake = RuntimeMessageCodec.readHandshake(ByteBufUtil.getBytes((ByteBuf) msg), RuntimeMessageCodec.TYPE_HELLO_ACK);
+        } catch (IllegalArgumentException ex) {
+            fail(ex);
+            return;
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+        if (handshake.getVersion() < RuntimeMessageCodec.MIN_VERSION || handshake.getVersion() > RuntimeMessageCodec.VERSION) {
+            fail(new IllegalArgumentException("Unsupported version of binary monitor protocol: " + handshake.getVersion()));
+            return;
+        }
+        messageEncoder.setVersion(handshake.getVersion());
+        messageEncoder.setCompression(handshake.getCompression());
+        cancelTimeout();
+        ctx.pipeline().remove(this);
+        handshakePromise.trySuccess(ctx.channel());
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        fail(new ClosedChannelException());
+        super.channelInactive(ctx);
+    }
+
+    private void fail(Throwable cause) {
+        cancelTimeout();
+        handshakePromise.tryFailure(cause);
+    }
+
+    private void cancelTimeout() {
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.monitor.send.netty;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * Binary message encoder.
+ * <p> Encode {@link Message} with the stateful {@link RuntimeMessageEncoder} of the channel,
+ * frames are encoded on the event loop of the channel, in the order they are written.
+ */
+public class BinaryMessageEncoder extends MessageToByteEncoder<Message> {
+
+    private final RuntimeMessageEncoder encoder = new RuntimeMessageEncoder();
+
+    /**
+     * Set version negotiated by handshake, must be called on the event loop of the channel.
+     *
+     * @param version version
+     */
+    void setVersion(int version) {
+        encoder.setVersion(version);
+    }
+
+    /**
+     * Set compression negotiated by handshake, must be called on the event loop of the channel.
+     *
+     * @param compression compression
+     */
+    void setCompression(int compression) {
+        encoder.setCompression(compression);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Message msg, ByteBuf out) throws Exception {
+        out.writeBytes(encoder.encode(msg));
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        encoder.close();
+        super.handlerRemoved(ctx);
+    }
+}
@@ -18,53 +18,276 @@
 package cn.hippo4j.springboot.starter.monitor.send.netty;
 
 import cn.hippo4j.common.monitor.Message;
-import cn.hippo4j.common.monitor.MessageWrapper;
 import cn.hippo4j.common.toolkit.MessageConvert;
 import cn.hippo4j.springboot.starter.monitor.send.MessageSender;
 import cn.hippo4j.springboot.starter.remote.ServerNettyAgent;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
 import io.netty.handler.codec.serialization.ClassResolvers;
 import io.netty.handler.codec.serialization.ObjectDecoder;
 import io.netty.handler.codec.serialization.ObjectEncoder;
-import lombok.AllArgsConstructor;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Netty connect sender.
+ * <p> Messages are written to a long-lived channel without waiting for each other,
+ * the channel sends heartbeats when idle and reconnects with backoff when it is lost.
+ * {@link #trySend} never blocks the reporting thread: while the channel is being established
+ * or is not writable, it returns false at once and the caller keeps the message for a later flush.
+ * <p> Messages are encoded in the binary protocol of {@link cn.hippo4j.common.monitor.codec.RuntimeMessageCodec}
+ * if the server accepts the handshake. The sender falls back to java serialization when the server rejects the handshake,
+ * or leaves it unanswered several times in a row, a failure of one handshake may only be a restarting server.
+ * The fallback lasts for one channel, the binary protocol is tried again when the channel is lost, eg: the server is upgraded.
  */
 @Slf4j
-@AllArgsConstructor
-public class NettyConnectSender implements MessageSender {
+public class NettyConnectSender implements MessageSender, DisposableBean {
+
+    /**
+     * Interval of heartbeat when the channel is idle, in seconds
+     */
+    private static final int HEARTBEAT_INTERVAL_SECONDS = 30;
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+
+    private static final long RECONNECT_BASE_DELAY_MILLIS = 1000L;
+
+    private static final long RECONNECT_MAX_DELAY_MILLIS = 30000L;
+
+    private static final int MAX_BACKOFF_SHIFT = 5;
+
+    private static final int LENGTH_FIELD_LENGTH = 4;
+
+    private static final int MAX_FRAME_LENGTH = 1024 * 1024;
+
+    /**
+     * Max consecutive unanswered handshakes before falling back to java serialization
+     */
+    static final int MAX_HANDSHAKE_FAILURES = 3;
+
+    private final ServerNettyAgent serverNettyAgent;
+
+    private final Bootstrap bootstrap;
+
+    private volatile Channel channel;
+
+    private volatile boolean closed;
 
-    private ServerNettyAgent serverNettyAgent;
+    /**
+     * Set when the next connection uses java serialization, as the server rejects or ignores the handshake of binary protocol
+     */
+    private volatile boolean legacyProtocol;
+
+    private int handshakeFailures;
+
+    private Future<Channel> connectFuture;
+
+    private boolean reconnectScheduled;
+
+    private int reconnectAttempts;
+
+    public NettyConnectSender(ServerNettyAgent serverNettyAgent) {
+        this.serverNettyAgent = serverNettyAgent;
+        this.bootstrap = new Bootstrap()
+                .group(serverNettyAgent.getEventLoopGroup())
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(512 * 1024, 2 * 1024 * 1024));
+    }
+
+    private ChannelInitializer<SocketChannel> channelInitializer(boolean binary, Promise<Channel> readyPromise) {
+        return new ChannelInitializer<SocketChannel>() {
+
+            @Override
+            protected void initChannel(SocketChannel ch) {
+                ChannelPipeline pipeline = ch.pipeline();
+                pipeline.addLast(new FlushConsolidationHandler());
+                if (binary) {
+                    pipeline.addLast(new IdleStateHandler(0, HEARTBEAT_INTERVAL_SECONDS, 0));
+                    BinaryMessageEncoder messageEncoder = new BinaryMessageEncoder();
+                    pipeline.addLast(new LengthFieldBasedFrameDecoder(MAX_FRAME_LENGTH, 0, LENGTH_FIELD_LENGTH, 0, LENGTH_FIELD_LENGTH));
+                    pipeline.addLast(new LengthFieldPrepender(LENGTH_FIELD_LENGTH));
+                    pipeline.addLast(messageEncoder);
+                    pipeline.addLast(new BinaryHandshakeHandler(messageEncoder, readyPromise));
+                } else {
+                    pipeline.addLast(new ObjectEncoder());
+                    pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE,
+                            ClassResolvers.cacheDisabled(null)));
+                }
+                pipeline.addLast(new SenderHandler(NettyConnectSender.this, binary));
+            }
+        };
+    }
 
     @Override
     public void send(Message message) {
-        MessageWrapper messageWrapper = MessageConvert.convert(message);
-        EventLoopGroup eventLoopGroup = serverNettyAgent.getEventLoopGroup();
-        try {
-            Bootstrap bootstrap = new Bootstrap();
-            bootstrap.group(eventLoopGroup)
-                    .channel(NioSocketChannel.class)
-                    .handler(new ChannelInitializer<SocketChannel>() {
-
-                        @Override
-                        protected void initChannel(SocketChannel ch) {
-                            ChannelPipeline pipeline = ch.pipeline();
-                            pipeline.addLast(new ObjectEncoder());
-                            pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE,
-                                    ClassResolvers.cacheDisabled(null)));
-                            pipeline.addLast(new SenderHandler(messageWrapper));
-                        }
-                    });
-            bootstrap.connect(serverNettyAgent.getNettyServerAddress(), serverNettyAgent.getNettyServerPort()).sync();
-        } catch (Exception e) {
-            log.error("Netty send error.", e);
+        trySend(message);
+    }
+
+    @Override
+    public boolean trySend(Message message) {
+        return trySend(message, null);
+    }
+
+    @Override
+    public boolean trySend(Message message, Consumer<Message> failureCallback) {
+        Channel current = getActiveChannel();
+        if (current == null) {
+            log.warn("Netty channel to server is not active, the message is not sent.");
+            return false;
+        }
+        if (!current.isWritable()) {
+            log.warn("Netty channel to server is not writable, the message is not sent.");
+            return false;
+        }
+        boolean binary = current.pipeline().get(BinaryMessageEncoder.class) != null;
+        Object payload = binary ? message : MessageConvert.convert(message);
+        current.writeAndFlush(payload).addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                log.error("Netty send error.", future.cause());
+                if (failureCallback != null) {
+                    failureCallback.accept(message);
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Get the channel if it is ready, otherwise start connecting in the background without waiting.
+     *
+     * @return active channel, null if it is not ready yet
+     */
+    private Channel getActiveChannel() {
+        Channel current = channel;
+        if (current != null && current.isActive()) {
+            return current;
+        }
+        synchronized (this) {
+            // back off, the scheduled reconnection will establish the channel
+            if (!reconnectScheduled && !closed) {
+                connect();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Connect the server, the returned future completes when the channel is ready to send messages,
+     * that is after the handshake for the binary protocol.
+     */
+    private synchronized Future<Channel> connect() {
+        if (connectFuture != null && !connectFuture.isDone()) {
+            return connectFuture;
+        }
+        boolean binary = !legacyProtocol;
+        legacyProtocol = false;
+        Promise<Channel> readyPromise = serverNettyAgent.getEventLoopGroup().next().newPromise();
+        ChannelFuture channelFuture = bootstrap.clone()
+                .handler(channelInitializer(binary, readyPromise))
+                .connect(serverNettyAgent.getNettyServerAddress(), serverNettyAgent.getNettyServerPort());
+        channelFuture.addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                readyPromise.tryFailure(future.cause());
+            } else if (!binary) {
+                readyPromise.trySuccess(future.channel());
+            }
+        });
+        readyPromise.addListener((FutureListener<Channel>) future -> {
+            if (future.isSuccess()) {
+                onConnected(future.getNow(), binary);
+            } else if (binary && channelFuture.isSuccess()) {
+                onHandshakeFailed(future.cause());
+                // the inactive channel schedules the reconnection
+                channelFuture.channel().close();
+            } else {
+                log.warn("Failed to connect netty server. Reconnect later.", future.cause());
+                scheduleReconnect();
+            }
+        });
+        connectFuture = readyPromise;
+        return readyPromise;
+    }
+
+    /**
+     * Decide the protocol of next connection after a failed handshake. An invalid reply of server is a rejection,
+     * while a timeout or a closed channel may be a restarting server and falls back only after several in a row.
+     *
+     * @param cause cause of the failure
+     * @return whether the next connection uses java serialization
+     */
+    synchronized boolean onHandshakeFailed(Throwable cause) {
+        if (cause instanceof IllegalArgumentException) {
+            log.warn("Netty server rejects binary monitor protocol, fall back to java serialization.", cause);
+        } else if (++handshakeFailures >= MAX_HANDSHAKE_FAILURES) {
+            log.warn("Netty server does not answer the handshake of binary monitor protocol, fall back to java serialization.", cause);
+        } else {
+            log.warn("Handshake of binary monitor protocol failed, retry later. message: {}", cause.getMessage());
+            return false;
+        }
+        handshakeFailures = 0;
+        legacyProtocol = true;
+        return true;
+    }
+
+    private synchronized void onConnected(Channel connected, boolean binary) {
+        reconnectAttempts = 0;
+        if (binary) {
+            handshakeFailures = 0;
+        }
+        if (closed) {
+            connected.close();
+            return;
+        }
+        channel = connected;
+        log.info("Netty channel to server is established, binary protocol: {}. {}", binary, connected.remoteAddress());
+    }
+
+    /**
+     * Reconnect with backoff, called when the connection fails or the channel is lost.
+     */
+    synchronized void scheduleReconnect() {
+        if (closed || reconnectScheduled) {
+            return;
+        }
+        reconnectScheduled = true;
+        long delay = Math.min(RECONNECT_BASE_DELAY_MILLIS << Math.min(reconnectAttempts++, MAX_BACKOFF_SHIFT), RECONNECT_MAX_DELAY_MILLIS);
+        serverNettyAgent.getEventLoopGroup().schedule(() -> {
+            synchronized (this) {
+                reconnectScheduled = false;
+                if (!closed) {
+                    connect();
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        Channel current = channel;
+        if (current != null) {
+            current.close();
         }
     }
 }
@@ -17,27 +17,60 @@
 
 package cn.hippo4j.springboot.starter.monitor.send.netty;
 
-import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageCodec;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Sender handler.
+ * <p> Send heartbeats when the channel is idle, only on the channels of binary protocol after the handshake,
+ * the servers speaking java serialization only do not know heartbeats, and notify {@link NettyConnectSender}
+ * when the channel becomes inactive.
  */
 @Slf4j
 @AllArgsConstructor
-public class SenderHandler extends SimpleChannelInboundHandler<MessageWrapper> {
+public class SenderHandler extends SimpleChannelInboundHandler<Object> {
 
-    private MessageWrapper messageWrapper;
+    private NettyConnectSender nettyConnectSender;
+
+    /**
+     * Whether the channel speaks the binary protocol, see {@link RuntimeMessageCodec}
+     */
+    private boolean binaryProtocol;
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent && ((IdleStateEvent) evt).state() == IdleState.WRITER_IDLE) {
+            // the handshake handler removes itself once the version is negotiated
+            if (binaryProtocol && ctx.pipeline().get(BinaryHandshakeHandler.class) == null) {
+                ctx.writeAndFlush(Unpooled.wrappedBuffer(RuntimeMessageCodec.headerOnlyFrame(RuntimeMessageCodec.TYPE_HEARTBEAT)))
+                        .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+            }
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
 
     @Override
-    protected void channelRead0(ChannelHandlerContext ctx, MessageWrapper msg) throws Exception {
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        log.warn("Netty channel to server is inactive. {}", ctx.channel().remoteAddress());
+        nettyConnectSender.scheduleReconnect();
+        super.channelInactive(ctx);
     }
 
     @Override
-    public void channelActive(ChannelHandlerContext ctx) throws Exception {
-        ctx.channel().writeAndFlush(messageWrapper);
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        log.error("Netty channel to server error, close the channel.", cause);
+        ctx.close();
     }
 }
@@ -38,6 +38,13 @@ public interface HttpAgent {
      */
     String getTenantId();
 
+    /**
+     * Get the access token of client, null if the security info is absent.
+     *
+     * @return access token
+     */
+    String getAccessToken();
+
     /**
      * Get encode.
      *
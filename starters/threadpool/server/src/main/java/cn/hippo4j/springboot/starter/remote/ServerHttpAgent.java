@@ -20,21 +20,27 @@ package cn.hippo4j.springboot.starter.remote;
 import cn.hippo4j.common.model.Result;
 import cn.hippo4j.core.config.ApplicationContextHolder;
 import cn.hippo4j.common.constant.Constants;
+import cn.hippo4j.common.constant.HttpResponseCode;
 import cn.hippo4j.common.executor.ThreadFactoryBuilder;
 import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.common.toolkit.http.HttpStatusException;
 import cn.hippo4j.common.toolkit.http.HttpUtil;
 import cn.hippo4j.springboot.starter.config.BootstrapProperties;
 import cn.hippo4j.springboot.starter.security.SecurityProxy;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Server http agent.
  */
+@Slf4j
 public class ServerHttpAgent implements HttpAgent {
 
     private final BootstrapProperties dynamicThreadPoolProperties;
@@ -49,6 +55,13 @@ public class ServerHttpAgent implements HttpAgent {
 
     private final long securityInfoRefreshIntervalMills = TimeUnit.SECONDS.toMillis(5);
 
+    private final long clusterMembersRefreshIntervalMills = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Whether the server answers the cluster members, false once it responds 404
+     */
+    private volatile boolean clusterMembersSupported = true;
+
     public ServerHttpAgent(BootstrapProperties properties) {
         this.dynamicThreadPoolProperties = properties;
         this.serverListManager = new ServerListManager(dynamicThreadPoolProperties);
@@ -62,6 +75,37 @@ public class ServerHttpAgent implements HttpAgent {
                 0,
                 securityInfoRefreshIntervalMills,
                 TimeUnit.MILLISECONDS);
+        this.executorService.scheduleWithFixedDelay(
+                this::refreshClusterMembers,
+                clusterMembersRefreshIntervalMills,
+                clusterMembersRefreshIntervalMills,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Refresh the server list with the cluster members. A server which is not clustered,
+     * or too old to know the cluster members, responds 404 and is not asked again.
+     */
+    @SuppressWarnings("unchecked")
+    private void refreshClusterMembers() {
+        if (!clusterMembersSupported) {
+            return;
+        }
+        try {
+            Result result = HttpUtil.get(buildUrl(injectSecurityInfoByPath(Constants.CLUSTER_MEMBERS_PATH)), Result.class);
+            if (result != null && result.isSuccess() && result.getData() instanceof List) {
+                serverListManager.refreshServerUrls((List<String>) result.getData());
+            }
+        } catch (HttpStatusException ex) {
+            if (ex.getStatusCode() == HttpResponseCode.SC_HTTP_NOT_FOUND) {
+                log.info("The server {} is not clustered, stop refreshing the cluster members.", serverListManager.getCurrentServerAddr());
+                clusterMembersSupported = false;
+                return;
+            }
+            log.warn("Failed to refresh the cluster members from {}. message: {}", serverListManager.getCurrentServerAddr(), ex.getMessage());
+        } catch (Throwable ex) {
+            log.warn("Failed to refresh the cluster members from {}. message: {}", serverListManager.getCurrentServerAddr(), ex.getMessage());
+        }
     }
 
     @Override
@@ -74,6 +118,11 @@ public class ServerHttpAgent implements HttpAgent {
         return dynamicThreadPoolProperties.getNamespace();
     }
 
+    @Override
+    public String getAccessToken() {
+        return securityProxy.getAccessToken();
+    }
+
     @Override
     public String getEncode() {
         return null;
@@ -81,36 +130,36 @@ public class ServerHttpAgent implements HttpAgent {
 
     @Override
     public Result httpGetSimple(String path) {
-        path = injectSecurityInfoByPath(path);
-        return HttpUtil.get(buildUrl(path), Result.class);
+        String securityPath = injectSecurityInfoByPath(path);
+        return execute(() -> HttpUtil.get(buildUrl(securityPath), Result.class));
     }
 
     @Override
     public Result httpPost(String path, Object body) {
         isHealthStatus();
-        path = injectSecurityInfoByPath(path);
-        return HttpUtil.post(buildUrl(path), body, Result.class);
+        String securityPath = injectSecurityInfoByPath(path);
+        return execute(() -> HttpUtil.post(buildUrl(securityPath), body, Result.class));
     }
 
     @Override
     public Result httpPostByDiscovery(String path, Object body) {
         isHealthStatus();
-        path = injectSecurityInfoByPath(path);
-        return HttpUtil.post(buildUrl(path), body, Result.class);
+        String securityPath = injectSecurityInfoByPath(path);
+        return execute(() -> HttpUtil.post(buildUrl(securityPath), body, Result.class));
     }
 
     @Override
     public Result httpGetByConfig(String path, Map<String, String> headers, Map<String, String> paramValues, long readTimeoutMs) {
         isHealthStatus();
         injectSecurityInfo(paramValues);
-        return HttpUtil.get(buildUrl(path), headers, paramValues, readTimeoutMs, Result.class);
+        return execute(() -> HttpUtil.get(buildUrl(path), headers, paramValues, readTimeoutMs, Result.class));
     }
 
     @Override
     public Result httpPostByConfig(String path, Map<String, String> headers, Map<String, String> paramValues, long readTimeoutMs) {
         isHealthStatus();
         injectSecurityInfo(paramValues);
-        return HttpUtil.post(buildUrl(path), headers, paramValues, readTimeoutMs, Result.class);
+        return execute(() -> HttpUtil.post(buildUrl(path), headers, paramValues, readTimeoutMs, Result.class));
     }
 
     @Override
@@ -118,6 +167,24 @@ public class ServerHttpAgent implements HttpAgent {
         return null;
     }
 
+    /**
+     * Execute a request to the current server, and switch to another server if the current one fails.
+     * Responses with a client error status, such as 404, are answers of a working server and do not switch.
+     *
+     * @param request request to the current server
+     * @return result
+     */
+    private Result execute(Supplier<Result> request) {
+        try {
+            return request.get();
+        } catch (Exception ex) {
+            if (!(ex instanceof HttpStatusException) || ((HttpStatusException) ex).getStatusCode() >= HttpResponseCode.SC_HTTP_INTERNAL_ERROR) {
+                serverListManager.switchServerAddr();
+            }
+            throw ex;
+        }
+    }
+
     private String buildUrl(String path) {
         return serverListManager.getCurrentServerAddr() + path;
     }
@@ -17,6 +17,7 @@
 
 package cn.hippo4j.springboot.starter.remote;
 
+import cn.hippo4j.common.toolkit.CollectionUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.springboot.starter.config.BootstrapProperties;
 import lombok.Getter;
@@ -25,12 +26,16 @@ import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Random;
 
 /**
  * Server list manager.
+ * <p> The server list starts with the configured addresses. When the server runs as a cluster,
+ * the list is refreshed with the cluster members, and the current server is switched to another member on failure.
  */
 @Slf4j
 public class ServerListManager {
@@ -60,11 +65,7 @@ public class ServerListManager {
             List<String> serverAddrList = new ArrayList();
             String[] serverAddrListArr = this.serverAddrsStr.split(",");
             for (String serverAddr : serverAddrListArr) {
-                boolean whetherJoint = StringUtil.isNotBlank(serverAddr)
-                        && !serverAddr.startsWith(HTTPS) && !serverAddr.startsWith(HTTP);
-                if (whetherJoint) {
-                    serverAddr = HTTP + serverAddr;
-                }
+                serverAddr = normalize(serverAddr);
                 currentServerAddr = serverAddr;
                 serverAddrList.add(serverAddr);
             }
@@ -75,7 +76,7 @@ public class ServerListManager {
     public String getCurrentServerAddr() {
         if (StringUtils.isEmpty(currentServerAddr)) {
             iterator = iterator();
-            currentServerAddr = iterator.next();
+            currentServerAddr = iterator.hasNext() ? iterator.next() : null;
         }
         return currentServerAddr;
     }
@@ -84,10 +85,68 @@ public class ServerListManager {
         return nettyServerPort;
     }
 
+    /**
+     * Refresh the server list with the members of server cluster.
+     * The current server is kept if it is still a member.
+     *
+     * @param members http addresses of cluster members, ignored if empty
+     */
+    public synchronized void refreshServerUrls(List<String> members) {
+        if (CollectionUtil.isEmpty(members)) {
+            return;
+        }
+        List<String> memberUrls = new ArrayList<>(members.size());
+        for (String each : members) {
+            if (StringUtil.isNotBlank(each)) {
+                memberUrls.add(normalize(each));
+            }
+        }
+        if (memberUrls.isEmpty() || new HashSet<>(memberUrls).equals(new HashSet<>(serverUrls))) {
+            return;
+        }
+        log.info("Refresh the server list with cluster members: {}", memberUrls);
+        serverUrls = memberUrls;
+        iterator = null;
+        if (!memberUrls.contains(currentServerAddr)) {
+            switchServerAddr();
+        }
+    }
+
+    /**
+     * Switch the current server to the next one of the server list in random order.
+     *
+     * @return the new current server address
+     */
+    public synchronized String switchServerAddr() {
+        if (iterator == null || !iterator.hasNext()) {
+            iterator = iterator();
+        }
+        if (!iterator.hasNext()) {
+            return currentServerAddr;
+        }
+        String previous = currentServerAddr;
+        String next = iterator.next();
+        if (Objects.equals(next, previous) && iterator.hasNext()) {
+            next = iterator.next();
+        }
+        currentServerAddr = next;
+        if (!Objects.equals(next, previous)) {
+            log.info("Switch the server from {} to {}", previous, next);
+        }
+        return next;
+    }
+
     Iterator<String> iterator() {
         return new ServerAddressIterator(serverUrls);
     }
 
+    private static String normalize(String serverAddr) {
+        serverAddr = serverAddr.trim();
+        boolean whetherJoint = StringUtil.isNotBlank(serverAddr)
+                && !serverAddr.startsWith(HTTPS) && !serverAddr.startsWith(HTTP);
+        return whetherJoint ? HTTP + serverAddr : serverAddr;
+    }
+
     /**
      * Server Address Iterator
      */
@@ -108,12 +167,12 @@ public class ServerListManager {
 
         @Override
         public boolean hasNext() {
-            return false;
+            return iter.hasNext();
         }
 
         @Override
         public String next() {
-            return null;
+            return iter.next().serverIp;
         }
 
         /**
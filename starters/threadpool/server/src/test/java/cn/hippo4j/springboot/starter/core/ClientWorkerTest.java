@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.core;
+
+import cn.hippo4j.common.model.ChangedConfigsInfo;
+import cn.hippo4j.common.model.Result;
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
+import cn.hippo4j.common.toolkit.GroupKey;
+import cn.hippo4j.common.toolkit.JSONUtil;
+import cn.hippo4j.common.toolkit.http.HttpStatusException;
+import cn.hippo4j.springboot.starter.remote.HttpAgent;
+import cn.hippo4j.springboot.starter.remote.ServerHealthCheck;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static cn.hippo4j.common.constant.Constants.BATCH_CONFIG_PATH;
+import static cn.hippo4j.common.constant.Constants.CONFIG_CONTROLLER_PATH;
+import static cn.hippo4j.common.constant.Constants.LINE_SEPARATOR;
+import static cn.hippo4j.common.constant.Constants.LISTENER_PATH;
+import static cn.hippo4j.common.constant.Constants.WORD_SEPARATOR;
+
+/**
+ * test for {@link ClientWorker}
+ */
+public class ClientWorkerTest {
+
+    private HttpAgent agent;
+
+    private ClientWorker clientWorker;
+
+    @Before
+    public void setUp() {
+        agent = Mockito.mock(HttpAgent.class);
+        clientWorker = new ClientWorker(agent, "127.0.0.1:8088_test", Mockito.mock(ServerHealthCheck.class), "1.5.0", new ClientShutdown());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        clientWorker.destroy();
+    }
+
+    @Test
+    public void inlineConfigsResponseTest() throws Exception {
+        ChangedConfigsInfo<ThreadPoolParameterInfo> changed = new ChangedConfigsInfo<>(changedGroups("a", "b"), Collections.singletonList(config("a", 4)));
+        mockListenerResponse(JSONUtil.parseObject(JSONUtil.toJSONString(changed), Map.class));
+        Map<String, ThreadPoolParameterInfo> changedConfigs = new HashMap<>();
+        List<String> changedTpIds = clientWorker.checkUpdateTpIds("probe", false, changedConfigs);
+        Assert.assertEquals(Arrays.asList(groupKey("a"), groupKey("b")), changedTpIds);
+        Assert.assertEquals(1, changedConfigs.size());
+        Assert.assertEquals(4, changedConfigs.get(groupKey("a")).getCorePoolSize().intValue());
+    }
+
+    @Test
+    public void plainStringResponseTest() throws Exception {
+        mockListenerResponse(changedGroups("a", "b"));
+        Map<String, ThreadPoolParameterInfo> changedConfigs = new HashMap<>();
+        List<String> changedTpIds = clientWorker.checkUpdateTpIds("probe", false, changedConfigs);
+        Assert.assertEquals(Arrays.asList(groupKey("a"), groupKey("b")), changedTpIds);
+        Assert.assertTrue(changedConfigs.isEmpty());
+    }
+
+    @Test
+    public void batchWithMissingPoolTest() {
+        Mockito.when(agent.httpPost(Mockito.eq(BATCH_CONFIG_PATH), Mockito.any()))
+                .thenReturn(success(Collections.singletonList(config("a", 4))));
+        Map<String, ThreadPoolParameterInfo> configs = clientWorker.getServerConfigs(Arrays.asList(parameter("a"), parameter("b")));
+        Assert.assertEquals(1, configs.size());
+        Assert.assertEquals(4, configs.get(groupKey("a")).getCorePoolSize().intValue());
+        Assert.assertNull(configs.get(groupKey("b")));
+        Mockito.verify(agent, Mockito.never()).httpGetByConfig(Mockito.anyString(), Mockito.any(), Mockito.anyMap(), Mockito.anyLong());
+    }
+
+    @Test
+    public void oldServerFallbackTest() {
+        Mockito.when(agent.httpPost(Mockito.eq(BATCH_CONFIG_PATH), Mockito.any()))
+                .thenThrow(new HttpStatusException(404, "not found"));
+        mockConfigResponse();
+        Map<String, ThreadPoolParameterInfo> configs = clientWorker.getServerConfigs(Arrays.asList(parameter("a"), parameter("b")));
+        Assert.assertEquals(2, configs.size());
+        clientWorker.getServerConfigs(Collections.singletonList(parameter("a")));
+        Mockito.verify(agent, Mockito.times(1)).httpPost(Mockito.eq(BATCH_CONFIG_PATH), Mockito.any());
+        Mockito.verify(agent, Mockito.times(3)).httpGetByConfig(Mockito.eq(CONFIG_CONTROLLER_PATH), Mockito.any(), Mockito.anyMap(), Mockito.anyLong());
+    }
+
+    @Test
+    public void transientFailureFallbackTest() {
+        Mockito.when(agent.httpPost(Mockito.eq(BATCH_CONFIG_PATH), Mockito.any()))
+                .thenThrow(new HttpStatusException(503, "service unavailable"))
+                .thenThrow(new RuntimeException("connect timed out"))
+                .thenReturn(success(Collections.singletonList(config("a", 4))));
+        mockConfigResponse();
+        Assert.assertEquals(1, clientWorker.getServerConfigs(Collections.singletonList(parameter("a"))).size());
+        Assert.assertEquals(1, clientWorker.getServerConfigs(Collections.singletonList(parameter("a"))).size());
+        Assert.assertEquals(1, clientWorker.getServerConfigs(Collections.singletonList(parameter("a"))).size());
+        Mockito.verify(agent, Mockito.times(3)).httpPost(Mockito.eq(BATCH_CONFIG_PATH), Mockito.any());
+        Mockito.verify(agent, Mockito.times(2)).httpGetByConfig(Mockito.eq(CONFIG_CONTROLLER_PATH), Mockito.any(), Mockito.anyMap(), Mockito.anyLong());
+    }
+
+    private void mockListenerResponse(Object data) {
+        Mockito.when(agent.httpPostByConfig(Mockito.eq(LISTENER_PATH), Mockito.anyMap(), Mockito.anyMap(), Mockito.anyLong()))
+                .thenReturn(success(data));
+    }
+
+    private void mockConfigResponse() {
+        Mockito.when(agent.httpGetByConfig(Mockito.eq(CONFIG_CONTROLLER_PATH), Mockito.any(), Mockito.anyMap(), Mockito.anyLong()))
+                .thenAnswer(invocation -> {
+                    Map<String, String> params = invocation.getArgument(2);
+                    return success(JSONUtil.parseObject(JSONUtil.toJSONString(config(params.get("tpId"), 2)), Map.class));
+                });
+    }
+
+    private static Result<Object> success(Object data) {
+        return new Result<>().setCode(Result.SUCCESS_CODE).setData(data);
+    }
+
+    private static String changedGroups(String... tpIds) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (String each : tpIds) {
+            sb.append(each).append(WORD_SEPARATOR).append("item").append(WORD_SEPARATOR).append("tenant").append(LINE_SEPARATOR);
+        }
+        return URLEncoder.encode(sb.toString(), "UTF-8");
+    }
+
+    private static String groupKey(String tpId) {
+        return GroupKey.getKeyTenant(tpId, "item", "tenant");
+    }
+
+    private static ThreadPoolParameterInfo parameter(String tpId) {
+        return new ThreadPoolParameterInfo().setTenantId("tenant").setItemId("item").setTpId(tpId);
+    }
+
+    private static ThreadPoolParameterInfo config(String tpId, int corePoolSize) {
+        return parameter(tpId).setCorePoolSize(corePoolSize).setMaximumPoolSize(corePoolSize);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.monitor.buffer;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link ReportBuffer}
+ */
+public class ReportBufferTest {
+
+    @Test
+    public void testCoalesce() throws InterruptedException {
+        ReportBuffer buffer = new ReportBuffer(10, 10, 4);
+        buffer.add(batch(sample("a", "5", 3, 10L)));
+        buffer.add(batch(sample("a", "2", 4, 20L)));
+        Assert.assertEquals(1, buffer.getDepth());
+        List<Message> batches = buffer.awaitBatches(0L);
+        Assert.assertEquals(1, batches.size());
+        RuntimeMessage coalesced = (RuntimeMessage) batches.get(0).getMessages().get(0);
+        Assert.assertEquals("5", coalesced.getPeakLoad());
+        Assert.assertEquals(Integer.valueOf(4), coalesced.getLargestPoolSize());
+        Assert.assertEquals(Long.valueOf(20L), coalesced.getCompletedTaskCount());
+        Assert.assertEquals(0, buffer.getDepth());
+    }
+
+    @Test
+    public void testDropWhenFull() {
+        ReportBuffer buffer = new ReportBuffer(2, 10, 4);
+        buffer.add(batch(sample("a", "1", 1, 1L), sample("b", "1", 1, 1L), sample("c", "1", 1, 1L)));
+        Assert.assertEquals(2, buffer.getDepth());
+        Assert.assertEquals(1L, buffer.getDropCount());
+        buffer.add(batch(sample("a", "1", 1, 2L)));
+        Assert.assertEquals(1L, buffer.getDropCount());
+    }
+
+    @Test
+    public void testAwaitBatches() throws InterruptedException {
+        ReportBuffer buffer = new ReportBuffer(10, 2, 4);
+        long startTime = System.nanoTime();
+        Assert.assertTrue(buffer.awaitBatches(100L).isEmpty());
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) >= 100L);
+        buffer.add(batch(sample("a", "1", 1, 1L), sample("b", "1", 1, 1L), sample("c", "1", 1, 1L)));
+        startTime = System.nanoTime();
+        List<Message> batches = buffer.awaitBatches(10000L);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) < 5000L);
+        Assert.assertEquals(2, batches.size());
+        Assert.assertEquals(2, batches.get(0).getMessages().size());
+        Assert.assertEquals(1, batches.get(1).getMessages().size());
+        Assert.assertEquals(MessageTypeEnum.RUNTIME, batches.get(0).getMessageType());
+    }
+
+    @Test
+    public void testAwaitBatchesWakeUpWhenFull() throws InterruptedException {
+        ReportBuffer buffer = new ReportBuffer(10, 2, 4);
+        new Thread(() -> {
+            sleep(100L);
+            buffer.add(batch(sample("a", "1", 1, 1L), sample("b", "1", 1, 1L)));
+        }).start();
+        long startTime = System.nanoTime();
+        List<Message> batches = buffer.awaitBatches(10000L);
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) < 5000L);
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals(2, batches.get(0).getMessages().size());
+    }
+
+    @Test
+    public void testSpillRing() {
+        ReportBuffer buffer = new ReportBuffer(10, 10, 4);
+        buffer.spill(Collections.singletonList(batch(sample("a", "1", 1, 1L))));
+        buffer.spill(Collections.singletonList(batch(sample("a", "1", 1, 2L))));
+        Assert.assertEquals(2, buffer.getSpillDepth());
+        Assert.assertEquals(Long.valueOf(1L), firstSample(buffer.peekSpilled()).getCompletedTaskCount());
+        buffer.removeSpilled();
+        Assert.assertEquals(Long.valueOf(2L), firstSample(buffer.peekSpilled()).getCompletedTaskCount());
+        buffer.removeSpilled();
+        Assert.assertNull(buffer.peekSpilled());
+        RuntimeMessage other = new RuntimeMessage();
+        other.setMessageType(MessageTypeEnum.DEFAULT);
+        buffer.spill(Collections.singletonList(other));
+        Assert.assertEquals(0, buffer.getSpillDepth());
+        Assert.assertEquals(1, buffer.getDepth());
+    }
+
+    @Test
+    public void testDownsampleSpillRing() {
+        ReportBuffer buffer = new ReportBuffer(10, 10, 2);
+        buffer.spill(Collections.singletonList(batch(sample("a", "1", 1, 1L))));
+        buffer.spill(Collections.singletonList(batch(sample("a", "9", 5, 2L), sample("b", "1", 1, 2L))));
+        buffer.spill(Collections.singletonList(batch(sample("a", "3", 2, 3L))));
+        Assert.assertEquals(2, buffer.getSpillDepth());
+        List<Message> merged = buffer.peekSpilled();
+        Assert.assertEquals(2, merged.get(0).getMessages().size());
+        RuntimeMessage sample = firstSample(merged);
+        Assert.assertEquals("a", sample.getGroupKey());
+        Assert.assertEquals("9", sample.getPeakLoad());
+        Assert.assertEquals(Long.valueOf(2L), sample.getCompletedTaskCount());
+        buffer.removeSpilled();
+        Assert.assertEquals(Long.valueOf(3L), firstSample(buffer.peekSpilled()).getCompletedTaskCount());
+    }
+
+    private static RuntimeMessage firstSample(List<Message> batches) {
+        return (RuntimeMessage) batches.get(0).getMessages().get(0);
+    }
+
+    private static RuntimeMessage batch(RuntimeMessage... samples) {
+        RuntimeMessage batch = new RuntimeMessage();
+        batch.setMessageType(MessageTypeEnum.RUNTIME);
+        batch.setMessages(new ArrayList<>(Arrays.asList(samples)));
+        return batch;
+    }
+
+    private static RuntimeMessage sample(String groupKey, String peakLoad, int largestPoolSize, long completedTaskCount) {
+        RuntimeMessage sample = new RuntimeMessage();
+        sample.setGroupKey(groupKey);
+        sample.setMessageType(MessageTypeEnum.RUNTIME);
+        sample.setPeakLoad(peakLoad);
+        sample.setLargestPoolSize(largestPoolSize);
+        sample.setCompletedTaskCount(completedTaskCount);
+        return sample;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
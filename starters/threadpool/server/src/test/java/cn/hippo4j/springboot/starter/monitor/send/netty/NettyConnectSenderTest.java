@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.monitor.send.netty;
+
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.springboot.starter.remote.ServerNettyAgent;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * test for {@link NettyConnectSender}
+ */
+public class NettyConnectSenderTest {
+
+    @Test
+    public void testTrySendDoesNotBlockWhileConnecting() throws IOException {
+        EventLoopGroup eventLoopGroup = new NioEventLoopGroup(1);
+        ServerNettyAgent serverNettyAgent = Mockito.mock(ServerNettyAgent.class);
+        Mockito.when(serverNettyAgent.getEventLoopGroup()).thenReturn(eventLoopGroup);
+        Mockito.when(serverNettyAgent.getNettyServerAddress()).thenReturn("127.0.0.1");
+        Mockito.when(serverNettyAgent.getNettyServerPort()).thenReturn(unusedPort());
+        NettyConnectSender sender = new NettyConnectSender(serverNettyAgent);
+        try {
+            RuntimeMessage message = new RuntimeMessage();
+            message.setMessageType(MessageTypeEnum.RUNTIME);
+            message.setMessages(new ArrayList<>());
+            long startTime = System.nanoTime();
+            Assert.assertFalse(sender.trySend(message));
+            Assert.assertFalse(sender.trySend(message));
+            Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) < 1000L);
+        } finally {
+            sender.destroy();
+            eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFallBackOnlyOnRejectionOrRepeatedFailures() {
+        EventLoopGroup eventLoopGroup = new NioEventLoopGroup(1);
+        ServerNettyAgent serverNettyAgent = Mockito.mock(ServerNettyAgent.class);
+        Mockito.when(serverNettyAgent.getEventLoopGroup()).thenReturn(eventLoopGroup);
+        NettyConnectSender sender = new NettyConnectSender(serverNettyAgent);
+        try {
+            Assert.assertTrue(sender.onHandshakeFailed(new IllegalArgumentException("Invalid magic of binary monitor protocol.")));
+            // a restarting server may close the channel or not answer
+            for (int i = 1; i < NettyConnectSender.MAX_HANDSHAKE_FAILURES; i++) {
+                Assert.assertFalse(sender.onHandshakeFailed(i % 2 == 0 ? new ClosedChannelException() : new TimeoutException()));
+            }
+            Assert.assertTrue(sender.onHandshakeFailed(new TimeoutException()));
+            Assert.assertFalse(sender.onHandshakeFailed(new TimeoutException()));
+        } finally {
+            sender.destroy();
+            eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
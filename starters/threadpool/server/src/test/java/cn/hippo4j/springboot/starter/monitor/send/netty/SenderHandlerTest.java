@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.springboot.starter.monitor.send.netty;
+
+import cn.hippo4j.common.monitor.codec.RuntimeMessageCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.concurrent.DefaultPromise;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.Promise;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * test for {@link SenderHandler}
+ */
+public class SenderHandlerTest {
+
+    @Test
+    public void testNoHeartbeatOnLegacyChannel() {
+        EmbeddedChannel channel = new EmbeddedChannel(new SenderHandler(Mockito.mock(NettyConnectSender.class), false));
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.WRITER_IDLE_STATE_EVENT);
+        Assert.assertNull(channel.readOutbound());
+    }
+
+    @Test
+    public void testHeartbeatAfterHandshake() {
+        Promise<Channel> promise = new DefaultPromise<>(GlobalEventExecutor.INSTANCE);
+        EmbeddedChannel channel = new EmbeddedChannel(
+                new BinaryHandshakeHandler(new BinaryMessageEncoder(), promise),
+                new SenderHandler(Mockito.mock(NettyConnectSender.class), true));
+        ByteBuf hello = channel.readOutbound();
+        Assert.assertEquals(RuntimeMessageCodec.TYPE_HELLO, RuntimeMessageCodec.frameType(ByteBufUtil.getBytes(hello)));
+        hello.release();
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.WRITER_IDLE_STATE_EVENT);
+        Assert.assertNull(channel.readOutbound());
+        channel.writeInbound(Unpooled.wrappedBuffer(RuntimeMessageCodec.helloAck(RuntimeMessageCodec.VERSION, RuntimeMessageCodec.COMPRESSION_NONE)));
+        Assert.assertTrue(promise.isSuccess());
+        channel.pipeline().fireUserEventTriggered(IdleStateEvent.WRITER_IDLE_STATE_EVENT);
+        ByteBuf heartbeat = channel.readOutbound();
+        Assert.assertArrayEquals(RuntimeMessageCodec.headerOnlyFrame(RuntimeMessageCodec.TYPE_HEARTBEAT), ByteBufUtil.getBytes(heartbeat));
+        heartbeat.release();
+    }
+
+    @Test
+    public void testReconnectWhenInactive() {
+        NettyConnectSender sender = Mockito.mock(NettyConnectSender.class);
+        EmbeddedChannel channel = new EmbeddedChannel(new SenderHandler(sender, true));
+        channel.close();
+        Mockito.verify(sender).scheduleReconnect();
+    }
+}
@@ -17,6 +17,7 @@
 
 package cn.hippo4j.core.config;
 
+import cn.hippo4j.core.executor.state.RunStateSampler;
 import cn.hippo4j.core.toolkit.inet.InetUtils;
 import cn.hippo4j.core.toolkit.inet.InetUtilsProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -34,4 +35,10 @@ public class UtilAutoConfiguration {
     public InetUtils hippo4jInetUtils(InetUtilsProperties inetUtilsProperties) {
         return new InetUtils(inetUtilsProperties);
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RunStateSampler hippo4jRunStateSampler() {
+        return new RunStateSampler();
+    }
 }
@@ -23,7 +23,10 @@ import cn.hippo4j.core.executor.plugin.ShutdownAwarePlugin;
 import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
 import cn.hippo4j.core.executor.plugin.ThreadPoolPlugin;
 import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginManager;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSnapshot;
 import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSupport;
+import cn.hippo4j.core.executor.state.RunStateSnapshot;
+import cn.hippo4j.core.executor.support.TaskQueue;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
@@ -40,6 +43,8 @@ import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * <p>Extensible thread-pool executor. <br />
@@ -48,11 +53,29 @@ import java.util.concurrent.TimeUnit;
  * users can customize plug-ins and implement one or more {@link ThreadPoolPlugin} interface
  * to enable plugins to sense thread pool behavior and provide extended functions.
  *
+ * <p>All callbacks are dispatched through the {@link ThreadPoolPluginSnapshot} published by the manager,
+ * so the hot paths iterate over plain arrays without taking any lock,
+ * and skip dispatching entirely when there is no plugin of the corresponding type.
+ *
+ * <p>The executor maintains its own counters of pool size, active threads, completed and rejected tasks,
+ * so {@link #getRunStateSnapshot()} never acquires the main lock of {@link ThreadPoolExecutor}.
+ * Live threads are counted by wrapping the {@link ThreadFactory},
+ * while {@link #getThreadFactory()} still returns the original factory.
+ *
+ * <p>If the work queue is a {@link TaskQueue}, the executor works as a fast pool,
+ * which starts new threads up to the maximum pool size before queuing tasks,
+ * and counts the submitted tasks to let the queue know whether there is an idle worker.
+ *
  * @see ThreadPoolPluginManager
  * @see ThreadPoolPlugin
  */
 public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements ThreadPoolPluginSupport {
 
+    /**
+     * Class name of the worker of {@link ThreadPoolExecutor}
+     */
+    private static final String WORKER_CLASS_NAME = ThreadPoolExecutor.class.getName() + "$Worker";
+
     /**
      * Thread pool id
      */
@@ -70,6 +93,41 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     private final RejectedAwareHandlerWrapper handlerWrapper;
 
+    /**
+     * Number of live worker threads
+     */
+    private final AtomicInteger livePoolSize = new AtomicInteger();
+
+    /**
+     * The largest number of live worker threads
+     */
+    private final AtomicInteger largestLivePoolSize = new AtomicInteger();
+
+    /**
+     * Number of threads actively executing tasks
+     */
+    private final LongAdder activeCounter = new LongAdder();
+
+    /**
+     * Number of completed tasks
+     */
+    private final LongAdder completedCounter = new LongAdder();
+
+    /**
+     * Number of rejected tasks
+     */
+    private final LongAdder rejectedCounter = new LongAdder();
+
+    /**
+     * Work queue of fast pool, null if the executor is not a fast pool
+     */
+    private final TaskQueue taskQueue;
+
+    /**
+     * Number of tasks submitted but not yet completed, only counted for fast pool
+     */
+    private final AtomicInteger submittedTaskCount = new AtomicInteger();
+
     /**
      * Creates a new {@code ExtensibleThreadPoolExecutor} with the given initial parameters.
      *
@@ -111,8 +169,15 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
         this.threadPoolId = threadPoolId;
         this.threadPoolPluginManager = threadPoolPluginManager;
         // proxy handler to support callback, repeated packaging of the same rejection policy should be avoided here.
-        this.handlerWrapper = new RejectedAwareHandlerWrapper(threadPoolPluginManager, handler);
+        this.handlerWrapper = new RejectedAwareHandlerWrapper(threadPoolPluginManager, rejectedCounter, handler);
         super.setRejectedExecutionHandler(handlerWrapper);
+        // count live threads through the thread factory.
+        super.setThreadFactory(new RunStateCountingThreadFactory(threadFactory));
+        // grow threads eagerly if the queue is a task queue.
+        this.taskQueue = workQueue instanceof TaskQueue ? (TaskQueue) workQueue : null;
+        if (taskQueue != null) {
+            taskQueue.setExecutor(this);
+        }
     }
 
     /**
@@ -125,8 +190,20 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     @Override
     protected void beforeExecute(Thread thread, Runnable runnable) {
-        Collection<ExecuteAwarePlugin> executeAwarePluginList = threadPoolPluginManager.getExecuteAwarePluginList();
-        executeAwarePluginList.forEach(aware -> aware.beforeExecute(thread, runnable));
+        ExecuteAwarePlugin[] executeAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getExecuteAwarePlugins();
+        try {
+            for (ExecuteAwarePlugin executeAwarePlugin : executeAwarePlugins) {
+                executeAwarePlugin.beforeExecute(thread, runnable);
+            }
+        } catch (Throwable ex) {
+            // the task is dropped without afterExecute
+            if (taskQueue != null) {
+                submittedTaskCount.decrementAndGet();
+            }
+            throw ex;
+        }
+        // afterExecute will not be called if beforeExecute fails, so count it last
+        activeCounter.increment();
     }
 
     /**
@@ -140,13 +217,16 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     @Override
     public void execute(@NonNull Runnable runnable) {
-        Collection<TaskAwarePlugin> taskAwarePluginList = threadPoolPluginManager.getTaskAwarePluginList();
-        for (TaskAwarePlugin taskAwarePlugin : taskAwarePluginList) {
+        TaskAwarePlugin[] taskAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getTaskAwarePlugins();
+        for (TaskAwarePlugin taskAwarePlugin : taskAwarePlugins) {
             runnable = taskAwarePlugin.beforeTaskExecute(runnable);
             if (Objects.isNull(runnable)) {
                 return;
             }
         }
+        if (taskQueue != null) {
+            submittedTaskCount.incrementAndGet();
+        }
         super.execute(runnable);
     }
 
@@ -161,8 +241,15 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     @Override
     protected void afterExecute(Runnable runnable, Throwable throwable) {
-        Collection<ExecuteAwarePlugin> executeAwarePluginList = threadPoolPluginManager.getExecuteAwarePluginList();
-        executeAwarePluginList.forEach(aware -> aware.afterExecute(runnable, throwable));
+        activeCounter.decrement();
+        completedCounter.increment();
+        if (taskQueue != null) {
+            submittedTaskCount.decrementAndGet();
+        }
+        ExecuteAwarePlugin[] executeAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getExecuteAwarePlugins();
+        for (ExecuteAwarePlugin executeAwarePlugin : executeAwarePlugins) {
+            executeAwarePlugin.afterExecute(runnable, throwable);
+        }
     }
 
     /**
@@ -227,8 +314,8 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     @Override
     protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
-        Collection<TaskAwarePlugin> taskAwarePluginList = threadPoolPluginManager.getTaskAwarePluginList();
-        for (TaskAwarePlugin taskAwarePlugin : taskAwarePluginList) {
+        TaskAwarePlugin[] taskAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getTaskAwarePlugins();
+        for (TaskAwarePlugin taskAwarePlugin : taskAwarePlugins) {
             runnable = taskAwarePlugin.beforeTaskCreate(this, runnable, value);
         }
         return super.newTaskFor(runnable, value);
@@ -248,13 +335,73 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
      */
     @Override
     protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
-        Collection<TaskAwarePlugin> taskAwarePluginList = threadPoolPluginManager.getTaskAwarePluginList();
-        for (TaskAwarePlugin taskAwarePlugin : taskAwarePluginList) {
+        TaskAwarePlugin[] taskAwarePlugins = threadPoolPluginManager.getPluginSnapshot().getTaskAwarePlugins();
+        for (TaskAwarePlugin taskAwarePlugin : taskAwarePlugins) {
             callable = taskAwarePlugin.beforeTaskCreate(this, callable);
         }
         return super.newTaskFor(callable);
     }
 
+    /**
+     * Get the number of tasks submitted but not yet completed,
+     * including the tasks waiting in the queue and the tasks being executed.
+     * Only counted if the executor is a fast pool, otherwise always 0.
+     *
+     * @return number of submitted tasks
+     */
+    public int getSubmittedTaskCount() {
+        return submittedTaskCount.get();
+    }
+
+    /**
+     * Get the number of live worker threads without acquiring the main lock, unlike {@link #getPoolSize()}.
+     * A thread is counted from the moment it starts running, so the value may be briefly lower than the pool size.
+     *
+     * @return number of live worker threads
+     */
+    public int getLivePoolSize() {
+        return Math.max(livePoolSize.get(), 0);
+    }
+
+    /**
+     * Stop counting the tasks removed from the queue of fast pool without being executed,
+     * eg: by {@link #remove}, {@link #purge} or {@link #shutdownNow}, called by {@link TaskQueue}.
+     *
+     * @param count number of tasks removed
+     */
+    public void onQueuedTasksRemoved(int count) {
+        if (taskQueue != null && count > 0) {
+            submittedTaskCount.addAndGet(-count);
+        }
+    }
+
+    /**
+     * Whether the executor is a fast pool, which grows threads before queuing tasks.
+     *
+     * @return true if the work queue is a {@link TaskQueue}
+     */
+    public boolean isFastPool() {
+        return taskQueue != null;
+    }
+
+    /**
+     * For fast pool, put the task into the queue when no worker can be started for it,
+     * otherwise the task is finally rejected and no longer counted as submitted.
+     *
+     * @param runnable task
+     * @return true if the task is queued
+     */
+    private boolean retryOfferToTaskQueue(Runnable runnable) {
+        if (taskQueue == null) {
+            return false;
+        }
+        if (taskQueue.force(runnable)) {
+            return true;
+        }
+        submittedTaskCount.decrementAndGet();
+        return false;
+    }
+
     /**
      * Sets a new handler for unexecutable tasks.
      *
@@ -278,6 +425,75 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
         return handlerWrapper.getHandler();
     }
 
+    /**
+     * Sets the thread factory used to create new threads,
+     * the factory will be wrapped to count live threads.
+     *
+     * @param threadFactory the new thread factory
+     * @throws NullPointerException if threadFactory is null
+     * @see #getThreadFactory
+     */
+    @Override
+    public void setThreadFactory(@NonNull ThreadFactory threadFactory) {
+        super.setThreadFactory(new RunStateCountingThreadFactory(threadFactory));
+    }
+
+    /**
+     * Returns the thread factory used to create new threads,
+     * which is the factory set by user rather than the wrapper counting live threads,
+     * so it can be passed to another executor safely.
+     *
+     * @return the current thread factory
+     * @see #setThreadFactory(ThreadFactory)
+     */
+    @Override
+    public ThreadFactory getThreadFactory() {
+        RunStateCountingThreadFactory threadFactory = (RunStateCountingThreadFactory) super.getThreadFactory();
+        // only the workers of this executor create threads through the counting wrapper
+        return isCalledByWorker() ? threadFactory : threadFactory.delegate;
+    }
+
+    /**
+     * Whether {@link #getThreadFactory()} is called by the constructor of a worker,
+     * which is an inner class of {@link ThreadPoolExecutor}, so the worker belongs to this executor.
+     * Workers are only created when threads are started, so walking the stack here is cheap enough.
+     *
+     * @return true if called by the constructor of a worker
+     */
+    private static boolean isCalledByWorker() {
+        StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+        // [0] isCalledByWorker, [1] getThreadFactory, [2] caller
+        return stackTrace.length > 2
+                && WORKER_CLASS_NAME.equals(stackTrace[2].getClassName())
+                && "<init>".equals(stackTrace[2].getMethodName());
+    }
+
+    /**
+     * <p>Take a snapshot of the run state from the counters maintained by the executor,
+     * without acquiring the main lock of {@link ThreadPoolExecutor}. <br />
+     * Counters are updated independently, so the values are not guaranteed to be consistent with each other,
+     * and a thread is counted from the moment it starts running rather than when it is added.
+     *
+     * @return snapshot of run state
+     */
+    public RunStateSnapshot getRunStateSnapshot() {
+        BlockingQueue<Runnable> queue = getQueue();
+        int poolSize = getLivePoolSize();
+        return RunStateSnapshot.builder()
+                .corePoolSize(getCorePoolSize())
+                .maximumPoolSize(getMaximumPoolSize())
+                .poolSize(poolSize)
+                .largestPoolSize(largestLivePoolSize.get())
+                .activeCount((int) Math.min(Math.max(activeCounter.sum(), 0L), poolSize))
+                .completedTaskCount(completedCounter.sum())
+                .rejectCount(rejectedCounter.sum())
+                .queueType(queue.getClass().getSimpleName())
+                .queueSize(queue.size())
+                .queueRemainingCapacity(queue.remainingCapacity())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
     /**
      * Get thread-pool executor.
      *
@@ -302,6 +518,11 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
          */
         private final ThreadPoolPluginManager registry;
 
+        /**
+         * Number of rejected tasks
+         */
+        private final LongAdder rejectedCounter;
+
         /**
          * Original target
          */
@@ -311,15 +532,57 @@ public class ExtensibleThreadPoolExecutor extends ThreadPoolExecutor implements
 
         /**
          * Call {@link RejectedAwarePlugin#beforeRejectedExecution}, then reject the task.
+         * For fast pool, the task is put into the queue instead if the queue is not full.
          *
          * @param r        the runnable task requested to be executed
          * @param executor the executor attempting to execute this task
          */
         @Override
         public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-            Collection<RejectedAwarePlugin> rejectedAwarePluginList = registry.getRejectedAwarePluginList();
-            rejectedAwarePluginList.forEach(aware -> aware.beforeRejectedExecution(r, executor));
+            if (executor instanceof ExtensibleThreadPoolExecutor
+                    && ((ExtensibleThreadPoolExecutor) executor).retryOfferToTaskQueue(r)) {
+                return;
+            }
+            rejectedCounter.increment();
+            RejectedAwarePlugin[] rejectedAwarePlugins = registry.getPluginSnapshot().getRejectedAwarePlugins();
+            for (RejectedAwarePlugin rejectedAwarePlugin : rejectedAwarePlugins) {
+                rejectedAwarePlugin.beforeRejectedExecution(r, executor);
+            }
             handler.rejectedExecution(r, executor);
         }
     }
+
+    /**
+     * Thread factory which counts the live worker threads of the current executor,
+     * never exposed by {@link #getThreadFactory()}.
+     */
+    private class RunStateCountingThreadFactory implements ThreadFactory {
+
+        /**
+         * Original thread factory
+         */
+        private final ThreadFactory delegate;
+
+        RunStateCountingThreadFactory(ThreadFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            return delegate.newThread(() -> {
+                int size = livePoolSize.incrementAndGet();
+                int largest;
+                while ((largest = largestLivePoolSize.get()) < size) {
+                    if (largestLivePoolSize.compareAndSet(largest, size)) {
+                        break;
+                    }
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    livePoolSize.decrementAndGet();
+                }
+            });
+        }
+    }
 }
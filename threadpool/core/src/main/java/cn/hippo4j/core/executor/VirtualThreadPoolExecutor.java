@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor;
+
+import cn.hippo4j.common.executor.ThreadFactoryBuilder;
+import cn.hippo4j.common.executor.VirtualThreadSupport;
+import lombok.NonNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Dynamic thread-pool which executes tasks on virtual threads, requires JDK 21 or later. <br />
+ * The concurrency is bounded by a permit limit instead of a number of platform threads:
+ * each task in flight holds a virtual worker, which is cheap to create and does not occupy a carrier thread while blocked,
+ * and the tasks beyond the limit wait in the work queue or are rejected when the queue is full.
+ *
+ * <p>The permit limit is the maximum pool size, and the core pool size always follows it,
+ * so the refresh flows which call {@link #setMaximumPoolSize} adjust the limit at runtime,
+ * while {@link #setCorePoolSize} has no effect. Idle virtual workers exit after the keep-alive time.
+ * Since tasks still run through {@link ExtensibleThreadPoolExecutor}, all the plugins work as usual,
+ * and the active count reported by {@link ExtensibleThreadPoolExecutor#getRunStateSnapshot()} is the number of tasks in flight.
+ *
+ * @see VirtualThreadSupport
+ */
+public class VirtualThreadPoolExecutor extends DynamicThreadPoolExecutor {
+
+    /**
+     * Creates a new {@code VirtualThreadPoolExecutor} with the given initial parameters.
+     *
+     * @param permitLimit                      the maximum number of tasks executed at the same time
+     * @param keepAliveTime                    the time idle virtual workers wait for new tasks before terminating,
+     *                                         idle workers never terminate if it is 0
+     * @param unit                             the time unit for the {@code keepAliveTime} argument
+     * @param executeTimeOut                   execute time out
+     * @param waitForTasksToCompleteOnShutdown wait for tasks to complete on shutdown
+     * @param awaitTerminationMillis           await termination millis
+     * @param blockingQueue                    the queue to use for holding tasks beyond the permit limit
+     * @param threadPoolId                     thread-pool id
+     * @param threadFactory                    the factory of virtual threads, see {@link #newVirtualThreadFactory}
+     * @param rejectedExecutionHandler         the handler to use when the permit limit and queue capacity are reached
+     * @throws IllegalArgumentException if {@code permitLimit <= 0} or {@code keepAliveTime < 0}
+     * @throws NullPointerException     if {@code blockingQueue} or {@code threadFactory} or {@code rejectedExecutionHandler} is null
+     */
+    public VirtualThreadPoolExecutor(
+                                     int permitLimit,
+                                     long keepAliveTime, TimeUnit unit,
+                                     long executeTimeOut, boolean waitForTasksToCompleteOnShutdown, long awaitTerminationMillis,
+                                     @NonNull BlockingQueue<Runnable> blockingQueue,
+                                     @NonNull String threadPoolId,
+                                     @NonNull ThreadFactory threadFactory,
+                                     @NonNull RejectedExecutionHandler rejectedExecutionHandler) {
+        super(
+                permitLimit, permitLimit, keepAliveTime, unit,
+                executeTimeOut, waitForTasksToCompleteOnShutdown, awaitTerminationMillis,
+                blockingQueue, threadPoolId, threadFactory, rejectedExecutionHandler);
+        if (keepAliveTime > 0) {
+            allowCoreThreadTimeOut(true);
+        }
+    }
+
+    /**
+     * Create a factory of virtual threads named with the given prefix.
+     *
+     * @param threadNamePrefix thread name prefix
+     * @return virtual thread factory
+     * @throws UnsupportedOperationException if virtual threads are not supported
+     */
+    public static ThreadFactory newVirtualThreadFactory(String threadNamePrefix) {
+        return ThreadFactoryBuilder.builder()
+                .threadFactory(VirtualThreadSupport.threadFactory())
+                .prefix(threadNamePrefix)
+                .build();
+    }
+
+    /**
+     * Get the maximum number of tasks executed at the same time.
+     *
+     * @return permit limit
+     */
+    public int getPermitLimit() {
+        return getMaximumPoolSize();
+    }
+
+    /**
+     * Set the maximum number of tasks executed at the same time.
+     * If the limit is decreased, the excess virtual workers exit after their current tasks.
+     *
+     * @param permitLimit permit limit
+     * @throws IllegalArgumentException if {@code permitLimit <= 0}
+     */
+    public synchronized void setPermitLimit(int permitLimit) {
+        if (permitLimit <= 0) {
+            throw new IllegalArgumentException(String.format("The permit limit must be greater than 0, but was %s", permitLimit));
+        }
+        if (permitLimit > getMaximumPoolSize()) {
+            super.setMaximumPoolSize(permitLimit);
+            super.setCorePoolSize(permitLimit);
+        } else {
+            super.setCorePoolSize(permitLimit);
+            super.setMaximumPoolSize(permitLimit);
+        }
+    }
+
+    /**
+     * Get the number of tasks in flight, without acquiring the main lock.
+     *
+     * @return number of tasks in flight
+     */
+    public int getInFlightTaskCount() {
+        return getRunStateSnapshot().getActiveCount();
+    }
+
+    /**
+     * Set the permit limit.
+     *
+     * @param maximumPoolSize the new permit limit
+     * @see #setPermitLimit
+     */
+    @Override
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        setPermitLimit(maximumPoolSize);
+    }
+
+    /**
+     * The core pool size always equals the permit limit, so the value is ignored.
+     * Use {@link #setMaximumPoolSize} or {@link #setPermitLimit} to adjust the concurrency.
+     *
+     * @param corePoolSize ignored
+     */
+    @Override
+    public void setCorePoolSize(int corePoolSize) {
+        // the core pool size follows the permit limit
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.adaptive;
+
+import cn.hippo4j.common.model.executor.ExecutorAdaptiveProperties;
+import cn.hippo4j.common.toolkit.ThreadPoolExecutorUtil;
+import cn.hippo4j.core.executor.state.RunStateSample;
+import cn.hippo4j.core.executor.state.RunStateSnapshot;
+import cn.hippo4j.core.executor.state.RunStateTick;
+import cn.hippo4j.core.executor.state.RunStateTickListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+
+/**
+ * <p>Closed-loop controller of the pool size of dynamic thread-pools which enabled adaptive sizing. <br />
+ * On each {@link RunStateTick}, every thread-pool whose evaluation interval has elapsed is evaluated with
+ * the {@link AdaptiveSizingMetrics} since its last evaluation, the configured {@link AdaptiveSizingAlgorithm}
+ * proposes a core pool size, and the proposal is applied only if:
+ * <ul>
+ *     <li>the same direction was proposed by {@link ExecutorAdaptiveProperties#getStableCount()} consecutive evaluations;</li>
+ *     <li>the cooldown since the last change has elapsed.</li>
+ * </ul>
+ * A change adds at most {@link ExecutorAdaptiveProperties#getMaxStep()} threads and removes at most a quarter of them,
+ * the maximum pool size keeps the gap to the core pool size it had when first evaluated, and both stay within the bounds.
+ *
+ * <p>All evaluations run on the single sink thread of the {@link cn.hippo4j.core.executor.state.RunStateSampler} subscription.
+ */
+@Slf4j
+public class AdaptivePoolSizeController implements RunStateTickListener {
+
+    /**
+     * Time of last change if never changed
+     */
+    private static final long NEVER = -1L;
+
+    /**
+     * Resolve the adaptive sizing properties by thread-pool id
+     */
+    private final Function<String, ExecutorAdaptiveProperties> propertiesResolver;
+
+    /**
+     * Listener of applied changes
+     */
+    private final AdaptiveSizingListener listener;
+
+    /**
+     * Algorithms indexed by lower case name
+     */
+    private final Map<String, AdaptiveSizingAlgorithm> algorithms = new HashMap<>();
+
+    /**
+     * Control states indexed by thread-pool id
+     */
+    private final Map<String, ControlState> states = new HashMap<>();
+
+    public AdaptivePoolSizeController(Function<String, ExecutorAdaptiveProperties> propertiesResolver, AdaptiveSizingListener listener) {
+        this.propertiesResolver = propertiesResolver;
+        this.listener = listener;
+        registerAlgorithm(new AimdSizingAlgorithm());
+        registerAlgorithm(new GradientSizingAlgorithm());
+    }
+
+    /**
+     * Register an algorithm, the algorithm with the same name is replaced.
+     *
+     * @param algorithm algorithm
+     */
+    public void registerAlgorithm(AdaptiveSizingAlgorithm algorithm) {
+        algorithms.put(algorithm.getName().toLowerCase(Locale.ROOT), algorithm);
+    }
+
+    @Override
+    public void onTick(RunStateTick tick) {
+        Set<String> sampled = new HashSet<>(tick.size() << 1);
+        for (RunStateSample each : tick.getSamples()) {
+            String threadPoolId = each.getThreadPoolId();
+            ExecutorAdaptiveProperties properties = propertiesResolver.apply(threadPoolId);
+            if (properties == null || !Boolean.TRUE.equals(properties.getEnable())) {
+                continue;
+            }
+            sampled.add(threadPoolId);
+            AdaptiveSizingDecision decision = evaluate(threadPoolId, each.getSnapshot(), properties, tick.getTimestamp());
+            if (decision != null) {
+                apply(each.getExecutor(), decision);
+            }
+        }
+        // forget the thread-pools which are removed or disabled, they start over when enabled again
+        states.keySet().retainAll(sampled);
+    }
+
+    /**
+     * Evaluate a snapshot of thread-pool.
+     *
+     * @param threadPoolId thread-pool id
+     * @param snapshot     snapshot
+     * @param properties   adaptive sizing properties
+     * @param now          current time in milliseconds
+     * @return decision to apply, null if the pool size should not be changed now
+     */
+    public AdaptiveSizingDecision evaluate(String threadPoolId, RunStateSnapshot snapshot, ExecutorAdaptiveProperties properties, long now) {
+        ControlState state = states.get(threadPoolId);
+        if (state == null) {
+            states.put(threadPoolId, new ControlState(snapshot, now));
+            return null;
+        }
+        if (state.expectedCorePoolSize != snapshot.getCorePoolSize() || state.expectedMaximumPoolSize != snapshot.getMaximumPoolSize()) {
+            // changed by someone else, start over from the new sizes
+            states.put(threadPoolId, new ControlState(snapshot, now));
+            return null;
+        }
+        if (now - state.lastEvaluateTime < properties.getInterval()) {
+            return null;
+        }
+        AdaptiveSizingMetrics metrics = AdaptiveSizingMetrics.of(state.lastSnapshot, snapshot);
+        state.lastSnapshot = snapshot;
+        state.lastEvaluateTime = now;
+        AdaptiveSizingAlgorithm algorithm = algorithms.get(String.valueOf(properties.getAlgorithm()).toLowerCase(Locale.ROOT));
+        if (algorithm == null) {
+            log.warn("[{}] Unknown adaptive sizing algorithm: {}.", threadPoolId, properties.getAlgorithm());
+            return null;
+        }
+        int current = snapshot.getCorePoolSize();
+        int upper = properties.getMaxPoolSize() != null ? properties.getMaxPoolSize() : state.initialMaximumPoolSize;
+        int lower = Math.min(Math.max(properties.getMinPoolSize(), 1), upper);
+        int proposed = Math.min(Math.max(algorithm.propose(metrics, properties), lower), upper);
+        int direction = Integer.compare(proposed, current);
+        if (direction == 0) {
+            state.pendingDirection = 0;
+            state.pendingCount = 0;
+            return null;
+        }
+        if (direction != state.pendingDirection) {
+            state.pendingDirection = direction;
+            state.pendingCount = 0;
+        }
+        if (++state.pendingCount < properties.getStableCount()) {
+            return null;
+        }
+        if (state.lastChangeTime != NEVER && now - state.lastChangeTime < properties.getCooldown()) {
+            return null;
+        }
+        int corePoolSize = direction > 0
+                ? Math.min(proposed, current + Math.max(properties.getMaxStep(), 1))
+                : Math.max(proposed, current - Math.max(current / 4, 1));
+        int maximumPoolSize = Math.max(corePoolSize, Math.min(corePoolSize + state.maximumPoolSizeGap, upper));
+        state.lastChangeTime = now;
+        state.pendingDirection = 0;
+        state.pendingCount = 0;
+        state.expectedCorePoolSize = corePoolSize;
+        state.expectedMaximumPoolSize = maximumPoolSize;
+        return new AdaptiveSizingDecision(threadPoolId, algorithm.getName(), current, snapshot.getMaximumPoolSize(),
+                corePoolSize, maximumPoolSize, algorithm.getName() + ": " + metrics, now);
+    }
+
+    private void apply(ThreadPoolExecutor executor, AdaptiveSizingDecision decision) {
+        try {
+            ThreadPoolExecutorUtil.safeSetPoolSize(executor, decision.getCorePoolSize(), decision.getMaximumPoolSize());
+        } catch (Exception ex) {
+            log.error("[{}] Failed to change the pool size by adaptive sizing.", decision.getThreadPoolId(), ex);
+            states.remove(decision.getThreadPoolId());
+            return;
+        }
+        log.info("[{}] Adaptive sizing changes pool size, corePoolSize: {} => {}, maximumPoolSize: {} => {}, reason: {}",
+                decision.getThreadPoolId(),
+                decision.getBeforeCorePoolSize(), decision.getCorePoolSize(),
+                decision.getBeforeMaximumPoolSize(), decision.getMaximumPoolSize(),
+                decision.getReason());
+        try {
+            listener.onResize(decision);
+        } catch (Exception ex) {
+            log.error("[{}] Failed to notify the pool size change of adaptive sizing.", decision.getThreadPoolId(), ex);
+        }
+    }
+
+    /**
+     * Control state of thread-pool.
+     */
+    private static class ControlState {
+
+        /**
+         * Maximum pool size when first evaluated, the upper bound if not configured
+         */
+        private final int initialMaximumPoolSize;
+
+        /**
+         * Gap between the maximum and the core pool size when first evaluated
+         */
+        private final int maximumPoolSizeGap;
+
+        private RunStateSnapshot lastSnapshot;
+
+        private long lastEvaluateTime;
+
+        private long lastChangeTime = NEVER;
+
+        private int pendingDirection;
+
+        private int pendingCount;
+
+        private int expectedCorePoolSize;
+
+        private int expectedMaximumPoolSize;
+
+        ControlState(RunStateSnapshot snapshot, long now) {
+            this.initialMaximumPoolSize = snapshot.getMaximumPoolSize();
+            this.maximumPoolSizeGap = Math.max(snapshot.getMaximumPoolSize() - snapshot.getCorePoolSize(), 0);
+            this.lastSnapshot = snapshot;
+            this.lastEvaluateTime = now;
+            this.expectedCorePoolSize = snapshot.getCorePoolSize();
+            this.expectedMaximumPoolSize = snapshot.getMaximumPoolSize();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.adaptive;
+
+import cn.hippo4j.common.model.executor.ExecutorAdaptiveProperties;
+
+/**
+ * Algorithm proposing the core pool size of a thread-pool from its recent {@link AdaptiveSizingMetrics}.
+ * The proposal is only a target, bounds, hysteresis and rate limits are applied by {@link AdaptivePoolSizeController}.
+ */
+public interface AdaptiveSizingAlgorithm {
+
+    /**
+     * Get the name of algorithm, matched with {@link ExecutorAdaptiveProperties#getAlgorithm()}.
+     *
+     * @return name
+     */
+    String getName();
+
+    /**
+     * Propose the core pool size.
+     *
+     * @param metrics    metrics since the last evaluation
+     * @param properties adaptive sizing properties of thread-pool
+     * @return proposed core pool size, returning the current core pool size means no change
+     */
+    int propose(AdaptiveSizingMetrics metrics, ExecutorAdaptiveProperties properties);
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.adaptive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Pool size change decided by {@link AdaptivePoolSizeController}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AdaptiveSizingDecision {
+
+    /**
+     * Thread-pool id
+     */
+    private final String threadPoolId;
+
+    /**
+     * Name of algorithm
+     */
+    private final String algorithm;
+
+    /**
+     * Core pool size before change
+     */
+    private final int beforeCorePoolSize;
+
+    /**
+     * Maximum pool size before change
+     */
+    private final int beforeMaximumPoolSize;
+
+    /**
+     * Core pool size after change
+     */
+    private final int corePoolSize;
+
+    /**
+     * Maximum pool size after change
+     */
+    private final int maximumPoolSize;
+
+    /**
+     * Why the pool size is changed
+     */
+    private final String reason;
+
+    /**
+     * Time in milliseconds when the decision was made
+     */
+    private final long timestamp;
+}
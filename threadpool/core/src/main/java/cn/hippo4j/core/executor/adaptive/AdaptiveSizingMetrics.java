@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.adaptive;
+
+import cn.hippo4j.core.executor.state.RunStateSnapshot;
+import lombok.Getter;
+
+/**
+ * <p>Run state metrics of a thread-pool between two evaluations of {@link AdaptivePoolSizeController}. <br />
+ * Rates are derived from the difference of the cumulative counters of two {@link RunStateSnapshot},
+ * the queue wait time is estimated by Little's law as {@code queueSize / completedRate}.
+ */
+@Getter
+public class AdaptiveSizingMetrics {
+
+    /**
+     * Time between the two snapshots in milliseconds
+     */
+    private final long intervalMillis;
+
+    /**
+     * Completed tasks per second
+     */
+    private final double completedRate;
+
+    /**
+     * Rejected tasks per second, 0 if the reject count is unknown
+     */
+    private final double rejectedRate;
+
+    /**
+     * Core pool size
+     */
+    private final int corePoolSize;
+
+    /**
+     * Maximum pool size
+     */
+    private final int maximumPoolSize;
+
+    /**
+     * Number of threads actively executing tasks
+     */
+    private final int activeCount;
+
+    /**
+     * Active ratio of core threads in percent, may be greater than 100 if non-core threads are active
+     */
+    private final int activeRatio;
+
+    /**
+     * Queue size
+     */
+    private final int queueSize;
+
+    /**
+     * Estimated queue wait time in milliseconds
+     */
+    private final long queueWaitMillis;
+
+    AdaptiveSizingMetrics(long intervalMillis, double completedRate, double rejectedRate, int corePoolSize,
+                          int maximumPoolSize, int activeCount, int queueSize) {
+        this.intervalMillis = intervalMillis;
+        this.completedRate = completedRate;
+        this.rejectedRate = rejectedRate;
+        this.corePoolSize = corePoolSize;
+        this.maximumPoolSize = maximumPoolSize;
+        this.activeCount = activeCount;
+        this.activeRatio = (int) (activeCount * 100L / Math.max(corePoolSize, 1));
+        this.queueSize = queueSize;
+        if (queueSize <= 0) {
+            this.queueWaitMillis = 0L;
+        } else if (completedRate > 0D) {
+            this.queueWaitMillis = (long) (queueSize * 1000D / completedRate);
+        } else {
+            // nothing completed while tasks are queued, the queue has been stuck for the whole interval at least
+            this.queueWaitMillis = intervalMillis;
+        }
+    }
+
+    /**
+     * Calculate the metrics between two snapshots of the same thread-pool.
+     *
+     * @param previous snapshot of the previous evaluation
+     * @param current  current snapshot
+     * @return metrics
+     */
+    public static AdaptiveSizingMetrics of(RunStateSnapshot previous, RunStateSnapshot current) {
+        long intervalMillis = Math.max(current.getTimestamp() - previous.getTimestamp(), 1L);
+        double seconds = intervalMillis / 1000D;
+        long completed = Math.max(current.getCompletedTaskCount() - previous.getCompletedTaskCount(), 0L);
+        long rejected = previous.getRejectCount() < 0L || current.getRejectCount() < 0L
+                ? 0L
+                : Math.max(current.getRejectCount() - previous.getRejectCount(), 0L);
+        return new AdaptiveSizingMetrics(intervalMillis, completed / seconds, rejected / seconds, current.getCorePoolSize(),
+                current.getMaximumPoolSize(), current.getActiveCount(), current.getQueueSize());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("throughput=%.1f/s, rejected=%.1f/s, queueSize=%d, queueWait=%dms, active=%d/%d",
+                completedRate, rejectedRate, queueSize, queueWaitMillis, activeCount, corePoolSize);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.adaptive;
+
+import cn.hippo4j.common.model.executor.ExecutorAdaptiveProperties;
+
+/**
+ * <p>Additive increase, multiplicative decrease. <br />
+ * The thread-pool grows by {@link ExecutorAdaptiveProperties#getMaxStep()} threads while it is overloaded,
+ * that is tasks are rejected, the queue wait exceeds the target, or tasks are queued while the core threads are busy,
+ * and shrinks to three quarters while it is idle.
+ */
+public class AimdSizingAlgorithm implements AdaptiveSizingAlgorithm {
+
+    public static final String NAME = "aimd";
+
+    private static final double DECREASE_FACTOR = 0.75D;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int propose(AdaptiveSizingMetrics metrics, ExecutorAdaptiveProperties properties) {
+        int current = metrics.getCorePoolSize();
+        boolean overloaded = metrics.getRejectedRate() > 0D
+                || metrics.getQueueWaitMillis() > properties.getQueueWaitTarget()
+                || (metrics.getQueueSize() > 0 && metrics.getActiveRatio() >= properties.getActiveHigh());
+        if (overloaded) {
+            return current + Math.max(properties.getMaxStep(), 1);
+        }
+        boolean idle = metrics.getQueueSize() == 0 && metrics.getActiveRatio() < properties.getActiveLow();
+        if (idle) {
+            return (int) (current * DECREASE_FACTOR);
+        }
+        return current;
+    }
+}
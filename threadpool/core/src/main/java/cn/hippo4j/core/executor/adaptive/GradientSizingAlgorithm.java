@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.adaptive;
+
+import cn.hippo4j.common.model.executor.ExecutorAdaptiveProperties;
+
+/**
+ * <p>Size the thread-pool by Little's law. <br />
+ * The time a task holds a worker is estimated as {@code activeCount / completedRate},
+ * the demand is the completed and rejected rate plus the rate needed to drain the queue within the target wait time,
+ * and the proposed size serves the demand with the core threads busy at {@link ExecutorAdaptiveProperties#getActiveHigh()}.
+ * Proposals within 10% of the current size are ignored.
+ */
+public class GradientSizingAlgorithm implements AdaptiveSizingAlgorithm {
+
+    public static final String NAME = "gradient";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int propose(AdaptiveSizingMetrics metrics, ExecutorAdaptiveProperties properties) {
+        int current = metrics.getCorePoolSize();
+        boolean backlog = metrics.getQueueSize() > 0 || metrics.getRejectedRate() > 0D;
+        if (metrics.getCompletedRate() <= 0D && !backlog && metrics.getActiveCount() == 0) {
+            // nothing to do at all
+            return 0;
+        }
+        if (metrics.getCompletedRate() <= 0D || metrics.getActiveCount() == 0) {
+            // no service time can be measured, only react to the backlog
+            return backlog ? current + 1 : current;
+        }
+        double serviceSeconds = metrics.getActiveCount() / metrics.getCompletedRate();
+        double demandRate = metrics.getCompletedRate() + metrics.getRejectedRate();
+        if (metrics.getQueueWaitMillis() > properties.getQueueWaitTarget()) {
+            demandRate += metrics.getQueueSize() * 1000D / Math.max(properties.getQueueWaitTarget(), 1L);
+        }
+        double utilization = Math.min(Math.max(properties.getActiveHigh(), 1), 100) / 100D;
+        int desired = (int) Math.ceil(demandRate * serviceSeconds / utilization);
+        if (Math.abs(desired - current) < Math.max(1, current / 10)) {
+            return current;
+        }
+        return desired;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
+import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
+import cn.hippo4j.core.toolkit.RollingLatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Record the execution time of tasks in nanoseconds into a {@link RollingLatencyHistogram},
+ * to provide percentiles of the task execution time in the latest time window. <br />
+ * Unlike {@link TaskTimeRecordPlugin}, recording does not take any lock,
+ * and sub-millisecond tasks are measured precisely.
+ *
+ * @see RollingLatencyHistogram
+ */
+public class TaskExecuteTimeHistogramPlugin implements ExecuteAwarePlugin {
+
+    /**
+     * pluginName
+     */
+    public static final String PLUGIN_NAME = TaskExecuteTimeHistogramPlugin.class.getSimpleName();
+
+    /**
+     * Default time window in milliseconds
+     */
+    private static final long DEFAULT_WINDOW_MILLIS = 60000L;
+
+    /**
+     * Default count of slices in the time window
+     */
+    private static final int DEFAULT_SLICE_COUNT = 6;
+
+    /**
+     * Default count of stripes of each slice
+     */
+    private static final int DEFAULT_STRIPE_COUNT = 2;
+
+    /**
+     * No start time recorded
+     */
+    private static final long NO_START_TIME = 0L;
+
+    /**
+     * Start times of executed tasks, reuse the array of current thread to avoid boxing
+     */
+    private final ThreadLocal<long[]> startTimes = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Histogram of task execution time
+     */
+    private final RollingLatencyHistogram histogram;
+
+    /**
+     * Create a {@link TaskExecuteTimeHistogramPlugin}
+     *
+     * @param windowMillis time window in milliseconds
+     * @param sliceCount   count of slices in the time window
+     * @param stripeCount  count of stripes of each slice
+     */
+    public TaskExecuteTimeHistogramPlugin(long windowMillis, int sliceCount, int stripeCount) {
+        this.histogram = new RollingLatencyHistogram(windowMillis, sliceCount, stripeCount);
+    }
+
+    /**
+     * Create a {@link TaskExecuteTimeHistogramPlugin} with a time window of one minute.
+     */
+    public TaskExecuteTimeHistogramPlugin() {
+        this(DEFAULT_WINDOW_MILLIS, DEFAULT_SLICE_COUNT, DEFAULT_STRIPE_COUNT);
+    }
+
+    /**
+     * Record the time when the worker thread starts executing the task.
+     *
+     * @param thread   thread of executing task
+     * @param runnable task
+     */
+    @Override
+    public void beforeExecute(Thread thread, Runnable runnable) {
+        startTimes.get()[0] = System.nanoTime();
+    }
+
+    /**
+     * Record the execution time of the task.
+     *
+     * @param runnable  runnable
+     * @param throwable exception thrown during execution
+     */
+    @Override
+    public void afterExecute(Runnable runnable, Throwable throwable) {
+        long[] startTime = startTimes.get();
+        if (startTime[0] != NO_START_TIME) {
+            histogram.record(System.nanoTime() - startTime[0]);
+            startTime[0] = NO_START_TIME;
+        }
+    }
+
+    /**
+     * Get the snapshot of task execution time in the latest time window.
+     *
+     * @return snapshot, values are in nanoseconds
+     */
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    /**
+     * Get plugin runtime info.
+     *
+     * @return plugin runtime info
+     */
+    @Override
+    public PluginRuntime getPluginRuntime() {
+        LatencyHistogram.Snapshot snapshot = snapshot();
+        return new PluginRuntime(getId())
+                .addInfo("window", histogram.getSliceMillis() * histogram.getSliceCount() + "ms")
+                .addInfo("taskCount", snapshot.getTotalCount())
+                .addInfo("avgTaskTime", toMicros(snapshot.getMeanValue()))
+                .addInfo("p50TaskTime", toMicros(snapshot.getValueAtPercentile(50D)))
+                .addInfo("p90TaskTime", toMicros(snapshot.getValueAtPercentile(90D)))
+                .addInfo("p99TaskTime", toMicros(snapshot.getValueAtPercentile(99D)))
+                .addInfo("p999TaskTime", toMicros(snapshot.getValueAtPercentile(99.9D)))
+                .addInfo("maxTaskTime", toMicros(snapshot.getMaxValue()));
+    }
+
+    private static String toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+    }
+}
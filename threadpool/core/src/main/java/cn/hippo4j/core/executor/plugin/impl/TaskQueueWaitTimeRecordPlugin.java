@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
+import cn.hippo4j.core.executor.plugin.PluginRuntime;
+import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
+import cn.hippo4j.core.toolkit.RollingLatencyHistogram;
+import lombok.NonNull;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>Record the time tasks wait in the queue of thread-pool before a worker picks them up,
+ * in nanoseconds, into a {@link RollingLatencyHistogram}. <br />
+ * Each task is wrapped with its submit time when it is executed, and the wait time is
+ * read back from the wrapper in {@link #beforeExecute}, so it works with any queue.
+ * A task submitted through {@code submit} stays a {@link RunnableFuture} after wrapped,
+ * so it can still be cancelled and purged from the queue.
+ *
+ * <p>A task handed directly to a newly created worker is recorded with a wait time close to 0.
+ * A task wrapped again by a plugin registered after this one, such as a {@link TaskDecoratorPlugin},
+ * is not recorded.
+ */
+public class TaskQueueWaitTimeRecordPlugin implements TaskAwarePlugin, ExecuteAwarePlugin {
+
+    /**
+     * pluginName
+     */
+    public static final String PLUGIN_NAME = TaskQueueWaitTimeRecordPlugin.class.getSimpleName();
+
+    /**
+     * Default time window in milliseconds
+     */
+    private static final long DEFAULT_WINDOW_MILLIS = 60000L;
+
+    /**
+     * Default count of slices in the time window
+     */
+    private static final int DEFAULT_SLICE_COUNT = 6;
+
+    /**
+     * Default count of stripes of each slice
+     */
+    private static final int DEFAULT_STRIPE_COUNT = 2;
+
+    /**
+     * Histogram of queue wait time
+     */
+    private final RollingLatencyHistogram histogram;
+
+    /**
+     * Create a {@link TaskQueueWaitTimeRecordPlugin}
+     *
+     * @param windowMillis time window in milliseconds
+     * @param sliceCount   count of slices in the time window
+     * @param stripeCount  count of stripes of each slice
+     */
+    public TaskQueueWaitTimeRecordPlugin(long windowMillis, int sliceCount, int stripeCount) {
+        this.histogram = new RollingLatencyHistogram(windowMillis, sliceCount, stripeCount);
+    }
+
+    /**
+     * Create a {@link TaskQueueWaitTimeRecordPlugin} with a time window of one minute.
+     */
+    public TaskQueueWaitTimeRecordPlugin() {
+        this(DEFAULT_WINDOW_MILLIS, DEFAULT_SLICE_COUNT, DEFAULT_STRIPE_COUNT);
+    }
+
+    /**
+     * Wrap the task with the time it is submitted.
+     *
+     * @param runnable runnable
+     * @return task carrying the submit time
+     * @see ExtensibleThreadPoolExecutor#execute
+     */
+    @Override
+    public Runnable beforeTaskExecute(@NonNull Runnable runnable) {
+        long submitTime = System.nanoTime();
+        return runnable instanceof RunnableFuture
+                ? new QueueWaitTimeFutureTask<>((RunnableFuture<?>) runnable, submitTime)
+                : new QueueWaitTimeTask(runnable, submitTime);
+    }
+
+    /**
+     * Record the time the task waited in the queue.
+     *
+     * @param thread   thread of executing task
+     * @param runnable task
+     */
+    @Override
+    public void beforeExecute(Thread thread, Runnable runnable) {
+        if (runnable instanceof QueueWaitTimeTask) {
+            histogram.record(System.nanoTime() - ((QueueWaitTimeTask) runnable).submitTime);
+        }
+    }
+
+    /**
+     * Get the snapshot of queue wait time in the latest time window.
+     *
+     * @return snapshot, values are in nanoseconds
+     */
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    /**
+     * Get plugin runtime info.
+     *
+     * @return plugin runtime info
+     */
+    @Override
+    public PluginRuntime getPluginRuntime() {
+        LatencyHistogram.Snapshot snapshot = snapshot();
+        return new PluginRuntime(getId())
+                .addInfo("window", histogram.getSliceMillis() * histogram.getSliceCount() + "ms")
+                .addInfo("taskCount", snapshot.getTotalCount())
+                .addInfo("avgQueueWaitTime", toMicros(snapshot.getMeanValue()))
+                .addInfo("p50QueueWaitTime", toMicros(snapshot.getValueAtPercentile(50D)))
+                .addInfo("p90QueueWaitTime", toMicros(snapshot.getValueAtPercentile(90D)))
+                .addInfo("p99QueueWaitTime", toMicros(snapshot.getValueAtPercentile(99D)))
+                .addInfo("p999QueueWaitTime", toMicros(snapshot.getValueAtPercentile(99.9D)))
+                .addInfo("maxQueueWaitTime", toMicros(snapshot.getMaxValue()));
+    }
+
+    private static String toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+    }
+
+    /**
+     * Task carrying the time it is submitted.
+     */
+    private static class QueueWaitTimeTask implements Runnable {
+
+        /**
+         * Task
+         */
+        final Runnable task;
+
+        /**
+         * Time in nanoseconds when the task is submitted
+         */
+        final long submitTime;
+
+        QueueWaitTimeTask(Runnable task, long submitTime) {
+            this.task = task;
+            this.submitTime = submitTime;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * Future task carrying the time it is submitted, delegates to the future returned by {@code submit}.
+     */
+    private static final class QueueWaitTimeFutureTask<V> extends QueueWaitTimeTask implements RunnableFuture<V> {
+
+        private final RunnableFuture<V> future;
+
+        QueueWaitTimeFutureTask(RunnableFuture<V> future, long submitTime) {
+            super(future, submitTime);
+            this.future = future;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return future.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return future.get();
+        }
+
+        @Override
+        public V get(long timeout, @NonNull TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return future.get(timeout, unit);
+        }
+    }
+}
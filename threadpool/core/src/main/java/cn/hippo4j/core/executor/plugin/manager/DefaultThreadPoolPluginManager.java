@@ -81,6 +81,11 @@ import java.util.stream.Collectors;
  * registering or unregistering plugins through the manager will affect the results of the iteration.
  * Therefore, we should try to ensure that <b>get the latest plugin list from the manager before each use</b>.
  *
+ * <h3>Dispatch snapshot</h3>
+ * <p>Whenever the enabled plugins change, the manager rebuilds an immutable {@link ThreadPoolPluginSnapshot}
+ * and publishes it through a volatile field, the thread-pool reads it through {@link #getPluginSnapshot}
+ * on its hot paths without acquiring any lock.
+ *
  * @see cn.hippo4j.core.executor.DynamicThreadPoolExecutor
  * @see cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor
  */
@@ -126,6 +131,11 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
      */
     private Comparator<Object> pluginComparator;
 
+    /**
+     * Dispatch snapshot of enabled plugins, rebuilt whenever the quick indexes change
+     */
+    private volatile ThreadPoolPluginSnapshot pluginSnapshot = ThreadPoolPluginSnapshot.EMPTY;
+
     /**
      * Create a {@link DefaultThreadPoolPluginManager},
      * By default, plugins are not sorted,
@@ -156,6 +166,7 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
             Collection<ThreadPoolPlugin> plugins = new ArrayList<>(registeredPlugins.values());
             registeredPlugins.clear();
             forQuickIndexes(QuickIndex::clear);
+            refreshPluginSnapshot();
             plugins.forEach(ThreadPoolPlugin::stop);
         });
     }
@@ -175,6 +186,7 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
             Assert.isTrue(!isRegistered(id), "The plugin with id [" + id + "] has been registered");
             registeredPlugins.put(id, plugin);
             forQuickIndexes(quickIndex -> quickIndex.addIfPossible(plugin));
+            refreshPluginSnapshot();
             plugin.start();
         });
     }
@@ -209,6 +221,7 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
                         .ifPresent(plugin -> {
                             disabledPlugins.remove(pluginId);
                             forQuickIndexes(quickIndex -> quickIndex.removeIfPossible(plugin));
+                            refreshPluginSnapshot();
                             plugin.stop();
                         }));
     }
@@ -242,12 +255,13 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
      */
     @Override
     public boolean enable(String pluginId) {
-        return mainLock.applyWithReadLock(() -> {
+        return mainLock.applyWithWriteLock(() -> {
             ThreadPoolPlugin plugin = registeredPlugins.get(pluginId);
             if (Objects.isNull(plugin) || !disabledPlugins.remove(pluginId)) {
                 return false;
             }
             forQuickIndexes(quickIndex -> quickIndex.addIfPossible(plugin));
+            refreshPluginSnapshot();
             return true;
         });
     }
@@ -260,12 +274,13 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
      */
     @Override
     public boolean disable(String pluginId) {
-        return mainLock.applyWithReadLock(() -> {
+        return mainLock.applyWithWriteLock(() -> {
             ThreadPoolPlugin plugin = registeredPlugins.get(pluginId);
             if (Objects.isNull(plugin) || !disabledPlugins.add(pluginId)) {
                 return false;
             }
             forQuickIndexes(quickIndex -> quickIndex.removeIfPossible(plugin));
+            refreshPluginSnapshot();
             return true;
         });
     }
@@ -371,6 +386,19 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
         return mainLock.applyWithReadLock(taskAwarePluginList::getPlugins);
     }
 
+    /**
+     * Get the immutable dispatch snapshot of all enabled plugins,
+     * the snapshot is published through a volatile field, so no lock is required.
+     *
+     * @return {@link ThreadPoolPluginSnapshot}
+     * @see #enable
+     * @see #disable
+     */
+    @Override
+    public ThreadPoolPluginSnapshot getPluginSnapshot() {
+        return pluginSnapshot;
+    }
+
     /**
      * Whether sorting plugins is allowed.
      *
@@ -397,10 +425,20 @@ public class DefaultThreadPoolPluginManager implements ThreadPoolPluginManager {
             }
             this.pluginComparator = comparator;
             forQuickIndexes(QuickIndex::sort);
+            refreshPluginSnapshot();
         });
         return this;
     }
 
+    /**
+     * Rebuild and publish the dispatch snapshot, must be called while holding the write-lock.
+     */
+    private void refreshPluginSnapshot() {
+        this.pluginSnapshot = ThreadPoolPluginSnapshot.of(
+                taskAwarePluginList.getPlugins(), executeAwarePluginList.getPlugins(),
+                rejectedAwarePluginList.getPlugins(), shutdownAwarePluginList.getPlugins());
+    }
+
     /**
      * operate for each indexes
      */
@@ -19,6 +19,7 @@ package cn.hippo4j.core.executor.plugin.manager;
 
 import cn.hippo4j.core.executor.plugin.ThreadPoolPlugin;
 import cn.hippo4j.core.executor.plugin.impl.TaskDecoratorPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskExecuteTimeHistogramPlugin;
 import cn.hippo4j.core.executor.plugin.impl.TaskRejectCountRecordPlugin;
 import cn.hippo4j.core.executor.plugin.impl.TaskRejectNotifyAlarmPlugin;
 import cn.hippo4j.core.executor.plugin.impl.TaskTimeoutNotifyAlarmPlugin;
@@ -34,6 +35,7 @@ import lombok.NoArgsConstructor;
  * @see TaskRejectCountRecordPlugin
  * @see TaskRejectNotifyAlarmPlugin
  * @see ThreadPoolExecutorShutdownPlugin
+ * @see TaskExecuteTimeHistogramPlugin
  */
 @NoArgsConstructor
 @AllArgsConstructor
@@ -61,5 +63,6 @@ public class DefaultThreadPoolPluginRegistrar implements ThreadPoolPluginRegistr
         support.register(new TaskRejectCountRecordPlugin());
         support.register(new TaskRejectNotifyAlarmPlugin());
         support.register(new ThreadPoolExecutorShutdownPlugin(awaitTerminationMillis));
+        support.register(new TaskExecuteTimeHistogramPlugin());
     }
 }
@@ -169,6 +169,21 @@ public interface ThreadPoolPluginManager {
      */
     Collection<TaskAwarePlugin> getTaskAwarePluginList();
 
+    /**
+     * <p>Get the immutable dispatch snapshot of all enabled plugins. <br />
+     * By default, a new snapshot is built from the plugin lists on each call,
+     * implementations should override it to return a cached instance.
+     *
+     * @return {@link ThreadPoolPluginSnapshot}
+     * @see #enable
+     * @see #disable
+     */
+    default ThreadPoolPluginSnapshot getPluginSnapshot() {
+        return ThreadPoolPluginSnapshot.of(
+                getTaskAwarePluginList(), getExecuteAwarePluginList(),
+                getRejectedAwarePluginList(), getShutdownAwarePluginList());
+    }
+
     // ==================== default methods ====================
 
     /**
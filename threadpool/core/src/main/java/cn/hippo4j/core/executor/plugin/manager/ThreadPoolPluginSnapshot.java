@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.manager;
+
+import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
+import cn.hippo4j.core.executor.plugin.RejectedAwarePlugin;
+import cn.hippo4j.core.executor.plugin.ShutdownAwarePlugin;
+import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * <p>Immutable, array-backed dispatch snapshot of enabled plugins. <br />
+ * The snapshot is rebuilt by the {@link ThreadPoolPluginManager} only when plugins are
+ * registered, unregistered, enabled, disabled or reordered, so the thread-pool can
+ * iterate over plain arrays on its hot paths without taking any lock.
+ *
+ * <p><b>NOTE</b>: the arrays returned by the getters are shared, never modify them.
+ *
+ * @see ThreadPoolPluginManager#getPluginSnapshot()
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ThreadPoolPluginSnapshot {
+
+    /**
+     * Empty snapshot
+     */
+    public static final ThreadPoolPluginSnapshot EMPTY = new ThreadPoolPluginSnapshot(
+            new TaskAwarePlugin[0], new ExecuteAwarePlugin[0], new RejectedAwarePlugin[0], new ShutdownAwarePlugin[0]);
+
+    /**
+     * Enabled {@link TaskAwarePlugin}
+     */
+    private final TaskAwarePlugin[] taskAwarePlugins;
+
+    /**
+     * Enabled {@link ExecuteAwarePlugin}
+     */
+    private final ExecuteAwarePlugin[] executeAwarePlugins;
+
+    /**
+     * Enabled {@link RejectedAwarePlugin}
+     */
+    private final RejectedAwarePlugin[] rejectedAwarePlugins;
+
+    /**
+     * Enabled {@link ShutdownAwarePlugin}
+     */
+    private final ShutdownAwarePlugin[] shutdownAwarePlugins;
+
+    /**
+     * Create a snapshot from the given plugin lists.
+     *
+     * @param taskAwarePlugins     task aware plugins
+     * @param executeAwarePlugins  execute aware plugins
+     * @param rejectedAwarePlugins rejected aware plugins
+     * @param shutdownAwarePlugins shutdown aware plugins
+     * @return snapshot
+     */
+    public static ThreadPoolPluginSnapshot of(
+                                              Collection<TaskAwarePlugin> taskAwarePlugins,
+                                              Collection<ExecuteAwarePlugin> executeAwarePlugins,
+                                              Collection<RejectedAwarePlugin> rejectedAwarePlugins,
+                                              Collection<ShutdownAwarePlugin> shutdownAwarePlugins) {
+        if (taskAwarePlugins.isEmpty() && executeAwarePlugins.isEmpty()
+                && rejectedAwarePlugins.isEmpty() && shutdownAwarePlugins.isEmpty()) {
+            return EMPTY;
+        }
+        return new ThreadPoolPluginSnapshot(
+                taskAwarePlugins.toArray(new TaskAwarePlugin[0]),
+                executeAwarePlugins.toArray(new ExecuteAwarePlugin[0]),
+                rejectedAwarePlugins.toArray(new RejectedAwarePlugin[0]),
+                shutdownAwarePlugins.toArray(new ShutdownAwarePlugin[0]));
+    }
+
+    /**
+     * Whether there is any enabled {@link TaskAwarePlugin}.
+     *
+     * @return true if there is any enabled {@link TaskAwarePlugin}, false otherwise
+     */
+    public boolean hasTaskAwarePlugin() {
+        return taskAwarePlugins.length > 0;
+    }
+
+    /**
+     * Whether there is any enabled {@link ExecuteAwarePlugin}.
+     *
+     * @return true if there is any enabled {@link ExecuteAwarePlugin}, false otherwise
+     */
+    public boolean hasExecuteAwarePlugin() {
+        return executeAwarePlugins.length > 0;
+    }
+}
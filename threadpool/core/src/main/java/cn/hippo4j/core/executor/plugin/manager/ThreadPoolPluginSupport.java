@@ -220,4 +220,16 @@ public interface ThreadPoolPluginSupport extends ThreadPoolPluginManager {
     default Collection<TaskAwarePlugin> getTaskAwarePluginList() {
         return getThreadPoolPluginManager().getTaskAwarePluginList();
     }
+
+    /**
+     * Get the immutable dispatch snapshot of all enabled plugins.
+     *
+     * @return {@link ThreadPoolPluginSnapshot}
+     * @see #enable
+     * @see #disable
+     */
+    @Override
+    default ThreadPoolPluginSnapshot getPluginSnapshot() {
+        return getThreadPoolPluginManager().getPluginSnapshot();
+    }
 }
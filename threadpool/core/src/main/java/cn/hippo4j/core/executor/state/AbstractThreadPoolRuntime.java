@@ -18,19 +18,18 @@
 package cn.hippo4j.core.executor.state;
 
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
-import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
 import cn.hippo4j.core.executor.DynamicThreadPoolWrapper;
 import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
+import cn.hippo4j.core.executor.plugin.impl.TaskExecuteTimeHistogramPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueWaitTimeRecordPlugin;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSupport;
 import cn.hippo4j.common.toolkit.CalculateUtil;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
-import static cn.hippo4j.common.constant.Constants.NO_REJECT_COUNT_NUM;
-
 /**
  * Abstract threadPool runtime info.
  */
@@ -65,28 +64,90 @@ public abstract class AbstractThreadPoolRuntime {
      */
     public ThreadPoolRunStateInfo getPoolRunState(String threadPoolId, Executor executor) {
         ThreadPoolExecutor actualExecutor = (ThreadPoolExecutor) executor;
-        int activeCount = actualExecutor.getActiveCount();
-        int largestPoolSize = actualExecutor.getLargestPoolSize();
-        BlockingQueue<Runnable> blockingQueue = actualExecutor.getQueue();
-        long rejectCount = actualExecutor instanceof DynamicThreadPoolExecutor ? ((DynamicThreadPoolExecutor) actualExecutor).getRejectCountNum() : NO_REJECT_COUNT_NUM;
+        return getPoolRunState(threadPoolId, actualExecutor, RunStateSnapshot.of(actualExecutor));
+    }
+
+    /**
+     * Get pool run state from a snapshot which may be shared with other collectors.
+     *
+     * @param threadPoolId thread-pool id
+     * @param executor     executor
+     * @param snapshot     snapshot of run state
+     * @return thread-pool run state info
+     */
+    public ThreadPoolRunStateInfo getPoolRunState(String threadPoolId, ThreadPoolExecutor executor, RunStateSnapshot snapshot) {
+        return supplement(buildPoolRunState(threadPoolId, executor, snapshot));
+    }
+
+    /**
+     * Get pool run state of a sample. The state is built once by the sampler and supplemented once by this runtime,
+     * the returned info is shared by all the collectors of the tick and must not be modified.
+     *
+     * @param sample sample of run state
+     * @return thread-pool run state info
+     */
+    public ThreadPoolRunStateInfo getPoolRunState(RunStateSample sample) {
+        return sample.supplement(this);
+    }
+
+    /**
+     * Build pool run state from a snapshot and the state collected by plugins, without supplement.
+     *
+     * @param threadPoolId thread-pool id
+     * @param executor     executor
+     * @param snapshot     snapshot of run state
+     * @return thread-pool run state info
+     */
+    public static ThreadPoolRunStateInfo buildPoolRunState(String threadPoolId, ThreadPoolExecutor executor, RunStateSnapshot snapshot) {
+        int activeCount = snapshot.getActiveCount();
+        int largestPoolSize = snapshot.getLargestPoolSize();
+        int maximumPoolSize = snapshot.getMaximumPoolSize();
         ThreadPoolRunStateInfo stateInfo = ThreadPoolRunStateInfo.builder()
                 .tpId(threadPoolId)
                 .activeSize(activeCount)
-                .poolSize(actualExecutor.getPoolSize())
-                .completedTaskCount(actualExecutor.getCompletedTaskCount())
+                .poolSize(snapshot.getPoolSize())
+                .completedTaskCount(snapshot.getCompletedTaskCount())
                 .largestPoolSize(largestPoolSize)
-                .currentLoad(CalculateUtil.divide(activeCount, actualExecutor.getMaximumPoolSize()) + "")
+                .currentLoad(CalculateUtil.divide(activeCount, maximumPoolSize) + "")
                 .clientLastRefreshTime(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                .peakLoad(CalculateUtil.divide(largestPoolSize, actualExecutor.getMaximumPoolSize()) + "")
-                .queueSize(blockingQueue.size())
-                .queueRemainingCapacity(blockingQueue.remainingCapacity())
-                .rejectCount(rejectCount)
-                .timestamp(System.currentTimeMillis())
+                .peakLoad(CalculateUtil.divide(largestPoolSize, maximumPoolSize) + "")
+                .queueSize(snapshot.getQueueSize())
+                .queueRemainingCapacity(snapshot.getQueueRemainingCapacity())
+                .rejectCount(snapshot.getRejectCount())
+                .timestamp(snapshot.getTimestamp())
                 .build();
-        stateInfo.setCoreSize(actualExecutor.getCorePoolSize());
-        stateInfo.setMaximumSize(actualExecutor.getMaximumPoolSize());
-        stateInfo.setQueueType(blockingQueue.getClass().getSimpleName());
-        stateInfo.setQueueCapacity(blockingQueue.size() + blockingQueue.remainingCapacity());
-        return supplement(stateInfo);
+        stateInfo.setCoreSize(snapshot.getCorePoolSize());
+        stateInfo.setMaximumSize(maximumPoolSize);
+        stateInfo.setQueueType(snapshot.getQueueType());
+        stateInfo.setQueueCapacity(snapshot.getQueueCapacity());
+        if (executor instanceof ThreadPoolPluginSupport) {
+            supplementPluginState(stateInfo, (ThreadPoolPluginSupport) executor);
+        }
+        return stateInfo;
+    }
+
+    /**
+     * Supplemental run state collected by plugins.
+     *
+     * @param stateInfo thread-pool run state info
+     * @param support   thread-pool plugin support
+     */
+    private static void supplementPluginState(ThreadPoolRunStateInfo stateInfo, ThreadPoolPluginSupport support) {
+        support.getPluginOfType(TaskExecuteTimeHistogramPlugin.PLUGIN_NAME, TaskExecuteTimeHistogramPlugin.class)
+                .map(TaskExecuteTimeHistogramPlugin::snapshot)
+                .ifPresent(snapshot -> {
+                    stateInfo.setExecuteTimeP50(snapshot.getValueAtPercentile(50D));
+                    stateInfo.setExecuteTimeP90(snapshot.getValueAtPercentile(90D));
+                    stateInfo.setExecuteTimeP99(snapshot.getValueAtPercentile(99D));
+                    stateInfo.setExecuteTimeP999(snapshot.getValueAtPercentile(99.9D));
+                });
+        support.getPluginOfType(TaskQueueWaitTimeRecordPlugin.PLUGIN_NAME, TaskQueueWaitTimeRecordPlugin.class)
+                .map(TaskQueueWaitTimeRecordPlugin::snapshot)
+                .ifPresent(snapshot -> {
+                    stateInfo.setQueueWaitTimeP50(snapshot.getValueAtPercentile(50D));
+                    stateInfo.setQueueWaitTimeP90(snapshot.getValueAtPercentile(90D));
+                    stateInfo.setQueueWaitTimeP99(snapshot.getValueAtPercentile(99D));
+                    stateInfo.setQueueWaitTimeP999(snapshot.getValueAtPercentile(99.9D));
+                });
     }
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.state;
+
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
+import cn.hippo4j.common.toolkit.ThreadPoolRunStateInfoConvert;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Run state of a thread-pool sampled in a {@link RunStateTick}.
+ */
+@Getter
+@AllArgsConstructor
+public class RunStateSample {
+
+    /**
+     * Thread-pool id
+     */
+    private final String threadPoolId;
+
+    /**
+     * Executor
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Snapshot of run state
+     */
+    private final RunStateSnapshot snapshot;
+
+    /**
+     * Run state info built from the snapshot and the plugins without supplement, shared and must not be modified
+     */
+    private final ThreadPoolRunStateInfo runStateInfo;
+
+    /**
+     * Supplemented run state info of each runtime
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<AbstractThreadPoolRuntime, ThreadPoolRunStateInfo> supplementedInfos = new ConcurrentHashMap<>(4);
+
+    /**
+     * Get the run state info supplemented by a runtime, which is supplemented once and shared by the collectors of the runtime.
+     *
+     * @param runtime thread-pool runtime
+     * @return supplemented run state info, must not be modified
+     */
+    ThreadPoolRunStateInfo supplement(AbstractThreadPoolRuntime runtime) {
+        return supplementedInfos.computeIfAbsent(runtime,
+                each -> each.supplement(ThreadPoolRunStateInfoConvert.copy(runStateInfo, new ThreadPoolRunStateInfo())));
+    }
+}
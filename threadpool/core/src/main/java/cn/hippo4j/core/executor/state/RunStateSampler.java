@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.state;
+
+import cn.hippo4j.common.executor.ThreadFactoryBuilder;
+import cn.hippo4j.common.toolkit.Assert;
+import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Central sampling engine of the run state of dynamic thread-pools. <br />
+ * Monitors, alarms and reporters subscribe with their own interval, on each tick the sampler
+ * takes one {@link RunStateSnapshot} per thread-pool only if any subscription is due,
+ * and fans out the same immutable {@link RunStateTick} to all the due subscriptions.
+ *
+ * <p>Each subscription is consumed on its own single thread executor with a bounded queue,
+ * when a slow listener falls behind, the oldest pending tick is dropped,
+ * so a slow sink never delays the sampling or the other sinks.
+ */
+@Slf4j
+public class RunStateSampler implements DisposableBean {
+
+    /**
+     * Default resolution of ticks in milliseconds
+     */
+    public static final long DEFAULT_TICK_MILLIS = 500L;
+
+    /**
+     * Default capacity of pending ticks of each subscription
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 2;
+
+    /**
+     * Resolution of ticks in milliseconds
+     */
+    @Getter
+    private final long tickMillis;
+
+    /**
+     * Subscriptions
+     */
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Tick scheduler, started when the first listener subscribes
+     */
+    private volatile ScheduledThreadPoolExecutor tickScheduler;
+
+    /**
+     * Whether the sampler has been destroyed
+     */
+    private volatile boolean destroyed;
+
+    public RunStateSampler(long tickMillis) {
+        Assert.isTrue(tickMillis > 0L, "tickMillis must great then 0");
+        this.tickMillis = tickMillis;
+    }
+
+    public RunStateSampler() {
+        this(DEFAULT_TICK_MILLIS);
+    }
+
+    /**
+     * Subscribe a listener with the default capacity of pending ticks.
+     *
+     * @param name               name of listener, used as the thread name of its executor
+     * @param listener           listener
+     * @param intervalMillis     interval of ticks in milliseconds
+     * @param initialDelayMillis delay of the first tick in milliseconds
+     */
+    public void subscribe(String name, RunStateTickListener listener, long intervalMillis, long initialDelayMillis) {
+        subscribe(name, listener, intervalMillis, initialDelayMillis, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Subscribe a listener.
+     *
+     * @param name               name of listener, used as the thread name of its executor
+     * @param listener           listener
+     * @param intervalMillis     interval of ticks in milliseconds
+     * @param initialDelayMillis delay of the first tick in milliseconds
+     * @param queueCapacity      capacity of pending ticks, the oldest one is dropped when full
+     */
+    public synchronized void subscribe(String name, RunStateTickListener listener, long intervalMillis, long initialDelayMillis, int queueCapacity) {
+        Assert.isTrue(!destroyed, "RunStateSampler has been destroyed");
+        Assert.isTrue(intervalMillis > 0L, "intervalMillis must great then 0");
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must great then 0");
+        ThreadPoolExecutor sinkExecutor = new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                ThreadFactoryBuilder.builder().daemon(true).prefix("client.run-state.sink." + name).build(),
+                (runnable, executor) -> {
+                    if (executor.isShutdown()) {
+                        return;
+                    }
+                    log.warn("Run state listener [{}] falls behind, the oldest tick is dropped.", name);
+                    executor.getQueue().poll();
+                    executor.execute(runnable);
+                });
+        long firstDue = System.currentTimeMillis() + Math.max(initialDelayMillis, 0L);
+        subscriptions.add(new Subscription(name, listener, intervalMillis, firstDue, sinkExecutor));
+        if (tickScheduler == null) {
+            tickScheduler = new ScheduledThreadPoolExecutor(
+                    1,
+                    ThreadFactoryBuilder.builder().daemon(true).prefix("client.scheduled.run-state.sampler").build());
+            tickScheduler.scheduleWithFixedDelay(this::safeTick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Get count of subscriptions.
+     *
+     * @return count of subscriptions
+     */
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Sample once and dispatch the tick to all the due subscriptions.
+     *
+     * @param now current time in milliseconds
+     * @return tick dispatched, null if no subscription is due
+     */
+    RunStateTick tick(long now) {
+        List<Subscription> dueSubscriptions = null;
+        for (Subscription each : subscriptions) {
+            if (each.nextDueTime <= now) {
+                if (dueSubscriptions == null) {
+                    dueSubscriptions = new ArrayList<>(subscriptions.size());
+                }
+                dueSubscriptions.add(each);
+                // keep the cadence, unless the sampler fell behind more than one interval
+                long nextDueTime = each.nextDueTime + each.intervalMillis;
+                each.nextDueTime = nextDueTime > now ? nextDueTime : now + each.intervalMillis;
+            }
+        }
+        if (dueSubscriptions == null) {
+            return null;
+        }
+        RunStateTick tick = sample(now);
+        dueSubscriptions.forEach(each -> each.dispatch(tick));
+        return tick;
+    }
+
+    /**
+     * Take one snapshot for each registered thread-pool.
+     *
+     * @param now current time in milliseconds
+     * @return tick
+     */
+    static RunStateTick sample(long now) {
+        List<String> threadPoolIds = GlobalThreadPoolManage.listThreadPoolId();
+        List<RunStateSample> samples = new ArrayList<>(threadPoolIds.size());
+        for (String each : threadPoolIds) {
+            ThreadPoolExecutor executor = GlobalThreadPoolManage.getExecutor(each);
+            if (executor == null) {
+                continue;
+            }
+            RunStateSnapshot snapshot = RunStateSnapshot.of(executor);
+            samples.add(new RunStateSample(each, executor, snapshot, AbstractThreadPoolRuntime.buildPoolRunState(each, executor, snapshot)));
+        }
+        return new RunStateTick(now, samples);
+    }
+
+    private void safeTick() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (Throwable ex) {
+            log.error("Failed to sample the run state of dynamic thread pool.", ex);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        destroyed = true;
+        if (tickScheduler != null) {
+            tickScheduler.shutdownNow();
+        }
+        subscriptions.forEach(each -> each.sinkExecutor.shutdownNow());
+        subscriptions.clear();
+    }
+
+    /**
+     * Subscription of listener.
+     */
+    private static class Subscription {
+
+        private final String name;
+
+        private final RunStateTickListener listener;
+
+        private final long intervalMillis;
+
+        private final ThreadPoolExecutor sinkExecutor;
+
+        /**
+         * Next due time in milliseconds, only accessed by the tick thread
+         */
+        private long nextDueTime;
+
+        Subscription(String name, RunStateTickListener listener, long intervalMillis, long nextDueTime, ThreadPoolExecutor sinkExecutor) {
+            this.name = name;
+            this.listener = listener;
+            this.intervalMillis = intervalMillis;
+            this.nextDueTime = nextDueTime;
+            this.sinkExecutor = sinkExecutor;
+        }
+
+        void dispatch(RunStateTick tick) {
+            if (sinkExecutor.isShutdown()) {
+                return;
+            }
+            sinkExecutor.execute(() -> {
+                try {
+                    listener.onTick(tick);
+                } catch (Throwable ex) {
+                    log.error("Run state listener [{}] failed to handle the tick.", name, ex);
+                }
+            });
+        }
+    }
+}
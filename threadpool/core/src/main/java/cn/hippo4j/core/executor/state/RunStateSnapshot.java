@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.state;
+
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static cn.hippo4j.common.constant.Constants.NO_REJECT_COUNT_NUM;
+
+/**
+ * <p>Immutable snapshot of the run state of a thread-pool. <br />
+ * For {@link ExtensibleThreadPoolExecutor}, the snapshot is built from the counters maintained by the executor itself,
+ * so taking a snapshot costs O(1) and never acquires the main lock of {@link ThreadPoolExecutor}.
+ * A snapshot taken once can be shared by all the monitors, alarms and collectors in the same collection tick.
+ *
+ * @see ExtensibleThreadPoolExecutor#getRunStateSnapshot()
+ */
+@Getter
+@Builder
+@ToString
+public class RunStateSnapshot {
+
+    /**
+     * Core pool size
+     */
+    private final int corePoolSize;
+
+    /**
+     * Maximum pool size
+     */
+    private final int maximumPoolSize;
+
+    /**
+     * Current pool size
+     */
+    private final int poolSize;
+
+    /**
+     * The maximum number of threads that enter the thread pool at the same time
+     */
+    private final int largestPoolSize;
+
+    /**
+     * Number of threads actively executing tasks
+     */
+    private final int activeCount;
+
+    /**
+     * Number of completed tasks
+     */
+    private final long completedTaskCount;
+
+    /**
+     * Number of rejected tasks, {@link cn.hippo4j.common.constant.Constants#NO_REJECT_COUNT_NUM} if unknown
+     */
+    private final long rejectCount;
+
+    /**
+     * Queue type
+     */
+    private final String queueType;
+
+    /**
+     * Queue size
+     */
+    private final int queueSize;
+
+    /**
+     * Queue remaining capacity
+     */
+    private final int queueRemainingCapacity;
+
+    /**
+     * Time in milliseconds when the snapshot was taken
+     */
+    private final long timestamp;
+
+    /**
+     * Get queue capacity.
+     *
+     * @return queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueSize + queueRemainingCapacity;
+    }
+
+    /**
+     * Take a snapshot of the run state of the executor.
+     * The counters of {@link ExtensibleThreadPoolExecutor} are used if possible,
+     * otherwise fall back to the getters of {@link ThreadPoolExecutor}.
+     *
+     * @param executor executor
+     * @return snapshot of run state
+     */
+    public static RunStateSnapshot of(ThreadPoolExecutor executor) {
+        if (executor instanceof ExtensibleThreadPoolExecutor) {
+            return ((ExtensibleThreadPoolExecutor) executor).getRunStateSnapshot();
+        }
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        return RunStateSnapshot.builder()
+                .corePoolSize(executor.getCorePoolSize())
+                .maximumPoolSize(executor.getMaximumPoolSize())
+                .poolSize(executor.getPoolSize())
+                .largestPoolSize(executor.getLargestPoolSize())
+                .activeCount(executor.getActiveCount())
+                .completedTaskCount(executor.getCompletedTaskCount())
+                .rejectCount(NO_REJECT_COUNT_NUM)
+                .queueType(queue.getClass().getSimpleName())
+                .queueSize(queue.size())
+                .queueRemainingCapacity(queue.remainingCapacity())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.state;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Immutable result of one collection pass of {@link RunStateSampler}. <br />
+ * The run state of each thread-pool is sampled once per tick,
+ * and the same tick is shared by all the listeners which are due at that time.
+ */
+public class RunStateTick {
+
+    /**
+     * Time in milliseconds when the tick was sampled
+     */
+    @Getter
+    private final long timestamp;
+
+    /**
+     * Samples indexed by thread-pool id, in the order of sampling
+     */
+    private final Map<String, RunStateSample> samples;
+
+    public RunStateTick(long timestamp, List<RunStateSample> samples) {
+        Map<String, RunStateSample> sampleMap = new LinkedHashMap<>(samples.size() << 1);
+        samples.forEach(each -> sampleMap.put(each.getThreadPoolId(), each));
+        this.timestamp = timestamp;
+        this.samples = Collections.unmodifiableMap(sampleMap);
+    }
+
+    /**
+     * Get all samples.
+     *
+     * @return samples
+     */
+    public Iterable<RunStateSample> getSamples() {
+        return samples.values();
+    }
+
+    /**
+     * Get the sample of thread-pool.
+     *
+     * @param threadPoolId thread-pool id
+     * @return sample, null if the thread-pool was not sampled in this tick
+     */
+    public RunStateSample getSample(String threadPoolId) {
+        return samples.get(threadPoolId);
+    }
+
+    /**
+     * Get count of samples.
+     *
+     * @return count of samples
+     */
+    public int size() {
+        return samples.size();
+    }
+}
@@ -19,10 +19,10 @@ package cn.hippo4j.core.executor.state;
 
 import cn.hippo4j.common.model.ManyThreadPoolRunStateInfo;
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
-import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.common.toolkit.ByteConvertUtil;
 import cn.hippo4j.common.toolkit.MemoryUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.common.toolkit.ThreadPoolRunStateInfoConvert;
 import cn.hippo4j.core.executor.DynamicThreadPoolWrapper;
 import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
 import cn.hippo4j.core.toolkit.inet.InetUtils;
@@ -66,7 +66,7 @@ public class ThreadPoolRunStateHandler extends AbstractThreadPoolRuntime {
         String rejectedName;
         rejectedName = pool.getRejectedExecutionHandler().getClass().getSimpleName();
         poolRunStateInfo.setRejectedName(rejectedName);
-        ManyThreadPoolRunStateInfo manyThreadPoolRunStateInfo = BeanUtil.convert(poolRunStateInfo, ManyThreadPoolRunStateInfo.class);
+        ManyThreadPoolRunStateInfo manyThreadPoolRunStateInfo = ThreadPoolRunStateInfoConvert.toManyThreadPoolRunStateInfo(poolRunStateInfo);
         manyThreadPoolRunStateInfo.setIdentify(CLIENT_IDENTIFICATION_VALUE);
         String active = environment.getProperty("spring.profiles.active", "UNKNOWN");
         manyThreadPoolRunStateInfo.setActive(active.toUpperCase());
@@ -20,11 +20,15 @@ package cn.hippo4j.core.executor.support;
 import cn.hippo4j.common.executor.ThreadFactoryBuilder;
 import cn.hippo4j.common.toolkit.Assert;
 import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.VirtualThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
 import lombok.Data;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.task.TaskDecorator;
 
+import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
@@ -37,6 +41,11 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class AbstractBuildThreadPoolTemplate {
 
+    /**
+     * Default id of fast pool which is not given a thread-pool id
+     */
+    private static final String FAST_POOL_ID = "fast-pool";
+
     /**
      * Thread-pool construction initialization parameters.
      *
@@ -64,6 +73,9 @@ public class AbstractBuildThreadPoolTemplate {
      */
     public static ThreadPoolExecutor buildPool(ThreadPoolInitParam initParam) {
         Assert.notNull(initParam);
+        if (initParam.getWorkQueue() instanceof TaskQueue) {
+            return buildFastPool(initParam);
+        }
         ThreadPoolExecutor executorService;
         try {
             executorService = new ThreadPoolExecutor(initParam.getCorePoolNum(),
@@ -80,6 +92,34 @@ public class AbstractBuildThreadPoolTemplate {
         return executorService;
     }
 
+    /**
+     * Build a fast pool, which starts new threads up to the maximum pool size before queuing tasks.
+     *
+     * @param initParam init param, the work queue must be a {@link TaskQueue}
+     * @return fast thread-pool executor
+     */
+    public static ExtensibleThreadPoolExecutor buildFastPool(ThreadPoolInitParam initParam) {
+        Assert.notNull(initParam);
+        Assert.isTrue(initParam.getWorkQueue() instanceof TaskQueue, "The work queue of fast pool must be a TaskQueue.");
+        ExtensibleThreadPoolExecutor executorService;
+        try {
+            executorService = new ExtensibleThreadPoolExecutor(
+                    Optional.ofNullable(initParam.getThreadPoolId()).orElse(FAST_POOL_ID),
+                    new DefaultThreadPoolPluginManager(),
+                    initParam.getCorePoolNum(),
+                    initParam.getMaximumPoolSize(),
+                    initParam.getKeepAliveTime(),
+                    initParam.getTimeUnit(),
+                    initParam.getWorkQueue(),
+                    initParam.getThreadFactory(),
+                    initParam.getRejectedExecutionHandler());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Error creating thread pool parameter.", ex);
+        }
+        executorService.allowCoreThreadTimeOut(initParam.allowCoreThreadTimeOut);
+        return executorService;
+    }
+
     /**
      * Build a dynamic monitor thread-pool.
      *
@@ -88,6 +128,9 @@ public class AbstractBuildThreadPoolTemplate {
      */
     public static DynamicThreadPoolExecutor buildDynamicPool(ThreadPoolInitParam initParam) {
         Assert.notNull(initParam);
+        if (Boolean.TRUE.equals(initParam.getVirtualThread())) {
+            return buildVirtualThreadPool(initParam);
+        }
         DynamicThreadPoolExecutor dynamicThreadPoolExecutor;
         try {
             dynamicThreadPoolExecutor = new DynamicThreadPoolExecutor(
@@ -110,6 +153,35 @@ public class AbstractBuildThreadPoolTemplate {
         return dynamicThreadPoolExecutor;
     }
 
+    /**
+     * Build a dynamic thread-pool which executes tasks on virtual threads,
+     * the maximum pool size of init param is used as the permit limit.
+     *
+     * @param initParam init param, the thread factory must create virtual threads
+     * @return virtual thread-pool executor
+     */
+    public static VirtualThreadPoolExecutor buildVirtualThreadPool(ThreadPoolInitParam initParam) {
+        Assert.notNull(initParam);
+        VirtualThreadPoolExecutor virtualThreadPoolExecutor;
+        try {
+            virtualThreadPoolExecutor = new VirtualThreadPoolExecutor(
+                    initParam.getMaximumPoolSize(),
+                    initParam.getKeepAliveTime(),
+                    initParam.getTimeUnit(),
+                    initParam.getExecuteTimeOut(),
+                    initParam.getWaitForTasksToCompleteOnShutdown(),
+                    initParam.getAwaitTerminationMillis(),
+                    initParam.getWorkQueue(),
+                    initParam.getThreadPoolId(),
+                    initParam.getThreadFactory(),
+                    initParam.getRejectedExecutionHandler());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException(String.format("Error creating thread pool parameter. threadPool id: %s", initParam.getThreadPoolId()), ex);
+        }
+        virtualThreadPoolExecutor.setTaskDecorator(initParam.getTaskDecorator());
+        return virtualThreadPoolExecutor;
+    }
+
     /**
      * Thread-pool init param.
      */
@@ -145,6 +217,8 @@ public class AbstractBuildThreadPoolTemplate {
 
         private Boolean allowCoreThreadTimeOut = false;
 
+        private Boolean virtualThread = false;
+
         public ThreadPoolInitParam(String threadNamePrefix, boolean isDaemon) {
             this.threadFactory = ThreadFactoryBuilder.builder()
                     .prefix(threadNamePrefix)
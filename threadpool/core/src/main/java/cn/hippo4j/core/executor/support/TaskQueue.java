@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.support;
+
+import cn.hippo4j.common.executor.support.ResizableCapacityLinkedBlockingQueue;
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * <p>Work queue of the fast pool, which makes {@link ExtensibleThreadPoolExecutor} grow threads eagerly. <br />
+ * {@link ThreadPoolExecutor} only creates threads beyond the core pool size when the queue is full,
+ * this queue refuses tasks while the pool can still grow and there is no idle worker,
+ * so a new worker is started up to the maximum pool size before any task is queued.
+ * If the worker can not be started, the executor puts the task into the queue by {@link #force} before rejecting it.
+ *
+ * <p>Idle workers are detected through {@link ExtensibleThreadPoolExecutor#getSubmittedTaskCount()},
+ * the core and maximum pool size and the capacity of the queue can be changed at runtime as usual.
+ * Tasks removed from the queue without being taken by a worker, by {@link #remove}, the iterator or {@link #drainTo},
+ * are no longer counted as submitted.
+ *
+ * @see ExtensibleThreadPoolExecutor#getSubmittedTaskCount()
+ */
+public class TaskQueue extends ResizableCapacityLinkedBlockingQueue<Runnable> {
+
+    /**
+     * Executor which the queue belongs to, null before the executor is created
+     */
+    private volatile ExtensibleThreadPoolExecutor executor;
+
+    /**
+     * Create a {@link TaskQueue} with the given capacity.
+     *
+     * @param capacity capacity of queue
+     */
+    public TaskQueue(int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Bind the executor which the queue belongs to, it's called by the executor itself.
+     *
+     * @param executor executor
+     */
+    public void setExecutor(@NonNull ExtensibleThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Offer the task only if there is an idle worker or the pool can not grow any more.
+     * The live pool size is read instead of {@link ThreadPoolExecutor#getPoolSize()} to keep the main lock off the submit path,
+     * a worker not yet counted only makes the executor try to start one more, which falls back to {@link #force}.
+     *
+     * @param runnable task
+     * @return false if a new worker should be started for the task
+     */
+    @Override
+    public boolean offer(Runnable runnable) {
+        ExtensibleThreadPoolExecutor current = executor;
+        if (current == null) {
+            return super.offer(runnable);
+        }
+        int poolSize = current.getLivePoolSize();
+        if (poolSize >= current.getMaximumPoolSize()) {
+            return super.offer(runnable);
+        }
+        if (current.getSubmittedTaskCount() <= poolSize) {
+            return super.offer(runnable);
+        }
+        return false;
+    }
+
+    /**
+     * Put the task into the queue regardless of the pool size,
+     * used when the executor failed to start a new worker for the task.
+     *
+     * @param runnable task
+     * @return true if the task is queued, false if the queue is full or the executor is shutdown
+     */
+    public boolean force(Runnable runnable) {
+        ExtensibleThreadPoolExecutor current = executor;
+        if (current != null && current.isShutdown()) {
+            return false;
+        }
+        return super.offer(runnable);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        boolean removed = super.remove(o);
+        if (removed) {
+            onRemoved(1);
+        }
+        return removed;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c) {
+        return onRemoved(super.drainTo(c));
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> c, int maxElements) {
+        return onRemoved(super.drainTo(c, maxElements));
+    }
+
+    /**
+     * Iterator whose removal goes through {@link #remove(Object)}, eg: {@link ThreadPoolExecutor#purge()}.
+     *
+     * @return iterator
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        Iterator<Runnable> iterator = super.iterator();
+        return new Iterator<Runnable>() {
+
+            private Runnable lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                lastReturned = iterator.next();
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                TaskQueue.this.remove(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    private int onRemoved(int count) {
+        ExtensibleThreadPoolExecutor current = executor;
+        if (current != null) {
+            current.onQueuedTasksRemoved(count);
+        }
+        return count;
+    }
+}
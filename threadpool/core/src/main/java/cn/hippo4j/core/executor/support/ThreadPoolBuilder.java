@@ -20,6 +20,7 @@ package cn.hippo4j.core.executor.support;
 import cn.hippo4j.common.extension.design.Builder;
 import cn.hippo4j.common.executor.support.BlockingQueueTypeEnum;
 import cn.hippo4j.common.toolkit.Assert;
+import cn.hippo4j.core.executor.VirtualThreadPoolExecutor;
 import org.springframework.core.task.TaskDecorator;
 
 import java.math.BigDecimal;
@@ -39,6 +40,8 @@ public class ThreadPoolBuilder implements Builder<ThreadPoolExecutor> {
 
     private boolean isDynamicPool;
 
+    private boolean isVirtualThread;
+
     private int corePoolSize = calculateCoreNum();
 
     private int maximumPoolSize = corePoolSize + (corePoolSize >> 1);
@@ -84,7 +87,8 @@ public class ThreadPoolBuilder implements Builder<ThreadPoolExecutor> {
     }
 
     /**
-     * Is fast pool.
+     * Is fast pool, the fast pool starts new threads up to the maximum pool size before queuing tasks.
+     * The work queue of fast pool is always a {@link TaskQueue} with the given capacity.
      *
      * @param isFastPool is fast pool
      * @return thread-pool builder
@@ -104,6 +108,19 @@ public class ThreadPoolBuilder implements Builder<ThreadPoolExecutor> {
         return this;
     }
 
+    /**
+     * Virtual thread pool, which executes tasks on virtual threads and requires JDK 21 or later.
+     * The pool is always dynamic, and the maximum pool size is the limit of tasks executed at the same time.
+     *
+     * @return thread-pool builder
+     * @see VirtualThreadPoolExecutor
+     */
+    public ThreadPoolBuilder virtualThread() {
+        this.isVirtualThread = true;
+        this.isDynamicPool = true;
+        return this;
+    }
+
     /**
      * Thread factory.
      *
@@ -429,7 +446,10 @@ public class ThreadPoolBuilder implements Builder<ThreadPoolExecutor> {
      */
     private static AbstractBuildThreadPoolTemplate.ThreadPoolInitParam buildInitParam(ThreadPoolBuilder builder) {
         AbstractBuildThreadPoolTemplate.ThreadPoolInitParam initParam;
-        if (builder.threadFactory == null) {
+        if (builder.isVirtualThread && builder.threadFactory == null) {
+            Assert.notEmpty(builder.threadNamePrefix, "The thread name prefix cannot be empty or an empty string.");
+            initParam = new AbstractBuildThreadPoolTemplate.ThreadPoolInitParam(VirtualThreadPoolExecutor.newVirtualThreadFactory(builder.threadNamePrefix));
+        } else if (builder.threadFactory == null) {
             Assert.notEmpty(builder.threadNamePrefix, "The thread name prefix cannot be empty or an empty string.");
             initParam = new AbstractBuildThreadPoolTemplate.ThreadPoolInitParam(builder.threadNamePrefix, builder.isDaemon);
         } else {
@@ -443,14 +463,20 @@ public class ThreadPoolBuilder implements Builder<ThreadPoolExecutor> {
                 .setRejectedExecutionHandler(builder.rejectedExecutionHandler)
                 .setTimeUnit(builder.timeUnit)
                 .setAllowCoreThreadTimeOut(builder.allowCoreThreadTimeOut)
-                .setTaskDecorator(builder.taskDecorator);
+                .setTaskDecorator(builder.taskDecorator)
+                .setVirtualThread(builder.isVirtualThread);
         if (builder.isDynamicPool) {
             String threadPoolId = Optional.ofNullable(builder.threadPoolId).orElse(builder.threadNamePrefix);
             initParam.setThreadPoolId(threadPoolId);
             initParam.setWaitForTasksToCompleteOnShutdown(builder.waitForTasksToCompleteOnShutdown);
             initParam.setAwaitTerminationMillis(builder.awaitTerminationMillis);
         }
-        if (!builder.isFastPool) {
+        if (builder.isFastPool) {
+            if (initParam.getThreadPoolId() == null) {
+                initParam.setThreadPoolId(Optional.ofNullable(builder.threadPoolId).orElse(builder.threadNamePrefix));
+            }
+            initParam.setWorkQueue(new TaskQueue(builder.capacity));
+        } else {
             if (builder.workQueue == null) {
                 if (builder.blockingQueueType == null) {
                     builder.blockingQueueType = BlockingQueueTypeEnum.LINKED_BLOCKING_QUEUE;
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.toolkit;
+
+import cn.hippo4j.common.toolkit.Assert;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Lock-free, striped, log-linear latency histogram with bounded memory. <br />
+ * Values are grouped by power of two, and each power of two is split into
+ * {@link #SUB_BUCKET_COUNT} linear sub-buckets, so the relative error of the
+ * reported percentiles is less than {@code 1 / SUB_BUCKET_COUNT}.
+ * Values greater than {@link #MAX_TRACKABLE_VALUE} are recorded as {@link #MAX_TRACKABLE_VALUE}.
+ *
+ * <p>Recording threads are routed to different stripes according to the {@link Thread#getId},
+ * to reduce the contention of a single counter array.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Bits of linear sub-buckets in each power of two
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * Count of linear sub-buckets in each power of two
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Highest power of two can be recorded, values up to about 73 minutes in nanoseconds are trackable
+     */
+    private static final int MAX_EXPONENT = 41;
+
+    /**
+     * Max value can be recorded
+     */
+    public static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    /**
+     * Count of buckets
+     */
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    /**
+     * Index of total count in stripe
+     */
+    private static final int TOTAL_COUNT_INDEX = BUCKET_COUNT;
+
+    /**
+     * Index of total value in stripe
+     */
+    private static final int TOTAL_VALUE_INDEX = BUCKET_COUNT + 1;
+
+    /**
+     * Index of max value in stripe
+     */
+    private static final int MAX_VALUE_INDEX = BUCKET_COUNT + 2;
+
+    /**
+     * Length of stripe
+     */
+    private static final int STRIPE_LENGTH = BUCKET_COUNT + 3;
+
+    /**
+     * Stripes, each stripe contains bucket counts, total count, total value and max value
+     */
+    private final AtomicLongArray[] stripes;
+
+    /**
+     * modulo
+     */
+    private final int modulo;
+
+    /**
+     * Create a {@link LatencyHistogram}.
+     *
+     * @param stripeCount count of stripes, will be rounded up to a power of two
+     */
+    public LatencyHistogram(int stripeCount) {
+        Assert.isTrue(stripeCount >= 1, "stripeCount must great then 0");
+        int tableSize = Integer.highestOneBit(stripeCount);
+        tableSize = tableSize < stripeCount ? tableSize << 1 : tableSize;
+        stripes = new AtomicLongArray[tableSize];
+        for (int i = 0; i < tableSize; i++) {
+            stripes[i] = new AtomicLongArray(STRIPE_LENGTH);
+        }
+        modulo = tableSize - 1;
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param value value, usually a latency in nanoseconds
+     */
+    public void record(long value) {
+        long actualValue = value < 0L ? 0L : Math.min(value, MAX_TRACKABLE_VALUE);
+        AtomicLongArray stripe = stripes[(int) (Thread.currentThread().getId() & modulo)];
+        stripe.getAndIncrement(bucketIndex(actualValue));
+        stripe.getAndIncrement(TOTAL_COUNT_INDEX);
+        stripe.getAndAdd(TOTAL_VALUE_INDEX, actualValue);
+        long max;
+        while ((max = stripe.get(MAX_VALUE_INDEX)) < actualValue) {
+            if (stripe.compareAndSet(MAX_VALUE_INDEX, max, actualValue)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reset all recorded values.
+     * Values recorded concurrently with reset may be lost.
+     */
+    public void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < STRIPE_LENGTH; i++) {
+                stripe.set(i, 0L);
+            }
+        }
+    }
+
+    /**
+     * Get the snapshot of recorded values.
+     *
+     * @return snapshot
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[STRIPE_LENGTH];
+        accumulate(counts);
+        return new Snapshot(counts);
+    }
+
+    /**
+     * Add the recorded values to the given accumulator.
+     *
+     * @param counts accumulator, its length must be equal to stripe length
+     */
+    void accumulate(long[] counts) {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+            counts[TOTAL_COUNT_INDEX] += stripe.get(TOTAL_COUNT_INDEX);
+            counts[TOTAL_VALUE_INDEX] += stripe.get(TOTAL_VALUE_INDEX);
+            counts[MAX_VALUE_INDEX] = Math.max(counts[MAX_VALUE_INDEX], stripe.get(MAX_VALUE_INDEX));
+        }
+    }
+
+    /**
+     * Create an empty accumulator which can be used by {@link #accumulate}.
+     *
+     * @return accumulator
+     */
+    static long[] newAccumulator() {
+        return new long[STRIPE_LENGTH];
+    }
+
+    /**
+     * Get index of bucket for value.
+     *
+     * @param value value
+     * @return index of bucket
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * Get the highest value which would be recorded in bucket.
+     *
+     * @param index index of bucket
+     * @return highest value of bucket
+     */
+    static long highestValueOfBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowest = ((long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1)))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Immutable snapshot of {@link LatencyHistogram}.
+     */
+    public static class Snapshot {
+
+        /**
+         * Bucket counts, total count, total value and max value
+         */
+        private final long[] counts;
+
+        /**
+         * Count of recorded values
+         */
+        @Getter
+        private final long totalCount;
+
+        /**
+         * Max recorded value
+         */
+        @Getter
+        private final long maxValue;
+
+        Snapshot(long[] counts) {
+            // buckets are read one by one, so sum them up instead of trusting the total count
+            long bucketTotalCount = 0L;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                bucketTotalCount += counts[i];
+            }
+            this.counts = counts;
+            this.totalCount = bucketTotalCount;
+            this.maxValue = counts[MAX_VALUE_INDEX];
+        }
+
+        /**
+         * Get mean of recorded values.
+         *
+         * @return mean value, 0 if nothing recorded
+         */
+        public long getMeanValue() {
+            long recordedCount = counts[TOTAL_COUNT_INDEX];
+            return recordedCount > 0L ? counts[TOTAL_VALUE_INDEX] / recordedCount : 0L;
+        }
+
+        /**
+         * Get the value at the given percentile.
+         *
+         * @param percentile percentile, eg: 99.9
+         * @return value at percentile, 0 if nothing recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (totalCount <= 0L) {
+                return 0L;
+            }
+            double actualPercentile = Math.min(Math.max(percentile, 0D), 100D);
+            long countAtPercentile = Math.max(1L, (long) Math.ceil(actualPercentile / 100D * totalCount));
+            long seen = 0L;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= countAtPercentile) {
+                    return Math.min(highestValueOfBucket(i), maxValue);
+                }
+            }
+            return maxValue;
+        }
+    }
+}
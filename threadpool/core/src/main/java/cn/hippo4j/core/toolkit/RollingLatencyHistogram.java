@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.toolkit;
+
+import cn.hippo4j.common.toolkit.Assert;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Latency histogram over a rolling time window. <br />
+ * The window is divided into several slices, each slice is a {@link LatencyHistogram},
+ * the slice which has expired will be reset and reused when it becomes current again,
+ * so the memory used is bounded by the count of slices.
+ *
+ * <p>The snapshot covers the current slice and the previous {@code sliceCount - 1} slices.
+ * Values recorded concurrently with the reuse of a slice may be lost.
+ */
+public final class RollingLatencyHistogram {
+
+    /**
+     * Time of a slice in milliseconds
+     */
+    @Getter
+    private final long sliceMillis;
+
+    /**
+     * Count of slices in the window
+     */
+    @Getter
+    private final int sliceCount;
+
+    /**
+     * Slices, one more than {@link #sliceCount} to avoid resetting a slice which is being read
+     */
+    private final Slice[] slices;
+
+    /**
+     * Create a {@link RollingLatencyHistogram}.
+     *
+     * @param windowMillis time of window in milliseconds
+     * @param sliceCount   count of slices in the window
+     * @param stripeCount  count of stripes of each slice
+     */
+    public RollingLatencyHistogram(long windowMillis, int sliceCount, int stripeCount) {
+        Assert.isTrue(sliceCount >= 1, "sliceCount must great then 0");
+        Assert.isTrue(windowMillis >= sliceCount, "windowMillis must not less than sliceCount");
+        this.sliceMillis = windowMillis / sliceCount;
+        this.sliceCount = sliceCount;
+        this.slices = new Slice[sliceCount + 1];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new Slice(new LatencyHistogram(stripeCount));
+        }
+    }
+
+    /**
+     * Record a value into the current slice.
+     *
+     * @param value value, usually a latency in nanoseconds
+     */
+    public void record(long value) {
+        long epoch = SystemClock.now() / sliceMillis;
+        Slice slice = slices[(int) (epoch % slices.length)];
+        long sliceEpoch = slice.epoch.get();
+        if (sliceEpoch < epoch && slice.epoch.compareAndSet(sliceEpoch, epoch)) {
+            slice.histogram.reset();
+        }
+        slice.histogram.record(value);
+    }
+
+    /**
+     * Get the snapshot of values recorded in the window.
+     *
+     * @return snapshot
+     */
+    public LatencyHistogram.Snapshot snapshot() {
+        long epoch = SystemClock.now() / sliceMillis;
+        long[] counts = LatencyHistogram.newAccumulator();
+        for (Slice slice : slices) {
+            long sliceEpoch = slice.epoch.get();
+            if (sliceEpoch <= epoch && epoch - sliceEpoch < sliceCount) {
+                slice.histogram.accumulate(counts);
+            }
+        }
+        return new LatencyHistogram.Snapshot(counts);
+    }
+
+    /**
+     * Time slice of window.
+     */
+    private static class Slice {
+
+        /**
+         * Epoch of slice, equals to the start time of slice divided by {@link #sliceMillis}
+         */
+        private final AtomicLong epoch = new AtomicLong(-1L);
+
+        /**
+         * Histogram of slice
+         */
+        private final LatencyHistogram histogram;
+
+        Slice(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import cn.hippo4j.core.executor.plugin.ShutdownAwarePlugin;
 import cn.hippo4j.core.executor.plugin.TaskAwarePlugin;
 import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
 import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginManager;
+import cn.hippo4j.core.executor.state.RunStateSnapshot;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -34,7 +35,9 @@ import org.junit.Test;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -157,6 +160,78 @@ public class ExtensibleThreadPoolExecutorTest {
         }
     }
 
+    @Test
+    public void testGetRunStateSnapshot() throws InterruptedException {
+        executor.setCorePoolSize(1);
+        executor.setMaximumPoolSize(1);
+        RunStateSnapshot snapshot = executor.getRunStateSnapshot();
+        Assert.assertEquals(0, snapshot.getPoolSize());
+        Assert.assertEquals(1, snapshot.getQueueCapacity());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                latch.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        executor.execute(() -> {
+        });
+        // reject 1 task
+        executor.execute(() -> {
+        });
+        ThreadUtil.sleep(200L);
+        snapshot = executor.getRunStateSnapshot();
+        Assert.assertEquals(1, snapshot.getPoolSize());
+        Assert.assertEquals(1, snapshot.getLargestPoolSize());
+        Assert.assertEquals(1, snapshot.getActiveCount());
+        Assert.assertEquals(1, snapshot.getQueueSize());
+        Assert.assertEquals(1L, snapshot.getRejectCount());
+
+        latch.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1000L, TimeUnit.MILLISECONDS));
+        // the last worker terminates the pool before it exits
+        ThreadUtil.sleep(100L);
+        snapshot = executor.getRunStateSnapshot();
+        Assert.assertEquals(0, snapshot.getPoolSize());
+        Assert.assertEquals(0, snapshot.getActiveCount());
+        Assert.assertEquals(2L, snapshot.getCompletedTaskCount());
+        Assert.assertEquals(executor.getCompletedTaskCount(), snapshot.getCompletedTaskCount());
+    }
+
+    @Test
+    public void testSetThreadFactory() {
+        ThreadFactory threadFactory = Thread::new;
+        executor.setThreadFactory(threadFactory);
+        Assert.assertSame(threadFactory, executor.getThreadFactory());
+        ThreadPoolExecutor other = new ExtensibleThreadPoolExecutor(
+                "other", new DefaultThreadPoolPluginManager(),
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), executor.getThreadFactory(), originalHandler);
+        other.execute(() -> {
+        });
+        ThreadUtil.sleep(200L);
+        // threads of other executor are not counted by the executor whose factory is reused
+        Assert.assertEquals(0, executor.getRunStateSnapshot().getPoolSize());
+        Assert.assertEquals(1, ((ExtensibleThreadPoolExecutor) other).getRunStateSnapshot().getPoolSize());
+        other.shutdown();
+
+        // nor threads of a plain executor
+        ThreadPoolExecutor plain = new ThreadPoolExecutor(1, 1, 1000L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), executor.getThreadFactory());
+        plain.execute(() -> {
+        });
+        ThreadUtil.sleep(200L);
+        Assert.assertEquals(0, executor.getRunStateSnapshot().getPoolSize());
+        plain.shutdown();
+
+        executor.execute(() -> {
+        });
+        ThreadUtil.sleep(200L);
+        Assert.assertEquals(1, executor.getRunStateSnapshot().getPoolSize());
+    }
+
     private final static class TestTaskToNullAwarePlugin implements TaskAwarePlugin {
 
         @Override
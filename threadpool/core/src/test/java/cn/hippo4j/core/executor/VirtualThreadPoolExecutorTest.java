@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor;
+
+import cn.hippo4j.common.executor.VirtualThreadSupport;
+import cn.hippo4j.core.executor.state.RunStateSnapshot;
+import cn.hippo4j.core.executor.support.ThreadPoolBuilder;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * test for {@link VirtualThreadPoolExecutor}
+ */
+public class VirtualThreadPoolExecutorTest {
+
+    @Test
+    public void testPermitLimit() {
+        VirtualThreadPoolExecutor executor = newExecutor(2);
+        Assert.assertEquals(2, executor.getPermitLimit());
+        Assert.assertEquals(2, executor.getCorePoolSize());
+
+        executor.setMaximumPoolSize(8);
+        Assert.assertEquals(8, executor.getPermitLimit());
+        Assert.assertEquals(8, executor.getCorePoolSize());
+
+        // the core pool size always follows the permit limit
+        executor.setCorePoolSize(1);
+        executor.setPermitLimit(4);
+        Assert.assertEquals(4, executor.getMaximumPoolSize());
+        Assert.assertEquals(4, executor.getCorePoolSize());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> executor.setPermitLimit(0));
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRunStateOfInFlightTasks() throws InterruptedException {
+        VirtualThreadPoolExecutor executor = newExecutor(2);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                completed.incrementAndGet();
+            });
+        }
+        Assert.assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        RunStateSnapshot snapshot = executor.getRunStateSnapshot();
+        Assert.assertEquals(2, snapshot.getActiveCount());
+        Assert.assertEquals(2, snapshot.getMaximumPoolSize());
+        Assert.assertEquals(1, snapshot.getQueueSize());
+        Assert.assertEquals(2, executor.getInFlightTaskCount());
+
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertEquals(3, completed.get());
+    }
+
+    @Test
+    public void testBuildVirtualThreadPool() throws InterruptedException {
+        Assume.assumeTrue(VirtualThreadSupport.isSupported());
+        ThreadPoolExecutor executor = ThreadPoolBuilder.builder()
+                .virtualThread()
+                .threadFactory("virtual-test")
+                .threadPoolId("virtual-test")
+                .maximumPoolSize(16)
+                .build();
+        Assert.assertTrue(executor instanceof VirtualThreadPoolExecutor);
+        Assert.assertEquals(16, ((VirtualThreadPoolExecutor) executor).getPermitLimit());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        executor.execute(() -> {
+            worker.set(Thread.currentThread());
+            latch.countDown();
+        });
+        Assert.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Assert.assertTrue(worker.get().isDaemon());
+        Assert.assertTrue(worker.get().getName().startsWith("virtual-test"));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testVirtualThreadsNotSupported() {
+        Assume.assumeFalse(VirtualThreadSupport.isSupported());
+        Assert.assertThrows(UnsupportedOperationException.class, () -> VirtualThreadPoolExecutor.newVirtualThreadFactory("virtual-test"));
+    }
+
+    private static VirtualThreadPoolExecutor newExecutor(int permitLimit) {
+        return new VirtualThreadPoolExecutor(
+                permitLimit, 1000L, TimeUnit.MILLISECONDS,
+                1000L, false, 1000L,
+                new LinkedBlockingQueue<>(16), "test", Thread::new, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
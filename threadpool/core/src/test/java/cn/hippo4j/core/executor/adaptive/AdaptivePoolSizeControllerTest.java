@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.adaptive;
+
+import cn.hippo4j.common.model.executor.ExecutorAdaptiveProperties;
+import cn.hippo4j.core.executor.state.RunStateSnapshot;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * test for {@link AdaptivePoolSizeController}
+ */
+public class AdaptivePoolSizeControllerTest {
+
+    private static final String THREAD_POOL_ID = "adaptive-sizing-test";
+
+    private static ExecutorAdaptiveProperties properties(String algorithm) {
+        ExecutorAdaptiveProperties properties = new ExecutorAdaptiveProperties();
+        properties.setEnable(Boolean.TRUE);
+        properties.setAlgorithm(algorithm);
+        properties.setMinPoolSize(2);
+        properties.setMaxPoolSize(64);
+        return properties;
+    }
+
+    @Test
+    public void aimdScaleUpAndDown() {
+        ExecutorAdaptiveProperties properties = properties(AimdSizingAlgorithm.NAME);
+        AdaptiveSizingSimulation simulation = new AdaptiveSizingSimulation(properties, 2, 4, 100L, 100000);
+        // 100 tasks per second of 100ms need 10 threads
+        simulation.run(600, 100D);
+        Assert.assertTrue(simulation.getCorePoolSize() >= 10);
+        Assert.assertTrue(simulation.getCorePoolSize() <= 20);
+        Assert.assertTrue(simulation.getQueueSize() * 1000L / 100 <= properties.getQueueWaitTarget());
+        Assert.assertEquals(simulation.getCorePoolSize() + 2, simulation.getMaximumPoolSize());
+        assertRateLimited(simulation.getDecisions(), properties);
+
+        // 5 tasks per second of 100ms keep less than one thread busy
+        simulation.run(600, 5D);
+        Assert.assertTrue(simulation.getCorePoolSize() <= 3);
+        Assert.assertEquals(simulation.getCorePoolSize() + 2, simulation.getMaximumPoolSize());
+        assertRateLimited(simulation.getDecisions(), properties);
+    }
+
+    @Test
+    public void gradientScaleUpAndDown() {
+        ExecutorAdaptiveProperties properties = properties(GradientSizingAlgorithm.NAME);
+        AdaptiveSizingSimulation simulation = new AdaptiveSizingSimulation(properties, 2, 4, 100L, 100000);
+        simulation.run(600, 100D);
+        // 10 threads busy at 80%
+        Assert.assertTrue(simulation.getCorePoolSize() >= 12);
+        Assert.assertTrue(simulation.getCorePoolSize() <= 14);
+        Assert.assertTrue(simulation.getQueueSize() * 1000L / 100 <= properties.getQueueWaitTarget());
+        assertRateLimited(simulation.getDecisions(), properties);
+
+        simulation.run(600, 20D);
+        // 2 threads busy at 80%
+        Assert.assertEquals(3, simulation.getCorePoolSize());
+        assertRateLimited(simulation.getDecisions(), properties);
+    }
+
+    @Test
+    public void bounded() {
+        ExecutorAdaptiveProperties properties = properties(AimdSizingAlgorithm.NAME);
+        properties.setMaxPoolSize(16);
+        AdaptiveSizingSimulation simulation = new AdaptiveSizingSimulation(properties, 4, 8, 100L, 1000);
+        simulation.run(600, 1000D);
+        Assert.assertEquals(16, simulation.getCorePoolSize());
+        Assert.assertEquals(16, simulation.getMaximumPoolSize());
+        simulation.getDecisions().forEach(each -> Assert.assertTrue(each.getMaximumPoolSize() <= 16));
+    }
+
+    @Test
+    public void defaultUpperBound() {
+        ExecutorAdaptiveProperties properties = properties(GradientSizingAlgorithm.NAME);
+        properties.setMaxPoolSize(null);
+        AdaptiveSizingSimulation simulation = new AdaptiveSizingSimulation(properties, 4, 8, 100L, 1000);
+        simulation.run(600, 1000D);
+        Assert.assertEquals(8, simulation.getCorePoolSize());
+        Assert.assertEquals(8, simulation.getMaximumPoolSize());
+    }
+
+    @Test
+    public void hysteresis() {
+        ExecutorAdaptiveProperties properties = properties(AimdSizingAlgorithm.NAME);
+        AdaptivePoolSizeController controller = new AdaptivePoolSizeController(id -> properties, decision -> {
+        });
+        long now = 0L;
+        Assert.assertNull(controller.evaluate(THREAD_POOL_ID, snapshot(4, 0, 0L, 0, now), properties, now));
+        // overloaded, normal and overloaded again, never twice in a row
+        now += properties.getInterval();
+        Assert.assertNull(controller.evaluate(THREAD_POOL_ID, snapshot(4, 4, 100L, 500, now), properties, now));
+        now += properties.getInterval();
+        Assert.assertNull(controller.evaluate(THREAD_POOL_ID, snapshot(4, 2, 300L, 0, now), properties, now));
+        now += properties.getInterval();
+        Assert.assertNull(controller.evaluate(THREAD_POOL_ID, snapshot(4, 4, 400L, 500, now), properties, now));
+        // overloaded twice in a row
+        now += properties.getInterval();
+        AdaptiveSizingDecision decision = controller.evaluate(THREAD_POOL_ID, snapshot(4, 4, 500L, 500, now), properties, now);
+        Assert.assertNotNull(decision);
+        Assert.assertEquals(4, decision.getBeforeCorePoolSize());
+        Assert.assertEquals(8, decision.getCorePoolSize());
+        Assert.assertEquals(12, decision.getMaximumPoolSize());
+        Assert.assertTrue(decision.getReason().startsWith(AimdSizingAlgorithm.NAME));
+    }
+
+    @Test
+    public void externalChange() {
+        ExecutorAdaptiveProperties properties = properties(AimdSizingAlgorithm.NAME);
+        properties.setStableCount(1);
+        AdaptivePoolSizeController controller = new AdaptivePoolSizeController(id -> properties, decision -> {
+        });
+        long now = 0L;
+        controller.evaluate(THREAD_POOL_ID, snapshot(4, 0, 0L, 0, now), properties, now);
+        now += properties.getInterval();
+        Assert.assertNotNull(controller.evaluate(THREAD_POOL_ID, snapshot(4, 4, 100L, 500, now), properties, now));
+        // resized by config instead of the decision, the controller starts over from the new size
+        now += properties.getCooldown();
+        Assert.assertNull(controller.evaluate(THREAD_POOL_ID, snapshot(20, 4, 200L, 500, now), properties, now));
+        now += properties.getInterval();
+        AdaptiveSizingDecision decision = controller.evaluate(THREAD_POOL_ID, snapshot(20, 4, 300L, 500, now), properties, now);
+        Assert.assertNotNull(decision);
+        Assert.assertEquals(20, decision.getBeforeCorePoolSize());
+        Assert.assertEquals(24, decision.getCorePoolSize());
+        Assert.assertEquals(28, decision.getMaximumPoolSize());
+    }
+
+    private static void assertRateLimited(List<AdaptiveSizingDecision> decisions, ExecutorAdaptiveProperties properties) {
+        for (int i = 1; i < decisions.size(); i++) {
+            AdaptiveSizingDecision previous = decisions.get(i - 1);
+            AdaptiveSizingDecision current = decisions.get(i);
+            Assert.assertTrue(current.getTimestamp() - previous.getTimestamp() >= properties.getCooldown());
+            Assert.assertTrue(current.getCorePoolSize() - current.getBeforeCorePoolSize() <= properties.getMaxStep());
+            Assert.assertTrue(current.getBeforeCorePoolSize() - current.getCorePoolSize() <= Math.max(current.getBeforeCorePoolSize() / 4, 1));
+        }
+    }
+
+    private static RunStateSnapshot snapshot(int corePoolSize, int activeCount, long completedTaskCount, int queueSize, long now) {
+        return RunStateSnapshot.builder()
+                .corePoolSize(corePoolSize)
+                .maximumPoolSize(corePoolSize + 4)
+                .poolSize(corePoolSize)
+                .largestPoolSize(corePoolSize)
+                .activeCount(activeCount)
+                .completedTaskCount(completedTaskCount)
+                .rejectCount(0L)
+                .queueType("LinkedBlockingQueue")
+                .queueSize(queueSize)
+                .queueRemainingCapacity(1000 - queueSize)
+                .timestamp(now)
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.adaptive;
+
+import cn.hippo4j.common.model.executor.ExecutorAdaptiveProperties;
+import cn.hippo4j.core.executor.state.RunStateSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Deterministic simulation of a thread-pool driven by {@link AdaptivePoolSizeController}, to test the controller offline. <br />
+ * Time advances one second per step on a virtual clock. Tasks arrive at the given rate and each takes a fixed service time,
+ * the core threads serve the queue, the non-core threads serve only while the queue is full,
+ * and the tasks exceeding the queue capacity are rejected.
+ */
+public class AdaptiveSizingSimulation {
+
+    static final String THREAD_POOL_ID = "adaptive-sizing-simulation";
+
+    private static final long STEP_MILLIS = 1000L;
+
+    private final AdaptivePoolSizeController controller = new AdaptivePoolSizeController(id -> null, decision -> {
+    });
+
+    private final ExecutorAdaptiveProperties properties;
+
+    private final long serviceMillis;
+
+    private final int queueCapacity;
+
+    private final List<AdaptiveSizingDecision> decisions = new ArrayList<>();
+
+    private int corePoolSize;
+
+    private int maximumPoolSize;
+
+    private double queueSize;
+
+    private double completedTaskCount;
+
+    private long rejectCount;
+
+    private int activeCount;
+
+    private long now;
+
+    public AdaptiveSizingSimulation(ExecutorAdaptiveProperties properties, int corePoolSize, int maximumPoolSize,
+                                    long serviceMillis, int queueCapacity) {
+        this.properties = properties;
+        this.corePoolSize = corePoolSize;
+        this.maximumPoolSize = maximumPoolSize;
+        this.serviceMillis = serviceMillis;
+        this.queueCapacity = queueCapacity;
+        controller.evaluate(THREAD_POOL_ID, snapshot(), properties, now);
+    }
+
+    /**
+     * Run the simulation.
+     *
+     * @param seconds     seconds to run
+     * @param arrivalRate tasks arrived per second
+     */
+    public void run(int seconds, double arrivalRate) {
+        for (int i = 0; i < seconds; i++) {
+            step(arrivalRate);
+        }
+    }
+
+    private void step(double arrivalRate) {
+        now += STEP_MILLIS;
+        double pending = queueSize + arrivalRate;
+        int threads = pending > queueCapacity ? maximumPoolSize : corePoolSize;
+        double served = Math.min(pending, threads * (double) STEP_MILLIS / serviceMillis);
+        queueSize = pending - served;
+        if (queueSize > queueCapacity) {
+            rejectCount += (long) (queueSize - queueCapacity);
+            queueSize = queueCapacity;
+        }
+        completedTaskCount += served;
+        activeCount = (int) Math.round(served * serviceMillis / STEP_MILLIS);
+        AdaptiveSizingDecision decision = controller.evaluate(THREAD_POOL_ID, snapshot(), properties, now);
+        if (decision != null) {
+            corePoolSize = decision.getCorePoolSize();
+            maximumPoolSize = decision.getMaximumPoolSize();
+            decisions.add(decision);
+        }
+    }
+
+    private RunStateSnapshot snapshot() {
+        int queued = (int) queueSize;
+        return RunStateSnapshot.builder()
+                .corePoolSize(corePoolSize)
+                .maximumPoolSize(maximumPoolSize)
+                .poolSize(corePoolSize)
+                .largestPoolSize(maximumPoolSize)
+                .activeCount(activeCount)
+                .completedTaskCount((long) completedTaskCount)
+                .rejectCount(rejectCount)
+                .queueType("SimulatedQueue")
+                .queueSize(queued)
+                .queueRemainingCapacity(queueCapacity - queued)
+                .timestamp(now)
+                .build();
+    }
+
+    public int getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public int getQueueSize() {
+        return (int) queueSize;
+    }
+
+    public List<AdaptiveSizingDecision> getDecisions() {
+        return decisions;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.common.toolkit.ThreadUtil;
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link TaskExecuteTimeHistogramPlugin}
+ */
+public class TaskExecuteTimeHistogramPluginTest {
+
+    @Test
+    public void testGetId() {
+        Assert.assertEquals(TaskExecuteTimeHistogramPlugin.PLUGIN_NAME, new TaskExecuteTimeHistogramPlugin().getId());
+    }
+
+    @Test
+    public void testGetRuntime() {
+        Assert.assertNotNull(new TaskExecuteTimeHistogramPlugin().getPluginRuntime());
+    }
+
+    @Test
+    public void testSnapshot() {
+        ExtensibleThreadPoolExecutor executor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                3, 3, 1000L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), Thread::new, new ThreadPoolExecutor.DiscardPolicy());
+
+        TaskExecuteTimeHistogramPlugin plugin = new TaskExecuteTimeHistogramPlugin();
+        executor.register(plugin);
+        executor.submit(() -> ThreadUtil.sleep(100L));
+        executor.submit(() -> ThreadUtil.sleep(300L));
+        executor.submit(() -> ThreadUtil.sleep(200L));
+
+        // waiting for shutdown
+        executor.shutdown();
+        while (!executor.isTerminated()) {
+        }
+        LatencyHistogram.Snapshot snapshot = plugin.snapshot();
+        Assert.assertEquals(3L, snapshot.getTotalCount());
+        Assert.assertTrue(snapshot.getValueAtPercentile(50D) >= TimeUnit.MILLISECONDS.toNanos(100L));
+        Assert.assertTrue(snapshot.getMaxValue() >= TimeUnit.MILLISECONDS.toNanos(300L));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.plugin.impl;
+
+import cn.hippo4j.common.toolkit.ThreadUtil;
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import cn.hippo4j.core.toolkit.LatencyHistogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link TaskQueueWaitTimeRecordPlugin}
+ */
+public class TaskQueueWaitTimeRecordPluginTest {
+
+    @Test
+    public void testGetId() {
+        Assert.assertEquals(TaskQueueWaitTimeRecordPlugin.PLUGIN_NAME, new TaskQueueWaitTimeRecordPlugin().getId());
+    }
+
+    @Test
+    public void testGetRuntime() {
+        Assert.assertNotNull(new TaskQueueWaitTimeRecordPlugin().getPluginRuntime());
+    }
+
+    @Test
+    public void testSnapshot() {
+        ExtensibleThreadPoolExecutor executor = createExecutor(new ArrayBlockingQueue<>(4));
+        TaskQueueWaitTimeRecordPlugin plugin = new TaskQueueWaitTimeRecordPlugin();
+        executor.register(plugin);
+
+        // the first task is executed by a new worker directly, the others wait in the queue
+        executor.execute(() -> ThreadUtil.sleep(200L));
+        executor.execute(() -> ThreadUtil.sleep(10L));
+        executor.execute(() -> ThreadUtil.sleep(10L));
+
+        awaitTermination(executor);
+        LatencyHistogram.Snapshot snapshot = plugin.snapshot();
+        Assert.assertEquals(3L, snapshot.getTotalCount());
+        Assert.assertTrue(snapshot.getMaxValue() >= TimeUnit.MILLISECONDS.toNanos(200L));
+    }
+
+    @Test
+    public void testSubmittedTaskCanBeCancelled() throws InterruptedException {
+        ExtensibleThreadPoolExecutor executor = createExecutor(new ArrayBlockingQueue<>(4));
+        executor.register(new TaskQueueWaitTimeRecordPlugin());
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Future<?> future = executor.submit(() -> {
+        });
+        future.cancel(false);
+        executor.purge();
+        Assert.assertTrue(executor.getQueue().isEmpty());
+        blocked.countDown();
+        awaitTermination(executor);
+    }
+
+    private static void awaitTermination(ThreadPoolExecutor executor) {
+        // waiting for shutdown
+        executor.shutdown();
+        while (!executor.isTerminated()) {
+        }
+    }
+
+    private static ExtensibleThreadPoolExecutor createExecutor(BlockingQueue<Runnable> queue) {
+        return new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                queue, Thread::new, new ThreadPoolExecutor.DiscardPolicy());
+    }
+}
@@ -219,6 +219,31 @@ public class DefaultThreadPoolPluginManagerTest {
         Assert.assertEquals(TestShutdownAwarePlugin.class, iterator.next().getClass());
     }
 
+    @Test
+    public void testGetPluginSnapshot() {
+        Assert.assertSame(ThreadPoolPluginSnapshot.EMPTY, manager.getPluginSnapshot());
+
+        ThreadPoolPlugin plugin = new TestExecuteAwarePlugin();
+        manager.register(plugin);
+        manager.register(new TestTaskAwarePlugin());
+        ThreadPoolPluginSnapshot snapshot = manager.getPluginSnapshot();
+        Assert.assertEquals(1, snapshot.getExecuteAwarePlugins().length);
+        Assert.assertEquals(1, snapshot.getTaskAwarePlugins().length);
+        Assert.assertEquals(0, snapshot.getRejectedAwarePlugins().length);
+
+        manager.disable(plugin.getId());
+        Assert.assertFalse(manager.getPluginSnapshot().hasExecuteAwarePlugin());
+        // published snapshot is immutable
+        Assert.assertEquals(1, snapshot.getExecuteAwarePlugins().length);
+        manager.enable(plugin.getId());
+        Assert.assertTrue(manager.getPluginSnapshot().hasExecuteAwarePlugin());
+
+        manager.unregister(TestTaskAwarePlugin.class.getSimpleName());
+        Assert.assertFalse(manager.getPluginSnapshot().hasTaskAwarePlugin());
+        manager.clear();
+        Assert.assertSame(ThreadPoolPluginSnapshot.EMPTY, manager.getPluginSnapshot());
+    }
+
     @Order(0)
     @Getter
     private final static class TestTaskAwarePlugin implements TaskAwarePlugin {
@@ -19,6 +19,7 @@ package cn.hippo4j.core.executor.plugin.manager;
 
 import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
 import cn.hippo4j.core.executor.plugin.impl.TaskDecoratorPlugin;
+import cn.hippo4j.core.executor.plugin.impl.TaskExecuteTimeHistogramPlugin;
 import cn.hippo4j.core.executor.plugin.impl.TaskRejectCountRecordPlugin;
 import cn.hippo4j.core.executor.plugin.impl.TaskRejectNotifyAlarmPlugin;
 import cn.hippo4j.core.executor.plugin.impl.TaskTimeoutNotifyAlarmPlugin;
@@ -60,6 +61,7 @@ public class DefaultThreadPoolPluginRegistrarTest {
         Assert.assertTrue(manager.getPlugin(TaskRejectCountRecordPlugin.PLUGIN_NAME).isPresent());
         Assert.assertTrue(manager.getPlugin(TaskRejectNotifyAlarmPlugin.PLUGIN_NAME).isPresent());
         Assert.assertTrue(manager.getPlugin(ThreadPoolExecutorShutdownPlugin.PLUGIN_NAME).isPresent());
+        Assert.assertTrue(manager.getPlugin(TaskExecuteTimeHistogramPlugin.PLUGIN_NAME).isPresent());
     }
 
 }
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.state;
+
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
+import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import cn.hippo4j.core.executor.DynamicThreadPoolWrapper;
+import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * test for {@link RunStateSampler}
+ */
+public class RunStateSamplerTest {
+
+    private static final String THREAD_POOL_ID = "run-state-sampler-test";
+
+    /**
+     * tick resolution long enough to make sure ticks are only triggered by test
+     */
+    private final RunStateSampler sampler = new RunStateSampler(TimeUnit.HOURS.toMillis(1L));
+
+    private DynamicThreadPoolExecutor executor;
+
+    @Before
+    public void init() {
+        executor = new DynamicThreadPoolExecutor(
+                1, 1, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new ArrayBlockingQueue<>(1), THREAD_POOL_ID, Thread::new, new ThreadPoolExecutor.DiscardOldestPolicy());
+        GlobalThreadPoolManage.registerPool(THREAD_POOL_ID, DynamicThreadPoolWrapper.builder()
+                .threadPoolId(THREAD_POOL_ID)
+                .executor(executor)
+                .build());
+    }
+
+    @After
+    public void destroy() {
+        sampler.destroy();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSample() {
+        RunStateTick tick = RunStateSampler.sample(100L);
+        Assert.assertEquals(100L, tick.getTimestamp());
+        RunStateSample sample = tick.getSample(THREAD_POOL_ID);
+        Assert.assertNotNull(sample);
+        Assert.assertSame(executor, sample.getExecutor());
+        Assert.assertEquals(1, sample.getSnapshot().getCorePoolSize());
+        Assert.assertEquals(1, sample.getSnapshot().getQueueCapacity());
+        Assert.assertEquals(THREAD_POOL_ID, sample.getRunStateInfo().getTpId());
+    }
+
+    @Test
+    public void testRunStateInfoSupplementedOncePerRuntime() {
+        AtomicInteger supplements = new AtomicInteger();
+        AbstractThreadPoolRuntime runtime = new AbstractThreadPoolRuntime() {
+
+            @Override
+            public ThreadPoolRunStateInfo supplement(ThreadPoolRunStateInfo threadPoolRunStateInfo) {
+                supplements.incrementAndGet();
+                threadPoolRunStateInfo.setHost("localhost");
+                return threadPoolRunStateInfo;
+            }
+        };
+        RunStateSample sample = RunStateSampler.sample(100L).getSample(THREAD_POOL_ID);
+        ThreadPoolRunStateInfo info = runtime.getPoolRunState(sample);
+        Assert.assertSame(info, runtime.getPoolRunState(sample));
+        Assert.assertEquals(1, supplements.get());
+        Assert.assertEquals("localhost", info.getHost());
+        // the shared info of the sample is left untouched
+        Assert.assertNull(sample.getRunStateInfo().getHost());
+    }
+
+    @Test
+    public void testTickSharedByDueSubscriptions() throws InterruptedException {
+        BlockingQueue<RunStateTick> fastTicks = new LinkedBlockingQueue<>();
+        BlockingQueue<RunStateTick> slowTicks = new LinkedBlockingQueue<>();
+        long start = System.currentTimeMillis();
+        sampler.subscribe("fast", fastTicks::add, 1000L, 0L);
+        sampler.subscribe("slow", slowTicks::add, 3000L, 0L);
+        Assert.assertEquals(2, sampler.getSubscriptionCount());
+
+        RunStateTick tick = sampler.tick(start + 100L);
+        Assert.assertNotNull(tick);
+        Assert.assertSame(tick, fastTicks.poll(1L, TimeUnit.SECONDS));
+        Assert.assertSame(tick, slowTicks.poll(1L, TimeUnit.SECONDS));
+
+        // nothing is due, no sampling at all
+        Assert.assertNull(sampler.tick(start + 600L));
+
+        tick = sampler.tick(start + 1100L);
+        Assert.assertNotNull(tick);
+        Assert.assertSame(tick, fastTicks.poll(1L, TimeUnit.SECONDS));
+        Assert.assertNull(slowTicks.poll(100L, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testSlowListenerDropsOldestTick() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<RunStateTick> ticks = new LinkedBlockingQueue<>();
+        long start = System.currentTimeMillis();
+        sampler.subscribe("slow", tick -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            ticks.add(tick);
+        }, 1L, 0L, 1);
+
+        RunStateTick first = sampler.tick(start + 100L);
+        Assert.assertTrue(blocked.await(1L, TimeUnit.SECONDS));
+        RunStateTick dropped = sampler.tick(start + 200L);
+        RunStateTick last = sampler.tick(start + 300L);
+        Assert.assertNotSame(dropped, last);
+        release.countDown();
+
+        Assert.assertSame(first, ticks.poll(1L, TimeUnit.SECONDS));
+        Assert.assertSame(last, ticks.poll(1L, TimeUnit.SECONDS));
+        Assert.assertNull(ticks.poll(100L, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testListenerFailureIsolated() throws InterruptedException {
+        BlockingQueue<RunStateTick> ticks = new LinkedBlockingQueue<>();
+        long start = System.currentTimeMillis();
+        sampler.subscribe("failure", tick -> {
+            throw new IllegalStateException("failure");
+        }, 1000L, 0L);
+        sampler.subscribe("normal", ticks::add, 1000L, 0L);
+        RunStateTick tick = sampler.tick(start + 100L);
+        Assert.assertSame(tick, ticks.poll(1L, TimeUnit.SECONDS));
+    }
+}
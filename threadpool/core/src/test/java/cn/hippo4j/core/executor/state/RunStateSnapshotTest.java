@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.state;
+
+import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static cn.hippo4j.common.constant.Constants.NO_REJECT_COUNT_NUM;
+
+/**
+ * test for {@link RunStateSnapshot}
+ */
+public class RunStateSnapshotTest {
+
+    @Test
+    public void testOfThreadPoolExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1, 2, 1000L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(4));
+        RunStateSnapshot snapshot = RunStateSnapshot.of(executor);
+        Assert.assertEquals(1, snapshot.getCorePoolSize());
+        Assert.assertEquals(2, snapshot.getMaximumPoolSize());
+        Assert.assertEquals(4, snapshot.getQueueCapacity());
+        Assert.assertEquals(ArrayBlockingQueue.class.getSimpleName(), snapshot.getQueueType());
+        Assert.assertEquals(NO_REJECT_COUNT_NUM, snapshot.getRejectCount());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testOfExtensibleThreadPoolExecutor() {
+        DynamicThreadPoolExecutor executor = new DynamicThreadPoolExecutor(
+                1, 2, 1000L, TimeUnit.MILLISECONDS,
+                1000L, true, 1000L,
+                new ArrayBlockingQueue<>(4), "test", Thread::new, new ThreadPoolExecutor.DiscardOldestPolicy());
+        RunStateSnapshot snapshot = RunStateSnapshot.of(executor);
+        Assert.assertEquals(1, snapshot.getCorePoolSize());
+        Assert.assertEquals(2, snapshot.getMaximumPoolSize());
+        Assert.assertEquals(0, snapshot.getPoolSize());
+        Assert.assertEquals(0L, snapshot.getRejectCount());
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.executor.support;
+
+import cn.hippo4j.common.toolkit.ThreadUtil;
+import cn.hippo4j.core.executor.ExtensibleThreadPoolExecutor;
+import cn.hippo4j.core.executor.plugin.ExecuteAwarePlugin;
+import cn.hippo4j.core.executor.plugin.manager.DefaultThreadPoolPluginManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link TaskQueue}
+ */
+public class TaskQueueTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ExtensibleThreadPoolExecutor executor;
+
+    @Before
+    public void initExecutor() {
+        executor = new ExtensibleThreadPoolExecutor(
+                "test", new DefaultThreadPoolPluginManager(),
+                1, 3, 1000L, TimeUnit.MILLISECONDS,
+                new TaskQueue(2), Thread::new, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @After
+    public void shutdownExecutor() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOfferWithoutExecutor() {
+        TaskQueue queue = new TaskQueue(1);
+        Assert.assertTrue(queue.offer(() -> {
+        }));
+        Assert.assertFalse(queue.offer(() -> {
+        }));
+    }
+
+    @Test
+    public void testGrowThreadsBeforeQueuing() {
+        Assert.assertTrue(executor.isFastPool());
+        for (int i = 0; i < 3; i++) {
+            executor.execute(this::awaitRelease);
+        }
+        Assert.assertEquals(3, executor.getPoolSize());
+        Assert.assertEquals(0, executor.getQueue().size());
+        Assert.assertEquals(3, executor.getSubmittedTaskCount());
+
+        // maximum pool size reached, tasks are queued then rejected when the queue is full
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+        Assert.assertEquals(3, executor.getPoolSize());
+        Assert.assertEquals(2, executor.getQueue().size());
+        try {
+            executor.execute(this::awaitRelease);
+            Assert.fail();
+        } catch (RejectedExecutionException ignored) {
+        }
+        Assert.assertEquals(5, executor.getSubmittedTaskCount());
+        Assert.assertEquals(1L, executor.getRunStateSnapshot().getRejectCount());
+    }
+
+    @Test
+    public void testQueueToIdleWorker() {
+        executor.execute(() -> {
+        });
+        executor.execute(() -> {
+        });
+        waitUntilCompleted(2L);
+        Assert.assertEquals(0, executor.getSubmittedTaskCount());
+        int poolSize = executor.getPoolSize();
+
+        // idle workers take the task, no more thread is started
+        executor.execute(this::awaitRelease);
+        Assert.assertEquals(poolSize, executor.getPoolSize());
+    }
+
+    @Test
+    public void testResizeMaximumPoolSize() {
+        executor.setMaximumPoolSize(4);
+        for (int i = 0; i < 4; i++) {
+            executor.execute(this::awaitRelease);
+        }
+        Assert.assertEquals(4, executor.getPoolSize());
+        Assert.assertEquals(0, executor.getQueue().size());
+    }
+
+    @Test
+    public void testRemoveAndPurgeQueuedTasks() {
+        for (int i = 0; i < 3; i++) {
+            executor.execute(this::awaitRelease);
+        }
+        Runnable queued = this::awaitRelease;
+        executor.execute(queued);
+        Future<?> cancelled = executor.submit(this::awaitRelease);
+        Assert.assertEquals(5, executor.getSubmittedTaskCount());
+        Assert.assertTrue(executor.remove(queued));
+        Assert.assertEquals(4, executor.getSubmittedTaskCount());
+        cancelled.cancel(false);
+        executor.purge();
+        Assert.assertEquals(0, executor.getQueue().size());
+        Assert.assertEquals(3, executor.getSubmittedTaskCount());
+    }
+
+    @Test
+    public void testBeforeExecuteFails() {
+        executor.register(new ExecuteAwarePlugin() {
+
+            @Override
+            public void beforeExecute(Thread thread, Runnable runnable) {
+                throw new IllegalStateException("before execute failed");
+            }
+        });
+        executor.execute(() -> {
+        });
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (executor.getSubmittedTaskCount() > 0 && System.currentTimeMillis() < deadline) {
+            ThreadUtil.sleep(10L);
+        }
+        Assert.assertEquals(0, executor.getSubmittedTaskCount());
+    }
+
+    @Test
+    public void testBuildFastPool() {
+        ThreadPoolExecutor fastPool = ThreadPoolBuilder.builder()
+                .isFastPool(true)
+                .threadFactory("fast-pool-test")
+                .corePoolSize(1)
+                .maximumPoolSize(2)
+                .capacity(8)
+                .build();
+        Assert.assertTrue(fastPool instanceof ExtensibleThreadPoolExecutor);
+        Assert.assertTrue(fastPool.getQueue() instanceof TaskQueue);
+        Assert.assertEquals(8, fastPool.getQueue().remainingCapacity());
+        fastPool.shutdown();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void waitUntilCompleted(long taskCount) {
+        while (executor.getCompletedTaskCount() < taskCount || executor.getSubmittedTaskCount() > 0) {
+            ThreadUtil.sleep(10L);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.core.toolkit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * test for {@link LatencyHistogram}
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketIndex() {
+        int lastIndex = -1;
+        for (long value = 0L; value < 1 << 16; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            Assert.assertTrue(index == lastIndex || index == lastIndex + 1);
+            Assert.assertTrue(LatencyHistogram.highestValueOfBucket(index) >= value);
+            lastIndex = index;
+        }
+        Assert.assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(LatencyHistogram.MAX_TRACKABLE_VALUE));
+    }
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        for (long value = 1L; value <= 10000L; value++) {
+            histogram.record(value * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(10000L, snapshot.getTotalCount());
+        Assert.assertEquals(10000000L, snapshot.getMaxValue());
+        Assert.assertTrue(inDeviation(5000000L, snapshot.getValueAtPercentile(50D)));
+        Assert.assertTrue(inDeviation(9900000L, snapshot.getValueAtPercentile(99D)));
+        Assert.assertTrue(inDeviation(9990000L, snapshot.getValueAtPercentile(99.9D)));
+        Assert.assertTrue(inDeviation(5000500L, snapshot.getMeanValue()));
+
+        histogram.reset();
+        Assert.assertEquals(0L, histogram.snapshot().getTotalCount());
+        Assert.assertEquals(0L, histogram.snapshot().getValueAtPercentile(99D));
+    }
+
+    @Test
+    public void testRollingSnapshot() {
+        RollingLatencyHistogram histogram = new RollingLatencyHistogram(60000L, 6, 1);
+        histogram.record(100L);
+        histogram.record(-1L);
+        histogram.record(Long.MAX_VALUE);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(3L, snapshot.getTotalCount());
+        Assert.assertEquals(LatencyHistogram.MAX_TRACKABLE_VALUE, snapshot.getMaxValue());
+        Assert.assertEquals(10000L, histogram.getSliceMillis());
+    }
+
+    private boolean inDeviation(long expect, long actual) {
+        // relative error of bucket is less than 1 / 16
+        return Math.abs(expect - actual) <= expect / 16;
+    }
+}
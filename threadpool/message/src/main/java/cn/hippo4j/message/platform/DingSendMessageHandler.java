@@ -42,9 +42,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Objects;
 
+import static cn.hippo4j.message.platform.constant.DingAlarmConstants.DING_ALARM_QUEUE_WAIT_REPLACE_TXT;
 import static cn.hippo4j.message.platform.constant.DingAlarmConstants.DING_ALARM_TIMEOUT_REPLACE_TXT;
 import static cn.hippo4j.message.platform.constant.DingAlarmConstants.DING_ALARM_TIMEOUT_TRACE_REPLACE_TXT;
 import static cn.hippo4j.message.platform.constant.DingAlarmConstants.DING_ALARM_TITLE;
+import static cn.hippo4j.message.platform.constant.DingAlarmConstants.DING_NOTICE_REASON_REPLACE_TXT;
 import static cn.hippo4j.message.platform.constant.DingAlarmConstants.DING_NOTICE_TITLE;
 
 /**
@@ -68,6 +70,8 @@ public class DingSendMessageHandler extends AbstractRobotSendMessageHandler {
                 .changeSeparator(" -> ")
                 .replaceTxt(DING_ALARM_TIMEOUT_REPLACE_TXT)
                 .traceReplaceTxt(DING_ALARM_TIMEOUT_TRACE_REPLACE_TXT)
+                .queueWaitReplaceTxt(DING_ALARM_QUEUE_WAIT_REPLACE_TXT)
+                .reasonReplaceTxt(DING_NOTICE_REASON_REPLACE_TXT)
                 .alarmMessageContent(Singleton.get(dingAlarmTxtKey, () -> FileUtil.readUtf8String(dingAlarmTxtKey)))
                 .configMessageContent(Singleton.get(dingConfigTxtKey, () -> FileUtil.readUtf8String(dingConfigTxtKey)))
                 .build();
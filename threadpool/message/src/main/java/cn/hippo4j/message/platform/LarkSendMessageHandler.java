@@ -81,6 +81,11 @@ public class LarkSendMessageHandler implements SendMessageHandler {
         } else {
             larkAlarmTxt = StringUtil.replace(larkAlarmTxt, larkAlarmTimeoutReplaceJson, "");
         }
+        String larkAlarmQueueWaitReplaceJsonKey = "message/robot/dynamic-thread-pool/lark-alarm-queue-wait-replace.json";
+        String larkAlarmQueueWaitReplaceJson = Singleton.get(larkAlarmQueueWaitReplaceJsonKey, () -> FileUtil.readUtf8String(larkAlarmQueueWaitReplaceJsonKey));
+        Long queueWaitTime = alarmNotifyRequest.getQueueWaitTime();
+        String larkAlarmQueueWaitReplaceTxt = queueWaitTime != null ? String.format(larkAlarmQueueWaitReplaceJson, queueWaitTime) : "";
+        larkAlarmTxt = StringUtil.replace(larkAlarmTxt, larkAlarmQueueWaitReplaceJson, larkAlarmQueueWaitReplaceTxt);
         String text = String.format(larkAlarmTxt,
                 alarmNotifyRequest.getActive(),
                 alarmNotifyRequest.getNotifyTypeEnum(),
@@ -112,6 +117,11 @@ public class LarkSendMessageHandler implements SendMessageHandler {
         String afterReceives = getReceives(notifyConfig.getReceives());
         String larkNoticeJsonKey = "message/robot/dynamic-thread-pool/lark-config.json";
         String larkNoticeJson = Singleton.get(larkNoticeJsonKey, () -> FileUtil.readUtf8String(larkNoticeJsonKey));
+        String larkNoticeReasonReplaceJsonKey = "message/robot/dynamic-thread-pool/lark-config-reason-replace.json";
+        String larkNoticeReasonReplaceJson = Singleton.get(larkNoticeReasonReplaceJsonKey, () -> FileUtil.readUtf8String(larkNoticeReasonReplaceJsonKey));
+        String reason = changeParameterNotifyRequest.getReason();
+        String larkNoticeReasonReplaceTxt = StringUtil.isNotBlank(reason) ? String.format(larkNoticeReasonReplaceJson, reason.replace("%", "%%")) : "";
+        larkNoticeJson = StringUtil.replace(larkNoticeJson, larkNoticeReasonReplaceJson, larkNoticeReasonReplaceTxt);
         String text = String.format(larkNoticeJson,
                 changeParameterNotifyRequest.getActive(),
                 threadPoolId,
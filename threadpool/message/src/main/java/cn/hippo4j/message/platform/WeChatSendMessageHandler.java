@@ -30,6 +30,8 @@ import lombok.Data;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
+import static cn.hippo4j.message.platform.constant.WeChatAlarmConstants.WE_CHAT_ALARM_QUEUE_WAIT_REPLACE_TXT;
+import static cn.hippo4j.message.platform.constant.WeChatAlarmConstants.WE_CHAT_NOTICE_REASON_REPLACE_TXT;
 import static cn.hippo4j.message.platform.constant.WeChatAlarmConstants.WE_CHAT_ALARM_TIMOUT_REPLACE_TXT;
 import static cn.hippo4j.message.platform.constant.WeChatAlarmConstants.WE_CHAT_ALARM_TIMOUT_TRACE_REPLACE_TXT;
 import static cn.hippo4j.message.platform.constant.WeChatAlarmConstants.WE_CHAT_SERVER_URL;
@@ -54,6 +56,8 @@ public class WeChatSendMessageHandler extends AbstractRobotSendMessageHandler {
                 .changeSeparator("  ➲  ")
                 .replaceTxt(WE_CHAT_ALARM_TIMOUT_REPLACE_TXT)
                 .traceReplaceTxt(WE_CHAT_ALARM_TIMOUT_TRACE_REPLACE_TXT)
+                .queueWaitReplaceTxt(WE_CHAT_ALARM_QUEUE_WAIT_REPLACE_TXT)
+                .reasonReplaceTxt(WE_CHAT_NOTICE_REASON_REPLACE_TXT)
                 .alarmMessageContent(Singleton.get(weChatAlarmTxtKey, () -> FileUtil.readUtf8String(weChatAlarmTxtKey)))
                 .configMessageContent(Singleton.get(weChatConfigTxtKey, () -> FileUtil.readUtf8String(weChatConfigTxtKey)))
                 .build();
@@ -73,6 +73,9 @@ public abstract class AbstractRobotSendMessageHandler implements SendMessageHand
             replaceTxt = "";
         }
         alarmContentTxt = StringUtil.replace(alarmContentTxt, "${timeout-content}", replaceTxt);
+        Long queueWaitTime = alarmNotifyRequest.getQueueWaitTime();
+        String queueWaitReplaceTxt = queueWaitTime != null ? String.format(robotMessageActualContent.getQueueWaitReplaceTxt(), queueWaitTime) : "";
+        alarmContentTxt = StringUtil.replace(alarmContentTxt, "${queue-wait-content}", queueWaitReplaceTxt);
         String text = String.format(
                 alarmContentTxt,
                 alarmNotifyRequest.getActive(),
@@ -108,8 +111,11 @@ public abstract class AbstractRobotSendMessageHandler implements SendMessageHand
         RobotMessageActualContent robotMessageActualContent = buildMessageActualContent();
         String threadPoolId = changeParameterNotifyRequest.getThreadPoolId();
         String changeSeparator = robotMessageActualContent.getChangeSeparator();
+        String reason = changeParameterNotifyRequest.getReason();
+        String reasonReplaceTxt = StringUtil.isNotBlank(reason) ? String.format(robotMessageActualContent.getReasonReplaceTxt(), reason.replace("%", "%%")) : "";
+        String configContentTxt = StringUtil.replace(robotMessageActualContent.getConfigMessageContent(), "${change-reason-content}", reasonReplaceTxt);
         String text = String.format(
-                robotMessageActualContent.getConfigMessageContent(),
+                configContentTxt,
                 changeParameterNotifyRequest.getActive(),
                 threadPoolId,
                 changeParameterNotifyRequest.getAppName(),
@@ -51,6 +51,16 @@ public class RobotMessageActualContent {
      */
     private String traceReplaceTxt;
 
+    /**
+     * Queue wait replace txt
+     */
+    private String queueWaitReplaceTxt;
+
+    /**
+     * Change reason replace txt
+     */
+    private String reasonReplaceTxt;
+
     /**
      * Receive separator
      */
@@ -50,4 +50,14 @@ public class DingAlarmConstants {
                     + "<font color=#708090 size=2>超时时间：%d / ms</font> \n\n "
                     + DING_ALARM_TIMEOUT_TRACE_REPLACE_TXT
                     + " --- \n\n ";
+
+    /**
+     * Replace task queue wait time template
+     */
+    public static final String DING_ALARM_QUEUE_WAIT_REPLACE_TXT = "\n\n<font color=#708090 size=2>队列等待时间 P99：%d / ms</font> ";
+
+    /**
+     * Replace change reason template
+     */
+    public static final String DING_NOTICE_REASON_REPLACE_TXT = "\n\n<font color=#708090 size=2>变更原因：%s</font> ";
 }
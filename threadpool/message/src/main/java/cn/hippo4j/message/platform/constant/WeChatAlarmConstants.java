@@ -39,4 +39,14 @@ public class WeChatAlarmConstants {
             "\n> 任务执行时间：%s / ms \n"
                     + "> 超时时间：%s / ms "
                     + WE_CHAT_ALARM_TIMOUT_TRACE_REPLACE_TXT;
+
+    /**
+     * Replace task queue wait time template
+     */
+    public static final String WE_CHAT_ALARM_QUEUE_WAIT_REPLACE_TXT = "\n> 队列等待时间 P99：%s / ms ";
+
+    /**
+     * Replace change reason template
+     */
+    public static final String WE_CHAT_NOTICE_REASON_REPLACE_TXT = "\n> 变更原因：%s ";
 }
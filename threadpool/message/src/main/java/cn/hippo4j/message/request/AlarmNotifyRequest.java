@@ -130,6 +130,11 @@ public class AlarmNotifyRequest extends BaseNotifyRequest {
      */
     private Long executeTimeOut;
 
+    /**
+     * p99 of task queue wait time in milliseconds
+     */
+    private Long queueWaitTime;
+
     /**
      * Execute timeout trace
      */
@@ -67,4 +67,6 @@ public class ChangeParameterNotifyRequest extends BaseNotifyRequest {
     private String beforeRejectedName;
 
     private String nowRejectedName;
+
+    private String reason;
 }
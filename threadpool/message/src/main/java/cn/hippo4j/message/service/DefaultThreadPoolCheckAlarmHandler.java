@@ -18,23 +18,29 @@
 package cn.hippo4j.message.service;
 
 import cn.hippo4j.core.api.ThreadPoolCheckAlarm;
+import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
 import cn.hippo4j.common.toolkit.CalculateUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.core.executor.DynamicThreadPoolExecutor;
 import cn.hippo4j.core.executor.DynamicThreadPoolWrapper;
 import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
+import cn.hippo4j.core.executor.plugin.impl.TaskQueueWaitTimeRecordPlugin;
+import cn.hippo4j.core.executor.plugin.manager.ThreadPoolPluginSupport;
+import cn.hippo4j.core.executor.state.RunStateSample;
+import cn.hippo4j.core.executor.state.RunStateSampler;
+import cn.hippo4j.core.executor.state.RunStateSnapshot;
+import cn.hippo4j.core.executor.state.RunStateTick;
+import cn.hippo4j.core.executor.state.RunStateTickListener;
 import cn.hippo4j.core.executor.support.ThreadPoolBuilder;
 import cn.hippo4j.core.toolkit.ExecutorTraceContextUtil;
 import cn.hippo4j.core.toolkit.IdentifyUtil;
 import cn.hippo4j.message.enums.NotifyTypeEnum;
 import cn.hippo4j.message.request.AlarmNotifyRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
@@ -45,13 +51,19 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Default thread-pool check alarm handler.
+ * <p> If {@link RunStateSampler} is given, the check is driven by its ticks and shares the run state snapshots
+ * with the monitors, otherwise the handler schedules itself and takes its own snapshots.
  */
 @Slf4j
-@RequiredArgsConstructor
-public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolCheckAlarm {
+public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolCheckAlarm, RunStateTickListener {
 
     private final Hippo4jSendMessageService hippo4jSendMessageService;
 
+    /**
+     * Run state sampler, null if the handler schedules itself
+     */
+    private final RunStateSampler runStateSampler;
+
     @Value("${spring.profiles.active:UNKNOWN}")
     private String active;
 
@@ -77,11 +89,35 @@ public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolC
             .rejected(new ThreadPoolExecutor.AbortPolicy())
             .build();
 
+    public DefaultThreadPoolCheckAlarmHandler(Hippo4jSendMessageService hippo4jSendMessageService) {
+        this(hippo4jSendMessageService, null);
+    }
+
+    public DefaultThreadPoolCheckAlarmHandler(Hippo4jSendMessageService hippo4jSendMessageService, RunStateSampler runStateSampler) {
+        this.hippo4jSendMessageService = hippo4jSendMessageService;
+        this.runStateSampler = runStateSampler;
+    }
+
     @Override
     public void run(String... args) throws Exception {
+        if (runStateSampler != null) {
+            runStateSampler.subscribe("alarm.check", this, TimeUnit.SECONDS.toMillis(checkStateInterval), 0L);
+            return;
+        }
         alarmNotifyExecutor.scheduleWithFixedDelay(this, 0, checkStateInterval, TimeUnit.SECONDS);
     }
 
+    @Override
+    public void onTick(RunStateTick tick) {
+        for (RunStateSample each : tick.getSamples()) {
+            ThreadPoolNotifyAlarm threadPoolNotifyAlarm = GlobalNotifyAlarmManage.get(each.getThreadPoolId());
+            if (threadPoolNotifyAlarm != null && threadPoolNotifyAlarm.getAlarm()) {
+                checkPoolCapacityAlarm(each.getThreadPoolId(), each.getExecutor(), each.getSnapshot(), each.getRunStateInfo());
+                checkPoolActivityAlarm(each.getThreadPoolId(), each.getExecutor(), each.getSnapshot());
+            }
+        }
+    }
+
     @Override
     public void run() {
         List<String> listThreadPoolId = GlobalThreadPoolManage.listThreadPoolId();
@@ -90,36 +126,64 @@ public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolC
             if (threadPoolNotifyAlarm != null && threadPoolNotifyAlarm.getAlarm()) {
                 DynamicThreadPoolWrapper wrapper = GlobalThreadPoolManage.getExecutorService(threadPoolId);
                 ThreadPoolExecutor executor = wrapper.getExecutor();
-                checkPoolCapacityAlarm(threadPoolId, executor);
-                checkPoolActivityAlarm(threadPoolId, executor);
+                RunStateSnapshot snapshot = RunStateSnapshot.of(executor);
+                checkPoolCapacityAlarm(threadPoolId, executor, snapshot, null);
+                checkPoolActivityAlarm(threadPoolId, executor, snapshot);
             }
         });
     }
 
     /**
-     * Check thread pool capacity alarm.
+     * Check thread pool capacity alarm. <br />
+     * Besides the usage of queue, the p99 of task queue wait time is also checked
+     * if {@link TaskQueueWaitTimeRecordPlugin} is registered and the queue wait alarm is configured.
      *
      * @param threadPoolId       thread-pool id
      * @param threadPoolExecutor thread-pool executor
      */
     @Override
     public void checkPoolCapacityAlarm(String threadPoolId, ThreadPoolExecutor threadPoolExecutor) {
+        checkPoolCapacityAlarm(threadPoolId, threadPoolExecutor, RunStateSnapshot.of(threadPoolExecutor), null);
+    }
+
+    /**
+     * Check thread pool capacity alarm, the queue wait time is taken from the run state info of sampler if present.
+     */
+    private void checkPoolCapacityAlarm(String threadPoolId, ThreadPoolExecutor threadPoolExecutor, RunStateSnapshot snapshot, ThreadPoolRunStateInfo runStateInfo) {
         ThreadPoolNotifyAlarm alarmConfig = GlobalNotifyAlarmManage.get(threadPoolId);
-        if (Objects.isNull(alarmConfig) || !alarmConfig.getAlarm() || alarmConfig.getCapacityAlarm() <= 0) {
+        if (Objects.isNull(alarmConfig) || !alarmConfig.getAlarm()) {
             return;
         }
-        BlockingQueue blockingQueue = threadPoolExecutor.getQueue();
-        int queueSize = blockingQueue.size();
-        int capacity = queueSize + blockingQueue.remainingCapacity();
-        int divide = CalculateUtil.divide(queueSize, capacity);
-        boolean isSend = alarmConfig.getAlarm() && divide > alarmConfig.getCapacityAlarm();
+        boolean isSend = false;
+        if (alarmConfig.getCapacityAlarm() > 0) {
+            int divide = CalculateUtil.divide(snapshot.getQueueSize(), snapshot.getQueueCapacity());
+            isSend = divide > alarmConfig.getCapacityAlarm();
+        }
+        Long queueWaitTime = null;
+        Long queueWaitAlarm = alarmConfig.getQueueWaitAlarm();
+        if (queueWaitAlarm != null && queueWaitAlarm > 0) {
+            Long queueWaitTimeNanos = runStateInfo != null ? runStateInfo.getQueueWaitTimeP99() : queueWaitTimeP99(threadPoolExecutor);
+            queueWaitTime = queueWaitTimeNanos == null ? null : TimeUnit.NANOSECONDS.toMillis(queueWaitTimeNanos);
+            isSend = isSend || (queueWaitTime != null && queueWaitTime > queueWaitAlarm);
+        }
         if (isSend) {
-            AlarmNotifyRequest alarmNotifyRequest = buildAlarmNotifyRequest(threadPoolExecutor);
+            AlarmNotifyRequest alarmNotifyRequest = buildAlarmNotifyRequest(threadPoolExecutor, snapshot);
             alarmNotifyRequest.setThreadPoolId(threadPoolId);
+            alarmNotifyRequest.setQueueWaitTime(queueWaitTime);
             hippo4jSendMessageService.sendAlarmMessage(NotifyTypeEnum.CAPACITY, alarmNotifyRequest);
         }
     }
 
+    private static Long queueWaitTimeP99(ThreadPoolExecutor threadPoolExecutor) {
+        if (!(threadPoolExecutor instanceof ThreadPoolPluginSupport)) {
+            return null;
+        }
+        return ((ThreadPoolPluginSupport) threadPoolExecutor)
+                .getPluginOfType(TaskQueueWaitTimeRecordPlugin.PLUGIN_NAME, TaskQueueWaitTimeRecordPlugin.class)
+                .map(plugin -> plugin.snapshot().getValueAtPercentile(99D))
+                .orElse(null);
+    }
+
     /**
      * Check thread pool activity alarm.
      *
@@ -128,16 +192,18 @@ public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolC
      */
     @Override
     public void checkPoolActivityAlarm(String threadPoolId, ThreadPoolExecutor threadPoolExecutor) {
+        checkPoolActivityAlarm(threadPoolId, threadPoolExecutor, RunStateSnapshot.of(threadPoolExecutor));
+    }
+
+    private void checkPoolActivityAlarm(String threadPoolId, ThreadPoolExecutor threadPoolExecutor, RunStateSnapshot snapshot) {
         ThreadPoolNotifyAlarm alarmConfig = GlobalNotifyAlarmManage.get(threadPoolId);
         if (Objects.isNull(alarmConfig) || !alarmConfig.getAlarm() || alarmConfig.getActiveAlarm() <= 0) {
             return;
         }
-        int activeCount = threadPoolExecutor.getActiveCount();
-        int maximumPoolSize = threadPoolExecutor.getMaximumPoolSize();
-        int divide = CalculateUtil.divide(activeCount, maximumPoolSize);
+        int divide = CalculateUtil.divide(snapshot.getActiveCount(), snapshot.getMaximumPoolSize());
         boolean isSend = alarmConfig.getAlarm() && divide > alarmConfig.getActiveAlarm();
         if (isSend) {
-            AlarmNotifyRequest alarmNotifyRequest = buildAlarmNotifyRequest(threadPoolExecutor);
+            AlarmNotifyRequest alarmNotifyRequest = buildAlarmNotifyRequest(threadPoolExecutor, snapshot);
             alarmNotifyRequest.setThreadPoolId(threadPoolId);
             hippo4jSendMessageService.sendAlarmMessage(NotifyTypeEnum.ACTIVITY, alarmNotifyRequest);
         }
@@ -201,30 +267,37 @@ public class DefaultThreadPoolCheckAlarmHandler implements Runnable, ThreadPoolC
      * Build alarm notify request.
      *
      * @param threadPoolExecutor thread-pool executor
-     * @return
+     * @return alarm notify request
      */
     public AlarmNotifyRequest buildAlarmNotifyRequest(ThreadPoolExecutor threadPoolExecutor) {
-        BlockingQueue<Runnable> blockingQueue = threadPoolExecutor.getQueue();
+        return buildAlarmNotifyRequest(threadPoolExecutor, RunStateSnapshot.of(threadPoolExecutor));
+    }
+
+    /**
+     * Build alarm notify request from a snapshot of run state.
+     *
+     * @param threadPoolExecutor thread-pool executor
+     * @param snapshot           snapshot of run state
+     * @return alarm notify request
+     */
+    public AlarmNotifyRequest buildAlarmNotifyRequest(ThreadPoolExecutor threadPoolExecutor, RunStateSnapshot snapshot) {
         RejectedExecutionHandler rejectedExecutionHandler = threadPoolExecutor.getRejectedExecutionHandler();
-        long rejectCount = threadPoolExecutor instanceof DynamicThreadPoolExecutor
-                ? ((DynamicThreadPoolExecutor) threadPoolExecutor).getRejectCountNum()
-                : -1L;
         return AlarmNotifyRequest.builder()
                 .appName(StringUtil.isBlank(itemId) ? applicationName : itemId)
                 .active(active.toUpperCase())
                 .identify(IdentifyUtil.getIdentify())
-                .corePoolSize(threadPoolExecutor.getCorePoolSize())
-                .maximumPoolSize(threadPoolExecutor.getMaximumPoolSize())
-                .poolSize(threadPoolExecutor.getPoolSize())
-                .activeCount(threadPoolExecutor.getActiveCount())
-                .largestPoolSize(threadPoolExecutor.getLargestPoolSize())
-                .completedTaskCount(threadPoolExecutor.getCompletedTaskCount())
-                .queueName(blockingQueue.getClass().getSimpleName())
-                .capacity(blockingQueue.size() + blockingQueue.remainingCapacity())
-                .queueSize(blockingQueue.size())
-                .remainingCapacity(blockingQueue.remainingCapacity())
+                .corePoolSize(snapshot.getCorePoolSize())
+                .maximumPoolSize(snapshot.getMaximumPoolSize())
+                .poolSize(snapshot.getPoolSize())
+                .activeCount(snapshot.getActiveCount())
+                .largestPoolSize(snapshot.getLargestPoolSize())
+                .completedTaskCount(snapshot.getCompletedTaskCount())
+                .queueName(snapshot.getQueueType())
+                .capacity(snapshot.getQueueCapacity())
+                .queueSize(snapshot.getQueueSize())
+                .remainingCapacity(snapshot.getQueueRemainingCapacity())
                 .rejectedExecutionHandlerName(rejectedExecutionHandler.getClass().getSimpleName())
-                .rejectCountNum(rejectCount)
+                .rejectCountNum(snapshot.getRejectCount())
                 .build();
     }
 }
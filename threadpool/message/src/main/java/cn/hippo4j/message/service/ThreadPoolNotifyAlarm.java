@@ -48,6 +48,11 @@ public class ThreadPoolNotifyAlarm {
     @NonNull
     private Integer capacityAlarm;
 
+    /**
+     * Queue wait alarm, p99 of task queue wait time in milliseconds, null or non-positive if disabled
+     */
+    private Long queueWaitAlarm;
+
     /**
      * Interval
      */
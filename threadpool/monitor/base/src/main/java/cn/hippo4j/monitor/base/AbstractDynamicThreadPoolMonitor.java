@@ -19,6 +19,8 @@ package cn.hippo4j.monitor.base;
 
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
 import cn.hippo4j.core.executor.manage.GlobalThreadPoolManage;
+import cn.hippo4j.core.executor.state.RunStateSample;
+import cn.hippo4j.core.executor.state.RunStateTick;
 import cn.hippo4j.core.executor.state.ThreadPoolRunStateHandler;
 
 import javax.annotation.Resource;
@@ -44,4 +46,11 @@ public abstract class AbstractDynamicThreadPoolMonitor implements DynamicThreadP
         List<String> listDynamicThreadPoolId = GlobalThreadPoolManage.listThreadPoolId();
         listDynamicThreadPoolId.forEach(each -> execute(threadPoolRunStateHandler.getPoolRunState(each)));
     }
+
+    @Override
+    public void collect(RunStateTick tick) {
+        for (RunStateSample each : tick.getSamples()) {
+            execute(threadPoolRunStateHandler.getPoolRunState(each));
+        }
+    }
 }
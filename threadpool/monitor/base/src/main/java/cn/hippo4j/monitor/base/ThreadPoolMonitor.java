@@ -17,6 +17,8 @@
 
 package cn.hippo4j.monitor.base;
 
+import cn.hippo4j.core.executor.state.RunStateTick;
+
 /**
  * Thread-pool runtime monitor.
  */
@@ -33,4 +35,13 @@ public interface ThreadPoolMonitor {
      * Collect thread-pool runtime data.
      */
     void collect();
+
+    /**
+     * Collect thread-pool runtime data from the run state sampled in the tick.
+     *
+     * @param tick tick shared by all the monitors
+     */
+    default void collect(RunStateTick tick) {
+        collect();
+    }
 }
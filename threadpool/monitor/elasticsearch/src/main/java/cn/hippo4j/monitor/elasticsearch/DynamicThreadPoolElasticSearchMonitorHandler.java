@@ -19,8 +19,8 @@ package cn.hippo4j.monitor.elasticsearch;
 
 import cn.hippo4j.core.config.ApplicationContextHolder;
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
-import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
+import cn.hippo4j.common.toolkit.ThreadPoolRunStateInfoConvert;
 import cn.hippo4j.core.toolkit.FileUtil;
 import cn.hippo4j.monitor.base.AbstractDynamicThreadPoolMonitor;
 import cn.hippo4j.monitor.base.MonitorTypeEnum;
@@ -57,7 +57,7 @@ public class DynamicThreadPoolElasticSearchMonitorHandler extends AbstractDynami
 
     @Override
     protected void execute(ThreadPoolRunStateInfo poolRunStateInfo) {
-        ElasticSearchThreadPoolRunStateInfo esThreadPoolRunStateInfo = BeanUtil.convert(poolRunStateInfo, ElasticSearchThreadPoolRunStateInfo.class);
+        ElasticSearchThreadPoolRunStateInfo esThreadPoolRunStateInfo = ThreadPoolRunStateInfoConvert.copy(poolRunStateInfo, new ElasticSearchThreadPoolRunStateInfo());
         Environment environment = ApplicationContextHolder.getInstance().getEnvironment();
         String indexName = environment.getProperty("es.thread-pool-state.index.name", "thread-pool-state");
         String applicationName = environment.getProperty("spring.application.name", "application");
@@ -19,8 +19,8 @@ package cn.hippo4j.monitor.micrometer;
 
 import cn.hippo4j.core.config.ApplicationContextHolder;
 import cn.hippo4j.common.model.ThreadPoolRunStateInfo;
-import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.common.toolkit.CollectionUtil;
+import cn.hippo4j.common.toolkit.ThreadPoolRunStateInfoConvert;
 import cn.hippo4j.monitor.base.AbstractDynamicThreadPoolMonitor;
 import cn.hippo4j.monitor.base.MonitorTypeEnum;
 import io.micrometer.core.instrument.Metrics;
@@ -45,29 +45,39 @@ public class DynamicThreadPoolMicrometerMonitorHandler extends AbstractDynamicTh
 
     @Override
     protected void execute(ThreadPoolRunStateInfo poolRunStateInfo) {
-        ThreadPoolRunStateInfo stateInfo = runStateCache.get(poolRunStateInfo.getTpId());
-        if (stateInfo != null) {
-            BeanUtil.convert(poolRunStateInfo, stateInfo);
-        } else {
-            runStateCache.put(poolRunStateInfo.getTpId(), poolRunStateInfo);
-        }
+        // the gauges read a copy of their own, the collected info is shared with the other collectors
+        ThreadPoolRunStateInfo stateInfo = runStateCache.computeIfAbsent(poolRunStateInfo.getTpId(), each -> new ThreadPoolRunStateInfo());
+        ThreadPoolRunStateInfoConvert.copy(poolRunStateInfo, stateInfo);
         Environment environment = ApplicationContextHolder.getInstance().getEnvironment();
         String applicationName = environment.getProperty("spring.application.name", "application");
         Iterable<Tag> tags = CollectionUtil.newArrayList(
                 Tag.of(DYNAMIC_THREAD_POOL_ID_TAG, poolRunStateInfo.getTpId()),
                 Tag.of(APPLICATION_NAME_TAG, applicationName));
-        Metrics.gauge(metricName("current.load"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getSimpleCurrentLoad);
-        Metrics.gauge(metricName("peak.load"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getSimplePeakLoad);
-        Metrics.gauge(metricName("core.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getCoreSize);
-        Metrics.gauge(metricName("maximum.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getMaximumSize);
-        Metrics.gauge(metricName("current.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getPoolSize);
-        Metrics.gauge(metricName("largest.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getLargestPoolSize);
-        Metrics.gauge(metricName("active.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getActiveSize);
-        Metrics.gauge(metricName("queue.size"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getQueueSize);
-        Metrics.gauge(metricName("queue.capacity"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getQueueCapacity);
-        Metrics.gauge(metricName("queue.remaining.capacity"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getQueueRemainingCapacity);
-        Metrics.gauge(metricName("completed.task.count"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getCompletedTaskCount);
-        Metrics.gauge(metricName("reject.count"), tags, poolRunStateInfo, ThreadPoolRunStateInfo::getRejectCount);
+        Metrics.gauge(metricName("current.load"), tags, stateInfo, ThreadPoolRunStateInfo::getSimpleCurrentLoad);
+        Metrics.gauge(metricName("peak.load"), tags, stateInfo, ThreadPoolRunStateInfo::getSimplePeakLoad);
+        Metrics.gauge(metricName("core.size"), tags, stateInfo, ThreadPoolRunStateInfo::getCoreSize);
+        Metrics.gauge(metricName("maximum.size"), tags, stateInfo, ThreadPoolRunStateInfo::getMaximumSize);
+        Metrics.gauge(metricName("current.size"), tags, stateInfo, ThreadPoolRunStateInfo::getPoolSize);
+        Metrics.gauge(metricName("largest.size"), tags, stateInfo, ThreadPoolRunStateInfo::getLargestPoolSize);
+        Metrics.gauge(metricName("active.size"), tags, stateInfo, ThreadPoolRunStateInfo::getActiveSize);
+        Metrics.gauge(metricName("queue.size"), tags, stateInfo, ThreadPoolRunStateInfo::getQueueSize);
+        Metrics.gauge(metricName("queue.capacity"), tags, stateInfo, ThreadPoolRunStateInfo::getQueueCapacity);
+        Metrics.gauge(metricName("queue.remaining.capacity"), tags, stateInfo, ThreadPoolRunStateInfo::getQueueRemainingCapacity);
+        Metrics.gauge(metricName("completed.task.count"), tags, stateInfo, ThreadPoolRunStateInfo::getCompletedTaskCount);
+        Metrics.gauge(metricName("reject.count"), tags, stateInfo, ThreadPoolRunStateInfo::getRejectCount);
+        // percentiles are null until recorded, registered anyway so they show up once the plugins record something
+        Metrics.gauge(metricName("execute.time.p50"), tags, stateInfo, info -> nanosOrNaN(info.getExecuteTimeP50()));
+        Metrics.gauge(metricName("execute.time.p90"), tags, stateInfo, info -> nanosOrNaN(info.getExecuteTimeP90()));
+        Metrics.gauge(metricName("execute.time.p99"), tags, stateInfo, info -> nanosOrNaN(info.getExecuteTimeP99()));
+        Metrics.gauge(metricName("execute.time.p999"), tags, stateInfo, info -> nanosOrNaN(info.getExecuteTimeP999()));
+        Metrics.gauge(metricName("queue.wait.time.p50"), tags, stateInfo, info -> nanosOrNaN(info.getQueueWaitTimeP50()));
+        Metrics.gauge(metricName("queue.wait.time.p90"), tags, stateInfo, info -> nanosOrNaN(info.getQueueWaitTimeP90()));
+        Metrics.gauge(metricName("queue.wait.time.p99"), tags, stateInfo, info -> nanosOrNaN(info.getQueueWaitTimeP99()));
+        Metrics.gauge(metricName("queue.wait.time.p999"), tags, stateInfo, info -> nanosOrNaN(info.getQueueWaitTimeP999()));
+    }
+
+    private static double nanosOrNaN(Long value) {
+        return value == null ? Double.NaN : value;
     }
 
     private String metricName(String name) {
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Server side of the secret handshake. The first frame of a connection must be the shared secret,
+ * written by {@link SecretHandshakeEncoder} as an unsigned short length followed by the UTF-8 bytes. <br>
+ * No object decoder is in the pipeline until the secret matches, then this handler is replaced by the
+ * decoder given by the supplier, and the bytes already received are passed on to it.
+ * A connection sending another secret, or a frame longer than {@link #MAX_SECRET_LENGTH}, is closed.
+ *
+ * @since 2.0.0
+ */
+@Slf4j
+public class SecretHandshakeDecoder extends ByteToMessageDecoder {
+
+    /**
+     * Max length of the secret in bytes
+     */
+    public static final int MAX_SECRET_LENGTH = 1024;
+
+    private static final int LENGTH_FIELD_LENGTH = 2;
+
+    private final byte[] secret;
+
+    private final Supplier<ChannelHandler> decoder;
+
+    public SecretHandshakeDecoder(String secret, Supplier<ChannelHandler> decoder) {
+        this.secret = encode(secret);
+        this.decoder = decoder;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        if (in.readableBytes() < LENGTH_FIELD_LENGTH) {
+            return;
+        }
+        int length = in.getUnsignedShort(in.readerIndex());
+        if (length == 0 || length > MAX_SECRET_LENGTH) {
+            reject(ctx, in);
+            return;
+        }
+        if (in.readableBytes() < LENGTH_FIELD_LENGTH + length) {
+            return;
+        }
+        in.skipBytes(LENGTH_FIELD_LENGTH);
+        byte[] candidate = new byte[length];
+        in.readBytes(candidate);
+        if (!MessageDigest.isEqual(secret, candidate)) {
+            reject(ctx, in);
+            return;
+        }
+        ctx.pipeline().addAfter(ctx.name(), null, decoder.get());
+        ctx.pipeline().remove(this);
+    }
+
+    private void reject(ChannelHandlerContext ctx, ByteBuf in) {
+        in.skipBytes(in.readableBytes());
+        log.warn("Reject the connection from {}, the handshake secret does not match", ctx.channel().remoteAddress());
+        ctx.close();
+    }
+
+    static byte[] encode(String secret) {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || bytes.length > MAX_SECRET_LENGTH) {
+            throw new IllegalArgumentException("The handshake secret must be 1~" + MAX_SECRET_LENGTH + " bytes");
+        }
+        return bytes;
+    }
+}
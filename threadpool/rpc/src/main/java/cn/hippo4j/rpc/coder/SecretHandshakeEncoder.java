@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Client side of the secret handshake, which writes the shared secret in front of the first message of a connection
+ * and then removes itself. It must be closer to the head of the pipeline than the object encoder.
+ *
+ * @see SecretHandshakeDecoder
+ * @since 2.0.0
+ */
+public class SecretHandshakeEncoder extends ChannelOutboundHandlerAdapter {
+
+    private final byte[] secret;
+
+    public SecretHandshakeEncoder(String secret) {
+        this.secret = SecretHandshakeDecoder.encode(secret);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        ByteBuf handshake = ctx.alloc().buffer(Short.BYTES + secret.length)
+                .writeShort(secret.length)
+                .writeBytes(secret);
+        ctx.write(handshake, ctx.voidPromise());
+        ctx.pipeline().remove(this);
+        ctx.write(msg, promise);
+    }
+}
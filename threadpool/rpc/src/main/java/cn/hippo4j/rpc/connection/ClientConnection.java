@@ -20,6 +20,7 @@ package cn.hippo4j.rpc.connection;
 import cn.hippo4j.rpc.model.Request;
 
 import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Applicable to client connections<br>
@@ -41,6 +42,15 @@ public interface ClientConnection extends Closeable {
      */
     <R> R connect(Request request);
 
+    /**
+     * Send the request without waiting for the response<br>
+     * The returned future may be completed on an IO thread, do not block in its callbacks
+     *
+     * @param request Request information
+     * @return the future completed with the result of the request
+     */
+    <R> CompletableFuture<R> connectAsync(Request request);
+
     /**
      * Get timeout, ms
      */
@@ -17,23 +17,26 @@
 
 package cn.hippo4j.rpc.connection;
 
+import cn.hippo4j.rpc.client.ClientSupport;
 import cn.hippo4j.rpc.exception.ConnectionException;
-import cn.hippo4j.rpc.exception.TimeOutException;
 import cn.hippo4j.rpc.model.Request;
 import cn.hippo4j.rpc.model.Response;
-import cn.hippo4j.rpc.support.ResultHolder;
+import cn.hippo4j.rpc.support.InFlightRequests;
 import io.netty.channel.Channel;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.util.concurrent.FutureListener;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.InetSocketAddress;
-import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
- * Client implemented using netty
- *
+ * Client implemented using netty<br>
+ * Requests are pipelined, a channel is released back to the pool as soon as the request
+ * is written, and the response is matched by RID through {@link InFlightRequests}.
  * @since 2.0.0
  */
 @Slf4j
@@ -46,7 +49,6 @@ public class SimpleClientConnection implements ClientConnection {
     long timeout = 30000L;
     EventLoopGroup worker = new NioEventLoopGroup();
     SimpleConnectPool connectionPool;
-    static final String TIME_OUT_MSG = "Timeout waiting for server-side response";
 
     public SimpleClientConnection(InetSocketAddress address,
                                   ChannelPoolHandler handler) {
@@ -56,39 +58,80 @@ public class SimpleClientConnection implements ClientConnection {
 
     @Override
     public <R> R connect(Request request) {
-        Channel channel = connectionPool.acquire(timeout);
+        CompletableFuture<R> future = connectAsync(request);
         try {
-            channel.writeAndFlush(request);
-            return wait(request.getRID());
-        } finally {
-            connectionPool.release(channel);
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionException("Interrupted while waiting for server-side response", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ConnectionException(cause);
         }
     }
 
+    @Override
+    public <R> CompletableFuture<R> connectAsync(Request request) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        connectionPool.acquire().addListener((FutureListener<Channel>) f -> {
+            if (!f.isSuccess()) {
+                ClientSupport.closeClient(address);
+                future.completeExceptionally(new ConnectionException("Failed to get the connection", f.cause()));
+                return;
+            }
+            Channel channel = f.getNow();
+            try {
+                send(channel, request, future);
+            } finally {
+                connectionPool.release(channel);
+            }
+        });
+        return future.thenApply(this::unwrap);
+    }
+
     /**
-     * wait the Response
+     * Register the request on the channel and write it
      *
-     * @param requestId RID
-     * @return Response
+     * @param channel  the channel
+     * @param request  Request information
+     * @param response the future of the response
      */
-    @SuppressWarnings("unchecked")
-    public <R> R wait(String requestId) {
-        Response response;
+    private void send(Channel channel, Request request, CompletableFuture<Response> response) {
+        String requestId = request.getRID();
+        InFlightRequests inFlight = InFlightRequests.of(channel);
+        inFlight.register(requestId, timeout).whenComplete((r, e) -> {
+            if (e != null) {
+                response.completeExceptionally(e);
+            } else {
+                response.complete(r);
+            }
+        });
+        channel.writeAndFlush(request).addListener(w -> {
+            if (!w.isSuccess()) {
+                inFlight.fail(requestId, new ConnectionException("Failed to send the request", w.cause()));
+            }
+        });
         if (log.isDebugEnabled()) {
             log.debug("Call successful, target address is {}:{}, request key is {}", address.getHostName(), address.getPort(), requestId);
         }
-        // Wait for execution to complete
-        ResultHolder.putThread(requestId, Thread.currentThread());
-        LockSupport.parkNanos(timeout() * 1000000);
-        response = ResultHolder.get(requestId);
-        if (response == null) {
-            throw new TimeOutException(TIME_OUT_MSG);
-        }
+    }
+
+    /**
+     * Get the result from the Response
+     *
+     * @param response Response
+     * @return the result
+     */
+    @SuppressWarnings("unchecked")
+    private <R> R unwrap(Response response) {
         if (response.isErr()) {
             throw new ConnectionException(response.getErrMsg());
         }
         if (log.isDebugEnabled()) {
-            log.debug("The response from {}:{} was received successfully with the response key {}.", address.getHostName(), address.getPort(), requestId);
+            log.debug("The response from {}:{} was received successfully with the response key {}.", address.getHostName(), address.getPort(), response.getRID());
         }
         return (R) response.getObj();
     }
@@ -18,6 +18,7 @@
 package cn.hippo4j.rpc.connection;
 
 import cn.hippo4j.rpc.coder.ObjectEncoder;
+import cn.hippo4j.rpc.coder.SecretHandshakeDecoder;
 import cn.hippo4j.rpc.discovery.ServerPort;
 import cn.hippo4j.rpc.exception.ConnectionException;
 import cn.hippo4j.rpc.handler.AbstractHandlerManager;
@@ -55,6 +56,14 @@ public class SimpleServerConnection extends AbstractHandlerManager implements Se
     Class<? extends ServerChannel> socketChannelCls = NioServerSocketChannel.class;
     ChannelFuture future;
     Channel channel;
+    /**
+     * The shared secret which every connection must send first, no handshake if null
+     */
+    String handshakeSecret;
+    /**
+     * Max size of a serialized request
+     */
+    int maxObjectSize = Integer.MAX_VALUE;
     private static final int MAX_PORT_NUM = 65535;
 
     public SimpleServerConnection(EventLoopGroup leader, EventLoopGroup worker, List<ChannelHandler> handlers) {
@@ -91,7 +100,11 @@ public class SimpleServerConnection extends AbstractHandlerManager implements Se
                     protected void initChannel(SocketChannel ch) {
                         ChannelPipeline pipeline = ch.pipeline();
                         pipeline.addLast(new ObjectEncoder());
-                        pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE, ClassResolvers.cacheDisabled(null)));
+                        if (handshakeSecret == null) {
+                            pipeline.addLast(newObjectDecoder());
+                        } else {
+                            pipeline.addLast(new SecretHandshakeDecoder(handshakeSecret, SimpleServerConnection.this::newObjectDecoder));
+                        }
                         handlerEntities.stream()
                                 .sorted()
                                 .forEach(h -> {
@@ -103,7 +116,8 @@ public class SimpleServerConnection extends AbstractHandlerManager implements Se
                                 });
                     }
                 });
-        this.future = server.bind(serverPort);
+        String host = port.getHost();
+        this.future = host == null ? server.bind(serverPort) : server.bind(host, serverPort);
         this.channel = this.future.channel();
         if (log.isDebugEnabled()) {
             log.debug("The server is started and can receive requests. The listening port is {}", serverPort);
@@ -111,6 +125,35 @@ public class SimpleServerConnection extends AbstractHandlerManager implements Se
         this.port = port;
     }
 
+    private ChannelHandler newObjectDecoder() {
+        return new ObjectDecoder(maxObjectSize, ClassResolvers.cacheDisabled(null));
+    }
+
+    /**
+     * Require every connection to send the shared secret before any request is deserialized,
+     * the clients must be created with the same secret by {@link cn.hippo4j.rpc.handler.ClientPoolHandler#handshakeSecret(String)}.
+     * Must be set before bind.
+     *
+     * @param secret the shared secret
+     * @return this
+     */
+    public SimpleServerConnection handshakeSecret(String secret) {
+        this.handshakeSecret = secret;
+        return this;
+    }
+
+    /**
+     * Limit the size of a serialized request, the connection sending a larger one is failed.
+     * Must be set before bind.
+     *
+     * @param maxObjectSize max size in bytes
+     * @return this
+     */
+    public SimpleServerConnection maxObjectSize(int maxObjectSize) {
+        this.maxObjectSize = maxObjectSize;
+        return this;
+    }
+
     @Override
     public synchronized void close() {
         if (port == null) {
@@ -32,4 +32,13 @@ public interface ServerPort {
      */
     int getPort();
 
+    /**
+     * Gets the host to listen on, all the local addresses are listened on if null
+     *
+     * @return host
+     */
+    default String getHost() {
+        return null;
+    }
+
 }
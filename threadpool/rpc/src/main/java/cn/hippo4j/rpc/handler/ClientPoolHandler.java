@@ -18,6 +18,7 @@
 package cn.hippo4j.rpc.handler;
 
 import cn.hippo4j.rpc.coder.ObjectEncoder;
+import cn.hippo4j.rpc.coder.SecretHandshakeEncoder;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
@@ -38,6 +39,11 @@ import java.util.List;
 @Slf4j
 public class ClientPoolHandler extends AbstractHandlerManager implements ChannelPoolHandler {
 
+    /**
+     * The shared secret sent first on every new connection, no handshake if null
+     */
+    String handshakeSecret;
+
     public ClientPoolHandler(List<ChannelHandler> handlers) {
         super(handlers);
     }
@@ -62,6 +68,17 @@ public class ClientPoolHandler extends AbstractHandlerManager implements Channel
         return this;
     }
 
+    /**
+     * Send the shared secret first on every new connection, for the servers requiring the handshake.
+     *
+     * @param secret the shared secret
+     * @return this
+     */
+    public ClientPoolHandler handshakeSecret(String secret) {
+        this.handshakeSecret = secret;
+        return this;
+    }
+
     @Override
     public void channelReleased(Channel ch) {
         ch.writeAndFlush(Unpooled.EMPTY_BUFFER);
@@ -81,6 +98,9 @@ public class ClientPoolHandler extends AbstractHandlerManager implements Channel
         channel.config()
                 .setTcpNoDelay(false);
         ChannelPipeline pipeline = ch.pipeline();
+        if (handshakeSecret != null) {
+            pipeline.addLast(new SecretHandshakeEncoder(handshakeSecret));
+        }
         pipeline.addLast(new ObjectEncoder());
         pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE, ClassResolvers.cacheDisabled(null)));
         this.handlerEntities.stream()
@@ -19,6 +19,7 @@ package cn.hippo4j.rpc.handler;
 
 import cn.hippo4j.rpc.exception.ConnectionException;
 import cn.hippo4j.rpc.model.Response;
+import cn.hippo4j.rpc.support.InFlightRequests;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 
@@ -35,7 +36,10 @@ public class ClientTakeHandler extends AbstractTakeHandler implements ConnectHan
         try {
             if (msg instanceof Response) {
                 Response response = (Response) msg;
-                handler(response);
+                InFlightRequests inFlight = InFlightRequests.get(ctx.channel());
+                if (inFlight == null || !inFlight.complete(response)) {
+                    handler(response);
+                }
                 ctx.flush();
             } else {
                 ctx.fireChannelRead(msg);
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.support;
+
+import cn.hippo4j.rpc.exception.ConnectionException;
+import cn.hippo4j.rpc.exception.OperationException;
+import cn.hippo4j.rpc.exception.TimeOutException;
+import cn.hippo4j.rpc.model.Response;
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The requests sent on a channel that are still waiting for their responses<br>
+ * Responses are matched to requests by RID, so any number of requests can be
+ * pipelined on the same channel. Timeouts are driven by a shared {@link HashedWheelTimer},
+ * no thread is parked while waiting for a response.
+ *
+ * @since 2.0.0
+ */
+public final class InFlightRequests {
+
+    private static final AttributeKey<InFlightRequests> IN_FLIGHT_KEY = AttributeKey.valueOf("hippo4j-rpc-in-flight");
+
+    private static final Timer TIMEOUT_TIMER = new HashedWheelTimer(
+            new DefaultThreadFactory("hippo4j-rpc-timeout", true), 10, TimeUnit.MILLISECONDS);
+
+    static final String TIME_OUT_MSG = "Timeout waiting for server-side response";
+
+    static final String CLOSED_MSG = "The connection was closed before the response was received";
+
+    private final Map<String, CompletableFuture<Response>> futures = new ConcurrentHashMap<>();
+
+    private final Channel channel;
+
+    private InFlightRequests(Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Get the in-flight requests of the channel, create one if absent.<br>
+     * All the requests still in flight fail when the channel is closed.
+     *
+     * @param channel the channel
+     * @return in-flight requests of the channel
+     */
+    public static InFlightRequests of(Channel channel) {
+        Attribute<InFlightRequests> attribute = channel.attr(IN_FLIGHT_KEY);
+        InFlightRequests inFlight = attribute.get();
+        if (inFlight != null) {
+            return inFlight;
+        }
+        InFlightRequests created = new InFlightRequests(channel);
+        inFlight = attribute.setIfAbsent(created);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        channel.closeFuture().addListener(f -> created.failAll(new ConnectionException(CLOSED_MSG)));
+        return created;
+    }
+
+    /**
+     * Get the in-flight requests of the channel, or null if nothing has been sent on it
+     *
+     * @param channel the channel
+     * @return in-flight requests of the channel
+     */
+    public static InFlightRequests get(Channel channel) {
+        return channel.attr(IN_FLIGHT_KEY).get();
+    }
+
+    /**
+     * Register a request before it is written to the channel
+     *
+     * @param requestId     RID
+     * @param timeoutMillis timeout, ms
+     * @return the future completed with the response, or exceptionally on timeout or disconnection
+     */
+    public CompletableFuture<Response> register(String requestId, long timeoutMillis) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        if (futures.putIfAbsent(requestId, future) != null) {
+            future.completeExceptionally(new OperationException("Duplicate request id " + requestId));
+            return future;
+        }
+        Timeout timeout = TIMEOUT_TIMER.newTimeout(t -> future.completeExceptionally(new TimeOutException(TIME_OUT_MSG)),
+                timeoutMillis, TimeUnit.MILLISECONDS);
+        future.whenComplete((r, e) -> {
+            timeout.cancel();
+            futures.remove(requestId, future);
+        });
+        // the close listener may have run before the request was registered
+        if (!channel.isActive()) {
+            future.completeExceptionally(new ConnectionException(CLOSED_MSG));
+        }
+        return future;
+    }
+
+    /**
+     * Complete the request matching the response
+     *
+     * @param response response
+     * @return false if there is no request in flight matching the response
+     */
+    public boolean complete(Response response) {
+        CompletableFuture<Response> future = futures.remove(response.getRID());
+        return future != null && future.complete(response);
+    }
+
+    /**
+     * Fail the request with the given RID
+     *
+     * @param requestId RID
+     * @param cause     the cause
+     */
+    public void fail(String requestId, Throwable cause) {
+        CompletableFuture<Response> future = futures.remove(requestId);
+        if (future != null) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Fail all the requests in flight
+     *
+     * @param cause the cause
+     */
+    public void failAll(Throwable cause) {
+        futures.keySet().forEach(requestId -> fail(requestId, cause));
+    }
+
+    /**
+     * Number of requests in flight
+     *
+     * @return size
+     */
+    public int size() {
+        return futures.size();
+    }
+}
@@ -21,7 +21,6 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.LockSupport;
@@ -39,7 +38,7 @@ import java.util.concurrent.locks.LockSupport;
 public class ResultHolder {
 
     private static final Map<String, Object> MAP = new ConcurrentHashMap<>();
-    private static final Map<String, Thread> THREAD_MAP = new HashMap<>();
+    private static final Map<String, Thread> THREAD_MAP = new ConcurrentHashMap<>();
 
     /**
      * Writes when the client receives a response
@@ -72,12 +71,14 @@ public class ResultHolder {
      *
      * @param key Request and response keys
      */
-    public static synchronized void wake(String key) {
+    public static void wake(String key) {
         if (log.isDebugEnabled()) {
             log.debug("The future has been fetched, wake up the thread");
         }
         Thread thread = THREAD_MAP.remove(key);
-        LockSupport.unpark(thread);
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
     }
 
     /**
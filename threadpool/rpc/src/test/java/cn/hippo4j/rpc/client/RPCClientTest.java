@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.client;
+
+import cn.hippo4j.rpc.connection.ClientConnection;
+import cn.hippo4j.rpc.connection.ServerConnection;
+import cn.hippo4j.rpc.connection.SimpleClientConnection;
+import cn.hippo4j.rpc.connection.SimpleServerConnection;
+import cn.hippo4j.rpc.discovery.ServerPort;
+import cn.hippo4j.rpc.handler.ClientPoolHandler;
+import cn.hippo4j.rpc.handler.ClientTakeHandler;
+import cn.hippo4j.rpc.handler.ServerTakeHandler;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.server.RPCServer;
+import io.netty.channel.pool.ChannelPoolHandler;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class RPCClientTest {
+
+    static ServerPort port = new ClientSupportTest.TestServerPort();
+    static final String addressStr = "localhost";
+    static final String take = "take";
+    static RPCServer rpcServer;
+
+    @BeforeClass
+    public static void startServer() {
+        CallManager manager = new CallManager();
+        ServerTakeHandler<Integer, Integer> takeHandler = new ServerTakeHandler<>(take, manager::call);
+        ServerConnection connection = new SimpleServerConnection(takeHandler);
+        rpcServer = new RPCServer(connection, port);
+        rpcServer.bind();
+        while (!rpcServer.isActive()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1L));
+        }
+    }
+
+    @AfterClass
+    public static void stopServer() throws IOException {
+        if (rpcServer.isActive()) {
+            rpcServer.close();
+        }
+    }
+
+    @Test
+    public void connectAsync() throws Exception {
+        InetSocketAddress address = InetSocketAddress.createUnresolved(addressStr, port.getPort());
+        ChannelPoolHandler channelPoolHandler = new ClientPoolHandler(new ClientTakeHandler());
+        ClientConnection clientConnection = new SimpleClientConnection(address, channelPoolHandler);
+        try (RPCClient rpcClient = new RPCClient(clientConnection)) {
+            List<CompletableFuture<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(rpcClient.connectAsync(new DefaultRequest(UUID.randomUUID().toString(), take, new Object[]{i})));
+            }
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(Integer.valueOf(i), futures.get(i).get(10, TimeUnit.SECONDS));
+            }
+            Integer result = rpcClient.connect(new DefaultRequest(UUID.randomUUID().toString(), take, new Object[]{100}));
+            Assert.assertEquals(Integer.valueOf(100), result);
+        }
+    }
+
+}
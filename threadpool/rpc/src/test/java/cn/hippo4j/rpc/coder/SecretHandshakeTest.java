@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.coder;
+
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.Request;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+import io.netty.handler.codec.serialization.ObjectDecoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SecretHandshakeTest {
+
+    static final String SECRET = "secret";
+
+    @Test
+    public void handshake() {
+        EmbeddedChannel client = new EmbeddedChannel(new SecretHandshakeEncoder(SECRET), new ObjectEncoder());
+        EmbeddedChannel server = newServer();
+        client.writeOutbound(new DefaultRequest("rid-1", "key", new Object[]{1}));
+        client.writeOutbound(new DefaultRequest("rid-2", "key", new Object[]{2}));
+        Assert.assertNull(client.pipeline().get(SecretHandshakeEncoder.class));
+        transfer(client, server);
+        Assert.assertNull(server.pipeline().get(SecretHandshakeDecoder.class));
+        Assert.assertEquals("rid-1", server.<Request>readInbound().getRID());
+        Assert.assertEquals("rid-2", server.<Request>readInbound().getRID());
+        Assert.assertTrue(server.isOpen());
+    }
+
+    @Test
+    public void secretMismatch() {
+        EmbeddedChannel client = new EmbeddedChannel(new SecretHandshakeEncoder("other"), new ObjectEncoder());
+        EmbeddedChannel server = newServer();
+        client.writeOutbound(new DefaultRequest("rid-1", "key", new Object[]{1}));
+        transfer(client, server);
+        Assert.assertNull(server.readInbound());
+        Assert.assertFalse(server.isOpen());
+    }
+
+    @Test
+    public void noHandshake() {
+        EmbeddedChannel client = new EmbeddedChannel(new ObjectEncoder());
+        EmbeddedChannel server = newServer();
+        client.writeOutbound(new DefaultRequest("rid-1", "key", new Object[]{1}));
+        transfer(client, server);
+        Assert.assertNull(server.readInbound());
+        Assert.assertFalse(server.isOpen());
+    }
+
+    @Test
+    public void illegalSecret() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new SecretHandshakeEncoder(""));
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i <= SecretHandshakeDecoder.MAX_SECRET_LENGTH; i++) {
+            builder.append('s');
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> new SecretHandshakeEncoder(builder.toString()));
+    }
+
+    private static EmbeddedChannel newServer() {
+        return new EmbeddedChannel(new SecretHandshakeDecoder(SECRET, () -> new ObjectDecoder(1024 * 1024, ClassResolvers.cacheDisabled(null))));
+    }
+
+    private static void transfer(EmbeddedChannel client, EmbeddedChannel server) {
+        ByteBuf buf;
+        while (server.isOpen() && (buf = client.readOutbound()) != null) {
+            server.writeInbound(buf);
+        }
+    }
+}
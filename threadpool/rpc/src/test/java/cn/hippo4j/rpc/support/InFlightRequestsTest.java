@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.rpc.support;
+
+import cn.hippo4j.rpc.exception.ConnectionException;
+import cn.hippo4j.rpc.exception.TimeOutException;
+import cn.hippo4j.rpc.model.DefaultResponse;
+import cn.hippo4j.rpc.model.Response;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class InFlightRequestsTest {
+
+    static final String rid1 = "1";
+    static final String rid2 = "2";
+
+    @Test
+    public void complete() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        InFlightRequests inFlight = InFlightRequests.of(channel);
+        Assert.assertSame(inFlight, InFlightRequests.of(channel));
+        Assert.assertSame(inFlight, InFlightRequests.get(channel));
+
+        CompletableFuture<Response> f1 = inFlight.register(rid1, 10000L);
+        CompletableFuture<Response> f2 = inFlight.register(rid2, 10000L);
+        Assert.assertEquals(2, inFlight.size());
+
+        // responses may arrive out of order
+        Response r2 = new DefaultResponse(rid2, 2);
+        Assert.assertTrue(inFlight.complete(r2));
+        Assert.assertFalse(f1.isDone());
+        Assert.assertEquals(r2, f2.get());
+        Response r1 = new DefaultResponse(rid1, 1);
+        Assert.assertTrue(inFlight.complete(r1));
+        Assert.assertEquals(r1, f1.get());
+
+        Assert.assertEquals(0, inFlight.size());
+        Assert.assertFalse(inFlight.complete(r1));
+        channel.close();
+    }
+
+    @Test
+    public void timeout() throws InterruptedException {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        InFlightRequests inFlight = InFlightRequests.of(channel);
+        CompletableFuture<Response> future = inFlight.register(rid1, 50L);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeOutException);
+        } catch (Exception e) {
+            Assert.fail();
+        }
+        Assert.assertEquals(0, inFlight.size());
+        channel.close();
+    }
+
+    @Test
+    public void closeChannel() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        InFlightRequests inFlight = InFlightRequests.of(channel);
+        CompletableFuture<Response> future = inFlight.register(rid1, 10000L);
+        channel.close();
+        Assert.assertTrue(future.isCompletedExceptionally());
+        Assert.assertEquals(0, inFlight.size());
+
+        CompletableFuture<Response> afterClose = inFlight.register(rid2, 10000L);
+        try {
+            afterClose.join();
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertTrue(e.getCause() instanceof ConnectionException);
+        }
+    }
+
+}
@@ -54,6 +54,9 @@ public class GlobalSecurityConfig extends WebSecurityConfigurerAdapter {
     @Value("${hippo4j.core.auth.enabled:true}")
     private Boolean enableAuthentication;
 
+    @Value("${hippo4j.core.auth.token-cache-size:10000}")
+    private Long tokenCacheSize;
+
     @Resource
     private UserDetailsService userDetailsService;
 
@@ -94,7 +97,7 @@ public class GlobalSecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/doc.html", "/swagger-resources/**", "/webjars/**", "/*/api-docs").anonymous()
                 .and()
                 .addFilter(new JWTAuthenticationFilter(authenticationManager()))
-                .addFilter(new JWTAuthorizationFilter(tokenManager, authenticationManager()))
+                .addFilter(new JWTAuthorizationFilter(tokenManager, authenticationManager(), tokenCacheSize))
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
         disableAuthenticationIfNeeded(http);
         http.authorizeRequests().anyRequest().authenticated();
@@ -18,12 +18,16 @@
 package cn.hippo4j.auth.filter;
 
 import cn.hippo4j.auth.security.JwtTokenManager;
+import cn.hippo4j.auth.security.TokenAuthenticationCache;
+import cn.hippo4j.auth.security.TokenAuthenticationCache.TokenAuthentication;
 import cn.hippo4j.auth.toolkit.JwtTokenUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.common.toolkit.UserContext;
 import cn.hippo4j.server.common.base.Results;
 import cn.hippo4j.server.common.base.exception.ServiceException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -43,16 +47,26 @@ import static cn.hippo4j.common.constant.Constants.ACCESS_TOKEN;
 import static cn.hippo4j.server.common.base.exception.ErrorCodeEnum.LOGIN_TIMEOUT;
 
 /**
- * JWT authorization filter.
+ * JWT authorization filter, the verified tokens are cached until they expire.
  */
 @Slf4j
 public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
 
     private final JwtTokenManager tokenManager;
 
+    private final TokenAuthenticationCache accessTokenCache;
+
+    private final TokenAuthenticationCache tokenHeaderCache;
+
     public JWTAuthorizationFilter(JwtTokenManager tokenManager, AuthenticationManager authenticationManager) {
+        this(tokenManager, authenticationManager, TokenAuthenticationCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public JWTAuthorizationFilter(JwtTokenManager tokenManager, AuthenticationManager authenticationManager, long tokenCacheSize) {
         super(authenticationManager);
         this.tokenManager = tokenManager;
+        this.accessTokenCache = new TokenAuthenticationCache(tokenCacheSize);
+        this.tokenHeaderCache = new TokenAuthenticationCache(tokenCacheSize);
     }
 
     @Override
@@ -64,9 +78,8 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
         String accessToken = request.getParameter(ACCESS_TOKEN);
         String tokenHeader = request.getHeader(JwtTokenUtil.TOKEN_HEADER);
         if (StringUtil.isNotBlank(accessToken)) {
-            tokenManager.validateToken(accessToken);
-            Authentication authentication = this.tokenManager.getAuthentication(accessToken);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            TokenAuthentication authentication = accessTokenCache.get(accessToken, this::verifyAccessToken);
+            SecurityContextHolder.getContext().setAuthentication(authentication.getAuthentication());
             checkAccessTokenOrTokenHeader = true;
         } else if (checkTokenHeader(tokenHeader)) {
             // If there is no Authorization information in the request header, it will be released directly.
@@ -110,22 +123,47 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
      * Obtain user information from Token and create a new Token.
      *
      * @param tokenHeader tokenHeader
-     * @return UsernamePasswordAuthenticationToken
+     * @return authentication
      */
-    private UsernamePasswordAuthenticationToken getAuthentication(String tokenHeader) {
+    private Authentication getAuthentication(String tokenHeader) {
         String token = tokenHeader.replace(JwtTokenUtil.TOKEN_PREFIX, "");
-        boolean expiration = JwtTokenUtil.isExpiration(token);
-        if (expiration) {
+        TokenAuthentication authentication = tokenHeaderCache.get(token, this::verifyToken);
+        UserContext.setUserInfo(authentication.getUsername(), authentication.getRole());
+        return authentication.getAuthentication();
+    }
+
+    /**
+     * Verify the access token of client, its claims are parsed only once.
+     *
+     * @param accessToken access token
+     * @return verified authentication
+     */
+    private TokenAuthentication verifyAccessToken(String accessToken) {
+        Claims claims = tokenManager.parseToken(accessToken);
+        Authentication authentication = tokenManager.getAuthentication(claims);
+        return TokenAuthentication.of(authentication, claims.getSubject(), null, claims);
+    }
+
+    /**
+     * Verify the token of user, its claims are parsed only once.
+     *
+     * @param token token
+     * @return verified authentication
+     */
+    private TokenAuthentication verifyToken(String token) {
+        Claims claims;
+        try {
+            claims = JwtTokenUtil.parseToken(token);
+        } catch (ExpiredJwtException ex) {
             throw new ServiceException(LOGIN_TIMEOUT);
         }
-        String username = JwtTokenUtil.getUsername(token);
-        String userRole = JwtTokenUtil.getUserRole(token);
-        UserContext.setUserInfo(username, userRole);
-        String role = JwtTokenUtil.getUserRole(token);
+        String username = JwtTokenUtil.getUsername(claims);
+        String role = JwtTokenUtil.getUserRole(claims);
+        Authentication authentication = null;
         if (username != null) {
-            return new UsernamePasswordAuthenticationToken(username, null,
+            authentication = new UsernamePasswordAuthenticationToken(username, null,
                     Collections.singleton(new SimpleGrantedAuthority(role)));
         }
-        return null;
+        return TokenAuthentication.of(authentication, username, role, claims);
     }
 }
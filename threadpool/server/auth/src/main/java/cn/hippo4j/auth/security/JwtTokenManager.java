@@ -66,7 +66,17 @@ public class JwtTokenManager {
      * @param token token
      */
     public void validateToken(String token) {
-        Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token);
+        parseToken(token);
+    }
+
+    /**
+     * Validate token and get its claims.
+     *
+     * @param token token
+     * @return claims
+     */
+    public Claims parseToken(String token) {
+        return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
     }
 
     /**
@@ -76,7 +86,16 @@ public class JwtTokenManager {
      * @return auth info
      */
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+        return getAuthentication(parseToken(token));
+    }
+
+    /**
+     * Get auth Info from the claims of a validated token.
+     *
+     * @param claims claims
+     * @return auth info
+     */
+    public Authentication getAuthentication(Claims claims) {
         List<GrantedAuthority> authorities = AuthorityUtils
                 .commaSeparatedStringToAuthorityList((String) claims.get(AUTHORITIES_KEY));
         User principal = new User(claims.getSubject(), StringUtil.EMPTY, authorities);
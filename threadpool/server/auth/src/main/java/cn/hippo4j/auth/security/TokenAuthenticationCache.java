@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <p>Cache of verified tokens, so the signature of a token is verified and its claims are parsed
+ * once until the token expires, instead of on every request of the client. <br />
+ * An entry expires together with its token, at the latest after {@link #MAXIMUM_TTL_MILLIS}.
+ * Tokens failed to verify are never cached.
+ *
+ * <p>The cache is bounded by the maximum size, which should be larger than the number of live clients.
+ * The cache is disabled if the maximum size is not positive, then every token is verified.
+ */
+public class TokenAuthenticationCache {
+
+    /**
+     * Default maximum size
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000L;
+
+    /**
+     * Maximum time to live of an entry, also used for the tokens without expiration
+     */
+    public static final long MAXIMUM_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30L);
+
+    private final Cache<String, TokenAuthentication> cache;
+
+    public TokenAuthenticationCache(long maximumSize) {
+        this(maximumSize, Ticker.systemTicker());
+    }
+
+    TokenAuthenticationCache(long maximumSize, Ticker ticker) {
+        this.cache = maximumSize > 0L
+                ? Caffeine.newBuilder().maximumSize(maximumSize).ticker(ticker).expireAfter(new TokenExpiry()).build()
+                : null;
+    }
+
+    /**
+     * Get the verified authentication of a token, or verify and cache it if absent.
+     *
+     * @param token  token
+     * @param loader verifier of the token, which should throw if the token is invalid or expired
+     * @return verified authentication
+     */
+    public TokenAuthentication get(String token, Function<String, TokenAuthentication> loader) {
+        if (cache == null) {
+            return loader.apply(token);
+        }
+        return cache.get(token, loader);
+    }
+
+    /**
+     * Whether the cache is enabled.
+     *
+     * @return true if the tokens are cached
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Get the approximate number of cached tokens.
+     *
+     * @return number of cached tokens
+     */
+    public long size() {
+        return cache == null ? 0L : cache.estimatedSize();
+    }
+
+    /**
+     * Remove all the cached tokens.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Verified authentication of a token.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class TokenAuthentication {
+
+        /**
+         * Authentication, shared by all the requests of the token and must not be modified
+         */
+        private final Authentication authentication;
+
+        /**
+         * Username
+         */
+        private final String username;
+
+        /**
+         * Role of user, may be null
+         */
+        private final String role;
+
+        /**
+         * Expiration time of the token in epoch milliseconds, or null if the token never expires
+         */
+        private final Long expiration;
+
+        /**
+         * Create from the claims of a verified token.
+         *
+         * @param authentication authentication
+         * @param username       username
+         * @param role           role of user
+         * @param claims         claims of token
+         * @return verified authentication
+         */
+        public static TokenAuthentication of(Authentication authentication, String username, String role, Claims claims) {
+            Date expiration = claims.getExpiration();
+            return new TokenAuthentication(authentication, username, role, expiration == null ? null : expiration.getTime());
+        }
+    }
+
+    /**
+     * Expires an entry when its token expires.
+     */
+    private static class TokenExpiry implements Expiry<String, TokenAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, TokenAuthentication value, long currentTime) {
+            long ttlMillis = MAXIMUM_TTL_MILLIS;
+            if (value.getExpiration() != null) {
+                ttlMillis = Math.max(0L, Math.min(ttlMillis, value.getExpiration() - System.currentTimeMillis()));
+            }
+            return TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -88,7 +88,17 @@ public class JwtTokenUtil {
      * @return
      */
     public static String getUsername(String token) {
-        List<String> userInfo = Arrays.asList(getTokenBody(token).getSubject().split(Constants.SPLIT_COMMA));
+        return getUsername(getTokenBody(token));
+    }
+
+    /**
+     * Get the username from the claims of a parsed Token.
+     *
+     * @param claims
+     * @return
+     */
+    public static String getUsername(Claims claims) {
+        List<String> userInfo = Arrays.asList(claims.getSubject().split(Constants.SPLIT_COMMA));
         return userInfo.get(1);
     }
 
@@ -110,7 +120,17 @@ public class JwtTokenUtil {
      * @return
      */
     public static String getUserRole(String token) {
-        return (String) getTokenBody(token).get(ROLE_CLAIMS);
+        return getUserRole(getTokenBody(token));
+    }
+
+    /**
+     * Get user role from the claims of a parsed Token.
+     *
+     * @param claims
+     * @return
+     */
+    public static String getUserRole(Claims claims) {
+        return (String) claims.get(ROLE_CLAIMS);
     }
 
     /**
@@ -127,6 +147,17 @@ public class JwtTokenUtil {
         }
     }
 
+    /**
+     * Verify the signature of Token and get its claims, all the claims can be read from one parse.
+     *
+     * @param token
+     * @return
+     * @throws ExpiredJwtException if the Token has expired
+     */
+    public static Claims parseToken(String token) {
+        return getTokenBody(token);
+    }
+
     private static Claims getTokenBody(String token) {
         return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
     }
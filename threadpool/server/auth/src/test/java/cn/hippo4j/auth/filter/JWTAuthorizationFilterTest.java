@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.auth.filter;
+
+import cn.hippo4j.auth.security.JwtTokenManager;
+import cn.hippo4j.auth.toolkit.JwtTokenUtil;
+import cn.hippo4j.common.toolkit.UserContext;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+
+import static cn.hippo4j.common.constant.Constants.ACCESS_TOKEN;
+import static cn.hippo4j.server.common.base.exception.ErrorCodeEnum.LOGIN_TIMEOUT;
+
+/**
+ * JWTAuthorizationFilter Test
+ */
+public class JWTAuthorizationFilterTest {
+
+    private final JwtTokenManager tokenManager = new JwtTokenManager();
+
+    @After
+    public void after() {
+        SecurityContextHolder.clearContext();
+        UserContext.clear();
+    }
+
+    @Test
+    public void accessTokenCachedTest() throws Exception {
+        JWTAuthorizationFilter filter = new JWTAuthorizationFilter(tokenManager, authentication -> authentication);
+        String accessToken = tokenManager.createToken("client");
+        Authentication first = doFilterWithAccessToken(filter, accessToken);
+        Assert.assertEquals("client", first.getName());
+        Assert.assertSame(first, doFilterWithAccessToken(filter, accessToken));
+    }
+
+    @Test
+    public void accessTokenWithoutCacheTest() throws Exception {
+        JWTAuthorizationFilter filter = new JWTAuthorizationFilter(tokenManager, authentication -> authentication, 0L);
+        String accessToken = tokenManager.createToken("client");
+        Authentication first = doFilterWithAccessToken(filter, accessToken);
+        Authentication second = doFilterWithAccessToken(filter, accessToken);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first.getName(), second.getName());
+    }
+
+    @Test
+    public void tokenHeaderTest() throws Exception {
+        JWTAuthorizationFilter filter = new JWTAuthorizationFilter(tokenManager, authentication -> authentication);
+        String token = JwtTokenUtil.createToken(1L, "baymax", "ROLE_ADMIN", false);
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = doFilterWithTokenHeader(filter, token);
+            Assert.assertEquals(200, response.getStatus());
+            Assert.assertEquals("", response.getContentAsString());
+        }
+    }
+
+    @Test
+    public void expiredTokenHeaderTest() throws Exception {
+        JWTAuthorizationFilter filter = new JWTAuthorizationFilter(tokenManager, authentication -> authentication);
+        String token = Jwts.builder()
+                .signWith(SignatureAlgorithm.HS512, JwtTokenUtil.SECRET)
+                .setSubject("1,baymax")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000L))
+                .compact();
+        MockHttpServletResponse response = doFilterWithTokenHeader(filter, token);
+        Assert.assertTrue(response.getContentAsString().contains(LOGIN_TIMEOUT.getCode()));
+    }
+
+    private Authentication doFilterWithAccessToken(JWTAuthorizationFilter filter, String accessToken) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter(ACCESS_TOKEN, accessToken);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private MockHttpServletResponse doFilterWithTokenHeader(JWTAuthorizationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JwtTokenUtil.TOKEN_HEADER, JwtTokenUtil.TOKEN_PREFIX + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
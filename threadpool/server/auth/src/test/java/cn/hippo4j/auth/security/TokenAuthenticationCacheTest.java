@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.auth.security;
+
+import cn.hippo4j.auth.security.TokenAuthenticationCache.TokenAuthentication;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * TokenAuthenticationCache Test
+ */
+public final class TokenAuthenticationCacheTest {
+
+    private final AtomicInteger verifyCount = new AtomicInteger();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Ticker ticker = nanos::get;
+
+    @Test
+    public void getTest() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(16L, ticker);
+        long expiration = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5L);
+        TokenAuthentication first = cache.get("token", verifier(expiration));
+        Assert.assertSame(first, cache.get("token", verifier(expiration)));
+        Assert.assertEquals(1, verifyCount.get());
+        Assert.assertEquals(1L, cache.size());
+
+        cache.get("other", verifier(expiration));
+        Assert.assertEquals(2, verifyCount.get());
+    }
+
+    @Test
+    public void expireWithTokenTest() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(16L, ticker);
+        long expiration = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5L);
+        cache.get("token", verifier(expiration));
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(4L));
+        cache.get("token", verifier(expiration));
+        Assert.assertEquals(1, verifyCount.get());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2L));
+        cache.get("token", verifier(expiration));
+        Assert.assertEquals(2, verifyCount.get());
+    }
+
+    @Test
+    public void expireWithoutTokenExpirationTest() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(16L, ticker);
+        cache.get("token", verifier(null));
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(TokenAuthenticationCache.MAXIMUM_TTL_MILLIS) + 1L);
+        cache.get("token", verifier(null));
+        Assert.assertEquals(2, verifyCount.get());
+    }
+
+    @Test
+    public void disabledTest() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(0L);
+        Assert.assertFalse(cache.isEnabled());
+        cache.get("token", verifier(null));
+        cache.get("token", verifier(null));
+        Assert.assertEquals(2, verifyCount.get());
+        Assert.assertEquals(0L, cache.size());
+    }
+
+    @Test
+    public void invalidTokenNotCachedTest() {
+        TokenAuthenticationCache cache = new TokenAuthenticationCache(16L, ticker);
+        Assert.assertThrows(IllegalArgumentException.class, () -> cache.get("token", each -> {
+            verifyCount.incrementAndGet();
+            throw new IllegalArgumentException("Invalid token");
+        }));
+        cache.get("token", verifier(null));
+        Assert.assertEquals(2, verifyCount.get());
+        Assert.assertEquals(1L, cache.size());
+    }
+
+    private Function<String, TokenAuthentication> verifier(Long expiration) {
+        return token -> {
+            verifyCount.incrementAndGet();
+            return new TokenAuthentication(null, "user", null, expiration);
+        };
+    }
+}
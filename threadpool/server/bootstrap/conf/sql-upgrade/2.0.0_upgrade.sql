@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS `his_run_data_block` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
+  `resolution` varchar(16) DEFAULT NULL COMMENT '分辨率',
+  `series_key` varchar(640) DEFAULT NULL COMMENT '序列标识',
+  `min_time` bigint(20) DEFAULT NULL COMMENT '最小时间戳',
+  `max_time` bigint(20) DEFAULT NULL COMMENT '最大时间戳',
+  `sample_count` int(11) DEFAULT NULL COMMENT '样本数',
+  `data` mediumblob DEFAULT NULL COMMENT '压缩数据',
+  `gmt_create` datetime DEFAULT NULL COMMENT '创建时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_resolution_max_time` (`resolution`,`max_time`) USING BTREE
+) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COMMENT='历史运行数据块表';
+
+ALTER TABLE his_run_data ADD COLUMN execute_time_p50 bigint(20) DEFAULT NULL COMMENT '任务执行耗时P50' AFTER reject_count;
+
+ALTER TABLE his_run_data ADD COLUMN execute_time_p90 bigint(20) DEFAULT NULL COMMENT '任务执行耗时P90' AFTER execute_time_p50;
+
+ALTER TABLE his_run_data ADD COLUMN execute_time_p99 bigint(20) DEFAULT NULL COMMENT '任务执行耗时P99' AFTER execute_time_p90;
+
+ALTER TABLE his_run_data ADD COLUMN execute_time_p999 bigint(20) DEFAULT NULL COMMENT '任务执行耗时P999' AFTER execute_time_p99;
+
+ALTER TABLE his_run_data ADD COLUMN queue_wait_time_p50 bigint(20) DEFAULT NULL COMMENT '队列等待耗时P50' AFTER execute_time_p999;
+
+ALTER TABLE his_run_data ADD COLUMN queue_wait_time_p90 bigint(20) DEFAULT NULL COMMENT '队列等待耗时P90' AFTER queue_wait_time_p50;
+
+ALTER TABLE his_run_data ADD COLUMN queue_wait_time_p99 bigint(20) DEFAULT NULL COMMENT '队列等待耗时P99' AFTER queue_wait_time_p90;
+
+ALTER TABLE his_run_data ADD COLUMN queue_wait_time_p999 bigint(20) DEFAULT NULL COMMENT '队列等待耗时P999' AFTER queue_wait_time_p99;
@@ -76,12 +76,32 @@ CREATE TABLE IF NOT EXISTS `his_run_data` (
     `queue_remaining_capacity` bigint(20) DEFAULT NULL COMMENT '队列剩余容量',
     `completed_task_count`     bigint(20) DEFAULT NULL COMMENT '已完成任务计数',
     `reject_count`             bigint(20) DEFAULT NULL COMMENT '拒绝次数',
+    `execute_time_p50`         bigint(20) DEFAULT NULL COMMENT '任务执行耗时P50',
+    `execute_time_p90`         bigint(20) DEFAULT NULL COMMENT '任务执行耗时P90',
+    `execute_time_p99`         bigint(20) DEFAULT NULL COMMENT '任务执行耗时P99',
+    `execute_time_p999`        bigint(20) DEFAULT NULL COMMENT '任务执行耗时P999',
+    `queue_wait_time_p50`      bigint(20) DEFAULT NULL COMMENT '队列等待耗时P50',
+    `queue_wait_time_p90`      bigint(20) DEFAULT NULL COMMENT '队列等待耗时P90',
+    `queue_wait_time_p99`      bigint(20) DEFAULT NULL COMMENT '队列等待耗时P99',
+    `queue_wait_time_p999`     bigint(20) DEFAULT NULL COMMENT '队列等待耗时P999',
     `timestamp`                bigint(20) DEFAULT NULL COMMENT '时间戳',
     `gmt_create`               datetime     DEFAULT NULL COMMENT '创建时间',
     `gmt_modified`             datetime     DEFAULT NULL COMMENT '修改时间',
     PRIMARY KEY (`id`)
 );
 
+CREATE TABLE IF NOT EXISTS `his_run_data_block` (
+    `id`           bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
+    `resolution`   varchar(16)  DEFAULT NULL COMMENT '分辨率',
+    `series_key`   varchar(640) DEFAULT NULL COMMENT '序列标识',
+    `min_time`     bigint(20) DEFAULT NULL COMMENT '最小时间戳',
+    `max_time`     bigint(20) DEFAULT NULL COMMENT '最大时间戳',
+    `sample_count` int(11) DEFAULT NULL COMMENT '样本数',
+    `data`         blob         DEFAULT NULL COMMENT '压缩数据',
+    `gmt_create`   datetime     DEFAULT NULL COMMENT '创建时间',
+    PRIMARY KEY (`id`)
+);
+
 CREATE TABLE IF NOT EXISTS `log_record_info` (
     `id`          bigint(20) unsigned NOT NULL AUTO_INCREMENT COMMENT '主键',
     `tenant`      varchar(128)  NOT NULL DEFAULT '' COMMENT '租户标识',
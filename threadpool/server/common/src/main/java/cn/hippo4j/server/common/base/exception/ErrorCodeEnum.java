@@ -70,6 +70,22 @@ public enum ErrorCodeEnum implements ErrorCode {
         }
     },
 
+    /**
+     * SERVICE_BUSY
+     */
+    SERVICE_BUSY {
+
+        @Override
+        public String getCode() {
+            return "429";
+        }
+
+        @Override
+        public String getMessage() {
+            return "SERVICE_BUSY";
+        }
+    },
+
     /**
      * NOT_FOUND
      */
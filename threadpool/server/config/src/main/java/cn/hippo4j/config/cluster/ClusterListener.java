@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.cluster;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receiver of the messages sent by cluster peers.
+ *
+ * @see ClusterNode
+ */
+public interface ClusterListener {
+
+    /**
+     * A config is changed on the peer, the clients hung on this node should be notified.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @param identify instance identify, all the instances if blank
+     */
+    void onConfigChange(String groupKey, String identify);
+
+    /**
+     * The content of a config is written on the peer, the cached content should be invalidated.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @param identify instance identify, all the instances if blank
+     */
+    void onContentInvalidate(String groupKey, String identify);
+
+    /**
+     * An instance is registered on the peer.
+     *
+     * @param instanceInfo instance info in json
+     */
+    void replicateRegister(String instanceInfo);
+
+    /**
+     * The lease of an instance is renewed on the peer.
+     *
+     * @param instanceInfo instance info in json
+     */
+    void replicateRenew(String instanceInfo);
+
+    /**
+     * An instance is removed on the peer.
+     *
+     * @param instanceInfo instance info in json
+     */
+    void replicateRemove(String instanceInfo);
+
+    /**
+     * Get the identifies of the clients hung on this node which subscribe the thread-pool.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @return identifies of instances
+     */
+    List<String> getIdentifyList(String groupKey);
+
+    /**
+     * Whether a client of the instance is hung on this node.
+     *
+     * @param identify instance identify
+     * @return true if the instance is known
+     */
+    boolean containsIdentify(String identify);
+
+    /**
+     * Get the configs of the clients hung on this node which subscribe the thread-pool.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @return instance identify -> config in json
+     */
+    Map<String, String> getInstanceContent(String groupKey);
+}
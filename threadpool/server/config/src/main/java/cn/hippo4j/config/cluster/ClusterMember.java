@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.cluster;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Member of hippo4j server cluster.
+ * The peers of a member are connected on the cluster port, which is the http port plus the configured offset.
+ */
+@Getter
+@EqualsAndHashCode
+public class ClusterMember {
+
+    /**
+     * Host name or ip
+     */
+    private final String host;
+
+    /**
+     * Http port, which is used by clients
+     */
+    private final int port;
+
+    /**
+     * Cluster port, which is used by peers
+     */
+    private final int clusterPort;
+
+    public ClusterMember(String host, int port, int clusterPort) {
+        this.host = host;
+        this.port = port;
+        this.clusterPort = clusterPort;
+    }
+
+    /**
+     * Parse a member from its http address.
+     *
+     * @param address           http address, host:port, the scheme is optional
+     * @param clusterPortOffset offset of cluster port to http port
+     * @return cluster member
+     * @throws IllegalArgumentException if the address is not host:port
+     */
+    public static ClusterMember of(String address, int clusterPortOffset) {
+        String hostAndPort = address.trim().replaceFirst("^https?://", "");
+        int index = hostAndPort.lastIndexOf(':');
+        if (index <= 0 || index == hostAndPort.length() - 1) {
+            throw new IllegalArgumentException(String.format("The address of cluster member must be host:port, but was %s", address));
+        }
+        int port = Integer.parseInt(hostAndPort.substring(index + 1));
+        return new ClusterMember(hostAndPort.substring(0, index), port, port + clusterPortOffset);
+    }
+
+    /**
+     * Get the http address.
+     *
+     * @return host:port
+     */
+    public String getAddress() {
+        return host + ":" + port;
+    }
+
+    @Override
+    public String toString() {
+        return getAddress();
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.cluster;
+
+import cn.hippo4j.common.toolkit.CollectionUtil;
+import cn.hippo4j.rpc.client.Client;
+import cn.hippo4j.rpc.client.ClientSupport;
+import cn.hippo4j.rpc.connection.SimpleServerConnection;
+import cn.hippo4j.rpc.discovery.ServerPort;
+import cn.hippo4j.rpc.handler.ClientPoolHandler;
+import cn.hippo4j.rpc.handler.ErrorServerHandler;
+import cn.hippo4j.rpc.handler.ServerBiTakeHandler;
+import cn.hippo4j.rpc.handler.ServerTakeHandler;
+import cn.hippo4j.rpc.model.DefaultRequest;
+import cn.hippo4j.rpc.model.Request;
+import cn.hippo4j.rpc.server.RPCServer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Node of hippo4j server cluster, which exchanges messages with the peers over the hippo4j rpc channel. <br />
+ * The members are given by configuration, so there is no external coordinator, and every node connects to all its peers.
+ * Changes are broadcast to the peers asynchronously and at most once, a peer which is down misses them,
+ * and its clients get the missed config changes by md5 comparison when they reconnect.
+ *
+ * <p>Each node keeps the long-polling clients and their config cache of its own connections,
+ * so the client state is sharded by connection, while the instance registry is replicated to all the nodes.
+ * Queries of client state, such as the instances subscribing a thread-pool, are gathered from all the nodes.
+ *
+ * <p>The cluster port is bound to the host of this member only. Every connection to it must send the shared secret
+ * of the cluster first, nothing is deserialized before the secret matches, and the connections with another secret are closed.
+ */
+@Slf4j
+public class ClusterNode implements Closeable {
+
+    public static final String CONFIG_CHANGE = "hippo4j.cluster.configChange";
+
+    public static final String CONTENT_INVALIDATE = "hippo4j.cluster.contentInvalidate";
+
+    public static final String REGISTER = "hippo4j.cluster.register";
+
+    public static final String RENEW = "hippo4j.cluster.renew";
+
+    public static final String REMOVE = "hippo4j.cluster.remove";
+
+    public static final String IDENTIFY_LIST = "hippo4j.cluster.identifyList";
+
+    public static final String CONTAINS_IDENTIFY = "hippo4j.cluster.containsIdentify";
+
+    public static final String INSTANCE_CONTENT = "hippo4j.cluster.instanceContent";
+
+    /**
+     * Max time waiting for the responses of peers when gathering
+     */
+    private static final long GATHER_TIMEOUT_MILLIS = 3000L;
+
+    /**
+     * Max time waiting for the cluster port to be bound
+     */
+    private static final long BIND_TIMEOUT_MILLIS = 5000L;
+
+    /**
+     * Max size of a serialized cluster message
+     */
+    private static final int MAX_MESSAGE_SIZE = 4 * 1024 * 1024;
+
+    @Getter
+    private final ClusterMember self;
+
+    @Getter
+    private final List<ClusterMember> members;
+
+    @Getter
+    private final List<ClusterMember> peers;
+
+    private final String secret;
+
+    private final ClusterListener listener;
+
+    private RPCServer server;
+
+    public ClusterNode(ClusterMember self, List<ClusterMember> members, String secret, ClusterListener listener) {
+        this.self = self;
+        this.members = Collections.unmodifiableList(new ArrayList<>(members));
+        this.peers = Collections.unmodifiableList(members.stream().filter(each -> !each.equals(self)).collect(Collectors.toList()));
+        this.secret = secret;
+        this.listener = listener;
+    }
+
+    /**
+     * Start listening on the cluster port.
+     */
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        SimpleServerConnection connection = new SimpleServerConnection(
+                new ServerBiTakeHandler<String, String, Boolean>(CONFIG_CHANGE, (groupKey, identify) -> {
+                    listener.onConfigChange(groupKey, identify);
+                    return Boolean.TRUE;
+                }),
+                new ServerBiTakeHandler<String, String, Boolean>(CONTENT_INVALIDATE, (groupKey, identify) -> {
+                    listener.onContentInvalidate(groupKey, identify);
+                    return Boolean.TRUE;
+                }),
+                new ServerTakeHandler<String, Boolean>(REGISTER, instanceInfo -> {
+                    listener.replicateRegister(instanceInfo);
+                    return Boolean.TRUE;
+                }),
+                new ServerTakeHandler<String, Boolean>(RENEW, instanceInfo -> {
+                    listener.replicateRenew(instanceInfo);
+                    return Boolean.TRUE;
+                }),
+                new ServerTakeHandler<String, Boolean>(REMOVE, instanceInfo -> {
+                    listener.replicateRemove(instanceInfo);
+                    return Boolean.TRUE;
+                }),
+                new ServerTakeHandler<String, ArrayList<String>>(IDENTIFY_LIST, groupKey -> {
+                    List<String> identifyList = listener.getIdentifyList(groupKey);
+                    return identifyList == null ? new ArrayList<>() : new ArrayList<>(identifyList);
+                }),
+                new ServerTakeHandler<String, Boolean>(CONTAINS_IDENTIFY, listener::containsIdentify),
+                new ServerTakeHandler<String, HashMap<String, String>>(INSTANCE_CONTENT, groupKey -> {
+                    Map<String, String> instanceContent = listener.getInstanceContent(groupKey);
+                    return instanceContent == null ? new HashMap<>() : new HashMap<>(instanceContent);
+                }));
+        connection.handshakeSecret(secret).maxObjectSize(MAX_MESSAGE_SIZE);
+        connection.addLast(null, new ErrorServerHandler());
+        server = new RPCServer(connection, new ServerPort() {
+
+            @Override
+            public int getPort() {
+                return self.getClusterPort();
+            }
+
+            @Override
+            public String getHost() {
+                return self.getHost();
+            }
+        });
+        server.bind();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BIND_TIMEOUT_MILLIS);
+        while (!server.isActive() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10L));
+        }
+        log.info("Hippo4j cluster node {} started, cluster address: {}:{}, peers: {}", self, self.getHost(), self.getClusterPort(), peers);
+    }
+
+    /**
+     * Whether the cluster port is bound.
+     *
+     * @return true if active
+     */
+    public boolean isActive() {
+        return server != null && server.isActive();
+    }
+
+    /**
+     * Send a message to all the peers without waiting for the responses.
+     *
+     * @param key    message key
+     * @param params message parameters
+     */
+    public void broadcast(String key, Object... params) {
+        for (ClusterMember each : peers) {
+            try {
+                CompletableFuture<Object> future = clientOf(each).connectAsync(newRequest(key, params));
+                future.whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.warn("Failed to send cluster message {} to {}. message: {}", key, each, ex.getMessage());
+                    }
+                });
+            } catch (Exception ex) {
+                log.warn("Failed to send cluster message {} to {}. message: {}", key, each, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Send a message to all the peers and collect their responses, the peers failed to respond in time are skipped.
+     *
+     * @param key    message key
+     * @param params message parameters
+     * @param <R>    type of response
+     * @return responses of peers
+     */
+    @SuppressWarnings("unchecked")
+    public <R> List<R> gather(String key, Object... params) {
+        if (CollectionUtil.isEmpty(peers)) {
+            return Collections.emptyList();
+        }
+        List<CompletableFuture<Object>> futures = new ArrayList<>(peers.size());
+        for (ClusterMember each : peers) {
+            try {
+                futures.add(clientOf(each).connectAsync(newRequest(key, params)));
+            } catch (Exception ex) {
+                log.warn("Failed to send cluster message {} to {}. message: {}", key, each, ex.getMessage());
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(GATHER_TIMEOUT_MILLIS);
+        List<R> result = new ArrayList<>(futures.size());
+        for (CompletableFuture<Object> each : futures) {
+            try {
+                Object response = each.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (response != null) {
+                    result.add((R) response);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception ex) {
+                log.warn("Failed to gather cluster message {}. message: {}", key, ex.getMessage());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server == null) {
+            return;
+        }
+        try {
+            server.close();
+        } catch (Exception ex) {
+            log.warn("Failed to close cluster node {}. message: {}", self, ex.getMessage());
+        }
+        server = null;
+        peers.forEach(each -> ClientSupport.closeClient(addressOf(each)));
+    }
+
+    private Request newRequest(String key, Object... params) {
+        return new DefaultRequest(UUID.randomUUID().toString(), key, params);
+    }
+
+    private Client clientOf(ClusterMember member) {
+        return ClientSupport.getClient(addressOf(member), new ClientPoolHandler().handshakeSecret(secret));
+    }
+
+    private static InetSocketAddress addressOf(ClusterMember member) {
+        return InetSocketAddress.createUnresolved(member.getHost(), member.getClusterPort());
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.cluster;
+
+import cn.hippo4j.common.model.InstanceInfo;
+import cn.hippo4j.common.toolkit.CollectionUtil;
+import cn.hippo4j.common.toolkit.ContentUtil;
+import cn.hippo4j.common.toolkit.JSONUtil;
+import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.config.config.ServerBootstrapProperties;
+import cn.hippo4j.config.event.LocalDataChangeEvent;
+import cn.hippo4j.config.model.CacheItem;
+import cn.hippo4j.config.model.ConfigAllInfo;
+import cn.hippo4j.config.notify.NotifyCenter;
+import cn.hippo4j.config.service.ConfigCacheService;
+import cn.hippo4j.config.service.ConfigChangePublisher;
+import cn.hippo4j.config.service.ConfigContentCache;
+import cn.hippo4j.discovery.core.BaseInstanceRegistry;
+import cn.hippo4j.discovery.core.InstanceRegistryListener;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER_TRANSLATION;
+import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_0;
+import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_1;
+import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_2;
+
+/**
+ * <p>Cluster service, which connects the config and registry of this node to the cluster peers. <br />
+ * Config changes, content invalidations and registry changes made on this node are broadcast to the peers,
+ * and the ones received from the peers are applied locally without being broadcast again.
+ *
+ * @see ClusterNode
+ */
+@Slf4j
+public class ClusterService implements ClusterListener, InstanceRegistryListener {
+
+    private final ClusterNode clusterNode;
+
+    private final BaseInstanceRegistry instanceRegistry;
+
+    public ClusterService(ServerBootstrapProperties properties, int serverPort, BaseInstanceRegistry instanceRegistry) {
+        this.instanceRegistry = instanceRegistry;
+        List<ClusterMember> members = parseMembers(properties.getClusterMembers(), properties.getClusterPortOffset());
+        ClusterMember self = StringUtil.isNotBlank(properties.getClusterSelf())
+                ? ClusterMember.of(properties.getClusterSelf(), properties.getClusterPortOffset())
+                : resolveSelf(members, serverPort);
+        if (!members.contains(self)) {
+            throw new IllegalStateException(String.format("Cluster members %s do not contain this node %s", members, self));
+        }
+        if (StringUtil.isBlank(properties.getClusterSecret())) {
+            throw new IllegalStateException(String.format("Cluster secret must be configured when the cluster is enabled, please configure %s.cluster-secret", ServerBootstrapProperties.PREFIX));
+        }
+        if (!"db".equals(properties.getMonitorStoreType())) {
+            log.warn("The embedded monitor store is local to each cluster member, thread pool history is only queried from the member it was reported to. "
+                    + "Configure {}.monitor-store-type=db to share the history in the cluster.", ServerBootstrapProperties.PREFIX);
+        }
+        this.clusterNode = new ClusterNode(self, members, properties.getClusterSecret(), this);
+    }
+
+    @PostConstruct
+    public void start() {
+        clusterNode.start();
+        ConfigChangePublisher.addListener(event -> clusterNode.broadcast(ClusterNode.CONFIG_CHANGE, event.getGroupKey(), event.getIdentify()));
+        ConfigContentCache.addInvalidationListener((groupKey, identify) -> clusterNode.broadcast(ClusterNode.CONTENT_INVALIDATE, groupKey, identify));
+        instanceRegistry.addListener(this);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        clusterNode.close();
+    }
+
+    /**
+     * Get the http addresses of all the cluster members.
+     *
+     * @return http addresses
+     */
+    public List<String> getMemberAddresses() {
+        return clusterNode.getMembers().stream().map(ClusterMember::getAddress).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the identifies of the instances subscribing the thread-pool on all the cluster members.
+     *
+     * @param tenantId     tenant id
+     * @param itemId       item id
+     * @param threadPoolId thread-pool id
+     * @return identifies of instances, or null if none
+     */
+    public List<String> getClusterIdentifyList(String tenantId, String itemId, String threadPoolId) {
+        Set<String> result = new LinkedHashSet<>();
+        List<String> localIdentifyList = ConfigCacheService.getIdentifyList(tenantId, itemId, threadPoolId);
+        if (localIdentifyList != null) {
+            result.addAll(localIdentifyList);
+        }
+        String groupKey = ContentUtil.getGroupKey(threadPoolId, itemId, tenantId);
+        clusterNode.<List<String>>gather(ClusterNode.IDENTIFY_LIST, groupKey).forEach(result::addAll);
+        return result.isEmpty() ? null : new ArrayList<>(result);
+    }
+
+    /**
+     * Get the configs of the instances subscribing the thread-pool on all the cluster members.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @return instance identify -> most recent config
+     */
+    public Map<String, ConfigAllInfo> getClusterInstanceContent(String groupKey) {
+        Map<String, ConfigAllInfo> result = new LinkedHashMap<>();
+        ConfigCacheService.getContent(groupKey).forEach((identify, cacheItem) -> {
+            if (cacheItem.getConfigAllInfo() != null) {
+                result.put(identify, cacheItem.getConfigAllInfo());
+            }
+        });
+        clusterNode.<Map<String, String>>gather(ClusterNode.INSTANCE_CONTENT, groupKey)
+                .forEach(each -> each.forEach((identify, config) -> result.putIfAbsent(identify, JSONUtil.parseObject(config, ConfigAllInfo.class))));
+        return result;
+    }
+
+    /**
+     * Whether a client of the instance is hung on any of the cluster members.
+     *
+     * @param identify instance identify
+     * @return true if the instance is known
+     */
+    public boolean containsClusterIdentify(String identify) {
+        return containsIdentify(identify) || clusterNode.<Boolean>gather(ClusterNode.CONTAINS_IDENTIFY, identify).contains(Boolean.TRUE);
+    }
+
+    @Override
+    public void onConfigChange(String groupKey, String identify) {
+        ConfigContentCache.invalidateLocal(groupKey, identify);
+        NotifyCenter.publishEvent(new LocalDataChangeEvent(identify, groupKey));
+    }
+
+    @Override
+    public void onContentInvalidate(String groupKey, String identify) {
+        ConfigContentCache.invalidateLocal(groupKey, identify);
+    }
+
+    @Override
+    public void replicateRegister(String instanceInfo) {
+        instanceRegistry.register(JSONUtil.parseObject(instanceInfo, InstanceInfo.class), true);
+    }
+
+    @Override
+    public void replicateRenew(String instanceInfo) {
+        InstanceInfo info = JSONUtil.parseObject(instanceInfo, InstanceInfo.class);
+        InstanceInfo.InstanceRenew instanceRenew = new InstanceInfo.InstanceRenew()
+                .setAppName(info.getAppName())
+                .setInstanceId(info.getInstanceId());
+        // the peer may have started after the registration
+        if (!instanceRegistry.renew(instanceRenew, true)) {
+            instanceRegistry.register(info, true);
+        }
+    }
+
+    @Override
+    public void replicateRemove(String instanceInfo) {
+        instanceRegistry.remove(JSONUtil.parseObject(instanceInfo, InstanceInfo.class), true);
+    }
+
+    @Override
+    public List<String> getIdentifyList(String groupKey) {
+        String[] params = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
+        return ConfigCacheService.getIdentifyList(params[INDEX_2], params[INDEX_1], params[INDEX_0]);
+    }
+
+    @Override
+    public boolean containsIdentify(String identify) {
+        return CollectionUtil.isNotEmpty(ConfigCacheService.getContent(identify));
+    }
+
+    @Override
+    public Map<String, String> getInstanceContent(String groupKey) {
+        Map<String, CacheItem> content = ConfigCacheService.getContent(groupKey);
+        Map<String, String> result = new HashMap<>(content.size() << 1);
+        content.forEach((identify, cacheItem) -> {
+            if (cacheItem.getConfigAllInfo() != null) {
+                result.put(identify, JSONUtil.toJSONString(cacheItem.getConfigAllInfo()));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void onRegister(InstanceInfo instanceInfo) {
+        clusterNode.broadcast(ClusterNode.REGISTER, JSONUtil.toJSONString(instanceInfo));
+    }
+
+    @Override
+    public void onRenew(InstanceInfo instanceInfo) {
+        clusterNode.broadcast(ClusterNode.RENEW, JSONUtil.toJSONString(instanceInfo));
+    }
+
+    @Override
+    public void onRemove(InstanceInfo instanceInfo) {
+        clusterNode.broadcast(ClusterNode.REMOVE, JSONUtil.toJSONString(instanceInfo));
+    }
+
+    /**
+     * Parse the cluster members.
+     *
+     * @param members           http addresses separated by commas
+     * @param clusterPortOffset offset of cluster port to http port
+     * @return cluster members
+     */
+    static List<ClusterMember> parseMembers(String members, int clusterPortOffset) {
+        if (StringUtil.isBlank(members)) {
+            throw new IllegalStateException("Cluster members must be configured when the cluster is enabled.");
+        }
+        return Stream.of(members.split(","))
+                .filter(StringUtil::isNotBlank)
+                .map(each -> ClusterMember.of(each, clusterPortOffset))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find the member of this node, whose port is the server port and whose host is a local address.
+     *
+     * @param members    cluster members
+     * @param serverPort server port
+     * @return cluster member of this node
+     */
+    private static ClusterMember resolveSelf(List<ClusterMember> members, int serverPort) {
+        return members.stream()
+                .filter(each -> each.getPort() == serverPort && isLocalHost(each.getHost()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        String.format("Failed to find this node in cluster members %s, please configure %s.cluster-self", members, ServerBootstrapProperties.PREFIX)));
+    }
+
+    private static boolean isLocalHost(String host) {
+        try {
+            InetAddress address = InetAddress.getByName(host);
+            return address.isLoopbackAddress() || address.isAnyLocalAddress() || NetworkInterface.getByInetAddress(address) != null;
+        } catch (Exception ex) {
+            log.warn("Failed to resolve the host of cluster member: {}", host);
+            return false;
+        }
+    }
+}
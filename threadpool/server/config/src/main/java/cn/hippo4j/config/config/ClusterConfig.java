@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.config;
+
+import cn.hippo4j.config.cluster.ClusterService;
+import cn.hippo4j.discovery.core.BaseInstanceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cluster config.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = ServerBootstrapProperties.PREFIX, name = "cluster-enable", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    public ClusterService clusterService(ServerBootstrapProperties serverBootstrapProperties,
+                                         @Value("${server.port:6691}") int serverPort,
+                                         BaseInstanceRegistry baseInstanceRegistry) {
+        return new ClusterService(serverBootstrapProperties, serverPort, baseInstanceRegistry);
+    }
+}
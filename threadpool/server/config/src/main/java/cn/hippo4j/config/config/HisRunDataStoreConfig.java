@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.config;
+
+import cn.hippo4j.config.mapper.HisRunDataBlockMapper;
+import cn.hippo4j.config.monitor.store.DbHisRunDataBlockPersistence;
+import cn.hippo4j.config.monitor.store.DbHisRunDataStore;
+import cn.hippo4j.config.monitor.store.EmbeddedHisRunDataStore;
+import cn.hippo4j.config.monitor.store.FileHisRunDataBlockPersistence;
+import cn.hippo4j.config.monitor.store.HisRunDataBlockPersistence;
+import cn.hippo4j.config.monitor.store.HisRunDataStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * His run data store config.
+ */
+@Configuration
+public class HisRunDataStoreConfig {
+
+    private static final String STORE_TYPE = ServerBootstrapProperties.PREFIX + ".monitor-store-type";
+
+    private static final String STORE_PERSISTENCE = ServerBootstrapProperties.PREFIX + ".monitor-store-persistence";
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_TYPE, havingValue = "embedded", matchIfMissing = true)
+    public HisRunDataStore embeddedHisRunDataStore(ServerBootstrapProperties properties, HisRunDataBlockPersistence hisRunDataBlockPersistence) {
+        return new EmbeddedHisRunDataStore(properties, hisRunDataBlockPersistence);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_TYPE, havingValue = "db")
+    public HisRunDataStore dbHisRunDataStore() {
+        return new DbHisRunDataStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PERSISTENCE, havingValue = "file", matchIfMissing = true)
+    public HisRunDataBlockPersistence fileHisRunDataBlockPersistence(ServerBootstrapProperties properties) {
+        return new FileHisRunDataBlockPersistence(properties.getMonitorStoreDataDir());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PERSISTENCE, havingValue = "db")
+    public HisRunDataBlockPersistence dbHisRunDataBlockPersistence(HisRunDataBlockMapper hisRunDataBlockMapper) {
+        return new DbHisRunDataBlockPersistence(hisRunDataBlockMapper);
+    }
+}
@@ -17,19 +17,24 @@
 
 package cn.hippo4j.config.config;
 
+import cn.hippo4j.auth.security.JwtTokenManager;
+import cn.hippo4j.config.netty.ConfigPushService;
 import cn.hippo4j.config.netty.MonitorNettyServer;
 import cn.hippo4j.config.service.biz.HisRunDataService;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Netty server config.
+ * Netty server config, the server is started for the monitor reports in netty or the config push.
  */
 @Configuration
-@ConditionalOnProperty(name = "hippo4j.core.monitor.report-type", havingValue = "netty")
+@ConditionalOnExpression("'${hippo4j.core.monitor.report-type:}' == 'netty' || '${hippo4j.core.config-push-enable:false}' == 'true'")
 public class NettyServerConfig {
 
     @Bean
@@ -42,12 +47,20 @@ public class NettyServerConfig {
         return new NioEventLoopGroup();
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "hippo4j.core.config-push-enable", havingValue = "true")
+    public ConfigPushService configPushService(JwtTokenManager tokenManager,
+                                               @Value("${hippo4j.core.auth.enabled:true}") boolean enableAuthentication) {
+        return new ConfigPushService(enableAuthentication ? tokenManager : null);
+    }
+
     @Bean
     @SuppressWarnings("all")
     public MonitorNettyServer monitorNettyServer(ServerBootstrapProperties serverBootstrapProperties,
                                                  HisRunDataService hisRunDataService,
                                                  EventLoopGroup bossGroup,
-                                                 EventLoopGroup workGroup) {
-        return new MonitorNettyServer(serverBootstrapProperties, hisRunDataService, bossGroup, workGroup);
+                                                 EventLoopGroup workGroup,
+                                                 ObjectProvider<ConfigPushService> configPushService) {
+        return new MonitorNettyServer(serverBootstrapProperties, hisRunDataService, bossGroup, workGroup, configPushService.getIfAvailable());
     }
 }
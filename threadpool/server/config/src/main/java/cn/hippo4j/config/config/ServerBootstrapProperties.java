@@ -23,6 +23,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.File;
+
 /**
  * Server bootstrap properties.
  */
@@ -49,4 +51,85 @@ public class ServerBootstrapProperties {
      * Netty server port.
      */
     private String nettyServerPort = "8899";
+
+    /**
+     * Count of writer threads saving the reported thread pool running data.
+     */
+    private Integer monitorIngestWriterCount = 2;
+
+    /**
+     * Capacity of the ingestion queue of thread pool running data, clients are asked to back off when it is full.
+     */
+    private Integer monitorIngestQueueCapacity = 65536;
+
+    /**
+     * Max count of rows saved in a batch by a writer.
+     */
+    private Integer monitorIngestBatchSize = 1000;
+
+    /**
+     * Max time a writer waits to fill a batch. unit: ms
+     */
+    private Long monitorIngestFlushInterval = 1000L;
+
+    /**
+     * Storage of thread pool history, embedded or db.
+     */
+    private String monitorStoreType = "embedded";
+
+    /**
+     * Persistence of the blocks of embedded storage, file or db.
+     */
+    private String monitorStorePersistence = "file";
+
+    /**
+     * Directory of the block files of embedded storage.
+     */
+    private String monitorStoreDataDir = System.getProperty("user.home") + File.separator + "hippo4j" + File.separator + "his-run-data";
+
+    /**
+     * Count of samples in a block of embedded storage.
+     */
+    private Integer monitorStoreBlockSamples = 120;
+
+    /**
+     * Retention of one minute rollups of embedded storage. unit: minute.
+     */
+    private Integer monitorStoreMinuteRollupRetention = 1440;
+
+    /**
+     * Retention of one hour rollups of embedded storage. unit: hour.
+     */
+    private Integer monitorStoreHourRollupRetention = 720;
+
+    /**
+     * Whether to push the config changes to the subscribed clients on the netty server port.
+     */
+    private Boolean configPushEnable = Boolean.FALSE;
+
+    /**
+     * Whether to run as a member of server cluster.
+     * The embedded monitor store is local to each member, use the db store to share thread pool history in the cluster.
+     */
+    private Boolean clusterEnable = Boolean.FALSE;
+
+    /**
+     * Http addresses of all the members of server cluster, including this node, separated by commas. eg: 10.0.0.1:6691,10.0.0.2:6691
+     */
+    private String clusterMembers;
+
+    /**
+     * Http address of this node in the cluster members, resolved by the local addresses and server port if empty.
+     */
+    private String clusterSelf;
+
+    /**
+     * Offset of the cluster port, on which the peers are connected, to the http port.
+     */
+    private Integer clusterPortOffset = 1000;
+
+    /**
+     * Shared secret of server cluster, which must be the same on all the members, connections of peers with another secret are closed.
+     */
+    private String clusterSecret;
 }
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.controller;
+
+import cn.hippo4j.common.constant.Constants;
+import cn.hippo4j.common.model.Result;
+import cn.hippo4j.config.cluster.ClusterService;
+import cn.hippo4j.server.common.base.Results;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cluster controller.
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping(Constants.CLUSTER_MEMBERS_PATH)
+public class ClusterController {
+
+    private final ObjectProvider<ClusterService> clusterService;
+
+    /**
+     * Get the http addresses of the cluster members, empty if the cluster is not enabled.
+     *
+     * @return http addresses
+     */
+    @GetMapping
+    public Result<List<String>> members() {
+        ClusterService service = clusterService.getIfAvailable();
+        return Results.success(service == null ? Collections.emptyList() : service.getMemberAddresses());
+    }
+}
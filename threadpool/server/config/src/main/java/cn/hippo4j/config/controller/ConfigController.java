@@ -18,6 +18,7 @@
 package cn.hippo4j.config.controller;
 
 import java.net.URLDecoder;
+import java.util.List;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
@@ -25,6 +26,7 @@ import javax.servlet.http.HttpServletResponse;
 
 import cn.hippo4j.common.constant.ConfigModifyTypeConstants;
 import cn.hippo4j.common.constant.Constants;
+import cn.hippo4j.common.model.ConfigBatchQueryInfo;
 import cn.hippo4j.common.model.register.DynamicThreadPoolRegisterWrapper;
 import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.common.toolkit.StringUtil;
@@ -73,6 +75,11 @@ public class ConfigController {
         return Results.success(configAllInfo);
     }
 
+    @PostMapping("/batch")
+    public Result<List<ConfigAllInfo>> batchConfigInfo(@RequestBody ConfigBatchQueryInfo query) {
+        return Results.success(configService.findConfigRecentInfos(query));
+    }
+
     @PostMapping
     public Result<Boolean> publishConfig(@RequestParam(value = "identify", required = false) String identify,
                                          @RequestBody ConfigAllInfo config) {
@@ -21,8 +21,10 @@ import cn.hippo4j.common.constant.Constants;
 import cn.hippo4j.common.monitor.MessageWrapper;
 import cn.hippo4j.common.model.Result;
 import cn.hippo4j.config.model.biz.monitor.MonitorActiveRespDTO;
+import cn.hippo4j.config.model.biz.monitor.MonitorIngestionRespDTO;
 import cn.hippo4j.config.model.biz.monitor.MonitorQueryReqDTO;
 import cn.hippo4j.config.model.biz.monitor.MonitorRespDTO;
+import cn.hippo4j.config.monitor.HisRunDataIngestion;
 import cn.hippo4j.config.monitor.QueryMonitorExecuteChoose;
 import cn.hippo4j.config.service.biz.HisRunDataService;
 import cn.hippo4j.server.common.base.Results;
@@ -52,6 +54,8 @@ public class MonitorController {
 
     private final ThreadPoolTaskExecutor monitorThreadPoolTaskExecutor;
 
+    private final HisRunDataIngestion hisRunDataIngestion;
+
     @GetMapping
     public Result<List<MonitorRespDTO>> queryMonitor(MonitorQueryReqDTO reqDTO) {
         List<MonitorRespDTO> monitorRespList = hisRunDataService.query(reqDTO);
@@ -70,6 +74,11 @@ public class MonitorController {
         return Results.success(resultDTO);
     }
 
+    @GetMapping("/ingestion")
+    public Result<MonitorIngestionRespDTO> queryIngestion() {
+        return Results.success(hisRunDataIngestion.getStatistics());
+    }
+
     @PostMapping
     public Result<Void> dataCollect(@RequestBody MessageWrapper messageWrapper) {
         return hisRunDataService.dataCollect(messageWrapper);
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.event;
+
+import lombok.Getter;
+
+/**
+ * Tenant, item or thread-pool config added or removed.
+ */
+@Getter
+public class ConfigMetadataChangeEvent extends AbstractSlowEvent {
+
+    /**
+     * Type of changed metadata
+     */
+    private final Type type;
+
+    /**
+     * Whether the metadata is removed
+     */
+    private final boolean removed;
+
+    /**
+     * Tenant id
+     */
+    private final String tenantId;
+
+    /**
+     * Item id, null for tenant
+     */
+    private final String itemId;
+
+    /**
+     * Thread-pool id, null for tenant and item
+     */
+    private final String tpId;
+
+    public ConfigMetadataChangeEvent(Type type, boolean removed, String tenantId, String itemId, String tpId) {
+        this.type = type;
+        this.removed = removed;
+        this.tenantId = tenantId;
+        this.itemId = itemId;
+        this.tpId = tpId;
+    }
+
+    /**
+     * Type of metadata.
+     */
+    public enum Type {
+
+        /**
+         * Tenant
+         */
+        TENANT,
+
+        /**
+         * Item
+         */
+        ITEM,
+
+        /**
+         * Thread-pool config
+         */
+        THREAD_POOL
+    }
+}
@@ -17,11 +17,55 @@
 
 package cn.hippo4j.config.mapper;
 
+import lombok.Data;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * Dashboard mapper.
  */
 @Mapper
 public interface DashboardMapper {
+
+    /**
+     * Query tenants, items and the thread-pool count of each tenant and item in one statement.
+     *
+     * @return tenant rows, item rows and thread-pool count rows
+     */
+    @Select("SELECT 'TENANT' AS type, tenant_id, NULL AS item_id, 0 AS thread_pool_count FROM tenant WHERE del_flag = 0 "
+            + "UNION ALL "
+            + "SELECT 'ITEM' AS type, tenant_id, item_id, 0 AS thread_pool_count FROM item WHERE del_flag = 0 "
+            + "UNION ALL "
+            + "SELECT 'THREAD_POOL' AS type, tenant_id, item_id, count(*) AS thread_pool_count FROM config WHERE del_flag = 0 "
+            + "GROUP BY tenant_id, item_id")
+    List<ConfigMetadataCount> queryConfigMetadataCount();
+
+    /**
+     * Config metadata count
+     */
+    @Data
+    class ConfigMetadataCount {
+
+        /**
+         * TENANT, ITEM or THREAD_POOL
+         */
+        private String type;
+
+        /**
+         * Tenant id
+         */
+        private String tenantId;
+
+        /**
+         * Item id
+         */
+        private String itemId;
+
+        /**
+         * Thread-pool count of the item, 0 for tenant and item rows
+         */
+        private Integer threadPoolCount;
+    }
 }
@@ -104,6 +104,46 @@ public class HisRunDataInfo {
      */
     private Long rejectCount;
 
+    /**
+     * 任务执行耗时 P50, 纳秒
+     */
+    private Long executeTimeP50;
+
+    /**
+     * 任务执行耗时 P90, 纳秒
+     */
+    private Long executeTimeP90;
+
+    /**
+     * 任务执行耗时 P99, 纳秒
+     */
+    private Long executeTimeP99;
+
+    /**
+     * 任务执行耗时 P999, 纳秒
+     */
+    private Long executeTimeP999;
+
+    /**
+     * 任务队列等待耗时 P50, 纳秒
+     */
+    private Long queueWaitTimeP50;
+
+    /**
+     * 任务队列等待耗时 P90, 纳秒
+     */
+    private Long queueWaitTimeP90;
+
+    /**
+     * 任务队列等待耗时 P99, 纳秒
+     */
+    private Long queueWaitTimeP99;
+
+    /**
+     * 任务队列等待耗时 P999, 纳秒
+     */
+    private Long queueWaitTimeP999;
+
     /**
      * 时间戳
      */
@@ -39,40 +39,40 @@ public class MonitorActiveRespDTO {
     /**
      * Pool size list
      */
-    private List<Long> poolSizeList;
+    private long[] poolSizeList;
 
     /**
      * Active size list
      */
-    private List<Long> activeSizeList;
+    private long[] activeSizeList;
 
     /**
      * Queue size list
      */
-    private List<Long> queueSizeList;
+    private long[] queueSizeList;
 
     /**
      * Completed task count list
      */
-    private List<Long> completedTaskCountList;
+    private long[] completedTaskCountList;
 
     /**
      * Reject count list
      */
-    private List<Long> rejectCountList;
+    private long[] rejectCountList;
 
     /**
      * Queue remaining capacity list
      */
-    private List<Long> queueRemainingCapacityList;
+    private long[] queueRemainingCapacityList;
 
     /**
      * Current load list
      */
-    private List<Long> currentLoadList;
+    private long[] currentLoadList;
 
     /**
      * Queue capacity list
      */
-    private List<Long> queueCapacityList;
+    private long[] queueCapacityList;
 }
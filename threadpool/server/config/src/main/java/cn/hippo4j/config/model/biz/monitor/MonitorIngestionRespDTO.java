@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.model.biz.monitor;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Monitor ingestion resp dto.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonitorIngestionRespDTO {
+
+    /**
+     * Rows waiting to be saved
+     */
+    private Integer queueSize;
+
+    /**
+     * Capacity of ingestion queue
+     */
+    private Integer queueCapacity;
+
+    /**
+     * Rows accepted
+     */
+    private Long acceptedCount;
+
+    /**
+     * Rows rejected because the queue is full
+     */
+    private Long rejectedCount;
+
+    /**
+     * Rows saved
+     */
+    private Long writtenCount;
+
+    /**
+     * Rows failed to save
+     */
+    private Long failedCount;
+
+    /**
+     * Batches saved, each batch is a database round trip
+     */
+    private Long roundTripCount;
+
+    /**
+     * Average time of database round trip
+     */
+    private Long avgRoundTripMillis;
+
+    /**
+     * Max time of database round trip
+     */
+    private Long maxRoundTripMillis;
+}
@@ -44,4 +44,14 @@ public class MonitorQueryReqDTO {
      * Instance id
      */
     private String instanceId;
+
+    /**
+     * Start time, the latest history is queried if absent
+     */
+    private Long startTime;
+
+    /**
+     * End time, now if absent
+     */
+    private Long endTime;
 }
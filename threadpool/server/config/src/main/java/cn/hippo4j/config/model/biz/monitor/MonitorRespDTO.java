@@ -89,4 +89,44 @@ public class MonitorRespDTO {
      * Reject count
      */
     private String rejectCount;
+
+    /**
+     * p50 of task execute time in nanoseconds
+     */
+    private String executeTimeP50;
+
+    /**
+     * p90 of task execute time in nanoseconds
+     */
+    private String executeTimeP90;
+
+    /**
+     * p99 of task execute time in nanoseconds
+     */
+    private String executeTimeP99;
+
+    /**
+     * p999 of task execute time in nanoseconds
+     */
+    private String executeTimeP999;
+
+    /**
+     * p50 of task queue wait time in nanoseconds
+     */
+    private String queueWaitTimeP50;
+
+    /**
+     * p90 of task queue wait time in nanoseconds
+     */
+    private String queueWaitTimeP90;
+
+    /**
+     * p99 of task queue wait time in nanoseconds
+     */
+    private String queueWaitTimeP99;
+
+    /**
+     * p999 of task queue wait time in nanoseconds
+     */
+    private String queueWaitTimeP999;
 }
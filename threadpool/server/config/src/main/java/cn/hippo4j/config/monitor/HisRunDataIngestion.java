@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.common.toolkit.ThreadUtil;
+import cn.hippo4j.config.config.ServerBootstrapProperties;
+import cn.hippo4j.config.model.biz.monitor.MonitorIngestionRespDTO;
+import cn.hippo4j.config.service.biz.HisRunDataService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * His run data ingestion.
+ * <p> Samples reported by all the clients are put into a bounded queue, and saved by several writer threads
+ * in large batches, each batch is committed once the batch size is reached or the flush interval elapses.
+ * The room of a report is reserved as a whole before its samples are queued, when the queue can not hold the report,
+ * the report is rejected with {@link RejectedExecutionException}, so the clients are told to back off and retry
+ * instead of a part of the rows being dropped silently. A report larger than the whole queue is accepted once the queue is empty.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HisRunDataIngestion implements InitializingBean, DisposableBean {
+
+    @NonNull
+    private final ServerBootstrapProperties properties;
+
+    @NonNull
+    private final HisRunDataService hisRunDataService;
+
+    private final LongAdder acceptedCount = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final LongAdder writtenCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder roundTripCount = new LongAdder();
+
+    private final LongAdder roundTripNanos = new LongAdder();
+
+    private final AtomicLong maxRoundTripNanos = new AtomicLong();
+
+    private BlockingQueue<RuntimeMessage> ingestQueue;
+
+    /**
+     * Free room of the ingestion queue, reserved by the producers and released by the writers
+     */
+    private Semaphore ingestPermits;
+
+    private List<Thread> writers;
+
+    private volatile boolean running;
+
+    @Override
+    public void afterPropertiesSet() {
+        ingestQueue = new ArrayBlockingQueue<>(properties.getMonitorIngestQueueCapacity());
+        ingestPermits = new Semaphore(properties.getMonitorIngestQueueCapacity());
+        running = true;
+        int writerCount = properties.getMonitorIngestWriterCount();
+        writers = new ArrayList<>(writerCount);
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = ThreadUtil.newThread(this::write, "server.monitor.ingest.writer." + i, Boolean.TRUE);
+            writers.add(writer);
+            writer.start();
+        }
+    }
+
+    /**
+     * Accept the samples of a runtime message.
+     * A report larger than the whole queue reserves the whole queue, and the rest of its samples wait for the writers.
+     *
+     * @param message runtime message
+     * @throws RejectedExecutionException if the ingestion queue is full, the client should retry later
+     */
+    public void ingest(Message message) {
+        List<Message> samples = message.getMessages();
+        if (samples == null || samples.isEmpty()) {
+            return;
+        }
+        int reserved = Math.min(samples.size(), properties.getMonitorIngestQueueCapacity());
+        if (!running || !ingestPermits.tryAcquire(reserved)) {
+            rejectedCount.add(samples.size());
+            throw new RejectedExecutionException("Ingestion queue of thread pool running data is full.");
+        }
+        // the room is reserved, the offers always succeed
+        for (int i = 0; i < samples.size(); i++) {
+            if (i >= reserved) {
+                awaitRoom(samples.size() - i);
+            }
+            ingestQueue.offer((RuntimeMessage) samples.get(i));
+            acceptedCount.increment();
+        }
+    }
+
+    /**
+     * Wait for the writers to leave room for one more sample of a report larger than the whole queue.
+     *
+     * @param remaining number of samples of the report not queued yet
+     * @throws RejectedExecutionException if the ingestion is stopped or interrupted while waiting
+     */
+    private void awaitRoom(int remaining) {
+        try {
+            while (running) {
+                if (ingestPermits.tryAcquire(properties.getMonitorIngestFlushInterval(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCount.add(remaining);
+        throw new RejectedExecutionException("Ingestion of thread pool running data is stopped.");
+    }
+
+    /**
+     * Get the statistics of ingestion.
+     *
+     * @return statistics
+     */
+    public MonitorIngestionRespDTO getStatistics() {
+        long roundTrips = roundTripCount.sum();
+        return MonitorIngestionRespDTO.builder()
+                .queueSize(ingestQueue.size())
+                .queueCapacity(properties.getMonitorIngestQueueCapacity())
+                .acceptedCount(acceptedCount.sum())
+                .rejectedCount(rejectedCount.sum())
+                .writtenCount(writtenCount.sum())
+                .failedCount(failedCount.sum())
+                .roundTripCount(roundTrips)
+                .avgRoundTripMillis(roundTrips == 0L ? 0L : TimeUnit.NANOSECONDS.toMillis(roundTripNanos.sum() / roundTrips))
+                .maxRoundTripMillis(TimeUnit.NANOSECONDS.toMillis(maxRoundTripNanos.get()))
+                .build();
+    }
+
+    private void write() {
+        int batchSize = properties.getMonitorIngestBatchSize();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMonitorIngestFlushInterval());
+        List<Message> batch = new ArrayList<>(batchSize);
+        while (running || !ingestQueue.isEmpty()) {
+            try {
+                RuntimeMessage first = ingestQueue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                try {
+                    long deadline = System.nanoTime() + flushIntervalNanos;
+                    while (batch.size() < batchSize) {
+                        if (ingestQueue.drainTo(batch, batchSize - batch.size()) > 0) {
+                            continue;
+                        }
+                        long remaining = deadline - System.nanoTime();
+                        RuntimeMessage next = remaining > 0L ? ingestQueue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } finally {
+                    // the samples taken from the queue leave room for the producers
+                    ingestPermits.release(batch.size());
+                }
+                save(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable ex) {
+                log.error("Thread pool running data ingestion writer failed.", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void save(List<Message> batch) {
+        RuntimeMessage message = new RuntimeMessage();
+        message.setMessageType(MessageTypeEnum.RUNTIME);
+        message.setMessages(new ArrayList<>(batch));
+        long startTime = System.nanoTime();
+        try {
+            hisRunDataService.save(message);
+            writtenCount.add(batch.size());
+        } catch (Exception ex) {
+            failedCount.add(batch.size());
+            log.error("Failed to save thread pool running data. Rows: {}", batch.size(), ex);
+        } finally {
+            long elapsed = System.nanoTime() - startTime;
+            roundTripCount.increment();
+            roundTripNanos.add(elapsed);
+            maxRoundTripNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        long deadline = System.currentTimeMillis() + properties.getMonitorIngestFlushInterval() * 2;
+        for (Thread each : writers) {
+            each.join(Math.max(1L, deadline - System.currentTimeMillis()));
+        }
+    }
+}
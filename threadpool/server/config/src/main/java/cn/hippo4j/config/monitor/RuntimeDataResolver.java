@@ -19,7 +19,6 @@ package cn.hippo4j.config.monitor;
 
 import cn.hippo4j.common.monitor.MessageTypeEnum;
 import cn.hippo4j.common.monitor.RuntimeMessage;
-import cn.hippo4j.config.service.biz.HisRunDataService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -32,7 +31,7 @@ import org.springframework.stereotype.Component;
 @AllArgsConstructor
 public class RuntimeDataResolver extends AbstractMonitorDataExecuteStrategy<RuntimeMessage> {
 
-    private final HisRunDataService hisRunDataService;
+    private final HisRunDataIngestion hisRunDataIngestion;
 
     @Override
     public String mark() {
@@ -41,6 +40,6 @@ public class RuntimeDataResolver extends AbstractMonitorDataExecuteStrategy<Runt
 
     @Override
     public void execute(RuntimeMessage message) {
-        hisRunDataService.save(message);
+        hisRunDataIngestion.ingest(message);
     }
 }
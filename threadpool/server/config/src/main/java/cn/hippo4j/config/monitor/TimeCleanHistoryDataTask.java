@@ -20,10 +20,7 @@ package cn.hippo4j.config.monitor;
 import cn.hippo4j.common.executor.ExecutorFactory;
 import cn.hippo4j.common.toolkit.DateUtil;
 import cn.hippo4j.config.config.ServerBootstrapProperties;
-import cn.hippo4j.config.model.HisRunDataInfo;
-import cn.hippo4j.config.service.biz.HisRunDataService;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import cn.hippo4j.config.monitor.store.HisRunDataStore;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.InitializingBean;
@@ -46,16 +43,14 @@ public class TimeCleanHistoryDataTask implements Runnable, InitializingBean {
     private final ServerBootstrapProperties properties;
 
     @NonNull
-    private final HisRunDataService hisRunDataService;
+    private final HisRunDataStore hisRunDataStore;
 
     private ScheduledExecutorService cleanHistoryDataExecutor;
 
     @Override
     public void run() {
         LocalDateTime offsetMinuteDateTime = LocalDateTime.now().plusMinutes(-properties.getCleanHistoryDataPeriod());
-        LambdaQueryWrapper<HisRunDataInfo> queryWrapper = Wrappers.lambdaQuery(HisRunDataInfo.class)
-                .le(HisRunDataInfo::getTimestamp, DateUtil.getTime(offsetMinuteDateTime));
-        hisRunDataService.remove(queryWrapper);
+        hisRunDataStore.expire(DateUtil.getTime(offsetMinuteDateTime));
     }
 
     @Override
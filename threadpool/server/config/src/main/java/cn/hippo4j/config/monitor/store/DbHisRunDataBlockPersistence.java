@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import cn.hippo4j.config.mapper.HisRunDataBlockMapper;
+import cn.hippo4j.config.model.HisRunDataBlockInfo;
+import cn.hippo4j.config.monitor.store.HisRunDataSeries.Resolution;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Save sealed blocks as blobs of table {@code his_run_data_block}, one row per block.
+ */
+@RequiredArgsConstructor
+public class DbHisRunDataBlockPersistence implements HisRunDataBlockPersistence {
+
+    @NonNull
+    private final HisRunDataBlockMapper hisRunDataBlockMapper;
+
+    @Override
+    public void save(HisRunDataBlock block) {
+        HisRunDataBlockInfo blockInfo = new HisRunDataBlockInfo();
+        blockInfo.setResolution(block.getResolution().name());
+        blockInfo.setSeriesKey(block.getSeriesKey());
+        blockInfo.setMinTime(block.getMinTime());
+        blockInfo.setMaxTime(block.getMaxTime());
+        blockInfo.setSampleCount(block.getCount());
+        blockInfo.setData(block.getData());
+        hisRunDataBlockMapper.insert(blockInfo);
+    }
+
+    @Override
+    public List<HisRunDataBlock> load(Resolution resolution, long since) {
+        List<HisRunDataBlockInfo> blockInfos = hisRunDataBlockMapper.selectList(Wrappers.lambdaQuery(HisRunDataBlockInfo.class)
+                .eq(HisRunDataBlockInfo::getResolution, resolution.name())
+                .ge(HisRunDataBlockInfo::getMaxTime, since));
+        return blockInfos.stream()
+                .map(each -> new HisRunDataBlock(resolution, each.getSeriesKey(), each.getMinTime(), each.getMaxTime(), each.getSampleCount(), each.getData()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void delete(Resolution resolution, long before) {
+        hisRunDataBlockMapper.delete(Wrappers.lambdaQuery(HisRunDataBlockInfo.class)
+                .eq(HisRunDataBlockInfo::getResolution, resolution.name())
+                .lt(HisRunDataBlockInfo::getMaxTime, before));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import cn.hippo4j.config.mapper.HisRunDataMapper;
+import cn.hippo4j.config.model.HisRunDataInfo;
+import cn.hippo4j.config.monitor.store.HisRunDataSeries.Resolution;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+
+import java.util.List;
+
+/**
+ * Store thread pool history as rows of table {@code his_run_data}, the storage used before the embedded store.
+ */
+public class DbHisRunDataStore extends ServiceImpl<HisRunDataMapper, HisRunDataInfo> implements HisRunDataStore {
+
+    /**
+     * Limit of {@link HisRunDataMapper#queryThreadPoolMaxRanking}
+     */
+    private static final int MAX_RANKING_LIMIT = 4;
+
+    @Override
+    public void append(List<HisRunDataInfo> rows) {
+        this.saveBatch(rows);
+    }
+
+    @Override
+    public HisRunDataSeries query(String tenantId, String itemId, String tpId, String instanceId, long startTime, long endTime) {
+        List<HisRunDataInfo> hisRunDataInfos = this.lambdaQuery()
+                .eq(HisRunDataInfo::getTenantId, tenantId)
+                .eq(HisRunDataInfo::getItemId, itemId)
+                .eq(HisRunDataInfo::getTpId, tpId)
+                .eq(HisRunDataInfo::getInstanceId, instanceId)
+                .between(HisRunDataInfo::getTimestamp, startTime, endTime)
+                .orderByAsc(HisRunDataInfo::getTimestamp)
+                .list();
+        int size = hisRunDataInfos.size();
+        long[] timestamps = new long[size];
+        long[][] values = new long[HisRunDataMetric.COUNT][size];
+        for (int i = 0; i < size; i++) {
+            HisRunDataInfo each = hisRunDataInfos.get(i);
+            timestamps[i] = each.getTimestamp();
+            for (HisRunDataMetric metric : HisRunDataMetric.values()) {
+                values[metric.ordinal()][i] = metric.get(each);
+            }
+        }
+        return new HisRunDataSeries(Resolution.RAW, size, timestamps, values);
+    }
+
+    @Override
+    public HisRunDataInfo queryLast(String tenantId, String itemId, String tpId, String instanceId, long startTime, long endTime) {
+        return this.lambdaQuery()
+                .eq(HisRunDataInfo::getTenantId, tenantId)
+                .eq(HisRunDataInfo::getItemId, itemId)
+                .eq(HisRunDataInfo::getTpId, tpId)
+                .eq(HisRunDataInfo::getInstanceId, instanceId)
+                .orderByDesc(HisRunDataInfo::getTimestamp)
+                .between(HisRunDataInfo::getTimestamp, startTime, endTime)
+                .last("LIMIT 1")
+                .one();
+    }
+
+    @Override
+    public List<HisRunDataMapper.ThreadPoolTaskRanking> queryTaskRanking(long startTime, long endTime, int limit) {
+        List<HisRunDataMapper.ThreadPoolTaskRanking> rankings = limit <= MAX_RANKING_LIMIT
+                ? baseMapper.queryThreadPoolMaxRanking(startTime, endTime)
+                : baseMapper.queryThreadPoolTaskSumRanking(startTime, endTime);
+        return rankings.size() > limit ? rankings.subList(0, limit) : rankings;
+    }
+
+    @Override
+    public void expire(long expireTime) {
+        this.remove(Wrappers.lambdaQuery(HisRunDataInfo.class).le(HisRunDataInfo::getTimestamp, expireTime));
+    }
+}
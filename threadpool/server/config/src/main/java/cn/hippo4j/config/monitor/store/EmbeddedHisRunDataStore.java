@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import cn.hippo4j.common.toolkit.GroupKey;
+import cn.hippo4j.config.config.ServerBootstrapProperties;
+import cn.hippo4j.config.mapper.HisRunDataMapper;
+import cn.hippo4j.config.model.HisRunDataInfo;
+import cn.hippo4j.config.monitor.store.HisRunDataSeries.Resolution;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER;
+import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_0;
+import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_1;
+import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_2;
+
+/**
+ * <p>Embedded time-series store of thread pool history. <br />
+ * Samples of each thread pool instance are kept in a {@link HisRunDataSeriesBuffer}, sealed blocks are compressed
+ * and saved by {@link HisRunDataBlockPersistence}, and loaded again when the server starts.
+ * Raw samples are kept for {@link ServerBootstrapProperties#getCleanHistoryDataPeriod()},
+ * one minute and one hour rollups are kept for their own retention, so longer ranges are answered from rollups.
+ *
+ * <p>The store is local to the server. In cluster mode each member only holds the history reported to it,
+ * and queries are not gathered from the peers, so the db store should be used to share the history in a cluster.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddedHisRunDataStore implements HisRunDataStore, InitializingBean, DisposableBean {
+
+    /**
+     * Count of buckets in a sealed block of one minute rollups
+     */
+    private static final int MINUTE_BLOCK_BUCKETS = 60;
+
+    /**
+     * Count of buckets in a sealed block of one hour rollups
+     */
+    private static final int HOUR_BLOCK_BUCKETS = 24;
+
+    /**
+     * Raw head whose first sample is older than it is sealed even if not full
+     */
+    private static final long MAX_RAW_HEAD_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    @NonNull
+    private final ServerBootstrapProperties properties;
+
+    @NonNull
+    private final HisRunDataBlockPersistence persistence;
+
+    private final Map<String, HisRunDataSeriesBuffer> seriesBuffers = new ConcurrentHashMap<>();
+
+    @Override
+    public void append(List<HisRunDataInfo> rows) {
+        List<HisRunDataBlock> sealed = new ArrayList<>();
+        long[] values = new long[HisRunDataMetric.COUNT];
+        for (HisRunDataInfo each : rows) {
+            if (each.getTimestamp() == null) {
+                continue;
+            }
+            for (HisRunDataMetric metric : HisRunDataMetric.values()) {
+                values[metric.ordinal()] = metric.get(each);
+            }
+            String seriesKey = String.join(GROUP_KEY_DELIMITER, each.getTpId(), each.getItemId(), each.getTenantId(), each.getInstanceId());
+            seriesBuffers.compute(seriesKey, (key, buffer) -> {
+                HisRunDataSeriesBuffer actual = buffer == null ? newBuffer(key) : buffer;
+                actual.append(each.getTimestamp(), values, sealed);
+                return actual;
+            });
+        }
+        sealed.forEach(this::persist);
+    }
+
+    @Override
+    public HisRunDataSeries query(String tenantId, String itemId, String tpId, String instanceId, long startTime, long endTime) {
+        Resolution resolution = resolutionOf(startTime);
+        HisRunDataSeriesBuffer buffer = seriesBuffers.get(String.join(GROUP_KEY_DELIMITER, tpId, itemId, tenantId, instanceId));
+        return buffer == null ? HisRunDataSeries.empty(resolution) : buffer.query(resolution, startTime, endTime, false);
+    }
+
+    @Override
+    public HisRunDataInfo queryLast(String tenantId, String itemId, String tpId, String instanceId, long startTime, long endTime) {
+        HisRunDataSeriesBuffer buffer = seriesBuffers.get(String.join(GROUP_KEY_DELIMITER, tpId, itemId, tenantId, instanceId));
+        if (buffer == null) {
+            return null;
+        }
+        HisRunDataSeries series = buffer.query(Resolution.RAW, startTime, endTime, false);
+        if (series.getSize() == 0) {
+            return null;
+        }
+        int last = series.getSize() - 1;
+        HisRunDataInfo result = new HisRunDataInfo();
+        result.setTenantId(tenantId);
+        result.setItemId(itemId);
+        result.setTpId(tpId);
+        result.setInstanceId(instanceId);
+        result.setTimestamp(series.getTimestamps()[last]);
+        for (HisRunDataMetric metric : HisRunDataMetric.values()) {
+            metric.set(result, series.getValues(metric)[last]);
+        }
+        return result;
+    }
+
+    /**
+     * Rankings are computed from the max values of one minute rollups of all the series.
+     */
+    @Override
+    public List<HisRunDataMapper.ThreadPoolTaskRanking> queryTaskRanking(long startTime, long endTime, int limit) {
+        Map<String, HisRunDataMapper.ThreadPoolTaskRanking> rankings = new HashMap<>();
+        for (HisRunDataSeriesBuffer each : seriesBuffers.values()) {
+            HisRunDataSeries series = each.query(Resolution.MINUTE, startTime, endTime, true);
+            if (series.getSize() == 0) {
+                continue;
+            }
+            String[] ids = GroupKey.parseKey(each.getSeriesKey());
+            String groupKey = String.join(GROUP_KEY_DELIMITER, ids[INDEX_0], ids[INDEX_1], ids[INDEX_2]);
+            HisRunDataMapper.ThreadPoolTaskRanking ranking = rankings.computeIfAbsent(groupKey, key -> {
+                HisRunDataMapper.ThreadPoolTaskRanking newRanking = new HisRunDataMapper.ThreadPoolTaskRanking();
+                newRanking.setTpId(ids[INDEX_0]);
+                newRanking.setItemId(ids[INDEX_1]);
+                newRanking.setTenantId(ids[INDEX_2]);
+                newRanking.setMaxCompletedTaskCount(0L);
+                newRanking.setMaxQueueSize(0L);
+                newRanking.setMaxRejectCount(0L);
+                return newRanking;
+            });
+            ranking.setMaxCompletedTaskCount(Math.max(ranking.getMaxCompletedTaskCount(), max(series, HisRunDataMetric.COMPLETED_TASK_COUNT)));
+            ranking.setMaxQueueSize(Math.max(ranking.getMaxQueueSize(), max(series, HisRunDataMetric.QUEUE_SIZE)));
+            ranking.setMaxRejectCount(Math.max(ranking.getMaxRejectCount(), max(series, HisRunDataMetric.REJECT_COUNT)));
+        }
+        return rankings.values().stream()
+                .sorted(Comparator.comparing(HisRunDataMapper.ThreadPoolTaskRanking::getMaxCompletedTaskCount).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void expire(long expireTime) {
+        long currentTime = System.currentTimeMillis();
+        long minuteExpireTime = currentTime - TimeUnit.MINUTES.toMillis(properties.getMonitorStoreMinuteRollupRetention());
+        long hourExpireTime = currentTime - TimeUnit.HOURS.toMillis(properties.getMonitorStoreHourRollupRetention());
+        List<HisRunDataBlock> sealed = new ArrayList<>();
+        for (String each : seriesBuffers.keySet()) {
+            seriesBuffers.computeIfPresent(each, (key, buffer) -> {
+                buffer.sealRawHead(currentTime - MAX_RAW_HEAD_MILLIS, sealed);
+                return buffer.expire(expireTime, minuteExpireTime, hourExpireTime) ? null : buffer;
+            });
+        }
+        sealed.forEach(this::persist);
+        try {
+            persistence.delete(Resolution.RAW, expireTime);
+            persistence.delete(Resolution.MINUTE, minuteExpireTime);
+            persistence.delete(Resolution.HOUR, hourExpireTime);
+        } catch (Exception ex) {
+            log.error("Failed to delete expired blocks of thread pool history.", ex);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long currentTime = System.currentTimeMillis();
+        int blockCount = 0;
+        blockCount += restore(Resolution.RAW, currentTime - TimeUnit.MINUTES.toMillis(properties.getCleanHistoryDataPeriod()));
+        blockCount += restore(Resolution.MINUTE, currentTime - TimeUnit.MINUTES.toMillis(properties.getMonitorStoreMinuteRollupRetention()));
+        blockCount += restore(Resolution.HOUR, currentTime - TimeUnit.HOURS.toMillis(properties.getMonitorStoreHourRollupRetention()));
+        log.info("Restored thread pool history. Series: {}, blocks: {}", seriesBuffers.size(), blockCount);
+    }
+
+    @Override
+    public void destroy() {
+        List<HisRunDataBlock> sealed = new ArrayList<>();
+        seriesBuffers.values().forEach(each -> each.sealAll(sealed));
+        sealed.forEach(this::persist);
+    }
+
+    private int restore(Resolution resolution, long since) {
+        try {
+            List<HisRunDataBlock> blocks = persistence.load(resolution, since);
+            blocks.forEach(each -> seriesBuffers.computeIfAbsent(each.getSeriesKey(), this::newBuffer).restore(each));
+            return blocks.size();
+        } catch (Exception ex) {
+            log.error("Failed to restore thread pool history. Resolution: {}", resolution, ex);
+            return 0;
+        }
+    }
+
+    private Resolution resolutionOf(long startTime) {
+        long currentTime = System.currentTimeMillis();
+        if (startTime >= currentTime - TimeUnit.MINUTES.toMillis(properties.getCleanHistoryDataPeriod())) {
+            return Resolution.RAW;
+        }
+        if (startTime >= currentTime - TimeUnit.MINUTES.toMillis(properties.getMonitorStoreMinuteRollupRetention())) {
+            return Resolution.MINUTE;
+        }
+        return Resolution.HOUR;
+    }
+
+    private HisRunDataSeriesBuffer newBuffer(String seriesKey) {
+        return new HisRunDataSeriesBuffer(seriesKey, properties.getMonitorStoreBlockSamples(), MINUTE_BLOCK_BUCKETS, HOUR_BLOCK_BUCKETS);
+    }
+
+    private void persist(HisRunDataBlock block) {
+        try {
+            persistence.save(block);
+        } catch (Exception ex) {
+            log.error("Failed to persist block of thread pool history. Series: {}", block.getSeriesKey(), ex);
+        }
+    }
+
+    private static long max(HisRunDataSeries series, HisRunDataMetric metric) {
+        long result = 0L;
+        long[] values = series.getValues(metric);
+        for (int i = 0; i < series.getSize(); i++) {
+            result = Math.max(result, values[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import cn.hippo4j.config.monitor.store.HisRunDataSeries.Resolution;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Save each sealed block as a file under {@code <data dir>/<resolution>}. <br />
+ * The file name starts with the max time of the block, so expired blocks are deleted without being read.
+ * Files are written to a temporary file first and then moved, a crash never leaves a partial block.
+ */
+@Slf4j
+public class FileHisRunDataBlockPersistence implements HisRunDataBlockPersistence {
+
+    private static final int MAGIC = 0x48524442;
+
+    private static final String SUFFIX = ".blk";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String NAME_DELIMITER = "-";
+
+    private final Path dataDir;
+
+    private final AtomicLong sequence = new AtomicLong(System.nanoTime());
+
+    public FileHisRunDataBlockPersistence(String dataDir) {
+        this.dataDir = Paths.get(dataDir);
+    }
+
+    @Override
+    public void save(HisRunDataBlock block) {
+        Path dir = directoryOf(block.getResolution());
+        String name = block.getMaxTime() + NAME_DELIMITER + block.getMinTime() + NAME_DELIMITER + sequence.incrementAndGet();
+        Path temp = dir.resolve(name + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(dir);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeUTF(block.getSeriesKey());
+                output.writeLong(block.getMinTime());
+                output.writeLong(block.getMaxTime());
+                output.writeInt(block.getCount());
+                output.writeInt(block.getData().length);
+                output.write(block.getData());
+            }
+            Files.move(temp, dir.resolve(name + SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public List<HisRunDataBlock> load(Resolution resolution, long since) {
+        List<HisRunDataBlock> result = new ArrayList<>();
+        for (File each : listFiles(resolution)) {
+            if (maxTimeOf(each) < since) {
+                continue;
+            }
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(each.toPath())))) {
+                if (input.readInt() != MAGIC) {
+                    log.warn("Skip unknown file in thread pool history directory: {}", each);
+                    continue;
+                }
+                String seriesKey = input.readUTF();
+                long minTime = input.readLong();
+                long maxTime = input.readLong();
+                int count = input.readInt();
+                byte[] data = new byte[input.readInt()];
+                input.readFully(data);
+                result.add(new HisRunDataBlock(resolution, seriesKey, minTime, maxTime, count, data));
+            } catch (IOException ex) {
+                log.warn("Skip broken block of thread pool history: {}", each, ex);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void delete(Resolution resolution, long before) {
+        for (File each : listFiles(resolution)) {
+            if (maxTimeOf(each) < before && !each.delete()) {
+                log.warn("Failed to delete expired block of thread pool history: {}", each);
+            }
+        }
+    }
+
+    private Path directoryOf(Resolution resolution) {
+        return dataDir.resolve(resolution.name().toLowerCase(Locale.ROOT));
+    }
+
+    private File[] listFiles(Resolution resolution) {
+        File[] files = directoryOf(resolution).toFile().listFiles((dir, name) -> name.endsWith(SUFFIX));
+        return files == null ? new File[0] : files;
+    }
+
+    private static long maxTimeOf(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(0, name.indexOf(NAME_DELIMITER)));
+        } catch (RuntimeException ex) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Sealed block of a series, immutable once created.
+ * Raw blocks hold the reported samples, rollup blocks hold min, max and average of each metric per bucket.
+ */
+@Getter
+@AllArgsConstructor
+public class HisRunDataBlock {
+
+    /**
+     * Resolution of samples in the block
+     */
+    private final HisRunDataSeries.Resolution resolution;
+
+    /**
+     * tpId+itemId+tenantId+instanceId
+     */
+    private final String seriesKey;
+
+    /**
+     * Min timestamp of samples
+     */
+    private final long minTime;
+
+    /**
+     * Max timestamp of samples
+     */
+    private final long maxTime;
+
+    /**
+     * Count of samples
+     */
+    private final int count;
+
+    /**
+     * Samples encoded by {@link HisRunDataBlockCodec}
+     */
+    private final byte[] data;
+
+    /**
+     * Whether the block has samples in the time range.
+     *
+     * @param startTime start time, inclusive
+     * @param endTime   end time, inclusive
+     * @return true if overlapped
+     */
+    public boolean overlaps(long startTime, long endTime) {
+        return minTime <= endTime && maxTime >= startTime;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import cn.hippo4j.common.monitor.codec.WireInput;
+import cn.hippo4j.common.monitor.codec.WireOutput;
+
+/**
+ * <p>Columnar codec of the samples of a block. <br />
+ * Each column, timestamps first, is encoded with delta-of-delta and zigzag varints of {@link WireOutput},
+ * so regular report intervals and slowly changing gauges take about one byte per value.
+ *
+ * <pre>
+ * | version (1 byte) | count (varint) | column count (varint) | timestamps | column 0 | ... | column n-1 |
+ * </pre>
+ */
+public final class HisRunDataBlockCodec {
+
+    /**
+     * Version of encoding
+     */
+    static final byte VERSION = 1;
+
+    private HisRunDataBlockCodec() {
+    }
+
+    /**
+     * Encode the samples.
+     *
+     * @param timestamps timestamps
+     * @param columns    columns of values, each column has at least count values
+     * @param count      count of samples
+     * @return encoded bytes
+     */
+    public static byte[] encode(long[] timestamps, long[][] columns, int count) {
+        WireOutput output = new WireOutput(16 + count * (columns.length + 1) * 2);
+        output.writeByte(VERSION);
+        output.writeVarLong(count);
+        output.writeVarLong(columns.length);
+        writeColumn(output, timestamps, count);
+        for (long[] column : columns) {
+            writeColumn(output, column, count);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Decode the samples.
+     *
+     * @param data encoded bytes
+     * @return decoded samples
+     * @throws IllegalArgumentException if the bytes are not encoded by {@link #encode}
+     */
+    public static Decoded decode(byte[] data) {
+        WireInput input = new WireInput(data, 0, data.length);
+        int version = input.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported his run data block version: " + version);
+        }
+        int count = input.readVarInt();
+        int columnCount = input.readVarInt();
+        long[] timestamps = readColumn(input, count);
+        long[][] columns = new long[columnCount][];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = readColumn(input, count);
+        }
+        return new Decoded(count, timestamps, columns);
+    }
+
+    private static void writeColumn(WireOutput output, long[] column, int count) {
+        long previous = 0L;
+        long previousDelta = 0L;
+        for (int i = 0; i < count; i++) {
+            long delta = column[i] - previous;
+            output.writeZigZag(i == 0 ? column[i] : delta - previousDelta);
+            previousDelta = i == 0 ? 0L : delta;
+            previous = column[i];
+        }
+    }
+
+    private static long[] readColumn(WireInput input, int count) {
+        long[] column = new long[count];
+        long previous = 0L;
+        long previousDelta = 0L;
+        for (int i = 0; i < count; i++) {
+            long value = input.readZigZag();
+            if (i == 0) {
+                column[i] = value;
+            } else {
+                previousDelta += value;
+                column[i] = previous + previousDelta;
+            }
+            previous = column[i];
+        }
+        return column;
+    }
+
+    /**
+     * Decoded samples.
+     */
+    public static final class Decoded {
+
+        /**
+         * Count of samples
+         */
+        public final int count;
+
+        /**
+         * Timestamps
+         */
+        public final long[] timestamps;
+
+        /**
+         * Columns of values
+         */
+        public final long[][] columns;
+
+        Decoded(int count, long[] timestamps, long[][] columns) {
+            this.count = count;
+            this.timestamps = timestamps;
+            this.columns = columns;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import java.util.List;
+
+/**
+ * Persistence of sealed blocks of {@link EmbeddedHisRunDataStore}, selected by {@code hippo4j.core.monitor-store-persistence}.
+ *
+ * @see FileHisRunDataBlockPersistence
+ * @see DbHisRunDataBlockPersistence
+ */
+public interface HisRunDataBlockPersistence {
+
+    /**
+     * Save the block.
+     *
+     * @param block sealed block
+     */
+    void save(HisRunDataBlock block);
+
+    /**
+     * Load the blocks of the resolution which have samples not before the time.
+     *
+     * @param resolution resolution
+     * @param since      time
+     * @return blocks
+     */
+    List<HisRunDataBlock> load(HisRunDataSeries.Resolution resolution, long since);
+
+    /**
+     * Delete the blocks of the resolution whose samples are all before the time.
+     *
+     * @param resolution resolution
+     * @param before     time
+     */
+    void delete(HisRunDataSeries.Resolution resolution, long before);
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import cn.hippo4j.config.model.HisRunDataInfo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Metrics of thread pool history, the ordinal is the index of the column in a block.
+ * New metrics are only appended, so the blocks sealed before keep their columns.
+ */
+@AllArgsConstructor
+public enum HisRunDataMetric {
+
+    CURRENT_LOAD(HisRunDataInfo::getCurrentLoad, HisRunDataInfo::setCurrentLoad, false),
+
+    PEAK_LOAD(HisRunDataInfo::getPeakLoad, HisRunDataInfo::setPeakLoad, false),
+
+    POOL_SIZE(HisRunDataInfo::getPoolSize, HisRunDataInfo::setPoolSize, false),
+
+    ACTIVE_SIZE(HisRunDataInfo::getActiveSize, HisRunDataInfo::setActiveSize, false),
+
+    QUEUE_CAPACITY(HisRunDataInfo::getQueueCapacity, HisRunDataInfo::setQueueCapacity, false),
+
+    QUEUE_SIZE(HisRunDataInfo::getQueueSize, HisRunDataInfo::setQueueSize, false),
+
+    QUEUE_REMAINING_CAPACITY(HisRunDataInfo::getQueueRemainingCapacity, HisRunDataInfo::setQueueRemainingCapacity, false),
+
+    COMPLETED_TASK_COUNT(HisRunDataInfo::getCompletedTaskCount, HisRunDataInfo::setCompletedTaskCount, true),
+
+    REJECT_COUNT(HisRunDataInfo::getRejectCount, HisRunDataInfo::setRejectCount, true),
+
+    EXECUTE_TIME_P50(HisRunDataInfo::getExecuteTimeP50, HisRunDataInfo::setExecuteTimeP50, false),
+
+    EXECUTE_TIME_P90(HisRunDataInfo::getExecuteTimeP90, HisRunDataInfo::setExecuteTimeP90, false),
+
+    EXECUTE_TIME_P99(HisRunDataInfo::getExecuteTimeP99, HisRunDataInfo::setExecuteTimeP99, false),
+
+    EXECUTE_TIME_P999(HisRunDataInfo::getExecuteTimeP999, HisRunDataInfo::setExecuteTimeP999, false),
+
+    QUEUE_WAIT_TIME_P50(HisRunDataInfo::getQueueWaitTimeP50, HisRunDataInfo::setQueueWaitTimeP50, false),
+
+    QUEUE_WAIT_TIME_P90(HisRunDataInfo::getQueueWaitTimeP90, HisRunDataInfo::setQueueWaitTimeP90, false),
+
+    QUEUE_WAIT_TIME_P99(HisRunDataInfo::getQueueWaitTimeP99, HisRunDataInfo::setQueueWaitTimeP99, false),
+
+    QUEUE_WAIT_TIME_P999(HisRunDataInfo::getQueueWaitTimeP999, HisRunDataInfo::setQueueWaitTimeP999, false);
+
+    /**
+     * Count of metrics
+     */
+    public static final int COUNT = values().length;
+
+    private final Function<HisRunDataInfo, Long> getter;
+
+    private final BiConsumer<HisRunDataInfo, Long> setter;
+
+    /**
+     * Whether the metric is a counter which only increases, rollups of counters report the max instead of the average
+     */
+    @Getter
+    private final boolean cumulative;
+
+    /**
+     * Get the value of the metric from the row.
+     *
+     * @param row row
+     * @return value, 0 if absent
+     */
+    public long get(HisRunDataInfo row) {
+        Long value = getter.apply(row);
+        return value == null ? 0L : value;
+    }
+
+    /**
+     * Set the value of the metric to the row.
+     *
+     * @param row   row
+     * @param value value
+     */
+    public void set(HisRunDataInfo row, long value) {
+        setter.accept(row, value);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Samples of a thread pool instance in a time range, stored by column in primitive arrays.
+ * The values of rollups are the averages in the buckets, or the max for {@link HisRunDataMetric#isCumulative} metrics.
+ */
+@Getter
+@AllArgsConstructor
+public class HisRunDataSeries {
+
+    /**
+     * Resolution of samples
+     */
+    private final Resolution resolution;
+
+    /**
+     * Count of samples
+     */
+    private final int size;
+
+    /**
+     * Timestamps in ascending order, for rollups the start time of buckets
+     */
+    private final long[] timestamps;
+
+    /**
+     * Values indexed by {@link HisRunDataMetric#ordinal()}
+     */
+    private final long[][] values;
+
+    /**
+     * Get the values of the metric.
+     *
+     * @param metric metric
+     * @return values, the length may be greater than {@link #size}
+     */
+    public long[] getValues(HisRunDataMetric metric) {
+        return values[metric.ordinal()];
+    }
+
+    /**
+     * Create an empty series.
+     *
+     * @param resolution resolution
+     * @return empty series
+     */
+    public static HisRunDataSeries empty(Resolution resolution) {
+        return new HisRunDataSeries(resolution, 0, new long[0], new long[HisRunDataMetric.COUNT][0]);
+    }
+
+    /**
+     * Resolution of samples.
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum Resolution {
+
+        /**
+         * Reported samples
+         */
+        RAW(0L),
+
+        /**
+         * One minute rollups
+         */
+        MINUTE(60000L),
+
+        /**
+         * One hour rollups
+         */
+        HOUR(3600000L);
+
+        /**
+         * Time of a bucket in milliseconds, 0 for raw samples
+         */
+        private final long bucketMillis;
+    }
+}
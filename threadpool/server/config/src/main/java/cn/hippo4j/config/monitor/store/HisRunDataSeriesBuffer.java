@@ -0,0 +1,454 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import cn.hippo4j.config.monitor.store.HisRunDataSeries.Resolution;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Samples of a thread pool instance in memory. <br />
+ * Recent samples are appended to a columnar head, the head is sealed into a compressed {@link HisRunDataBlock}
+ * once it is full. Every sample also updates the one minute and one hour rollups, whose heads are sealed the same way.
+ * Expiring drops whole blocks instead of single samples.
+ *
+ * <p>All the mutations are guarded by the monitor of the buffer, sealed blocks are decoded outside of it.
+ */
+final class HisRunDataSeriesBuffer {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final int METRIC_COUNT = HisRunDataMetric.COUNT;
+
+    /**
+     * Rollup columns: min of each metric, max of each metric, sum of each metric and count of samples
+     */
+    private static final int ROLLUP_COLUMN_COUNT = METRIC_COUNT * 3 + 1;
+
+    private static final int MAX_OFFSET = METRIC_COUNT;
+
+    private static final int SUM_OFFSET = METRIC_COUNT * 2;
+
+    private static final int COUNT_INDEX = METRIC_COUNT * 3;
+
+    /**
+     * tpId+itemId+tenantId+instanceId
+     */
+    @Getter
+    private final String seriesKey;
+
+    private final Head rawHead;
+
+    private final Head minuteHead;
+
+    private final Head hourHead;
+
+    private final List<HisRunDataBlock> rawBlocks = new ArrayList<>();
+
+    private final List<HisRunDataBlock> minuteBlocks = new ArrayList<>();
+
+    private final List<HisRunDataBlock> hourBlocks = new ArrayList<>();
+
+    HisRunDataSeriesBuffer(String seriesKey, int rawBlockSamples, int minuteBlockBuckets, int hourBlockBuckets) {
+        this.seriesKey = seriesKey;
+        this.rawHead = new Head(Resolution.RAW, rawBlockSamples, METRIC_COUNT);
+        this.minuteHead = new Head(Resolution.MINUTE, minuteBlockBuckets, ROLLUP_COLUMN_COUNT);
+        this.hourHead = new Head(Resolution.HOUR, hourBlockBuckets, ROLLUP_COLUMN_COUNT);
+    }
+
+    /**
+     * Append a sample.
+     *
+     * @param timestamp timestamp
+     * @param values    values indexed by {@link HisRunDataMetric#ordinal()}
+     * @param sealed    blocks sealed by the append are added to it
+     */
+    synchronized void append(long timestamp, long[] values, List<HisRunDataBlock> sealed) {
+        if (rawHead.size == rawHead.capacity) {
+            sealed.add(seal(rawHead));
+        }
+        int index = rawHead.insert(timestamp);
+        for (int i = 0; i < METRIC_COUNT; i++) {
+            rawHead.columns[i][index] = values[i];
+        }
+        rollup(minuteHead, timestamp, values, sealed);
+        rollup(hourHead, timestamp, values, sealed);
+    }
+
+    /**
+     * Restore a block loaded from persistence.
+     *
+     * @param block block
+     */
+    synchronized void restore(HisRunDataBlock block) {
+        List<HisRunDataBlock> blocks = blocksOf(block.getResolution());
+        int index = blocks.size();
+        while (index > 0 && blocks.get(index - 1).getMinTime() > block.getMinTime()) {
+            index--;
+        }
+        blocks.add(index, block);
+    }
+
+    /**
+     * Query the samples in the time range.
+     *
+     * @param resolution resolution
+     * @param startTime  start time, inclusive
+     * @param endTime    end time, inclusive
+     * @param max        whether the rollups report the max of all the metrics instead of the average
+     * @return samples
+     */
+    HisRunDataSeries query(Resolution resolution, long startTime, long endTime, boolean max) {
+        int columnCount = resolution == Resolution.RAW ? METRIC_COUNT : ROLLUP_COLUMN_COUNT;
+        Collector headCollector = new Collector(columnCount);
+        List<HisRunDataBlock> blocks = new ArrayList<>();
+        synchronized (this) {
+            for (HisRunDataBlock each : blocksOf(resolution)) {
+                if (each.overlaps(startTime, endTime)) {
+                    blocks.add(each);
+                }
+            }
+            Head head = headOf(resolution);
+            for (int i = 0; i < head.size; i++) {
+                if (head.timestamps[i] >= startTime && head.timestamps[i] <= endTime) {
+                    headCollector.add(head.timestamps[i], head.columns, i);
+                }
+            }
+        }
+        Collector collector = new Collector(columnCount);
+        for (HisRunDataBlock each : blocks) {
+            HisRunDataBlockCodec.Decoded decoded = HisRunDataBlockCodec.decode(each.getData());
+            long[][] columns = align(resolution, decoded.columns, decoded.count);
+            for (int i = 0; i < decoded.count; i++) {
+                if (decoded.timestamps[i] >= startTime && decoded.timestamps[i] <= endTime) {
+                    collector.add(decoded.timestamps[i], columns, i);
+                }
+            }
+        }
+        for (int i = 0; i < headCollector.size; i++) {
+            collector.add(headCollector.timestamps[i], headCollector.columns, i);
+        }
+        collector.sort(resolution != Resolution.RAW);
+        return collector.toSeries(resolution, max);
+    }
+
+    /**
+     * Seal the raw head if its first sample is not after the time, so idle series are persisted in time.
+     *
+     * @param time   time
+     * @param sealed sealed block is added to it
+     */
+    synchronized void sealRawHead(long time, List<HisRunDataBlock> sealed) {
+        if (rawHead.size > 0 && rawHead.timestamps[0] <= time) {
+            sealed.add(seal(rawHead));
+        }
+    }
+
+    /**
+     * Seal all the heads which are not empty.
+     *
+     * @param sealed sealed blocks are added to it
+     */
+    synchronized void sealAll(List<HisRunDataBlock> sealed) {
+        for (Head each : new Head[]{rawHead, minuteHead, hourHead}) {
+            if (each.size > 0) {
+                sealed.add(seal(each));
+            }
+        }
+    }
+
+    /**
+     * Expire the samples and buckets which are not after the times.
+     *
+     * @param rawExpireTime    expire time of raw samples
+     * @param minuteExpireTime expire time of one minute rollups
+     * @param hourExpireTime   expire time of one hour rollups
+     * @return true if the buffer is empty after expiring
+     */
+    synchronized boolean expire(long rawExpireTime, long minuteExpireTime, long hourExpireTime) {
+        expire(rawHead, rawBlocks, rawExpireTime);
+        expire(minuteHead, minuteBlocks, minuteExpireTime);
+        expire(hourHead, hourBlocks, hourExpireTime);
+        return rawHead.size == 0 && minuteHead.size == 0 && hourHead.size == 0
+                && rawBlocks.isEmpty() && minuteBlocks.isEmpty() && hourBlocks.isEmpty();
+    }
+
+    private void expire(Head head, List<HisRunDataBlock> blocks, long expireTime) {
+        long bucketMillis = Math.max(1L, head.resolution.getBucketMillis());
+        blocks.removeIf(each -> each.getMaxTime() + bucketMillis - 1 <= expireTime);
+        int expired = 0;
+        while (expired < head.size && head.timestamps[expired] + bucketMillis - 1 <= expireTime) {
+            expired++;
+        }
+        head.removeFirst(expired);
+    }
+
+    private void rollup(Head head, long timestamp, long[] values, List<HisRunDataBlock> sealed) {
+        long bucketMillis = head.resolution.getBucketMillis();
+        long bucket = timestamp - Math.floorMod(timestamp, bucketMillis);
+        int index = head.size - 1;
+        while (index >= 0 && head.timestamps[index] > bucket) {
+            index--;
+        }
+        if (index >= 0 && head.timestamps[index] == bucket) {
+            long[][] columns = head.columns;
+            for (int i = 0; i < METRIC_COUNT; i++) {
+                columns[i][index] = Math.min(columns[i][index], values[i]);
+                columns[MAX_OFFSET + i][index] = Math.max(columns[MAX_OFFSET + i][index], values[i]);
+                columns[SUM_OFFSET + i][index] += values[i];
+            }
+            columns[COUNT_INDEX][index]++;
+            return;
+        }
+        if (head.size == head.capacity) {
+            if (index < head.size - 1) {
+                // bucket older than the last one in a full head, only happens to samples arriving very late
+                return;
+            }
+            sealed.add(seal(head));
+        }
+        index = head.insert(bucket);
+        for (int i = 0; i < METRIC_COUNT; i++) {
+            head.columns[i][index] = values[i];
+            head.columns[MAX_OFFSET + i][index] = values[i];
+            head.columns[SUM_OFFSET + i][index] = values[i];
+        }
+        head.columns[COUNT_INDEX][index] = 1L;
+    }
+
+    private HisRunDataBlock seal(Head head) {
+        byte[] data = HisRunDataBlockCodec.encode(head.timestamps, head.columns, head.size);
+        HisRunDataBlock block = new HisRunDataBlock(head.resolution, seriesKey, head.timestamps[0], head.timestamps[head.size - 1], head.size, data);
+        blocksOf(head.resolution).add(block);
+        head.size = 0;
+        return block;
+    }
+
+    /**
+     * Align the columns of a block sealed when there were fewer metrics to the current layout,
+     * the metrics missing in the block are 0.
+     *
+     * @param resolution resolution of the block
+     * @param columns    decoded columns
+     * @param count      count of samples
+     * @return columns in the current layout
+     */
+    static long[][] align(Resolution resolution, long[][] columns, int count) {
+        int columnCount = resolution == Resolution.RAW ? METRIC_COUNT : ROLLUP_COLUMN_COUNT;
+        if (columns.length == columnCount) {
+            return columns;
+        }
+        long[][] aligned = new long[columnCount][];
+        long[] absent = new long[count];
+        if (resolution == Resolution.RAW) {
+            for (int i = 0; i < columnCount; i++) {
+                aligned[i] = i < columns.length ? columns[i] : absent;
+            }
+            return aligned;
+        }
+        int metricCount = (columns.length - 1) / 3;
+        for (int i = 0; i < METRIC_COUNT; i++) {
+            boolean present = i < metricCount;
+            aligned[i] = present ? columns[i] : absent;
+            aligned[MAX_OFFSET + i] = present ? columns[metricCount + i] : absent;
+            aligned[SUM_OFFSET + i] = present ? columns[metricCount * 2 + i] : absent;
+        }
+        aligned[COUNT_INDEX] = columns[metricCount * 3];
+        return aligned;
+    }
+
+    private List<HisRunDataBlock> blocksOf(Resolution resolution) {
+        switch (resolution) {
+            case RAW:
+                return rawBlocks;
+            case MINUTE:
+                return minuteBlocks;
+            default:
+                return hourBlocks;
+        }
+    }
+
+    private Head headOf(Resolution resolution) {
+        switch (resolution) {
+            case RAW:
+                return rawHead;
+            case MINUTE:
+                return minuteHead;
+            default:
+                return hourHead;
+        }
+    }
+
+    /**
+     * Columnar head of samples sorted by timestamp, the arrays grow on demand up to the capacity.
+     */
+    private static final class Head {
+
+        private final Resolution resolution;
+
+        private final int capacity;
+
+        private long[] timestamps;
+
+        private final long[][] columns;
+
+        private int size;
+
+        Head(Resolution resolution, int capacity, int columnCount) {
+            this.resolution = resolution;
+            this.capacity = capacity;
+            int initialCapacity = Math.min(INITIAL_CAPACITY, capacity);
+            this.timestamps = new long[initialCapacity];
+            this.columns = new long[columnCount][initialCapacity];
+        }
+
+        /**
+         * Insert a row for the timestamp, keeping the rows sorted.
+         *
+         * @param timestamp timestamp
+         * @return index of the row
+         */
+        int insert(long timestamp) {
+            if (size == timestamps.length) {
+                int newLength = Math.min(capacity, timestamps.length << 1);
+                timestamps = Arrays.copyOf(timestamps, newLength);
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Arrays.copyOf(columns[i], newLength);
+                }
+            }
+            int index = size;
+            while (index > 0 && timestamps[index - 1] > timestamp) {
+                index--;
+            }
+            if (index < size) {
+                System.arraycopy(timestamps, index, timestamps, index + 1, size - index);
+                for (long[] column : columns) {
+                    System.arraycopy(column, index, column, index + 1, size - index);
+                }
+            }
+            timestamps[index] = timestamp;
+            size++;
+            return index;
+        }
+
+        void removeFirst(int count) {
+            if (count <= 0) {
+                return;
+            }
+            int remaining = size - count;
+            System.arraycopy(timestamps, count, timestamps, 0, remaining);
+            for (long[] column : columns) {
+                System.arraycopy(column, count, column, 0, remaining);
+            }
+            size = remaining;
+        }
+    }
+
+    /**
+     * Collector of rows into growable columns.
+     */
+    private static final class Collector {
+
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+
+        private final long[][] columns;
+
+        private int size;
+
+        Collector(int columnCount) {
+            columns = new long[columnCount][INITIAL_CAPACITY];
+        }
+
+        void add(long timestamp, long[][] source, int index) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size << 1);
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Arrays.copyOf(columns[i], size << 1);
+                }
+            }
+            timestamps[size] = timestamp;
+            for (int i = 0; i < columns.length; i++) {
+                columns[i][size] = source[i][index];
+            }
+            size++;
+        }
+
+        /**
+         * Sort the rows by timestamp, and merge the buckets of the same time if the rows are rollups.
+         *
+         * @param rollup whether the rows are rollups
+         */
+        void sort(boolean rollup) {
+            boolean sorted = true;
+            for (int i = 1; i < size && sorted; i++) {
+                sorted = timestamps[i - 1] < timestamps[i] || (!rollup && timestamps[i - 1] == timestamps[i]);
+            }
+            if (sorted) {
+                return;
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(timestamps[a], timestamps[b]));
+            long[] sortedTimestamps = new long[size];
+            long[][] sortedColumns = new long[columns.length][size];
+            int sortedSize = 0;
+            for (Integer each : order) {
+                if (rollup && sortedSize > 0 && sortedTimestamps[sortedSize - 1] == timestamps[each]) {
+                    int last = sortedSize - 1;
+                    for (int i = 0; i < METRIC_COUNT; i++) {
+                        sortedColumns[i][last] = Math.min(sortedColumns[i][last], columns[i][each]);
+                        sortedColumns[MAX_OFFSET + i][last] = Math.max(sortedColumns[MAX_OFFSET + i][last], columns[MAX_OFFSET + i][each]);
+                        sortedColumns[SUM_OFFSET + i][last] += columns[SUM_OFFSET + i][each];
+                    }
+                    sortedColumns[COUNT_INDEX][last] += columns[COUNT_INDEX][each];
+                    continue;
+                }
+                sortedTimestamps[sortedSize] = timestamps[each];
+                for (int i = 0; i < columns.length; i++) {
+                    sortedColumns[i][sortedSize] = columns[i][each];
+                }
+                sortedSize++;
+            }
+            timestamps = sortedTimestamps;
+            System.arraycopy(sortedColumns, 0, columns, 0, columns.length);
+            size = sortedSize;
+        }
+
+        HisRunDataSeries toSeries(Resolution resolution, boolean max) {
+            if (resolution == Resolution.RAW) {
+                return new HisRunDataSeries(resolution, size, timestamps, columns);
+            }
+            long[][] values = new long[METRIC_COUNT][size];
+            long[] counts = columns[COUNT_INDEX];
+            for (HisRunDataMetric metric : HisRunDataMetric.values()) {
+                int i = metric.ordinal();
+                for (int j = 0; j < size; j++) {
+                    values[i][j] = max || metric.isCumulative()
+                            ? columns[MAX_OFFSET + i][j]
+                            : (counts[j] == 0L ? 0L : columns[SUM_OFFSET + i][j] / counts[j]);
+                }
+            }
+            return new HisRunDataSeries(resolution, size, timestamps, values);
+        }
+    }
+}
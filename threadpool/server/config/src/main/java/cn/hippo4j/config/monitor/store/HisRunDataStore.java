@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import cn.hippo4j.config.mapper.HisRunDataMapper;
+import cn.hippo4j.config.model.HisRunDataInfo;
+
+import java.util.List;
+
+/**
+ * Storage of thread pool history, selected by {@code hippo4j.core.monitor-store-type}.
+ *
+ * @see EmbeddedHisRunDataStore
+ * @see DbHisRunDataStore
+ */
+public interface HisRunDataStore {
+
+    /**
+     * Append the reported rows.
+     *
+     * @param rows rows, the ids of thread pool instance are set
+     */
+    void append(List<HisRunDataInfo> rows);
+
+    /**
+     * Query the samples of a thread pool instance in the time range,
+     * the resolution is chosen by the store according to the range.
+     *
+     * @param tenantId   tenant id
+     * @param itemId     item id
+     * @param tpId       thread pool id
+     * @param instanceId instance id
+     * @param startTime  start time, inclusive
+     * @param endTime    end time, inclusive
+     * @return samples
+     */
+    HisRunDataSeries query(String tenantId, String itemId, String tpId, String instanceId, long startTime, long endTime);
+
+    /**
+     * Query the last reported row of a thread pool instance in the time range.
+     *
+     * @param tenantId   tenant id
+     * @param itemId     item id
+     * @param tpId       thread pool id
+     * @param instanceId instance id
+     * @param startTime  start time, inclusive
+     * @param endTime    end time, inclusive
+     * @return last row, or null
+     */
+    HisRunDataInfo queryLast(String tenantId, String itemId, String tpId, String instanceId, long startTime, long endTime);
+
+    /**
+     * Query the thread pools with the most completed tasks in the time range, over all the instances.
+     *
+     * @param startTime start time, inclusive
+     * @param endTime   end time, inclusive
+     * @param limit     max count of thread pools
+     * @return rankings in descending order of completed task count
+     */
+    List<HisRunDataMapper.ThreadPoolTaskRanking> queryTaskRanking(long startTime, long endTime, int limit);
+
+    /**
+     * Expire the reported rows before the time.
+     *
+     * @param expireTime rows with a timestamp not after the time are expired
+     */
+    void expire(long expireTime);
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.netty;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageCodec;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageCodec.Handshake;
+import cn.hippo4j.common.monitor.codec.RuntimeMessageDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binary message handler.
+ * <p> Reply the handshake of client, and decode the other frames into {@link Message}
+ * for the following handlers. The decoder is stateful, one handler per channel.
+ */
+@Slf4j
+public class BinaryMessageHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+    private final RuntimeMessageDecoder decoder = new RuntimeMessageDecoder();
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) throws Exception {
+        byte[] bytes = ByteBufUtil.getBytes(frame);
+        if (RuntimeMessageCodec.frameType(bytes) == RuntimeMessageCodec.TYPE_HELLO) {
+            Handshake handshake = RuntimeMessageCodec.negotiate(RuntimeMessageCodec.readHandshake(bytes, RuntimeMessageCodec.TYPE_HELLO));
+            log.info("Binary monitor protocol of client is negotiated, version: {}, compression: {}. {}",
+                    handshake.getVersion(), handshake.getCompression(), ctx.channel().remoteAddress());
+            ctx.writeAndFlush(Unpooled.wrappedBuffer(RuntimeMessageCodec.helloAck(handshake.getVersion(), handshake.getCompression())))
+                    .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+            return;
+        }
+        Message message = decoder.decode(bytes);
+        if (message != null) {
+            ctx.fireChannelRead(message);
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        decoder.close();
+        super.handlerRemoved(ctx);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.netty;
+
+import cn.hippo4j.common.push.ConfigPushCodec;
+import cn.hippo4j.common.push.ConfigPushMessage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+
+/**
+ * Config push handler.
+ * <p> Subscribe the thread-pools of client to {@link ConfigPushService}, which validates the access token of subscription,
+ * and echo the heartbeats of client.
+ * The subscription is removed when the channel is closed, including the idle channels closed by {@link ServerHandler}.
+ */
+@Slf4j
+public class ConfigPushHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+    private static final TypeReference<ConfigPushMessage<Object>> MESSAGE_TYPE = new TypeReference<ConfigPushMessage<Object>>() {
+    };
+
+    private static final byte[] HEARTBEAT = ConfigPushCodec.encode(ConfigPushMessage.of(ConfigPushMessage.Type.HEARTBEAT));
+
+    private final ConfigPushService configPushService;
+
+    private ConfigPushSubscriber subscriber;
+
+    public ConfigPushHandler(ConfigPushService configPushService) {
+        this.configPushService = configPushService;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) throws Exception {
+        ConfigPushMessage<Object> message = ConfigPushCodec.decode(ByteBufUtil.getBytes(frame), MESSAGE_TYPE);
+        switch (message.getType()) {
+            case SUBSCRIBE:
+                if (subscriber == null) {
+                    subscriber = new ConfigPushSubscriber(ctx.channel());
+                    log.info("Config push channel of client is subscribed, identify: {}. {}", message.getIdentify(), ctx.channel().remoteAddress());
+                }
+                configPushService.subscribe(subscriber, message.getIdentify(), message.getAccessToken(),
+                        message.getMd5() == null ? Collections.emptyMap() : message.getMd5());
+                break;
+            case HEARTBEAT:
+                ctx.writeAndFlush(Unpooled.wrappedBuffer(HEARTBEAT)).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+                break;
+            default:
+                log.warn("Unexpected config push message of client, type: {}. {}", message.getType(), ctx.channel().remoteAddress());
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (subscriber != null) {
+            configPushService.unsubscribe(subscriber);
+        }
+        super.channelInactive(ctx);
+    }
+}
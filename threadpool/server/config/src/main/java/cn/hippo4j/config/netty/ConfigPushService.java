@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.netty;
+
+import cn.hippo4j.auth.security.JwtTokenManager;
+import cn.hippo4j.common.push.ConfigPushMessage;
+import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.config.event.AbstractEvent;
+import cn.hippo4j.config.event.LocalDataChangeEvent;
+import cn.hippo4j.config.notify.NotifyCenter;
+import cn.hippo4j.config.notify.listener.AbstractSubscriber;
+import cn.hippo4j.config.service.ConfigCacheService;
+import cn.hippo4j.config.toolkit.ConfigExecutor;
+import cn.hippo4j.config.toolkit.SubscriptionIndex;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER;
+
+/**
+ * <p>Config push service. <br />
+ * Clients subscribe their thread-pools once on a long-lived channel, see {@link ConfigPushHandler},
+ * and the most recent configs are pushed to them when changed, instead of being polled.
+ * The subscription carries the md5 of client, so the configs changed while the channel was lost
+ * are pushed right after resubscription.
+ *
+ * <p>Subscriptions and changes are handled on the config push executor, off the long polling executor.
+ * The subscription and the changes of one subscriber are serialized by the lock of the subscriber,
+ * and the subscriber is registered before its md5 is compared, so a change is never missed between them.
+ * The subscription is rejected unless it carries a valid access token, the same as the http requests of client.
+ */
+@Slf4j
+public class ConfigPushService {
+
+    /**
+     * Subscribers indexed by the keys tpId+itemId+tenantId+identify of their md5 map
+     */
+    private final SubscriptionIndex<ConfigPushSubscriber> allSubs = new SubscriptionIndex<>();
+
+    /**
+     * Token manager validating the access token of subscription, null if the authentication is disabled
+     */
+    private final JwtTokenManager tokenManager;
+
+    public ConfigPushService(JwtTokenManager tokenManager) {
+        this.tokenManager = tokenManager;
+    }
+
+    @PostConstruct
+    public void init() {
+        NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, NotifyCenter.RING_BUFFER_SIZE);
+        NotifyCenter.registerSubscriber(new AbstractSubscriber() {
+
+            @Override
+            public void onEvent(AbstractEvent event) {
+                if (event instanceof LocalDataChangeEvent) {
+                    LocalDataChangeEvent evt = (LocalDataChangeEvent) event;
+                    ConfigExecutor.executeConfigPush(() -> dataChange(evt.getIdentify(), evt.getGroupKey()));
+                }
+            }
+
+            @Override
+            public Class<? extends AbstractEvent> subscribeType() {
+                return LocalDataChangeEvent.class;
+            }
+        });
+    }
+
+    /**
+     * Subscribe the thread-pools of client asynchronously, the previous subscription of the subscriber is replaced.
+     * The configs which differ from the md5 of client are replied with {@link ConfigPushMessage.Type#SUBSCRIBED},
+     * the subscription is replied with {@link ConfigPushMessage.Type#REJECTED} and the channel is closed if the access token is invalid.
+     *
+     * @param subscriber  subscriber of channel
+     * @param identify    identify of client
+     * @param accessToken access token of client
+     * @param clientMd5   group key tpId+itemId+tenantId -> md5 of client
+     */
+    public void subscribe(ConfigPushSubscriber subscriber, String identify, String accessToken, Map<String, String> clientMd5) {
+        long sequence = subscriber.nextSubscribeSequence();
+        ConfigExecutor.executeConfigPush(() -> {
+            try {
+                if (!authenticate(accessToken)) {
+                    log.warn("Config push subscription of client is rejected for the invalid access token, identify: {}. {}",
+                            identify, subscriber.getRemoteAddress());
+                    subscriber.reject();
+                    return;
+                }
+                doSubscribe(subscriber, sequence, identify, clientMd5);
+            } catch (Exception ex) {
+                log.error("Config push subscribe error. {}", subscriber.getRemoteAddress(), ex);
+                subscriber.close();
+            }
+        });
+    }
+
+    private void doSubscribe(ConfigPushSubscriber subscriber, long sequence, String identify, Map<String, String> clientMd5) {
+        synchronized (subscriber) {
+            if (!subscriber.isActive() || !subscriber.acceptSubscription(sequence)) {
+                return;
+            }
+            allSubs.remove(subscriber, subscriber.getMd5Map().keySet());
+            Map<String, String> md5Map = new HashMap<>(clientMd5.size());
+            clientMd5.forEach((groupKey, md5) -> md5Map.put(groupKey + GROUP_KEY_DELIMITER + identify, md5));
+            subscriber.setIdentify(identify);
+            subscriber.setMd5Map(md5Map);
+            allSubs.register(subscriber, md5Map.keySet());
+            List<Object> configs = new ArrayList<>();
+            for (Map.Entry<String, String> each : md5Map.entrySet()) {
+                if (isUpdateData(each.getKey(), each.getValue(), identify)) {
+                    continue;
+                }
+                Object config = getRecentConfig(each.getKey(), identify);
+                if (config != null) {
+                    each.setValue(getContentMd5(each.getKey()));
+                    configs.add(config);
+                }
+            }
+            subscriber.push(ConfigPushMessage.Type.SUBSCRIBED, configs);
+        }
+    }
+
+    /**
+     * Remove the subscriber asynchronously, when its channel is closed.
+     *
+     * @param subscriber subscriber of channel
+     */
+    public void unsubscribe(ConfigPushSubscriber subscriber) {
+        ConfigExecutor.executeConfigPush(() -> {
+            synchronized (subscriber) {
+                allSubs.remove(subscriber, subscriber.getMd5Map().keySet());
+            }
+        });
+    }
+
+    /**
+     * Push the most recent configs to the subscribers of the changed thread-pool.
+     *
+     * @param identify identify of client, all the instances of the thread-pool are changed if blank
+     * @param groupKey tpId+itemId+tenantId
+     */
+    void dataChange(String identify, String groupKey) {
+        try {
+            boolean allIdentify = StringUtil.isBlank(identify);
+            String identity = allIdentify ? groupKey : groupKey + GROUP_KEY_DELIMITER + identify;
+            for (ConfigPushSubscriber subscriber : new ArrayList<>(allSubs.getSubscribers(identity))) {
+                synchronized (subscriber) {
+                    pushChanged(subscriber, subscriber.getKeysOf(identity));
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Config push data change error: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void pushChanged(ConfigPushSubscriber subscriber, List<String> changedKeys) {
+        List<Object> configs = new ArrayList<>(changedKeys.size());
+        for (String each : changedKeys) {
+            try {
+                String md5 = getContentMd5(each);
+                if (md5.equals(subscriber.getMd5Map().get(each))) {
+                    continue;
+                }
+                Object config = getRecentConfig(each, subscriber.getIdentify());
+                if (config != null) {
+                    subscriber.getMd5Map().put(each, md5);
+                    updateMd5(each, subscriber.getIdentify(), md5);
+                    configs.add(config);
+                }
+            } catch (Exception ex) {
+                log.warn("Failed to get the changed config to push. key: {}, message: {}", each, ex.getMessage());
+            }
+        }
+        if (!configs.isEmpty()) {
+            subscriber.push(ConfigPushMessage.Type.CHANGED, configs);
+        }
+    }
+
+    /**
+     * Get the number of subscribers.
+     *
+     * @return number of subscribers
+     */
+    public int size() {
+        return allSubs.size();
+    }
+
+    protected boolean authenticate(String accessToken) {
+        if (tokenManager == null) {
+            return true;
+        }
+        if (StringUtil.isBlank(accessToken)) {
+            return false;
+        }
+        try {
+            tokenManager.validateToken(accessToken);
+            return true;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    protected boolean isUpdateData(String key, String md5, String identify) {
+        return ConfigCacheService.isUpdateData(key, md5, identify);
+    }
+
+    protected String getContentMd5(String key) {
+        return ConfigCacheService.getContentMd5(key);
+    }
+
+    protected Object getRecentConfig(String key, String identify) {
+        return ConfigCacheService.getRecentConfig(key, identify);
+    }
+
+    protected void updateMd5(String key, String identify, String md5) {
+        ConfigCacheService.updateMd5(key, identify, md5);
+    }
+}
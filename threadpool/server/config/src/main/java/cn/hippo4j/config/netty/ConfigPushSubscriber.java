@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.netty;
+
+import cn.hippo4j.common.push.ConfigPushCodec;
+import cn.hippo4j.common.push.ConfigPushMessage;
+import cn.hippo4j.config.toolkit.SubscriptionIndex;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscriber of config push, one per channel.
+ * The subscription is only modified while holding the lock of the subscriber, see {@link ConfigPushService}.
+ */
+public class ConfigPushSubscriber {
+
+    private final Channel channel;
+
+    /**
+     * Identify of client
+     */
+    @Getter
+    @Setter
+    private volatile String identify;
+
+    /**
+     * Key tpId+itemId+tenantId+identify -> md5 of the config last known by client
+     */
+    @Getter
+    @Setter
+    private volatile Map<String, String> md5Map = Collections.emptyMap();
+
+    /**
+     * Sequence of the subscriptions received on the channel
+     */
+    private final AtomicLong subscribeSequence = new AtomicLong();
+
+    /**
+     * Sequence of the subscription applied, a subscription handled after a later one is dropped
+     */
+    private long appliedSequence;
+
+    public ConfigPushSubscriber(Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Get the sequence of a subscription received on the channel.
+     *
+     * @return sequence
+     */
+    long nextSubscribeSequence() {
+        return subscribeSequence.incrementAndGet();
+    }
+
+    /**
+     * Accept the subscription, must be called while holding the lock of the subscriber.
+     *
+     * @param sequence sequence of the subscription
+     * @return false if a later subscription has been applied
+     */
+    boolean acceptSubscription(long sequence) {
+        if (sequence < appliedSequence) {
+            return false;
+        }
+        appliedSequence = sequence;
+        return true;
+    }
+
+    /**
+     * Get the keys of the subscriber which belong to the group key.
+     *
+     * @param groupKey group key
+     * @return keys of the subscriber
+     */
+    List<String> getKeysOf(String groupKey) {
+        List<String> keys = new ArrayList<>(1);
+        for (String each : md5Map.keySet()) {
+            if (SubscriptionIndex.matches(each, groupKey)) {
+                keys.add(each);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Push the configs to client.
+     *
+     * @param type    message type
+     * @param configs most recent configs
+     */
+    void push(ConfigPushMessage.Type type, List<Object> configs) {
+        ConfigPushMessage<Object> message = ConfigPushMessage.of(type);
+        message.setConfigs(configs);
+        channel.writeAndFlush(Unpooled.wrappedBuffer(ConfigPushCodec.encode(message)))
+                .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+    }
+
+    /**
+     * Reject the subscription and close the channel.
+     */
+    void reject() {
+        channel.writeAndFlush(Unpooled.wrappedBuffer(ConfigPushCodec.encode(ConfigPushMessage.of(ConfigPushMessage.Type.REJECTED))))
+                .addListener(ChannelFutureListener.CLOSE);
+    }
+
+    boolean isActive() {
+        return channel.isActive();
+    }
+
+    void close() {
+        channel.close();
+    }
+
+    SocketAddress getRemoteAddress() {
+        return channel.remoteAddress();
+    }
+}
@@ -26,11 +26,9 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
-import io.netty.handler.codec.serialization.ObjectEncoder;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.handler.timeout.IdleStateHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,11 +37,20 @@ import javax.annotation.PreDestroy;
 
 /**
  * Netty monitor netty server.
+ * <p> Clients may keep a long-lived channel and send heartbeats, or connect for each message.
+ * Binary and java serialized clients are served on the same port, see {@link ProtocolDetectDecoder},
+ * as well as the channels of config push if enabled.
+ * Channels idle for longer than {@link #READER_IDLE_SECONDS} are closed.
  */
 @Slf4j
 @AllArgsConstructor
 public class MonitorNettyServer {
 
+    /**
+     * Close the channel if nothing is read for a while, three times the heartbeat interval of clients
+     */
+    private static final int READER_IDLE_SECONDS = 90;
+
     private ServerBootstrapProperties serverBootstrapProperties;
 
     private HisRunDataService hisRunDataService;
@@ -52,6 +59,11 @@ public class MonitorNettyServer {
 
     private EventLoopGroup workGroup;
 
+    /**
+     * Config push service, null if the push is disabled
+     */
+    private ConfigPushService configPushService;
+
     @PostConstruct
     public void nettyServerInit() {
         new Thread(() -> {
@@ -67,9 +79,8 @@ public class MonitorNettyServer {
                             @Override
                             protected void initChannel(SocketChannel ch) throws Exception {
                                 ChannelPipeline pipeline = ch.pipeline();
-                                pipeline.addLast(new ObjectEncoder());
-                                pipeline.addLast(new ObjectDecoder(Integer.MAX_VALUE,
-                                        ClassResolvers.cacheDisabled(null)));
+                                pipeline.addLast(new IdleStateHandler(READER_IDLE_SECONDS, 0, 0));
+                                pipeline.addLast(new ProtocolDetectDecoder(configPushService));
                                 pipeline.addLast(new ServerHandler(hisRunDataService));
                             }
                         });
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.netty;
+
+import cn.hippo4j.common.monitor.codec.RuntimeMessageCodec;
+import cn.hippo4j.common.push.ConfigPushCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.codec.serialization.ClassResolvers;
+import io.netty.handler.codec.serialization.ObjectDecoder;
+import io.netty.handler.codec.serialization.ObjectEncoder;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Protocol detect decoder.
+ * <p> All protocols prefix frames with a length of 4 bytes, the first frame of the binary protocol
+ * starts with {@link RuntimeMessageCodec#MAGIC}, otherwise it is a java serialized object of the legacy clients.
+ * The channels of config push start with {@link ConfigPushCodec#MAGIC}, and are served only if the push is enabled.
+ * The handlers of the detected protocol are installed after this decoder, which then removes itself.
+ */
+@AllArgsConstructor
+public class ProtocolDetectDecoder extends ByteToMessageDecoder {
+
+    /**
+     * Length of frame length prefix
+     */
+    private static final int LENGTH_FIELD_LENGTH = 4;
+
+    /**
+     * Max length of binary frame
+     */
+    private static final int MAX_BINARY_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * Max length of config push frame
+     */
+    private static final int MAX_PUSH_FRAME_LENGTH = 4 * 1024 * 1024;
+
+    /**
+     * Config push service, null if the push is disabled
+     */
+    private final ConfigPushService configPushService;
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        if (in.readableBytes() < LENGTH_FIELD_LENGTH + 2) {
+            return;
+        }
+        int magicIndex = in.readerIndex() + LENGTH_FIELD_LENGTH;
+        ChannelPipeline pipeline = ctx.pipeline();
+        if (RuntimeMessageCodec.isBinaryFrame(in.getByte(magicIndex), in.getByte(magicIndex + 1))) {
+            pipeline.addAfter(ctx.name(), "binaryMessageHandler", new BinaryMessageHandler());
+            pipeline.addAfter(ctx.name(), "binaryFramePrepender", new LengthFieldPrepender(LENGTH_FIELD_LENGTH));
+            pipeline.addAfter(ctx.name(), "binaryFrameDecoder",
+                    new LengthFieldBasedFrameDecoder(MAX_BINARY_FRAME_LENGTH, 0, LENGTH_FIELD_LENGTH, 0, LENGTH_FIELD_LENGTH));
+        } else if (configPushService != null && ConfigPushCodec.isPushFrame(in.getByte(magicIndex), in.getByte(magicIndex + 1))) {
+            pipeline.addAfter(ctx.name(), "configPushHandler", new ConfigPushHandler(configPushService));
+            pipeline.addAfter(ctx.name(), "pushFramePrepender", new LengthFieldPrepender(LENGTH_FIELD_LENGTH));
+            pipeline.addAfter(ctx.name(), "pushFrameDecoder",
+                    new LengthFieldBasedFrameDecoder(MAX_PUSH_FRAME_LENGTH, 0, LENGTH_FIELD_LENGTH, 0, LENGTH_FIELD_LENGTH));
+        } else {
+            pipeline.addAfter(ctx.name(), "objectDecoder", new ObjectDecoder(Integer.MAX_VALUE,
+                    ClassResolvers.cacheDisabled(null)));
+            pipeline.addAfter(ctx.name(), "objectEncoder", new ObjectEncoder());
+        }
+        // bytes already received are passed to the installed handlers on removal
+        pipeline.remove(this);
+    }
+}
@@ -17,24 +17,102 @@
 
 package cn.hippo4j.config.netty;
 
+import cn.hippo4j.common.monitor.Message;
 import cn.hippo4j.common.monitor.MessageWrapper;
+import cn.hippo4j.common.model.Result;
+import cn.hippo4j.common.toolkit.MessageConvert;
 import cn.hippo4j.config.service.biz.HisRunDataService;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import lombok.AllArgsConstructor;
+import io.netty.handler.timeout.IdleStateEvent;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Server handler.
+ * <p> Receive {@link MessageWrapper} of the legacy clients, or {@link Message} decoded by {@link BinaryMessageHandler}.
+ * Messages of a channel are collected in order through a pending queue. When the server is busy,
+ * reading of the channel is paused and one retry of the queue head is scheduled, the reading is resumed
+ * only after the queue is drained, so the client is slowed down by TCP backpressure instead of losing data.
  */
 @Slf4j
-@AllArgsConstructor
-public class ServerHandler extends SimpleChannelInboundHandler<MessageWrapper> {
+@RequiredArgsConstructor
+public class ServerHandler extends SimpleChannelInboundHandler<Object> {
+
+    private static final long BUSY_RETRY_DELAY_MILLIS = 500L;
+
+    private final HisRunDataService hisRunDataService;
+
+    /**
+     * Messages read but not collected yet, only accessed in the event loop of the channel
+     */
+    private final Deque<Message> pendingMessages = new ArrayDeque<>();
+
+    private boolean retryScheduled;
 
-    private HisRunDataService hisRunDataService;
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
+        Message message;
+        if (msg instanceof MessageWrapper) {
+            message = MessageConvert.convert((MessageWrapper) msg);
+        } else if (msg instanceof Message) {
+            message = (Message) msg;
+        } else {
+            return;
+        }
+        pendingMessages.addLast(message);
+        // messages decoded from the frames already read wait for the scheduled retry
+        if (!retryScheduled) {
+            drain(ctx);
+        }
+    }
+
+    private void drain(ChannelHandlerContext ctx) {
+        while (!pendingMessages.isEmpty()) {
+            Result<Void> result = hisRunDataService.dataCollect(pendingMessages.peekFirst());
+            if (!result.isSuccess()) {
+                ctx.channel().config().setAutoRead(false);
+                scheduleRetry(ctx);
+                return;
+            }
+            pendingMessages.pollFirst();
+        }
+        ctx.channel().config().setAutoRead(true);
+    }
+
+    private void scheduleRetry(ChannelHandlerContext ctx) {
+        retryScheduled = true;
+        ctx.executor().schedule(() -> {
+            retryScheduled = false;
+            if (ctx.channel().isActive()) {
+                drain(ctx);
+            }
+        }, BUSY_RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        pendingMessages.clear();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            log.info("Close idle netty channel of client. {}", ctx.channel().remoteAddress());
+            ctx.close();
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
 
     @Override
-    protected void channelRead0(ChannelHandlerContext ctx, MessageWrapper msg) throws Exception {
-        hisRunDataService.dataCollect(msg);
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        log.error("Netty channel of client error, close the channel. {}", ctx.channel().remoteAddress(), cause);
+        ctx.close();
     }
 }
@@ -36,8 +36,6 @@ public class DefaultSharePublisher extends DefaultPublisher {
 
     private final Map<Class<? extends AbstractSlowEvent>, Set<AbstractSubscriber>> subMappings = new ConcurrentHashMap();
 
-    protected final Set<AbstractSubscriber> subscribers = Collections.synchronizedSet(new HashSet<>());
-
     private final Lock lock = new ReentrantLock();
 
     public void addSubscriber(AbstractSubscriber subscriber, Class<? extends AbstractEvent> subscribeType) {
@@ -57,4 +55,19 @@ public class DefaultSharePublisher extends DefaultPublisher {
             lock.unlock();
         }
     }
+
+    @Override
+    void receiveEvent(AbstractEvent event) {
+        Set<AbstractSubscriber> sets = subMappings.get(event.getClass());
+        if (sets == null) {
+            return;
+        }
+        AbstractSubscriber[] subscribersOfEvent;
+        synchronized (sets) {
+            subscribersOfEvent = sets.toArray(new AbstractSubscriber[0]);
+        }
+        for (AbstractSubscriber each : subscribersOfEvent) {
+            notifySubscriber(each, event);
+        }
+    }
 }
@@ -23,27 +23,23 @@ import cn.hippo4j.common.extension.design.AbstractSubjectCenter;
 import cn.hippo4j.common.extension.design.Observer;
 import cn.hippo4j.common.extension.design.ObserverMessage;
 import cn.hippo4j.common.toolkit.CollectionUtil;
+import cn.hippo4j.common.toolkit.ContentUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
 import cn.hippo4j.common.toolkit.Joiner;
-import cn.hippo4j.common.toolkit.MapUtil;
-import cn.hippo4j.common.toolkit.Md5Util;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.config.event.LocalDataChangeEvent;
 import cn.hippo4j.config.model.CacheItem;
 import cn.hippo4j.config.model.ConfigAllInfo;
 import cn.hippo4j.config.notify.NotifyCenter;
 import cn.hippo4j.config.service.biz.ConfigService;
+import cn.hippo4j.config.toolkit.ConfigCacheIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER;
 import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER_TRANSLATION;
@@ -67,7 +63,7 @@ public class ConfigCacheService {
      * key: 192.168.20.227:8088_xxx
      * val:  {@link CacheItem}
      */
-    private static final ConcurrentHashMap<String, Map<String, CacheItem>> CLIENT_CONFIG_CACHE = new ConcurrentHashMap();
+    private static final ConfigCacheIndex<CacheItem> CLIENT_CONFIG_CACHE = new ConfigCacheIndex<>();
 
     public static boolean isUpdateData(String groupKey, String md5, String clientIdentify) {
         String contentMd5 = ConfigCacheService.getContentMd5IsNullPut(groupKey, clientIdentify);
@@ -83,12 +79,9 @@ public class ConfigCacheService {
      * @return
      */
     public static boolean checkTpId(String groupKey, String tpId, String clientIdentify) {
-        Map<String, CacheItem> cacheItemMap = Optional.ofNullable(CLIENT_CONFIG_CACHE.get(groupKey)).orElse(new HashMap<>());
-        if (CollectionUtil.isNotEmpty(cacheItemMap)) {
-            CacheItem cacheItem = cacheItemMap.get(clientIdentify);
-            if (cacheItem != null) {
-                return Objects.equals(tpId, cacheItem.getConfigAllInfo().getTpId());
-            }
+        CacheItem cacheItem = CLIENT_CONFIG_CACHE.get(groupKey, clientIdentify);
+        if (cacheItem != null) {
+            return Objects.equals(tpId, cacheItem.getConfigAllInfo().getTpId());
         }
         return Boolean.FALSE;
     }
@@ -100,25 +93,21 @@ public class ConfigCacheService {
      * @param clientIdentify
      * @return
      */
-    private static synchronized String getContentMd5IsNullPut(String groupKey, String clientIdentify) {
-        Map<String, CacheItem> cacheItemMap = Optional.ofNullable(CLIENT_CONFIG_CACHE.get(groupKey)).orElse(new HashMap<>());
-        CacheItem cacheItem = null;
-        if (CollectionUtil.isNotEmpty(cacheItemMap)) {
-            cacheItem = cacheItemMap.get(clientIdentify);
-            if (cacheItem != null) {
-                return cacheItem.getMd5();
+    private static String getContentMd5IsNullPut(String groupKey, String clientIdentify) {
+        CacheItem cacheItem = CLIENT_CONFIG_CACHE.computeIfAbsent(groupKey, clientIdentify, key -> {
+            if (configService == null) {
+                configService = ApplicationContextHolder.getBean(ConfigService.class);
             }
-        }
-        if (configService == null) {
-            configService = ApplicationContextHolder.getBean(ConfigService.class);
-        }
-        String[] params = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
-        ConfigAllInfo config = configService.findConfigRecentInfo(params);
-        if (config != null && StringUtil.isNotBlank(config.getTpId())) {
-            cacheItem = new CacheItem(groupKey, config);
-            cacheItemMap.put(clientIdentify, cacheItem);
-            CLIENT_CONFIG_CACHE.put(groupKey, cacheItemMap);
-        }
+            String[] params = key.split(GROUP_KEY_DELIMITER_TRANSLATION);
+            ConfigContentCache.Entry content = configService.findConfigRecentContent(params);
+            ConfigAllInfo config = content.getConfigAllInfo();
+            if (config == null || StringUtil.isBlank(config.getTpId())) {
+                return null;
+            }
+            CacheItem loadedItem = new CacheItem(key, content.getMd5());
+            loadedItem.setConfigAllInfo(config);
+            return loadedItem;
+        });
         return (cacheItem != null) ? cacheItem.getMd5() : Constants.NULL;
     }
 
@@ -127,12 +116,33 @@ public class ConfigCacheService {
             configService = ApplicationContextHolder.getBean(ConfigService.class);
         }
         String[] params = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
-        ConfigAllInfo config = configService.findConfigRecentInfo(params);
+        ConfigContentCache.Entry content = configService.findConfigRecentContent(params);
+        ConfigAllInfo config = content.getConfigAllInfo();
         if (config == null || StringUtils.isEmpty(config.getTpId())) {
             String errorMessage = String.format("config is null. tpId: %s, itemId: %s, tenantId: %s", params[0], params[1], params[2]);
             throw new RuntimeException(errorMessage);
         }
-        return Md5Util.getTpContentMd5(config);
+        return content.getMd5();
+    }
+
+    /**
+     * Get the most recent config of a thread-pool for a client.
+     *
+     * @param groupKey       tpId+itemId+tenantId, the identify of client may be appended
+     * @param clientIdentify identify of client
+     * @return most recent config, or null if the config failed to load
+     */
+    public static ConfigAllInfo getRecentConfig(String groupKey, String clientIdentify) {
+        if (configService == null) {
+            configService = ApplicationContextHolder.getBean(ConfigService.class);
+        }
+        String[] params = groupKey.split(GROUP_KEY_DELIMITER_TRANSLATION);
+        try {
+            return configService.findConfigRecentInfo(params[0], params[1], params[2], clientIdentify);
+        } catch (Exception ex) {
+            log.warn("Failed to get recent config. key: {}, message: {}", groupKey, ex.getMessage());
+            return null;
+        }
     }
 
     public static void updateMd5(String groupKey, String identify, String md5) {
@@ -147,38 +157,28 @@ public class ConfigCacheService {
         }
     }
 
-    public static synchronized CacheItem makeSure(String groupKey, String ip) {
-        Map<String, CacheItem> ipCacheItemMap = CLIENT_CONFIG_CACHE.get(groupKey);
-        if (ipCacheItemMap != null) {
-            CacheItem item = ipCacheItemMap.get(ip);
-            if (item != null) {
-                return item;
-            }
-        }
-        CacheItem tmp = new CacheItem(groupKey);
-        Map<String, CacheItem> cacheItemMap = new HashMap<>();
-        cacheItemMap.put(ip, tmp);
-        CLIENT_CONFIG_CACHE.putIfAbsent(groupKey, cacheItemMap);
-        return tmp;
+    public static CacheItem makeSure(String groupKey, String ip) {
+        return CLIENT_CONFIG_CACHE.computeIfAbsent(groupKey, ip, CacheItem::new);
     }
 
+    /**
+     * Get the cached items matching the identification.
+     *
+     * @param identification tpId+itemId+tenantId, or identify of instance
+     * @return client identify -> cache item
+     */
     public static Map<String, CacheItem> getContent(String identification) {
-        List<String> identificationList = MapUtil.parseMapForFilter(CLIENT_CONFIG_CACHE, identification);
-        Map<String, CacheItem> returnStrCacheItemMap = new HashMap<>();
-        identificationList.forEach(each -> returnStrCacheItemMap.putAll(CLIENT_CONFIG_CACHE.get(each)));
-        return returnStrCacheItemMap;
+        return CLIENT_CONFIG_CACHE.getValues(identification);
     }
 
-    public static synchronized Integer getTotal() {
-        AtomicInteger total = new AtomicInteger();
-        CLIENT_CONFIG_CACHE.forEach((key, val) -> total.addAndGet(val.values().size()));
-        return total.get();
+    public static Integer getTotal() {
+        return CLIENT_CONFIG_CACHE.size();
     }
 
     public static List<String> getIdentifyList(String tenantId, String itemId, String threadPoolId) {
         List<String> identifyList = null;
         String buildKey = Joiner.on(GROUP_KEY_DELIMITER).join(CollectionUtil.newArrayList(threadPoolId, itemId, tenantId));
-        List<String> keys = MapUtil.parseMapForFilter(CLIENT_CONFIG_CACHE, buildKey);
+        List<String> keys = CLIENT_CONFIG_CACHE.getKeys(buildKey);
         if (CollectionUtil.isNotEmpty(keys)) {
             identifyList = new ArrayList<>(keys.size());
             for (String each : keys) {
@@ -200,13 +200,15 @@ public class ConfigCacheService {
         coarseRemove(groupKey);
     }
 
-    private static synchronized void coarseRemove(String coarse) {
-        // fuzzy search
-        List<String> identificationList = MapUtil.parseMapForFilter(CLIENT_CONFIG_CACHE, coarse);
-        for (String cacheMapKey : identificationList) {
-            Map<String, CacheItem> removeCacheItem = CLIENT_CONFIG_CACHE.remove(cacheMapKey);
-            log.info("Remove invalidated config cache. config info: {}", JSONUtil.toJSONString(removeCacheItem));
-        }
+    private static void coarseRemove(String coarse) {
+        Map<String, Map<String, CacheItem>> removed = CLIENT_CONFIG_CACHE.remove(coarse);
+        removed.forEach((key, val) -> {
+            String[] params = key.split(GROUP_KEY_DELIMITER_TRANSLATION);
+            if (params.length > INDEX_3) {
+                ConfigContentCache.evict(ContentUtil.getGroupKey(params[0], params[1], params[2]), params[INDEX_3]);
+            }
+            log.info("Remove invalidated config cache. config info: {}", JSONUtil.toJSONString(val));
+        });
     }
 
     /**
@@ -20,17 +20,37 @@ package cn.hippo4j.config.service;
 import cn.hippo4j.config.notify.NotifyCenter;
 import cn.hippo4j.config.event.LocalDataChangeEvent;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
 /**
  * Config change publisher.
  */
 public class ConfigChangePublisher {
 
     /**
-     * Notify configChange.
+     * Listeners of the config changes made on this node, such as the replication to cluster peers
+     */
+    private static final List<Consumer<LocalDataChangeEvent>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Add a listener of the config changes made on this node.
+     *
+     * @param listener listener
+     */
+    public static void addListener(Consumer<LocalDataChangeEvent> listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Notify configChange, the cached content of the changed config is invalidated before the subscribers are notified.
      *
      * @param event event
      */
     public static void notifyConfigChange(LocalDataChangeEvent event) {
+        ConfigContentCache.invalidateLocal(event.getGroupKey(), event.getIdentify());
         NotifyCenter.publishEvent(event);
+        LISTENERS.forEach(each -> each.accept(event));
     }
 }
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service;
+
+import cn.hippo4j.common.toolkit.ContentUtil;
+import cn.hippo4j.common.toolkit.Md5Util;
+import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.config.model.ConfigAllInfo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>Server-side cache of the most recent config content, keyed by tpId+itemId+tenantId and instance identify. <br />
+ * An entry holds the parsed {@link ConfigAllInfo} and its precomputed md5, so fanning out a config change
+ * to all the subscribers of a thread-pool costs one database read per changed key.
+ *
+ * <p>Entries never expire, they are invalidated by the writes of config and by {@link ConfigChangePublisher},
+ * and the entries of an instance are evicted with its client config cache when the instance is removed.
+ * In cluster mode the invalidations are replicated to the peers by the invalidation listeners.
+ * Every invalidation increases the version of the thread-pool, and a value loaded before an invalidation
+ * of its thread-pool is not kept, so a concurrent load can not cache the content which was read before the change.
+ * Evicting a removed instance does not change the content and leaves the version as is.
+ *
+ * <p>The cached {@link ConfigAllInfo} is shared by all the readers and must not be modified.
+ */
+public class ConfigContentCache {
+
+    /**
+     * tpId+itemId+tenantId -> cached entries of the thread-pool
+     */
+    private static final Map<String, Group> CONTENT_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Listeners of invalidations, the arguments are the group key and instance identify
+     */
+    private static final List<BiConsumer<String, String>> INVALIDATION_LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Get the cached content, or load and cache it if absent.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @param identify instance identify, may be blank
+     * @param loader   loader of the most recent config, which should throw if the config is not defined
+     * @return cached or loaded entry
+     */
+    public static Entry get(String groupKey, String identify, Supplier<ConfigAllInfo> loader) {
+        String instanceKey = StringUtil.isBlank(identify) ? "" : identify;
+        Group group = CONTENT_CACHE.computeIfAbsent(groupKey, each -> new Group());
+        Entry entry = group.instances.get(instanceKey);
+        if (entry != null) {
+            return entry;
+        }
+        long version = group.version.get();
+        ConfigAllInfo config = loader.get();
+        entry = new Entry(config, Md5Util.getTpContentMd5(config), version);
+        group.instances.put(instanceKey, entry);
+        // an invalidation of the thread-pool between loading and caching may have missed the entry, drop it
+        if (group.version.get() != version) {
+            group.instances.remove(instanceKey, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Invalidate the cached content of a thread-pool, and notify the invalidation listeners.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @param identify instance identify, all the instances of the thread-pool are invalidated if blank
+     */
+    public static void invalidate(String groupKey, String identify) {
+        invalidateLocal(groupKey, identify);
+        INVALIDATION_LISTENERS.forEach(each -> each.accept(groupKey, identify));
+    }
+
+    /**
+     * Invalidate the cached content of a thread-pool on this node only.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @param identify instance identify, all the instances of the thread-pool are invalidated if blank
+     */
+    public static void invalidateLocal(String groupKey, String identify) {
+        Group group = CONTENT_CACHE.get(groupKey);
+        if (group == null) {
+            return;
+        }
+        group.version.incrementAndGet();
+        if (StringUtil.isBlank(identify)) {
+            group.instances.clear();
+        } else {
+            group.instances.remove(identify);
+        }
+    }
+
+    /**
+     * Evict the cached content of a removed instance on this node. The thread-pool keeps its version,
+     * the thread-pools are bounded by the configs while the instances come and go.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @param identify instance identify
+     */
+    public static void evict(String groupKey, String identify) {
+        if (StringUtil.isBlank(identify)) {
+            return;
+        }
+        Group group = CONTENT_CACHE.get(groupKey);
+        if (group != null) {
+            group.instances.remove(identify);
+        }
+    }
+
+    /**
+     * Get the count of cached entries.
+     *
+     * @return count of cached entries
+     */
+    public static int size() {
+        return CONTENT_CACHE.values().stream().mapToInt(each -> each.instances.size()).sum();
+    }
+
+    /**
+     * Invalidate the cached content of a thread-pool.
+     *
+     * @param tenantId tenant id
+     * @param itemId   item id
+     * @param tpId     thread-pool id
+     */
+    public static void invalidate(String tenantId, String itemId, String tpId) {
+        invalidate(ContentUtil.getGroupKey(tpId, itemId, tenantId), null);
+    }
+
+    /**
+     * Add a listener of invalidations, such as the replication to cluster peers.
+     *
+     * @param listener listener, the arguments are the group key and instance identify
+     */
+    public static void addInvalidationListener(BiConsumer<String, String> listener) {
+        INVALIDATION_LISTENERS.add(listener);
+    }
+
+    /**
+     * Get the current version of the cached content of a thread-pool.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @return version, 0 if nothing of the thread-pool is cached
+     */
+    public static long getVersion(String groupKey) {
+        Group group = CONTENT_CACHE.get(groupKey);
+        return group == null ? 0L : group.version.get();
+    }
+
+    /**
+     * Remove all the cached content.
+     */
+    public static void clear() {
+        CONTENT_CACHE.values().forEach(each -> each.version.incrementAndGet());
+        CONTENT_CACHE.clear();
+    }
+
+    /**
+     * Cached entries of a thread-pool.
+     */
+    private static class Group {
+
+        /**
+         * Version of the thread-pool, increased by every invalidation of it
+         */
+        private final AtomicLong version = new AtomicLong();
+
+        /**
+         * instance identify -> entry, the identify is empty for the config without instance
+         */
+        private final Map<String, Entry> instances = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Cached config content.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+
+        /**
+         * Most recent config
+         */
+        private final ConfigAllInfo configAllInfo;
+
+        /**
+         * Md5 of the config content
+         */
+        private final String md5;
+
+        /**
+         * Version of the thread-pool when the config was loaded
+         */
+        private final long version;
+    }
+}
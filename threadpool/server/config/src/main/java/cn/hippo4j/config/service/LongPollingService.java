@@ -17,20 +17,23 @@
 
 package cn.hippo4j.config.service;
 
+import cn.hippo4j.common.model.ChangedConfigsInfo;
 import cn.hippo4j.common.toolkit.CollectionUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
-import cn.hippo4j.common.toolkit.MapUtil;
 import cn.hippo4j.common.toolkit.Md5Util;
 import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.config.event.AbstractEvent;
 import cn.hippo4j.config.event.LocalDataChangeEvent;
+import cn.hippo4j.config.model.ConfigAllInfo;
 import cn.hippo4j.config.notify.NotifyCenter;
 import cn.hippo4j.config.notify.listener.AbstractSubscriber;
 import cn.hippo4j.config.toolkit.ConfigExecutor;
 import cn.hippo4j.config.toolkit.Md5ConfigUtil;
 import cn.hippo4j.config.toolkit.RequestUtil;
+import cn.hippo4j.config.toolkit.SubscriptionIndex;
 import cn.hippo4j.server.common.base.Results;
 import lombok.SneakyThrows;
+import io.netty.util.Timeout;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.stereotype.Service;
@@ -38,18 +41,17 @@ import org.springframework.stereotype.Service;
 import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static cn.hippo4j.common.constant.Constants.CLIENT_VERSION;
 import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER;
+import static cn.hippo4j.common.constant.Constants.LONG_PULLING_INLINE_CONFIGS;
 
 /**
  * Long polling service.
@@ -77,7 +79,7 @@ public class LongPollingService {
     private static final int DEFAULT_DELAY_TIME = 500;
 
     public LongPollingService() {
-        allSubs = new ConcurrentLinkedQueue<>();
+        allSubs = new SubscriptionIndex<>();
         ConfigExecutor.scheduleLongPolling(new StatTask(), 0L, SCHEDULE_PERIOD, TimeUnit.SECONDS);
         NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, NotifyCenter.RING_BUFFER_SIZE);
         NotifyCenter.registerSubscriber(new AbstractSubscriber() {
@@ -108,7 +110,10 @@ public class LongPollingService {
         }
     }
 
-    final Queue<ClientLongPolling> allSubs;
+    /**
+     * Hung up clients, indexed by the keys of their md5 map
+     */
+    final SubscriptionIndex<ClientLongPolling> allSubs;
 
     /**
      * Data change task.
@@ -127,21 +132,17 @@ public class LongPollingService {
         @Override
         public void run() {
             try {
-                for (Iterator<ClientLongPolling> iterator = allSubs.iterator(); iterator.hasNext();) {
-                    ClientLongPolling clientSub = iterator.next();
-                    String identity = groupKey + GROUP_KEY_DELIMITER + identify;
-                    List<String> parseMapForFilter = CollectionUtil.newArrayList(identity);
-                    if (StringUtil.isBlank(identify)) {
-                        parseMapForFilter = MapUtil.parseMapForFilter(clientSub.clientMd5Map, groupKey);
+                boolean allIdentify = StringUtil.isBlank(identify);
+                String identity = allIdentify ? groupKey : groupKey + GROUP_KEY_DELIMITER + identify;
+                // copy the matched clients, they are removed from the index while responding
+                for (ClientLongPolling clientSub : new ArrayList<>(allSubs.getSubscribers(identity))) {
+                    List<String> changedKeys = allIdentify ? clientSub.getKeysOf(groupKey) : CollectionUtil.newArrayList(identity);
+                    if (changedKeys.isEmpty() || !clientSub.remove()) {
+                        continue;
                     }
-                    parseMapForFilter.forEach(each -> {
-                        if (clientSub.clientMd5Map.containsKey(each)) {
-                            getRetainIps().put(clientSub.clientIdentify, System.currentTimeMillis());
-                            ConfigCacheService.updateMd5(each, clientSub.clientIdentify, ConfigCacheService.getContentMd5(each));
-                            iterator.remove();
-                            clientSub.sendResponse(Collections.singletonList(groupKey));
-                        }
-                    });
+                    getRetainIps().put(clientSub.clientIdentify, System.currentTimeMillis());
+                    changedKeys.forEach(each -> ConfigCacheService.updateMd5(each, clientSub.clientIdentify, ConfigCacheService.getContentMd5(each)));
+                    clientSub.sendResponse(Collections.singletonList(groupKey));
                 }
             } catch (Exception ex) {
                 log.error("Data change error: {}", ex.getMessage(), ex);
@@ -170,7 +171,7 @@ public class LongPollingService {
         } else {
             List<String> changedGroups = Md5ConfigUtil.compareMd5(req, clientMd5Map);
             if (!changedGroups.isEmpty()) {
-                generateResponse(rsp, changedGroups);
+                generateResponse(rsp, changedGroups, isInlineConfigs(req) ? RequestUtil.getClientIdentify(req) : null);
                 shouldReturn = true;
             } else if (noHangUpFlag != null && noHangUpFlag.equalsIgnoreCase(TRUE_STR)) {
                 log.info("New initializing cacheData added in.");
@@ -183,7 +184,7 @@ public class LongPollingService {
             final AsyncContext asyncContext = req.startAsync();
             asyncContext.setTimeout(0L);
             ConfigExecutor.executeLongPolling(new ClientLongPolling(asyncContext, clientMd5Map, clientIdentify, probeRequestSize,
-                    timeout - delayTime, Pair.of(req.getHeader(CLIENT_APP_NAME_HEADER), req.getHeader(CLIENT_VERSION))));
+                    timeout - delayTime, Pair.of(req.getHeader(CLIENT_APP_NAME_HEADER), req.getHeader(CLIENT_VERSION)), isInlineConfigs(req)));
         }
     }
 
@@ -208,10 +209,20 @@ public class LongPollingService {
 
         final long timeoutTime;
 
-        Future<?> asyncTimeoutFuture;
+        /**
+         * Whether the changed configs are sent inline
+         */
+        final boolean inlineConfigs;
+
+        /**
+         * Whether the client has been removed from the subscriptions, the response is sent only once
+         */
+        final AtomicBoolean removed = new AtomicBoolean();
+
+        Timeout asyncTimeout;
 
         ClientLongPolling(AsyncContext asyncContext, Map<String, String> clientMd5Map, String clientIdentify,
-                          int probeRequestSize, long timeout, Pair<String, String> appInfo) {
+                          int probeRequestSize, long timeout, Pair<String, String> appInfo, boolean inlineConfigs) {
             this.asyncContext = asyncContext;
             this.clientMd5Map = clientMd5Map;
             this.clientIdentify = clientIdentify;
@@ -219,15 +230,18 @@ public class LongPollingService {
             this.timeoutTime = timeout;
             this.appName = appInfo.getLeft();
             this.appVersion = appInfo.getRight();
+            this.inlineConfigs = inlineConfigs;
             this.createTime = System.currentTimeMillis();
         }
 
         @Override
         public void run() {
-            asyncTimeoutFuture = ConfigExecutor.scheduleLongPolling(() -> {
+            asyncTimeout = ConfigExecutor.scheduleLongPollingTimeout(() -> {
                 try {
+                    if (!remove()) {
+                        return;
+                    }
                     getRetainIps().put(ClientLongPolling.this.clientIdentify, System.currentTimeMillis());
-                    allSubs.remove(ClientLongPolling.this);
                     if (isFixedPolling()) {
                         List<String> changedGroups = Md5ConfigUtil.compareMd5((HttpServletRequest) asyncContext.getRequest(), clientMd5Map);
                         if (!changedGroups.isEmpty()) {
@@ -242,7 +256,36 @@ public class LongPollingService {
                     log.error("Long polling error: {}", ex.getMessage(), ex);
                 }
             }, timeoutTime, TimeUnit.MILLISECONDS);
-            allSubs.add(this);
+            allSubs.register(this, clientMd5Map.keySet());
+        }
+
+        /**
+         * Remove the client from the subscriptions.
+         *
+         * @return false if the client has been removed
+         */
+        boolean remove() {
+            if (!removed.compareAndSet(false, true)) {
+                return false;
+            }
+            allSubs.remove(this, clientMd5Map.keySet());
+            return true;
+        }
+
+        /**
+         * Get the keys of the client which belong to the group key.
+         *
+         * @param groupKey group key
+         * @return keys of the client
+         */
+        List<String> getKeysOf(String groupKey) {
+            List<String> keys = new ArrayList<>(1);
+            for (String each : clientMd5Map.keySet()) {
+                if (SubscriptionIndex.matches(each, groupKey)) {
+                    keys.add(each);
+                }
+            }
+            return keys;
         }
 
         /**
@@ -252,8 +295,8 @@ public class LongPollingService {
          */
         private void sendResponse(List<String> changedGroups) {
             // Cancel time out task.
-            if (null != asyncTimeoutFuture) {
-                asyncTimeoutFuture.cancel(false);
+            if (null != asyncTimeout) {
+                asyncTimeout.cancel();
             }
             generateResponse(changedGroups);
         }
@@ -276,7 +319,7 @@ public class LongPollingService {
                 return;
             }
             try {
-                String respStr = buildRespStr(changedGroups);
+                String respStr = buildRespStr(changedGroups, inlineConfigs ? clientIdentify : null);
                 response.setHeader("Pragma", "no-cache");
                 response.setDateHeader("Expires", 0);
                 response.setHeader("Cache-Control", "no-cache,no-store");
@@ -302,13 +345,14 @@ public class LongPollingService {
     /**
      * Generate sync response.
      *
-     * @param response      response
-     * @param changedGroups Changed thread pool group key
+     * @param response       response
+     * @param changedGroups  Changed thread pool group key
+     * @param clientIdentify identify of client if the configs are sent inline, otherwise null
      */
-    private void generateResponse(HttpServletResponse response, List<String> changedGroups) {
+    private void generateResponse(HttpServletResponse response, List<String> changedGroups, String clientIdentify) {
         if (CollectionUtil.isNotEmpty(changedGroups)) {
             try {
-                String respStr = buildRespStr(changedGroups);
+                String respStr = buildRespStr(changedGroups, clientIdentify);
                 response.setHeader("Pragma", "no-cache");
                 response.setDateHeader("Expires", 0);
                 response.setHeader("Cache-Control", "no-cache,no-store");
@@ -323,13 +367,24 @@ public class LongPollingService {
     /**
      * Build resp str.
      *
-     * @param changedGroups Changed thread pool group key
+     * @param changedGroups  Changed thread pool group key
+     * @param clientIdentify identify of client if the configs are sent inline, otherwise null
      * @return resp str
      */
     @SneakyThrows
-    private String buildRespStr(List<String> changedGroups) {
+    static String buildRespStr(List<String> changedGroups, String clientIdentify) {
         String changedGroupStr = Md5Util.compareMd5ResultString(changedGroups);
-        return JSONUtil.toJSONString(Results.success(changedGroupStr));
+        if (clientIdentify == null) {
+            return JSONUtil.toJSONString(Results.success(changedGroupStr));
+        }
+        List<ConfigAllInfo> configs = new ArrayList<>(changedGroups.size());
+        for (String each : changedGroups) {
+            ConfigAllInfo config = ConfigCacheService.getRecentConfig(each, clientIdentify);
+            if (config != null) {
+                configs.add(config);
+            }
+        }
+        return JSONUtil.toJSONString(Results.success(new ChangedConfigsInfo<>(changedGroupStr, configs)));
     }
 
     /**
@@ -342,6 +397,16 @@ public class LongPollingService {
         return request.getHeader(LONG_POLLING_HEADER) != null;
     }
 
+    /**
+     * Whether the client asks for the changed configs inline, the clients of old versions never do.
+     *
+     * @param request http servlet request
+     * @return true if the changed configs should be sent inline
+     */
+    private static boolean isInlineConfigs(HttpServletRequest request) {
+        return TRUE_STR.equalsIgnoreCase(request.getHeader(LONG_PULLING_INLINE_CONFIGS));
+    }
+
     /**
      * Is fixed polling.
      *
@@ -17,8 +17,12 @@
 
 package cn.hippo4j.config.service.biz;
 
+import cn.hippo4j.common.model.ConfigBatchQueryInfo;
 import cn.hippo4j.common.model.register.DynamicThreadPoolRegisterWrapper;
 import cn.hippo4j.config.model.ConfigAllInfo;
+import cn.hippo4j.config.service.ConfigContentCache;
+
+import java.util.List;
 
 /**
  * Config service.
@@ -43,6 +47,22 @@ public interface ConfigService {
      */
     ConfigAllInfo findConfigRecentInfo(String... params);
 
+    /**
+     * Find config recent content, which holds the config and its md5.
+     *
+     * @param params tpId, itemId, tenantId and instance identify
+     * @return cached config content
+     */
+    ConfigContentCache.Entry findConfigRecentContent(String... params);
+
+    /**
+     * Find config recent info of several thread-pools, the thread-pools not defined are skipped.
+     *
+     * @param query instance id and thread-pools
+     * @return recent configs
+     */
+    List<ConfigAllInfo> findConfigRecentInfos(ConfigBatchQueryInfo query);
+
     /**
      * Insert or update.
      *
@@ -70,4 +70,11 @@ public interface HisRunDataService extends IService<HisRunDataInfo> {
      * @param messageWrapper
      */
     Result<Void> dataCollect(MessageWrapper messageWrapper);
+
+    /**
+     * dataCollect of message already decoded, eg: by the binary netty protocol.
+     *
+     * @param message
+     */
+    Result<Void> dataCollect(Message message);
 }
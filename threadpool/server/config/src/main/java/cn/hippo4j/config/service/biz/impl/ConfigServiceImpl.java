@@ -17,8 +17,13 @@
 
 package cn.hippo4j.config.service.biz.impl;
 
+import cn.hippo4j.config.cluster.ClusterService;
+import cn.hippo4j.config.event.ConfigMetadataChangeEvent;
+import cn.hippo4j.config.notify.NotifyCenter;
 import cn.hippo4j.core.config.ApplicationContextHolder;
 import cn.hippo4j.common.extension.enums.DelEnum;
+import cn.hippo4j.common.model.ConfigBatchQueryInfo;
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
 import cn.hippo4j.common.model.register.DynamicThreadPoolRegisterParameter;
 import cn.hippo4j.common.model.register.DynamicThreadPoolRegisterWrapper;
 import cn.hippo4j.common.model.register.notify.DynamicThreadPoolRegisterServerNotifyParameter;
@@ -41,6 +46,7 @@ import cn.hippo4j.config.model.LogRecordInfo;
 import cn.hippo4j.config.model.biz.notify.NotifyReqDTO;
 import cn.hippo4j.config.service.ConfigCacheService;
 import cn.hippo4j.config.service.ConfigChangePublisher;
+import cn.hippo4j.config.service.ConfigContentCache;
 import cn.hippo4j.config.service.biz.ConfigService;
 import cn.hippo4j.config.service.biz.ItemService;
 import cn.hippo4j.config.service.biz.NotifyService;
@@ -53,6 +59,7 @@ import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -77,6 +84,7 @@ import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.LINKED_BL
 import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.LINKED_TRANSFER_QUEUE;
 import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.PRIORITY_BLOCKING_QUEUE;
 import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.RESIZABLE_LINKED_BLOCKING_QUEUE;
+import static cn.hippo4j.common.executor.support.BlockingQueueTypeEnum.RESIZABLE_MPMC_ARRAY_BLOCKING_QUEUE;
 import static cn.hippo4j.config.service.ConfigCacheService.getContent;
 
 /**
@@ -95,6 +103,8 @@ public class ConfigServiceImpl implements ConfigService {
 
     private final NotifyService notifyService;
 
+    private final ObjectProvider<ClusterService> clusterService;
+
     private static final int DEFAULT_QUEUE_CAPACITY = 1024;
 
     @Override
@@ -109,6 +119,33 @@ public class ConfigServiceImpl implements ConfigService {
 
     @Override
     public ConfigAllInfo findConfigRecentInfo(String... params) {
+        return findConfigRecentContent(params).getConfigAllInfo();
+    }
+
+    @Override
+    public ConfigContentCache.Entry findConfigRecentContent(String... params) {
+        String groupKey = ContentUtil.getGroupKey(params[INDEX_0], params[INDEX_1], params[INDEX_2]);
+        return ConfigContentCache.get(groupKey, params[INDEX_3], () -> loadConfigRecentInfo(params));
+    }
+
+    @Override
+    public List<ConfigAllInfo> findConfigRecentInfos(ConfigBatchQueryInfo query) {
+        if (CollectionUtil.isEmpty(query.getParameters())) {
+            return Collections.emptyList();
+        }
+        List<ConfigAllInfo> configs = new ArrayList<>(query.getParameters().size());
+        for (ThreadPoolParameterInfo each : query.getParameters()) {
+            try {
+                configs.add(findConfigRecentInfo(each.getTpId(), each.getItemId(), each.getTenantId(), query.getInstanceId()));
+            } catch (ServiceException ex) {
+                log.warn("Failed to find config. tpId: {}, itemId: {}, tenantId: {}, message: {}",
+                        each.getTpId(), each.getItemId(), each.getTenantId(), ex.getMessage());
+            }
+        }
+        return configs;
+    }
+
+    private ConfigAllInfo loadConfigRecentInfo(String... params) {
         ConfigAllInfo resultConfig;
         ConfigAllInfo configInstance = null;
         String instanceId = params[INDEX_3];
@@ -221,7 +258,9 @@ public class ConfigServiceImpl implements ConfigService {
     private void verification(String identify) {
         if (StringUtil.isNotBlank(identify)) {
             Map content = getContent(identify);
-            Assert.isTrue(CollectionUtil.isNotEmpty(content), "线程池实例不存在, 请尝试页面刷新");
+            ClusterService cluster = clusterService.getIfAvailable();
+            boolean exists = CollectionUtil.isNotEmpty(content) || (cluster != null && cluster.containsClusterIdentify(identify));
+            Assert.isTrue(exists, "线程池实例不存在, 请尝试页面刷新");
         }
     }
 
@@ -239,12 +278,17 @@ public class ConfigServiceImpl implements ConfigService {
                 Assert.isNull(configAllInfo, "线程池配置已存在");
                 if (SqlHelper.retBool(configInfoMapper.insert(config))) {
                     configId = config.getId();
+                    ConfigContentCache.invalidate(config.getTenantId(), config.getItemId(), config.getTpId());
                 }
             }
         } catch (Exception ex) {
             log.error("[db-error] message: {}", ex.getMessage(), ex);
             throw ex;
         }
+        if (configId != null) {
+            NotifyCenter.publishEvent(new ConfigMetadataChangeEvent(ConfigMetadataChangeEvent.Type.THREAD_POOL, false,
+                    config.getTenantId(), config.getItemId(), config.getTpId()));
+        }
         return configId;
     }
 
@@ -265,7 +309,10 @@ public class ConfigServiceImpl implements ConfigService {
                 instanceInfo.setInstanceId(identify);
                 configInstanceMapper.insert(instanceInfo);
             } else if (StringUtil.isEmpty(identify) && isChangeNotice) {
-                List<String> identifyList = ConfigCacheService.getIdentifyList(config.getTenantId(), config.getItemId(), config.getTpId());
+                ClusterService cluster = clusterService.getIfAvailable();
+                List<String> identifyList = cluster != null
+                        ? cluster.getClusterIdentifyList(config.getTenantId(), config.getItemId(), config.getTpId())
+                        : ConfigCacheService.getIdentifyList(config.getTenantId(), config.getItemId(), config.getTpId());
                 if (CollectionUtil.isNotEmpty(identifyList)) {
                     for (String each : identifyList) {
                         ConfigInstanceInfo instanceInfo = BeanUtil.convert(config, ConfigInstanceInfo.class);
@@ -276,6 +323,7 @@ public class ConfigServiceImpl implements ConfigService {
             } else {
                 configInfoMapper.update(config, wrapper);
             }
+            ConfigContentCache.invalidate(ContentUtil.getGroupKey(config), identify);
         } catch (Exception ex) {
             log.error("[db-error] message: {}", ex.getMessage(), ex);
             throw ex;
@@ -316,7 +364,8 @@ public class ConfigServiceImpl implements ConfigService {
                 LINKED_BLOCKING_QUEUE.getType(),
                 LINKED_BLOCKING_DEQUE.getType(),
                 PRIORITY_BLOCKING_QUEUE.getType(),
-                RESIZABLE_LINKED_BLOCKING_QUEUE.getType()).collect(Collectors.toList());
+                RESIZABLE_LINKED_BLOCKING_QUEUE.getType(),
+                RESIZABLE_MPMC_ARRAY_BLOCKING_QUEUE.getType()).collect(Collectors.toList());
         boolean setDefaultFlag = queueTypes.contains(config.getQueueType()) && (config.getCapacity() == null || Objects.equals(config.getCapacity(), 0));
         if (setDefaultFlag) {
             queueCapacity = DEFAULT_QUEUE_CAPACITY;
@@ -23,6 +23,7 @@ import cn.hippo4j.common.monitor.RuntimeMessage;
 import cn.hippo4j.common.toolkit.DateUtil;
 import cn.hippo4j.common.toolkit.GroupKey;
 import cn.hippo4j.common.toolkit.MessageConvert;
+import cn.hippo4j.common.toolkit.StringUtil;
 import cn.hippo4j.common.model.Result;
 import cn.hippo4j.config.config.ServerBootstrapProperties;
 import cn.hippo4j.config.mapper.HisRunDataMapper;
@@ -31,26 +32,30 @@ import cn.hippo4j.config.model.biz.monitor.MonitorActiveRespDTO;
 import cn.hippo4j.config.model.biz.monitor.MonitorQueryReqDTO;
 import cn.hippo4j.config.model.biz.monitor.MonitorRespDTO;
 import cn.hippo4j.config.monitor.QueryMonitorExecuteChoose;
+import cn.hippo4j.config.monitor.store.HisRunDataMetric;
+import cn.hippo4j.config.monitor.store.HisRunDataSeries;
+import cn.hippo4j.config.monitor.store.HisRunDataStore;
 import cn.hippo4j.config.service.ConfigCacheService;
 import cn.hippo4j.config.service.biz.HisRunDataService;
 import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.server.common.base.Results;
+import cn.hippo4j.server.common.base.exception.ErrorCodeEnum;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.AllArgsConstructor;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_0;
 import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_1;
 import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_2;
 import static cn.hippo4j.common.constant.MagicNumberConstants.INDEX_3;
+import static cn.hippo4j.common.toolkit.DateUtil.NORM_DATETIME_PATTERN;
 import static cn.hippo4j.common.toolkit.DateUtil.NORM_TIME_PATTERN;
 
 /**
@@ -64,96 +69,94 @@ public class HisRunDataServiceImpl extends ServiceImpl<HisRunDataMapper, HisRunD
 
     private final QueryMonitorExecuteChoose queryMonitorExecuteChoose;
 
-    private final ThreadPoolTaskExecutor monitorThreadPoolTaskExecutor;
+    private final HisRunDataStore hisRunDataStore;
 
     @Override
     public List<MonitorRespDTO> query(MonitorQueryReqDTO reqDTO) {
-        LocalDateTime currentDate = LocalDateTime.now();
-        LocalDateTime dateTime = currentDate.plusMinutes(-properties.getCleanHistoryDataPeriod());
-        long startTime = DateUtil.getTime(dateTime);
-        List<HisRunDataInfo> hisRunDataInfos = this.lambdaQuery()
-                .eq(HisRunDataInfo::getTenantId, reqDTO.getTenantId())
-                .eq(HisRunDataInfo::getItemId, reqDTO.getItemId())
-                .eq(HisRunDataInfo::getTpId, reqDTO.getTpId())
-                .eq(HisRunDataInfo::getInstanceId, reqDTO.getInstanceId())
-                .between(HisRunDataInfo::getTimestamp, startTime, DateUtil.getTime(currentDate))
-                .orderByAsc(HisRunDataInfo::getTimestamp)
-                .list();
-        return BeanUtil.convert(hisRunDataInfos, MonitorRespDTO.class);
+        HisRunDataSeries series = querySeries(reqDTO);
+        List<MonitorRespDTO> result = new ArrayList<>(series.getSize());
+        for (int i = 0; i < series.getSize(); i++) {
+            MonitorRespDTO monitorResp = new MonitorRespDTO();
+            monitorResp.setTenantId(reqDTO.getTenantId());
+            monitorResp.setItemId(reqDTO.getItemId());
+            monitorResp.setTpId(reqDTO.getTpId());
+            monitorResp.setInstanceId(reqDTO.getInstanceId());
+            monitorResp.setCurrentLoad(String.valueOf(series.getValues(HisRunDataMetric.CURRENT_LOAD)[i]));
+            monitorResp.setPeakLoad(String.valueOf(series.getValues(HisRunDataMetric.PEAK_LOAD)[i]));
+            monitorResp.setPoolSize(String.valueOf(series.getValues(HisRunDataMetric.POOL_SIZE)[i]));
+            monitorResp.setActiveSize(String.valueOf(series.getValues(HisRunDataMetric.ACTIVE_SIZE)[i]));
+            monitorResp.setQueueCapacity(String.valueOf(series.getValues(HisRunDataMetric.QUEUE_CAPACITY)[i]));
+            monitorResp.setQueueSize(String.valueOf(series.getValues(HisRunDataMetric.QUEUE_SIZE)[i]));
+            monitorResp.setQueueRemainingCapacity(String.valueOf(series.getValues(HisRunDataMetric.QUEUE_REMAINING_CAPACITY)[i]));
+            monitorResp.setCompletedTaskCount(String.valueOf(series.getValues(HisRunDataMetric.COMPLETED_TASK_COUNT)[i]));
+            monitorResp.setRejectCount(String.valueOf(series.getValues(HisRunDataMetric.REJECT_COUNT)[i]));
+            monitorResp.setExecuteTimeP50(String.valueOf(series.getValues(HisRunDataMetric.EXECUTE_TIME_P50)[i]));
+            monitorResp.setExecuteTimeP90(String.valueOf(series.getValues(HisRunDataMetric.EXECUTE_TIME_P90)[i]));
+            monitorResp.setExecuteTimeP99(String.valueOf(series.getValues(HisRunDataMetric.EXECUTE_TIME_P99)[i]));
+            monitorResp.setExecuteTimeP999(String.valueOf(series.getValues(HisRunDataMetric.EXECUTE_TIME_P999)[i]));
+            monitorResp.setQueueWaitTimeP50(String.valueOf(series.getValues(HisRunDataMetric.QUEUE_WAIT_TIME_P50)[i]));
+            monitorResp.setQueueWaitTimeP90(String.valueOf(series.getValues(HisRunDataMetric.QUEUE_WAIT_TIME_P90)[i]));
+            monitorResp.setQueueWaitTimeP99(String.valueOf(series.getValues(HisRunDataMetric.QUEUE_WAIT_TIME_P99)[i]));
+            monitorResp.setQueueWaitTimeP999(String.valueOf(series.getValues(HisRunDataMetric.QUEUE_WAIT_TIME_P999)[i]));
+            result.add(monitorResp);
+        }
+        return result;
     }
 
     @Override
     public MonitorActiveRespDTO queryInfoThreadPoolMonitor(MonitorQueryReqDTO reqDTO) {
-        LocalDateTime currentDate = LocalDateTime.now();
-        LocalDateTime dateTime = currentDate.plusMinutes(-properties.getCleanHistoryDataPeriod());
-        long startTime = DateUtil.getTime(dateTime);
-        List<HisRunDataInfo> hisRunDataInfos = this.lambdaQuery()
-                .eq(HisRunDataInfo::getTenantId, reqDTO.getTenantId())
-                .eq(HisRunDataInfo::getItemId, reqDTO.getItemId())
-                .eq(HisRunDataInfo::getTpId, reqDTO.getTpId())
-                .eq(HisRunDataInfo::getInstanceId, reqDTO.getInstanceId())
-                .between(HisRunDataInfo::getTimestamp, startTime, DateUtil.getTime(currentDate))
-                .orderByAsc(HisRunDataInfo::getTimestamp)
-                .list();
-        List<String> times = new ArrayList<>();
-        List<Long> poolSizeList = new ArrayList<>();
-        List<Long> activeSizeList = new ArrayList<>();
-        List<Long> queueCapacityList = new ArrayList<>();
-        List<Long> queueSizeList = new ArrayList<>();
-        List<Long> completedTaskCountList = new ArrayList<>();
-        List<Long> rejectCountList = new ArrayList<>();
-        List<Long> queueRemainingCapacityList = new ArrayList<>();
-        List<Long> currentLoadList = new ArrayList<>();
-        long countTemp = 0L;
-        AtomicBoolean firstFlag = new AtomicBoolean(Boolean.TRUE);
-        for (HisRunDataInfo each : hisRunDataInfos) {
-            String time = DateUtil.format(new Date(each.getTimestamp()), NORM_TIME_PATTERN);
-            times.add(time);
-            poolSizeList.add(each.getPoolSize());
-            activeSizeList.add(each.getActiveSize());
-            queueSizeList.add(each.getQueueSize());
-            rejectCountList.add(each.getRejectCount());
-            queueRemainingCapacityList.add(each.getQueueRemainingCapacity());
-            currentLoadList.add(each.getCurrentLoad());
-            queueCapacityList.add(each.getQueueCapacity());
-            if (firstFlag.get()) {
-                completedTaskCountList.add(0L);
-                firstFlag.set(Boolean.FALSE);
-                countTemp = each.getCompletedTaskCount();
-                continue;
-            }
-            long completedTaskCount = each.getCompletedTaskCount();
-            long countTask = completedTaskCount - countTemp;
-            completedTaskCountList.add(countTask);
-            countTemp = each.getCompletedTaskCount();
+        HisRunDataSeries series = querySeries(reqDTO);
+        int size = series.getSize();
+        String timePattern = series.getResolution() == HisRunDataSeries.Resolution.HOUR ? NORM_DATETIME_PATTERN : NORM_TIME_PATTERN;
+        List<String> times = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            times.add(DateUtil.format(new Date(series.getTimestamps()[i]), timePattern));
         }
-        return new MonitorActiveRespDTO(times, poolSizeList, activeSizeList, queueSizeList, completedTaskCountList, rejectCountList, queueRemainingCapacityList, currentLoadList, queueCapacityList);
+        // completed task count is reported as a counter, the chart shows the tasks completed between two samples
+        long[] completedTaskCounts = series.getValues(HisRunDataMetric.COMPLETED_TASK_COUNT);
+        long[] completedTaskCountList = new long[size];
+        for (int i = 1; i < size; i++) {
+            completedTaskCountList[i] = completedTaskCounts[i] - completedTaskCounts[i - 1];
+        }
+        return new MonitorActiveRespDTO(times,
+                Arrays.copyOf(series.getValues(HisRunDataMetric.POOL_SIZE), size),
+                Arrays.copyOf(series.getValues(HisRunDataMetric.ACTIVE_SIZE), size),
+                Arrays.copyOf(series.getValues(HisRunDataMetric.QUEUE_SIZE), size),
+                completedTaskCountList,
+                Arrays.copyOf(series.getValues(HisRunDataMetric.REJECT_COUNT), size),
+                Arrays.copyOf(series.getValues(HisRunDataMetric.QUEUE_REMAINING_CAPACITY), size),
+                Arrays.copyOf(series.getValues(HisRunDataMetric.CURRENT_LOAD), size),
+                Arrays.copyOf(series.getValues(HisRunDataMetric.QUEUE_CAPACITY), size));
     }
 
     @Override
     public MonitorRespDTO queryThreadPoolLastTaskCount(MonitorQueryReqDTO reqDTO) {
-        LocalDateTime currentDate = LocalDateTime.now();
-        LocalDateTime dateTime = currentDate.plusMinutes(-properties.getCleanHistoryDataPeriod());
-        long startTime = DateUtil.getTime(dateTime);
-        HisRunDataInfo hisRunDataInfo = this.lambdaQuery()
-                .eq(HisRunDataInfo::getTenantId, reqDTO.getTenantId())
-                .eq(HisRunDataInfo::getItemId, reqDTO.getItemId())
-                .eq(HisRunDataInfo::getTpId, reqDTO.getTpId())
-                .eq(HisRunDataInfo::getInstanceId, reqDTO.getInstanceId())
-                .orderByDesc(HisRunDataInfo::getTimestamp)
-                .between(HisRunDataInfo::getTimestamp, startTime, DateUtil.getTime(currentDate))
-                .last("LIMIT 1")
-                .one();
+        long currentTime = System.currentTimeMillis();
+        long startTime = currentTime - TimeUnit.MINUTES.toMillis(properties.getCleanHistoryDataPeriod());
+        HisRunDataInfo hisRunDataInfo = hisRunDataStore.queryLast(reqDTO.getTenantId(), reqDTO.getItemId(), reqDTO.getTpId(), reqDTO.getInstanceId(), startTime, currentTime);
         return BeanUtil.convert(hisRunDataInfo, MonitorRespDTO.class);
     }
 
+    /**
+     * Query the samples in the time range of request, the latest {@link ServerBootstrapProperties#getCleanHistoryDataPeriod()} minutes by default.
+     *
+     * @param reqDTO request
+     * @return samples
+     */
+    private HisRunDataSeries querySeries(MonitorQueryReqDTO reqDTO) {
+        long endTime = reqDTO.getEndTime() != null ? reqDTO.getEndTime() : System.currentTimeMillis();
+        long startTime = reqDTO.getStartTime() != null
+                ? reqDTO.getStartTime()
+                : endTime - TimeUnit.MINUTES.toMillis(properties.getCleanHistoryDataPeriod());
+        return hisRunDataStore.query(reqDTO.getTenantId(), reqDTO.getItemId(), reqDTO.getTpId(), reqDTO.getInstanceId(), startTime, endTime);
+    }
+
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void save(Message message) {
         List<RuntimeMessage> runtimeMessages = message.getMessages();
         List<HisRunDataInfo> hisRunDataInfos = new ArrayList<>();
         runtimeMessages.forEach(each -> {
-            HisRunDataInfo hisRunDataInfo = BeanUtil.convert(each, HisRunDataInfo.class);
+            HisRunDataInfo hisRunDataInfo = toHisRunDataInfo(each);
             String[] parseKey = GroupKey.parseKey(each.getGroupKey());
             boolean checkFlag = ConfigCacheService.checkTpId(each.getGroupKey(), parseKey[INDEX_0], parseKey[INDEX_3]);
             if (checkFlag) {
@@ -164,20 +167,64 @@ public class HisRunDataServiceImpl extends ServiceImpl<HisRunDataMapper, HisRunD
                 hisRunDataInfos.add(hisRunDataInfo);
             }
         });
-        this.saveBatch(hisRunDataInfos);
+        hisRunDataStore.append(hisRunDataInfos);
     }
 
     @Override
     public Result<Void> dataCollect(MessageWrapper messageWrapper) {
-        Runnable task = () -> {
-            Message message = MessageConvert.convert(messageWrapper);
-            queryMonitorExecuteChoose.chooseAndExecute(message);
-        };
+        return dataCollect(MessageConvert.convert(messageWrapper));
+    }
+
+    /**
+     * Runtime messages are handed over to {@link cn.hippo4j.config.monitor.HisRunDataIngestion},
+     * a failure result asks the client to back off when the ingestion queue is full.
+     */
+    @Override
+    public Result<Void> dataCollect(Message message) {
         try {
-            monitorThreadPoolTaskExecutor.execute(task);
-        } catch (Exception ex) {
-            log.error("Monitoring data insertion database task overflow.", ex);
+            queryMonitorExecuteChoose.chooseAndExecute(message);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Monitoring data insertion database task overflow, ask the client to back off.");
+            return Results.failure(ErrorCodeEnum.SERVICE_BUSY);
         }
         return Results.success();
     }
+
+    /**
+     * {@link RuntimeMessage} to {@link HisRunDataInfo}, called for every reported row,
+     * so the properties are copied by hand instead of {@link BeanUtil}.
+     *
+     * @param runtimeMessage runtime message
+     * @return his run data info
+     */
+    private static HisRunDataInfo toHisRunDataInfo(RuntimeMessage runtimeMessage) {
+        HisRunDataInfo hisRunDataInfo = new HisRunDataInfo();
+        hisRunDataInfo.setCurrentLoad(toLong(runtimeMessage.getCurrentLoad()));
+        hisRunDataInfo.setPeakLoad(toLong(runtimeMessage.getPeakLoad()));
+        hisRunDataInfo.setPoolSize(toLong(runtimeMessage.getPoolSize()));
+        hisRunDataInfo.setActiveSize(toLong(runtimeMessage.getActiveSize()));
+        hisRunDataInfo.setQueueCapacity(toLong(runtimeMessage.getQueueCapacity()));
+        hisRunDataInfo.setQueueSize(toLong(runtimeMessage.getQueueSize()));
+        hisRunDataInfo.setQueueRemainingCapacity(toLong(runtimeMessage.getQueueRemainingCapacity()));
+        hisRunDataInfo.setCompletedTaskCount(runtimeMessage.getCompletedTaskCount());
+        hisRunDataInfo.setRejectCount(toLong(runtimeMessage.getRejectCount()));
+        hisRunDataInfo.setExecuteTimeP50(runtimeMessage.getExecuteTimeP50());
+        hisRunDataInfo.setExecuteTimeP90(runtimeMessage.getExecuteTimeP90());
+        hisRunDataInfo.setExecuteTimeP99(runtimeMessage.getExecuteTimeP99());
+        hisRunDataInfo.setExecuteTimeP999(runtimeMessage.getExecuteTimeP999());
+        hisRunDataInfo.setQueueWaitTimeP50(runtimeMessage.getQueueWaitTimeP50());
+        hisRunDataInfo.setQueueWaitTimeP90(runtimeMessage.getQueueWaitTimeP90());
+        hisRunDataInfo.setQueueWaitTimeP99(runtimeMessage.getQueueWaitTimeP99());
+        hisRunDataInfo.setQueueWaitTimeP999(runtimeMessage.getQueueWaitTimeP999());
+        hisRunDataInfo.setTimestamp(runtimeMessage.getTimestamp());
+        return hisRunDataInfo;
+    }
+
+    private static Long toLong(Integer value) {
+        return value == null ? null : value.longValue();
+    }
+
+    private static Long toLong(String value) {
+        return StringUtil.isBlank(value) ? null : Long.valueOf(value.trim());
+    }
 }
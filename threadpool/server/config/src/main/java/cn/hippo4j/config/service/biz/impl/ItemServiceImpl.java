@@ -20,6 +20,7 @@ package cn.hippo4j.config.service.biz.impl;
 import cn.hippo4j.common.toolkit.Assert;
 import cn.hippo4j.common.extension.enums.DelEnum;
 import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.config.event.ConfigMetadataChangeEvent;
 import cn.hippo4j.config.mapper.ItemInfoMapper;
 import cn.hippo4j.config.model.ItemInfo;
 import cn.hippo4j.config.model.biz.item.ItemQueryReqDTO;
@@ -27,6 +28,7 @@ import cn.hippo4j.config.model.biz.item.ItemRespDTO;
 import cn.hippo4j.config.model.biz.item.ItemSaveReqDTO;
 import cn.hippo4j.config.model.biz.item.ItemUpdateReqDTO;
 import cn.hippo4j.config.model.biz.threadpool.ThreadPoolRespDTO;
+import cn.hippo4j.config.notify.NotifyCenter;
 import cn.hippo4j.config.service.biz.ItemService;
 import cn.hippo4j.config.service.biz.ThreadPoolService;
 import cn.hippo4j.common.toolkit.BeanUtil;
@@ -99,6 +101,7 @@ public class ItemServiceImpl implements ItemService {
                 throw new RuntimeException("Save error");
             }
         }
+        NotifyCenter.publishEvent(new ConfigMetadataChangeEvent(ConfigMetadataChangeEvent.Type.ITEM, false, reqDTO.getTenantId(), reqDTO.getItemId(), null));
     }
 
     @Override
@@ -129,5 +132,6 @@ public class ItemServiceImpl implements ItemService {
         if (!retBool) {
             throw new RuntimeException("Delete error.");
         }
+        NotifyCenter.publishEvent(new ConfigMetadataChangeEvent(ConfigMetadataChangeEvent.Type.ITEM, true, namespace, itemId, null));
     }
 }
@@ -20,6 +20,7 @@ package cn.hippo4j.config.service.biz.impl;
 import cn.hippo4j.common.extension.enums.DelEnum;
 import cn.hippo4j.common.toolkit.Assert;
 import cn.hippo4j.common.toolkit.StringUtil;
+import cn.hippo4j.config.event.ConfigMetadataChangeEvent;
 import cn.hippo4j.config.mapper.TenantInfoMapper;
 import cn.hippo4j.config.model.TenantInfo;
 import cn.hippo4j.config.model.biz.item.ItemQueryReqDTO;
@@ -28,6 +29,7 @@ import cn.hippo4j.config.model.biz.tenant.TenantQueryReqDTO;
 import cn.hippo4j.config.model.biz.tenant.TenantRespDTO;
 import cn.hippo4j.config.model.biz.tenant.TenantSaveReqDTO;
 import cn.hippo4j.config.model.biz.tenant.TenantUpdateReqDTO;
+import cn.hippo4j.config.notify.NotifyCenter;
 import cn.hippo4j.config.service.biz.ItemService;
 import cn.hippo4j.config.service.biz.TenantService;
 import cn.hippo4j.common.toolkit.BeanUtil;
@@ -94,6 +96,7 @@ public class TenantServiceImpl implements TenantService {
                 throw new RuntimeException("Save Error.");
             }
         }
+        NotifyCenter.publishEvent(new ConfigMetadataChangeEvent(ConfigMetadataChangeEvent.Type.TENANT, false, reqDTO.getTenantId(), null, null));
     }
 
     @Override
@@ -124,6 +127,7 @@ public class TenantServiceImpl implements TenantService {
         if (!retBool) {
             throw new RuntimeException("Delete error.");
         }
+        NotifyCenter.publishEvent(new ConfigMetadataChangeEvent(ConfigMetadataChangeEvent.Type.TENANT, true, tenantId, null, null));
     }
 
     @Override
@@ -23,6 +23,7 @@ import cn.hippo4j.common.toolkit.BeanUtil;
 import cn.hippo4j.common.toolkit.CollectionUtil;
 import cn.hippo4j.common.toolkit.JSONUtil;
 import cn.hippo4j.common.toolkit.UserContext;
+import cn.hippo4j.config.event.ConfigMetadataChangeEvent;
 import cn.hippo4j.config.mapper.ConfigInfoMapper;
 import cn.hippo4j.config.model.ConfigAllInfo;
 import cn.hippo4j.config.model.LogRecordInfo;
@@ -31,6 +32,8 @@ import cn.hippo4j.config.model.biz.threadpool.ThreadPoolDelReqDTO;
 import cn.hippo4j.config.model.biz.threadpool.ThreadPoolQueryReqDTO;
 import cn.hippo4j.config.model.biz.threadpool.ThreadPoolRespDTO;
 import cn.hippo4j.config.model.biz.threadpool.ThreadPoolSaveOrUpdateReqDTO;
+import cn.hippo4j.config.notify.NotifyCenter;
+import cn.hippo4j.config.service.ConfigContentCache;
 import cn.hippo4j.config.service.biz.ConfigService;
 import cn.hippo4j.config.service.biz.OperationLogService;
 import cn.hippo4j.config.service.biz.ThreadPoolService;
@@ -39,6 +42,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -105,11 +109,16 @@ public class ThreadPoolServiceImpl implements ThreadPoolService {
 
     @Override
     public void deletePool(ThreadPoolDelReqDTO requestParam) {
-        configInfoMapper.delete(
+        int deleteResult = configInfoMapper.delete(
                 Wrappers.lambdaUpdate(ConfigAllInfo.class)
                         .eq(ConfigAllInfo::getTenantId, requestParam.getTenantId())
                         .eq(ConfigAllInfo::getItemId, requestParam.getItemId())
                         .eq(ConfigAllInfo::getTpId, requestParam.getTpId()));
+        if (SqlHelper.retBool(deleteResult)) {
+            ConfigContentCache.invalidate(requestParam.getTenantId(), requestParam.getItemId(), requestParam.getTpId());
+            NotifyCenter.publishEvent(new ConfigMetadataChangeEvent(ConfigMetadataChangeEvent.Type.THREAD_POOL, true,
+                    requestParam.getTenantId(), requestParam.getItemId(), requestParam.getTpId()));
+        }
         recordOperationLog(requestParam);
     }
 
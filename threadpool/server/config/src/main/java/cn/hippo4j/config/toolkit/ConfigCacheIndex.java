@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.toolkit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER;
+import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER_TRANSLATION;
+
+/**
+ * <p>Hierarchical index of config cache, tenant -> item -> thread-pool id -> instance -> client. <br />
+ * A cache key is made up of {@code tpId+itemId+tenantId+identify}, the first three segments are the group key.
+ * Lookups of a key or of a group key walk down the hierarchy, and removals only visit the matched entries,
+ * so no operation scans all the keys.
+ *
+ * <p>Reads are lock-free. Insertions and removals of a group are serialized by one of the striped locks,
+ * so loading the value of a key does not block the groups which are guarded by other locks.
+ * Tenant and item nodes are never removed, their count is bounded by the count of tenants and items.
+ *
+ * @param <V> type of cached value
+ */
+public class ConfigCacheIndex<V> {
+
+    /**
+     * Count of striped locks, must be a power of two
+     */
+    private static final int LOCK_COUNT = 64;
+
+    /**
+     * Count of key segments
+     */
+    private static final int SEGMENT_COUNT = 4;
+
+    /**
+     * tenant -> item -> thread-pool id -> group
+     */
+    private final Map<String, Map<String, Map<String, Group<V>>>> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * instance identify -> group keys of the instance
+     */
+    private final Map<String, Set<String>> identifyIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Striped locks of groups
+     */
+    private final Object[] locks = new Object[LOCK_COUNT];
+
+    /**
+     * Count of cached values
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ConfigCacheIndex() {
+        for (int i = 0; i < LOCK_COUNT; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get the cached value.
+     *
+     * @param key            tpId+itemId+tenantId+identify
+     * @param clientIdentify client identify
+     * @return cached value, or null
+     */
+    public V get(String key, String clientIdentify) {
+        Map<String, V> clients = getClients(split(key));
+        return clients == null ? null : clients.get(clientIdentify);
+    }
+
+    /**
+     * Get the cached value, or load and cache it if absent.
+     * The loader is called while holding the lock of the group, and nothing is cached if it returns null.
+     *
+     * @param key            tpId+itemId+tenantId+identify
+     * @param clientIdentify client identify
+     * @param loader         loader of value, the argument is the key
+     * @return cached or loaded value, or null
+     */
+    public V computeIfAbsent(String key, String clientIdentify, Function<String, V> loader) {
+        String[] segments = split(key);
+        Map<String, V> clients = getClients(segments);
+        V value = clients == null ? null : clients.get(clientIdentify);
+        if (value != null) {
+            return value;
+        }
+        String groupKey = groupKey(segments);
+        synchronized (lockOf(groupKey)) {
+            Group<V> group = tenants.computeIfAbsent(segments[2], each -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(segments[1], each -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(segments[0], each -> new Group<>(groupKey));
+            Instance<V> instance = group.instances.get(segments[3]);
+            if (instance != null && (value = instance.clients.get(clientIdentify)) != null) {
+                return value;
+            }
+            value = loader.apply(key);
+            if (value == null) {
+                if (group.instances.isEmpty()) {
+                    tenants.get(segments[2]).get(segments[1]).remove(segments[0]);
+                }
+                return null;
+            }
+            if (instance == null) {
+                instance = new Instance<>(key, groupKey, segments[3]);
+                group.instances.put(segments[3], instance);
+                identifyIndex.computeIfAbsent(segments[3], each -> ConcurrentHashMap.newKeySet()).add(groupKey);
+            }
+            instance.clients.put(clientIdentify, value);
+            size.incrementAndGet();
+            return value;
+        }
+    }
+
+    /**
+     * Get the cached values matching the coarse key, merged by client identify.
+     *
+     * @param coarse coarse key, see {@link #remove}
+     * @return client identify -> cached value
+     */
+    public Map<String, V> getValues(String coarse) {
+        Map<String, V> result = new HashMap<>();
+        match(coarse).forEach(each -> result.putAll(each.clients));
+        return result;
+    }
+
+    /**
+     * Get the cache keys of the group.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @return cache keys
+     */
+    public List<String> getKeys(String groupKey) {
+        Group<V> group = getGroup(split(groupKey));
+        if (group == null) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(group.instances.size());
+        group.instances.values().forEach(each -> result.add(each.key));
+        return result;
+    }
+
+    /**
+     * Remove the cached values matching the coarse key, which is one of:
+     * <ul>
+     *     <li>tpId+itemId+tenantId+identify, a cache key</li>
+     *     <li>tpId+itemId+tenantId, a group key</li>
+     *     <li>itemId+tenantId+identify, all the thread-pools of an instance, sent when the client is closed</li>
+     *     <li>identify, all the thread-pools of an instance, sent when the instance is evicted</li>
+     * </ul>
+     * Other coarse keys remove the cache keys containing them as whole segments.
+     *
+     * @param coarse coarse key
+     * @return removed cache key -> removed values by client identify
+     */
+    public Map<String, Map<String, V>> remove(String coarse) {
+        Map<String, Map<String, V>> removed = new HashMap<>();
+        for (Instance<V> each : match(coarse)) {
+            removeInstance(each.groupKey, each.identify, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Get the count of cached values.
+     *
+     * @return count of cached values
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Whether the key contains the coarse key as whole segments.
+     *
+     * @param key    key
+     * @param coarse coarse key
+     * @return true if contained
+     */
+    static boolean containsSegments(String key, String coarse) {
+        int index = key.indexOf(coarse);
+        while (index >= 0) {
+            int end = index + coarse.length();
+            if ((index == 0 || key.startsWith(GROUP_KEY_DELIMITER, index - 1))
+                    && (end == key.length() || key.startsWith(GROUP_KEY_DELIMITER, end))) {
+                return true;
+            }
+            index = key.indexOf(coarse, index + 1);
+        }
+        return false;
+    }
+
+    /**
+     * Get the instances matching the coarse key, only the matched entries of the hierarchy are visited
+     * unless the coarse key is not one of the documented shapes.
+     *
+     * @param coarse coarse key
+     * @return matched instances
+     */
+    private List<Instance<V>> match(String coarse) {
+        List<Instance<V>> result = new ArrayList<>();
+        String[] segments = coarse.split(GROUP_KEY_DELIMITER_TRANSLATION, -1);
+        switch (segments.length) {
+            case SEGMENT_COUNT:
+                Group<V> group = getGroup(segments);
+                Instance<V> instance = group == null ? null : group.instances.get(segments[3]);
+                if (instance != null) {
+                    result.add(instance);
+                }
+                break;
+            case SEGMENT_COUNT - 1:
+                // tpId+itemId+tenantId
+                Group<V> matchedGroup = getGroup(split(coarse));
+                if (matchedGroup != null) {
+                    result.addAll(matchedGroup.instances.values());
+                }
+                // itemId+tenantId+identify
+                Map<String, Map<String, Group<V>>> items = tenants.get(segments[1]);
+                Map<String, Group<V>> groups = items == null ? null : items.get(segments[0]);
+                if (groups != null) {
+                    groups.values().stream().map(each -> each.instances.get(segments[2])).filter(Objects::nonNull).forEach(result::add);
+                }
+                break;
+            case 1:
+                Set<String> groupKeys = identifyIndex.get(coarse);
+                if (groupKeys != null) {
+                    for (String each : groupKeys) {
+                        Group<V> identifyGroup = getGroup(split(each));
+                        Instance<V> identifyInstance = identifyGroup == null ? null : identifyGroup.instances.get(coarse);
+                        if (identifyInstance != null) {
+                            result.add(identifyInstance);
+                        }
+                    }
+                }
+                break;
+            default:
+                tenants.values().forEach(eachItems -> eachItems.values().forEach(eachGroups -> eachGroups.values().forEach(
+                        eachGroup -> eachGroup.instances.values().stream().filter(each -> containsSegments(each.key, coarse)).forEach(result::add))));
+        }
+        return result;
+    }
+
+    private void removeInstance(String groupKey, String identify, Map<String, Map<String, V>> removed) {
+        String[] segments = split(groupKey);
+        synchronized (lockOf(groupKey)) {
+            Group<V> group = getGroup(segments);
+            Instance<V> instance = group == null ? null : group.instances.remove(identify);
+            if (instance == null) {
+                return;
+            }
+            size.addAndGet(-instance.clients.size());
+            removed.put(instance.key, instance.clients);
+            identifyIndex.computeIfPresent(identify, (k, each) -> {
+                each.remove(groupKey);
+                return each.isEmpty() ? null : each;
+            });
+            if (group.instances.isEmpty()) {
+                tenants.get(segments[2]).get(segments[1]).remove(segments[0]);
+            }
+        }
+    }
+
+    private Group<V> getGroup(String[] segments) {
+        Map<String, Map<String, Group<V>>> items = tenants.get(segments[2]);
+        Map<String, Group<V>> groups = items == null ? null : items.get(segments[1]);
+        return groups == null ? null : groups.get(segments[0]);
+    }
+
+    private Map<String, V> getClients(String[] segments) {
+        Group<V> group = getGroup(segments);
+        Instance<V> instance = group == null ? null : group.instances.get(segments[3]);
+        return instance == null ? null : instance.clients;
+    }
+
+    private Object lockOf(String groupKey) {
+        int hash = groupKey.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (LOCK_COUNT - 1)];
+    }
+
+    /**
+     * Split the key into four segments, the missing segments are empty.
+     *
+     * @param key key
+     * @return segments
+     */
+    private static String[] split(String key) {
+        String[] segments = new String[SEGMENT_COUNT];
+        int start = 0;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            if (start < 0) {
+                segments[i] = "";
+                continue;
+            }
+            int end = i < SEGMENT_COUNT - 1 ? key.indexOf(GROUP_KEY_DELIMITER, start) : -1;
+            segments[i] = end < 0 ? key.substring(start) : key.substring(start, end);
+            start = end < 0 ? -1 : end + 1;
+        }
+        return segments;
+    }
+
+    private static String groupKey(String[] segments) {
+        return segments[0] + GROUP_KEY_DELIMITER + segments[1] + GROUP_KEY_DELIMITER + segments[2];
+    }
+
+    /**
+     * Thread-pools of the same id, item and tenant.
+     */
+    private static class Group<V> {
+
+        /**
+         * tpId+itemId+tenantId
+         */
+        private final String groupKey;
+
+        /**
+         * identify -> instance
+         */
+        private final Map<String, Instance<V>> instances = new ConcurrentHashMap<>();
+
+        Group(String groupKey) {
+            this.groupKey = groupKey;
+        }
+    }
+
+    /**
+     * Thread-pool of an instance.
+     */
+    private static class Instance<V> {
+
+        /**
+         * Cache key
+         */
+        private final String key;
+
+        /**
+         * tpId+itemId+tenantId
+         */
+        private final String groupKey;
+
+        /**
+         * Instance identify
+         */
+        private final String identify;
+
+        /**
+         * client identify -> cached value
+         */
+        private final Map<String, V> clients = new ConcurrentHashMap<>();
+
+        Instance(String key, String groupKey, String identify) {
+            this.key = key;
+            this.groupKey = groupKey;
+            this.identify = identify;
+        }
+    }
+}
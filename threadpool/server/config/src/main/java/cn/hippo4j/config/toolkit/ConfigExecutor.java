@@ -18,7 +18,11 @@
 package cn.hippo4j.config.toolkit;
 
 import cn.hippo4j.common.executor.ExecutorFactory;
+import cn.hippo4j.common.executor.ThreadFactoryBuilder;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -33,6 +37,23 @@ public class ConfigExecutor {
     private static final ScheduledExecutorService LONG_POLLING_EXECUTOR = ExecutorFactory.Managed
             .newSingleScheduledExecutorService(DEFAULT_GROUP, r -> new Thread(r, "server.long.polling"));
 
+    /**
+     * Timer of long polling timeouts, a timeout only costs a slot in the wheel instead of a scheduled task
+     */
+    private static final HashedWheelTimer LONG_POLLING_TIMER = new HashedWheelTimer(
+            r -> {
+                Thread thread = new Thread(r, "server.long.polling.timer");
+                thread.setDaemon(true);
+                return thread;
+            }, 100L, TimeUnit.MILLISECONDS, 512);
+
+    /**
+     * Executor of config push, the subscriptions and changes of one subscriber are serialized by the subscriber itself
+     */
+    private static final ExecutorService CONFIG_PUSH_EXECUTOR = ExecutorFactory.Managed
+            .newFixedExecutorService(DEFAULT_GROUP, Runtime.getRuntime().availableProcessors(),
+                    ThreadFactoryBuilder.builder().prefix("server.config.push").daemon(true).build());
+
     public static void executeLongPolling(Runnable runnable) {
         LONG_POLLING_EXECUTOR.execute(runnable);
     }
@@ -44,4 +65,21 @@ public class ConfigExecutor {
     public static void scheduleLongPolling(Runnable runnable, long initialDelay, long period, TimeUnit unit) {
         LONG_POLLING_EXECUTOR.scheduleWithFixedDelay(runnable, initialDelay, period, unit);
     }
+
+    /**
+     * Run the runnable on the long polling executor after the delay,
+     * the delay is tracked by a hashed wheel timer with a precision of 100 milliseconds.
+     *
+     * @param runnable runnable
+     * @param delay    delay
+     * @param unit     time unit of delay
+     * @return timeout, can be cancelled
+     */
+    public static Timeout scheduleLongPollingTimeout(Runnable runnable, long delay, TimeUnit unit) {
+        return LONG_POLLING_TIMER.newTimeout(timeout -> executeLongPolling(runnable), delay, unit);
+    }
+
+    public static void executeConfigPush(Runnable runnable) {
+        CONFIG_PUSH_EXECUTOR.execute(runnable);
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.toolkit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static cn.hippo4j.common.constant.Constants.GROUP_KEY_DELIMITER;
+
+/**
+ * <p>Index of subscribers by the keys they subscribe to. <br />
+ * Keys are made up of url encoded segments joined by {@link cn.hippo4j.common.constant.Constants#GROUP_KEY_DELIMITER},
+ * eg: {@code tpId+itemId+tenantId+identify}. A subscriber is indexed under each key and under every prefix of the key
+ * ending at a delimiter, so the subscribers of a key or of a group key such as {@code tpId+itemId+tenantId}
+ * are found without scanning all subscribers.
+ *
+ * <p>Registering and removing a subscriber costs O(number of its keys),
+ * looking up the subscribers of a key costs O(1).
+ *
+ * @param <T> type of subscriber, compared by {@link Object#equals}
+ */
+public class SubscriptionIndex<T> {
+
+    /**
+     * Subscribers indexed by key and key prefix
+     */
+    private final Map<String, Set<T>> index = new ConcurrentHashMap<>();
+
+    /**
+     * All subscribers
+     */
+    private final Set<T> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Register the subscriber of the given keys.
+     *
+     * @param subscriber subscriber
+     * @param keys       keys subscribed to
+     */
+    public void register(T subscriber, Collection<String> keys) {
+        subscribers.add(subscriber);
+        for (String key : keys) {
+            for (String indexKey : indexKeys(key)) {
+                index.compute(indexKey, (k, each) -> {
+                    Set<T> result = each == null ? ConcurrentHashMap.newKeySet() : each;
+                    result.add(subscriber);
+                    return result;
+                });
+            }
+        }
+    }
+
+    /**
+     * Remove the subscriber of the given keys.
+     *
+     * @param subscriber subscriber
+     * @param keys       keys subscribed to, must be the same as registered
+     * @return true if the subscriber was registered
+     */
+    public boolean remove(T subscriber, Collection<String> keys) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        for (String key : keys) {
+            for (String indexKey : indexKeys(key)) {
+                index.computeIfPresent(indexKey, (k, each) -> {
+                    each.remove(subscriber);
+                    return each.isEmpty() ? null : each;
+                });
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the subscribers of the key, or of the keys starting with the given prefix and a delimiter.
+     *
+     * @param keyOrPrefix key or key prefix
+     * @return subscribers, the returned set is a live view which is weakly consistent
+     */
+    public Set<T> getSubscribers(String keyOrPrefix) {
+        Set<T> result = index.get(keyOrPrefix);
+        return result == null ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Get the number of subscribers.
+     *
+     * @return number of subscribers
+     */
+    public int size() {
+        return subscribers.size();
+    }
+
+    /**
+     * Whether the key equals to the prefix, or starts with the prefix and a delimiter.
+     *
+     * @param key    key
+     * @param prefix key or key prefix
+     * @return true if matched
+     */
+    public static boolean matches(String key, String prefix) {
+        return key.startsWith(prefix)
+                && (key.length() == prefix.length() || key.startsWith(GROUP_KEY_DELIMITER, prefix.length()));
+    }
+
+    /**
+     * Get the key itself and all its prefixes ending at a delimiter.
+     *
+     * @param key key
+     * @return keys to index
+     */
+    static List<String> indexKeys(String key) {
+        List<String> result = new ArrayList<>(4);
+        result.add(key);
+        int end = key.lastIndexOf(GROUP_KEY_DELIMITER);
+        while (end > 0) {
+            result.add(key.substring(0, end));
+            end = key.lastIndexOf(GROUP_KEY_DELIMITER, end - 1);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.cluster;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ClusterNode Test, runs a cluster of several in-process nodes.
+ */
+public class ClusterNodeTest {
+
+    private static final int NODE_COUNT = 3;
+
+    private static final String SECRET = "cluster-secret";
+
+    private final List<ClusterNode> nodes = new ArrayList<>();
+
+    private final List<RecordingListener> listeners = new ArrayList<>();
+
+    @Before
+    public void before() throws IOException {
+        List<ClusterMember> members = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++) {
+            members.add(new ClusterMember("localhost", freePort(), freePort()));
+        }
+        for (int i = 0; i < NODE_COUNT; i++) {
+            RecordingListener listener = new RecordingListener("127.0.0.1:8080_" + i);
+            ClusterNode node = new ClusterNode(members.get(i), members, SECRET, listener);
+            node.start();
+            listeners.add(listener);
+            nodes.add(node);
+        }
+        nodes.forEach(each -> Assert.assertTrue(each.isActive()));
+    }
+
+    @After
+    public void after() {
+        nodes.forEach(ClusterNode::close);
+    }
+
+    @Test
+    public void membersTest() {
+        Assert.assertEquals(NODE_COUNT, nodes.get(0).getMembers().size());
+        Assert.assertEquals(NODE_COUNT - 1, nodes.get(0).getPeers().size());
+        Assert.assertFalse(nodes.get(0).getPeers().contains(nodes.get(0).getSelf()));
+    }
+
+    @Test
+    public void broadcastConfigChangeTest() {
+        nodes.get(0).broadcast(ClusterNode.CONFIG_CHANGE, "tp1+item+tenant", null);
+        awaitTrue(() -> listeners.get(1).configChanges.size() == 1 && listeners.get(2).configChanges.size() == 1);
+        Assert.assertEquals("tp1+item+tenant", listeners.get(1).configChanges.get(0));
+        // the sender does not receive its own message
+        Assert.assertTrue(listeners.get(0).configChanges.isEmpty());
+    }
+
+    @Test
+    public void broadcastRegistryTest() {
+        nodes.get(1).broadcast(ClusterNode.REGISTER, "{\"appName\":\"app\"}");
+        nodes.get(1).broadcast(ClusterNode.REMOVE, "{\"appName\":\"app\"}");
+        awaitTrue(() -> listeners.get(0).registryChanges.size() == 2 && listeners.get(2).registryChanges.size() == 2);
+        Assert.assertTrue(listeners.get(1).registryChanges.isEmpty());
+    }
+
+    @Test
+    public void gatherTest() {
+        List<List<String>> identifyLists = nodes.get(0).gather(ClusterNode.IDENTIFY_LIST, "tp1+item+tenant");
+        List<String> identifies = new ArrayList<>();
+        identifyLists.forEach(identifies::addAll);
+        Collections.sort(identifies);
+        Assert.assertEquals(Collections.singletonList("127.0.0.1:8080_1"), identifies.subList(0, 1));
+        Assert.assertEquals(NODE_COUNT - 1, identifies.size());
+
+        List<Boolean> contains = nodes.get(0).gather(ClusterNode.CONTAINS_IDENTIFY, "127.0.0.1:8080_2");
+        Assert.assertTrue(contains.contains(Boolean.TRUE));
+        contains = nodes.get(0).gather(ClusterNode.CONTAINS_IDENTIFY, "127.0.0.1:8080_0");
+        Assert.assertFalse(contains.contains(Boolean.TRUE));
+    }
+
+    @Test
+    public void gatherInstanceContentTest() {
+        List<Map<String, String>> contents = nodes.get(0).gather(ClusterNode.INSTANCE_CONTENT, "tp1+item+tenant");
+        Assert.assertEquals(NODE_COUNT - 1, contents.size());
+        contents.forEach(each -> Assert.assertEquals(1, each.size()));
+    }
+
+    @Test
+    public void secretMismatchTest() {
+        ClusterNode intruder = new ClusterNode(nodes.get(0).getSelf(), nodes.get(0).getMembers(), "wrong-secret", new RecordingListener("intruder"));
+        intruder.broadcast(ClusterNode.CONFIG_CHANGE, "tp1+item+tenant", null);
+        Assert.assertTrue(intruder.<List<String>>gather(ClusterNode.IDENTIFY_LIST, "tp1+item+tenant").isEmpty());
+        Assert.assertTrue(listeners.get(1).configChanges.isEmpty());
+        Assert.assertTrue(listeners.get(2).configChanges.isEmpty());
+    }
+
+    @Test
+    public void peerDownTest() {
+        nodes.get(2).close();
+        nodes.get(0).broadcast(ClusterNode.CONFIG_CHANGE, "tp1+item+tenant", "127.0.0.1:8080_1");
+        awaitTrue(() -> listeners.get(1).configChanges.size() == 1);
+        List<List<String>> identifyLists = nodes.get(0).gather(ClusterNode.IDENTIFY_LIST, "tp1+item+tenant");
+        Assert.assertEquals(1, identifyLists.size());
+    }
+
+    @Test
+    public void parseMemberTest() {
+        ClusterMember member = ClusterMember.of("http://10.0.0.1:6691", 1000);
+        Assert.assertEquals("10.0.0.1", member.getHost());
+        Assert.assertEquals(6691, member.getPort());
+        Assert.assertEquals(7691, member.getClusterPort());
+        Assert.assertEquals("10.0.0.1:6691", member.getAddress());
+        Assert.assertEquals(2, ClusterService.parseMembers("10.0.0.1:6691, 10.0.0.2:6691,10.0.0.1:6691", 1000).size());
+        Assert.assertThrows(IllegalArgumentException.class, () -> ClusterMember.of("10.0.0.1", 1000));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10L));
+        }
+        Assert.assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Listener recording the messages received from peers.
+     */
+    private static class RecordingListener implements ClusterListener {
+
+        private final String identify;
+
+        private final List<String> configChanges = new CopyOnWriteArrayList<>();
+
+        private final List<String> registryChanges = new CopyOnWriteArrayList<>();
+
+        RecordingListener(String identify) {
+            this.identify = identify;
+        }
+
+        @Override
+        public void onConfigChange(String groupKey, String identify) {
+            configChanges.add(groupKey);
+        }
+
+        @Override
+        public void onContentInvalidate(String groupKey, String identify) {
+        }
+
+        @Override
+        public void replicateRegister(String instanceInfo) {
+            registryChanges.add(instanceInfo);
+        }
+
+        @Override
+        public void replicateRenew(String instanceInfo) {
+            registryChanges.add(instanceInfo);
+        }
+
+        @Override
+        public void replicateRemove(String instanceInfo) {
+            registryChanges.add(instanceInfo);
+        }
+
+        @Override
+        public List<String> getIdentifyList(String groupKey) {
+            return Collections.singletonList(identify);
+        }
+
+        @Override
+        public boolean containsIdentify(String identify) {
+            return this.identify.equals(identify);
+        }
+
+        @Override
+        public Map<String, String> getInstanceContent(String groupKey) {
+            return Collections.singletonMap(identify, "{\"tpId\":\"tp1\"}");
+        }
+    }
+}
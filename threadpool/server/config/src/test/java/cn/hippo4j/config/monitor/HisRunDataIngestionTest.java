@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.config.config.ServerBootstrapProperties;
+import cn.hippo4j.config.service.biz.HisRunDataService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link HisRunDataIngestion}
+ */
+public class HisRunDataIngestionTest {
+
+    @Test
+    public void rejectWholeReportTest() throws InterruptedException {
+        HisRunDataIngestion ingestion = new HisRunDataIngestion(properties(3, 0), Mockito.mock(HisRunDataService.class));
+        ingestion.afterPropertiesSet();
+        try {
+            ingestion.ingest(report(2));
+            Assert.assertThrows(RejectedExecutionException.class, () -> ingestion.ingest(report(2)));
+            Assert.assertEquals(2, ingestion.getStatistics().getQueueSize().intValue());
+            Assert.assertEquals(2L, ingestion.getStatistics().getAcceptedCount().longValue());
+            Assert.assertEquals(2L, ingestion.getStatistics().getRejectedCount().longValue());
+            ingestion.ingest(report(1));
+            Assert.assertEquals(3, ingestion.getStatistics().getQueueSize().intValue());
+        } finally {
+            ingestion.destroy();
+        }
+    }
+
+    @Test
+    public void writerReleaseRoomTest() throws InterruptedException {
+        HisRunDataService hisRunDataService = Mockito.mock(HisRunDataService.class);
+        HisRunDataIngestion ingestion = new HisRunDataIngestion(properties(2, 1), hisRunDataService);
+        ingestion.afterPropertiesSet();
+        try {
+            ingestion.ingest(report(2));
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (ingestion.getStatistics().getWrittenCount() < 2L && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10L);
+            }
+            Assert.assertEquals(2L, ingestion.getStatistics().getWrittenCount().longValue());
+            ingestion.ingest(report(2));
+            Assert.assertEquals(4L, ingestion.getStatistics().getAcceptedCount().longValue());
+            Mockito.verify(hisRunDataService, Mockito.atLeastOnce()).save(Mockito.any(Message.class));
+        } finally {
+            ingestion.destroy();
+        }
+    }
+
+    @Test
+    public void reportLargerThanQueueTest() throws InterruptedException {
+        HisRunDataService hisRunDataService = Mockito.mock(HisRunDataService.class);
+        HisRunDataIngestion ingestion = new HisRunDataIngestion(properties(2, 1), hisRunDataService);
+        ingestion.afterPropertiesSet();
+        try {
+            ingestion.ingest(report(5));
+            Assert.assertEquals(5L, ingestion.getStatistics().getAcceptedCount().longValue());
+            Assert.assertEquals(0L, ingestion.getStatistics().getRejectedCount().longValue());
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (ingestion.getStatistics().getWrittenCount() < 5L && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10L);
+            }
+            Assert.assertEquals(5L, ingestion.getStatistics().getWrittenCount().longValue());
+        } finally {
+            ingestion.destroy();
+        }
+    }
+
+    private static ServerBootstrapProperties properties(int queueCapacity, int writerCount) {
+        ServerBootstrapProperties properties = new ServerBootstrapProperties();
+        properties.setMonitorIngestQueueCapacity(queueCapacity);
+        properties.setMonitorIngestWriterCount(writerCount);
+        properties.setMonitorIngestBatchSize(10);
+        properties.setMonitorIngestFlushInterval(50L);
+        return properties;
+    }
+
+    private static RuntimeMessage report(int sampleCount) {
+        List<Message> samples = new ArrayList<>();
+        for (int i = 0; i < sampleCount; i++) {
+            RuntimeMessage sample = new RuntimeMessage();
+            sample.setGroupKey("tp+item+tenant+instance");
+            sample.setMessageType(MessageTypeEnum.RUNTIME);
+            samples.add(sample);
+        }
+        RuntimeMessage report = new RuntimeMessage();
+        report.setMessageType(MessageTypeEnum.RUNTIME);
+        report.setMessages(samples);
+        return report;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HisRunDataBlockCodec Test
+ */
+public class HisRunDataBlockCodecTest {
+
+    @Test
+    public void encodeAndDecodeTest() {
+        int count = 120;
+        long[] timestamps = new long[count];
+        long[][] columns = new long[3][count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = 1700000000000L + i * 5000L + random.nextInt(3);
+            columns[0][i] = 8;
+            columns[1][i] = random.nextLong();
+            columns[2][i] = i * 1000L - 60000L;
+        }
+        byte[] data = HisRunDataBlockCodec.encode(timestamps, columns, count);
+        HisRunDataBlockCodec.Decoded decoded = HisRunDataBlockCodec.decode(data);
+        Assert.assertEquals(count, decoded.count);
+        Assert.assertArrayEquals(timestamps, decoded.timestamps);
+        for (int i = 0; i < columns.length; i++) {
+            Assert.assertArrayEquals(columns[i], decoded.columns[i]);
+        }
+    }
+
+    @Test
+    public void compressRegularSamplesTest() {
+        int count = 120;
+        long[] timestamps = new long[count];
+        long[][] columns = new long[HisRunDataMetric.COUNT][count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = 1700000000000L + i * 5000L;
+            for (long[] column : columns) {
+                column[i] = 16 + i % 2;
+            }
+        }
+        byte[] data = HisRunDataBlockCodec.encode(timestamps, columns, count);
+        // about one byte per value, instead of eight
+        Assert.assertTrue(data.length < count * (HisRunDataMetric.COUNT + 1) * 2);
+    }
+
+    @Test
+    public void decodeEmptyTest() {
+        byte[] data = HisRunDataBlockCodec.encode(new long[0], new long[2][0], 0);
+        HisRunDataBlockCodec.Decoded decoded = HisRunDataBlockCodec.decode(data);
+        Assert.assertEquals(0, decoded.count);
+        Assert.assertEquals(2, decoded.columns.length);
+    }
+
+    @Test
+    public void decodeUnknownVersionTest() {
+        try {
+            HisRunDataBlockCodec.decode(new byte[]{9});
+            Assert.fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.monitor.store;
+
+import cn.hippo4j.config.monitor.store.HisRunDataSeries.Resolution;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HisRunDataSeriesBuffer Test
+ */
+public class HisRunDataSeriesBufferTest {
+
+    private static final long START_TIME = 1700000000000L - 1700000000000L % 3600000L;
+
+    @Test
+    public void appendAndQueryRawTest() {
+        HisRunDataSeriesBuffer buffer = new HisRunDataSeriesBuffer("tp+item+tenant+instance", 10, 60, 24);
+        List<HisRunDataBlock> sealed = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            buffer.append(START_TIME + i * 5000L, values(i), sealed);
+        }
+        Assert.assertEquals(2, sealed.stream().filter(each -> each.getResolution() == Resolution.RAW).count());
+        HisRunDataSeries series = buffer.query(Resolution.RAW, START_TIME, START_TIME + 24 * 5000L, false);
+        Assert.assertEquals(25, series.getSize());
+        for (int i = 0; i < 25; i++) {
+            Assert.assertEquals(START_TIME + i * 5000L, series.getTimestamps()[i]);
+            Assert.assertEquals(i, series.getValues(HisRunDataMetric.QUEUE_SIZE)[i]);
+        }
+        series = buffer.query(Resolution.RAW, START_TIME + 5000L * 8, START_TIME + 5000L * 12, false);
+        Assert.assertEquals(5, series.getSize());
+        Assert.assertEquals(START_TIME + 5000L * 8, series.getTimestamps()[0]);
+    }
+
+    @Test
+    public void outOfOrderAppendTest() {
+        HisRunDataSeriesBuffer buffer = new HisRunDataSeriesBuffer("tp+item+tenant+instance", 4, 60, 24);
+        List<HisRunDataBlock> sealed = new ArrayList<>();
+        long[] order = {0, 2, 1, 3, 5, 4, 6};
+        for (long each : order) {
+            buffer.append(START_TIME + each * 1000L, values((int) each), sealed);
+        }
+        HisRunDataSeries series = buffer.query(Resolution.RAW, START_TIME, START_TIME + 10000L, false);
+        Assert.assertEquals(order.length, series.getSize());
+        for (int i = 0; i < series.getSize(); i++) {
+            Assert.assertEquals(START_TIME + i * 1000L, series.getTimestamps()[i]);
+            Assert.assertEquals(i, series.getValues(HisRunDataMetric.QUEUE_SIZE)[i]);
+        }
+    }
+
+    @Test
+    public void rollupTest() {
+        HisRunDataSeriesBuffer buffer = new HisRunDataSeriesBuffer("tp+item+tenant+instance", 10, 2, 24);
+        List<HisRunDataBlock> sealed = new ArrayList<>();
+        // 12 samples per minute, for 5 minutes
+        for (int i = 0; i < 60; i++) {
+            buffer.append(START_TIME + i * 5000L, values(i), sealed);
+        }
+        HisRunDataSeries minutes = buffer.query(Resolution.MINUTE, START_TIME, START_TIME + 3600000L, false);
+        Assert.assertEquals(5, minutes.getSize());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(START_TIME + i * 60000L, minutes.getTimestamps()[i]);
+            // average of queue size, max of the completed task counter
+            Assert.assertEquals(i * 12 + 5, minutes.getValues(HisRunDataMetric.QUEUE_SIZE)[i]);
+            Assert.assertEquals((i * 12 + 11) * 100L, minutes.getValues(HisRunDataMetric.COMPLETED_TASK_COUNT)[i]);
+        }
+        HisRunDataSeries maxMinutes = buffer.query(Resolution.MINUTE, START_TIME, START_TIME + 3600000L, true);
+        Assert.assertEquals(11, maxMinutes.getValues(HisRunDataMetric.QUEUE_SIZE)[0]);
+        HisRunDataSeries hours = buffer.query(Resolution.HOUR, START_TIME, START_TIME + 3600000L, false);
+        Assert.assertEquals(1, hours.getSize());
+        Assert.assertEquals(29, hours.getValues(HisRunDataMetric.QUEUE_SIZE)[0]);
+    }
+
+    @Test
+    public void restoreSealedRollupTest() {
+        HisRunDataSeriesBuffer buffer = new HisRunDataSeriesBuffer("tp+item+tenant+instance", 10, 60, 24);
+        List<HisRunDataBlock> sealed = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            buffer.append(START_TIME + i * 5000L, values(i), sealed);
+        }
+        buffer.sealAll(sealed);
+        HisRunDataSeriesBuffer restored = new HisRunDataSeriesBuffer("tp+item+tenant+instance", 10, 60, 24);
+        sealed.forEach(restored::restore);
+        // the bucket of the restored block is continued by the new samples
+        for (int i = 6; i < 12; i++) {
+            restored.append(START_TIME + i * 5000L, values(i), new ArrayList<>());
+        }
+        HisRunDataSeries minutes = restored.query(Resolution.MINUTE, START_TIME, START_TIME + 60000L, false);
+        Assert.assertEquals(1, minutes.getSize());
+        Assert.assertEquals(5, minutes.getValues(HisRunDataMetric.QUEUE_SIZE)[0]);
+        Assert.assertEquals(12, restored.query(Resolution.RAW, START_TIME, START_TIME + 60000L, false).getSize());
+    }
+
+    @Test
+    public void restoreBlockWithFewerMetricsTest() {
+        int metricCount = HisRunDataMetric.REJECT_COUNT.ordinal() + 1;
+        long[] timestamps = {START_TIME, START_TIME + 5000L};
+        long[][] rawColumns = new long[metricCount][2];
+        rawColumns[HisRunDataMetric.QUEUE_SIZE.ordinal()] = new long[]{3L, 4L};
+        long[][] rollupColumns = new long[metricCount * 3 + 1][1];
+        rollupColumns[HisRunDataMetric.QUEUE_SIZE.ordinal()][0] = 3L;
+        rollupColumns[metricCount + HisRunDataMetric.QUEUE_SIZE.ordinal()][0] = 4L;
+        rollupColumns[metricCount * 2 + HisRunDataMetric.QUEUE_SIZE.ordinal()][0] = 7L;
+        rollupColumns[metricCount * 3][0] = 2L;
+        HisRunDataSeriesBuffer buffer = new HisRunDataSeriesBuffer("tp+item+tenant+instance", 10, 60, 24);
+        buffer.restore(new HisRunDataBlock(Resolution.RAW, buffer.getSeriesKey(), timestamps[0], timestamps[1], 2,
+                HisRunDataBlockCodec.encode(timestamps, rawColumns, 2)));
+        buffer.restore(new HisRunDataBlock(Resolution.MINUTE, buffer.getSeriesKey(), START_TIME, START_TIME, 1,
+                HisRunDataBlockCodec.encode(new long[]{START_TIME}, rollupColumns, 1)));
+        HisRunDataSeries raw = buffer.query(Resolution.RAW, START_TIME, START_TIME + 60000L, false);
+        Assert.assertEquals(2, raw.getSize());
+        Assert.assertEquals(4L, raw.getValues(HisRunDataMetric.QUEUE_SIZE)[1]);
+        Assert.assertEquals(0L, raw.getValues(HisRunDataMetric.EXECUTE_TIME_P99)[1]);
+        Assert.assertEquals(0L, raw.getValues(HisRunDataMetric.QUEUE_WAIT_TIME_P99)[1]);
+        HisRunDataSeries minutes = buffer.query(Resolution.MINUTE, START_TIME, START_TIME + 60000L, false);
+        Assert.assertEquals(1, minutes.getSize());
+        Assert.assertEquals(3L, minutes.getValues(HisRunDataMetric.QUEUE_SIZE)[0]);
+        Assert.assertEquals(0L, minutes.getValues(HisRunDataMetric.EXECUTE_TIME_P99)[0]);
+        HisRunDataSeries maxMinutes = buffer.query(Resolution.MINUTE, START_TIME, START_TIME + 60000L, true);
+        Assert.assertEquals(4L, maxMinutes.getValues(HisRunDataMetric.QUEUE_SIZE)[0]);
+    }
+
+    @Test
+    public void expireTest() {
+        HisRunDataSeriesBuffer buffer = new HisRunDataSeriesBuffer("tp+item+tenant+instance", 10, 60, 24);
+        List<HisRunDataBlock> sealed = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            buffer.append(START_TIME + i * 5000L, values(i), sealed);
+        }
+        Assert.assertFalse(buffer.expire(START_TIME + 5000L * 12, START_TIME - 1L, START_TIME - 1L));
+        HisRunDataSeries series = buffer.query(Resolution.RAW, START_TIME, START_TIME + 3600000L, false);
+        // the first block is expired as a whole, samples of the second block are kept until it expires
+        Assert.assertEquals(15, series.getSize());
+        Assert.assertTrue(buffer.expire(START_TIME + 3600000L, START_TIME + 3600000L, START_TIME + 7200000L));
+    }
+
+    private static long[] values(int i) {
+        long[] values = new long[HisRunDataMetric.COUNT];
+        values[HisRunDataMetric.QUEUE_SIZE.ordinal()] = i;
+        values[HisRunDataMetric.COMPLETED_TASK_COUNT.ordinal()] = i * 100L;
+        return values;
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.netty;
+
+import cn.hippo4j.auth.security.JwtTokenManager;
+import cn.hippo4j.common.push.ConfigPushCodec;
+import cn.hippo4j.common.push.ConfigPushMessage;
+import cn.hippo4j.config.toolkit.ConfigExecutor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ConfigPushService Test, with simulated clients subscribed on an in-process server.
+ */
+public class ConfigPushServiceTest {
+
+    private static final int CLIENT_COUNT = 20;
+
+    private static final String GROUP_KEY = "tp1+item+tenant";
+
+    private static final JwtTokenManager TOKEN_MANAGER = new JwtTokenManager();
+
+    private static final String ACCESS_TOKEN = TOKEN_MANAGER.createToken("client");
+
+    private static final TypeReference<ConfigPushMessage<Map<String, Object>>> MESSAGE_TYPE =
+            new TypeReference<ConfigPushMessage<Map<String, Object>>>() {
+            };
+
+    /**
+     * Md5 of the most recent config on server
+     */
+    private volatile String serverMd5 = "v1";
+
+    private ConfigPushService configPushService;
+
+    private EventLoopGroup serverGroup;
+
+    private EventLoopGroup clientGroup;
+
+    private Channel serverChannel;
+
+    private int port;
+
+    private final List<PushClient> clients = new ArrayList<>();
+
+    @Before
+    public void before() throws InterruptedException {
+        configPushService = new ConfigPushService(TOKEN_MANAGER) {
+
+            @Override
+            protected boolean isUpdateData(String key, String md5, String identify) {
+                return serverMd5.equals(md5);
+            }
+
+            @Override
+            protected String getContentMd5(String key) {
+                return serverMd5;
+            }
+
+            @Override
+            protected Object getRecentConfig(String key, String identify) {
+                Map<String, Object> config = new HashMap<>();
+                config.put("tpId", "tp1");
+                config.put("identify", identify);
+                config.put("md5", serverMd5);
+                return config;
+            }
+
+            @Override
+            protected void updateMd5(String key, String identify, String md5) {
+            }
+        };
+        serverGroup = new NioEventLoopGroup();
+        clientGroup = new NioEventLoopGroup();
+        serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(new ProtocolDetectDecoder(configPushService));
+                        ch.pipeline().addLast(new ServerHandler(null));
+                    }
+                })
+                .bind(0).sync().channel();
+        port = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    @After
+    public void after() {
+        clients.forEach(PushClient::close);
+        serverChannel.close().syncUninterruptibly();
+        clientGroup.shutdownGracefully(0L, 1L, TimeUnit.SECONDS).syncUninterruptibly();
+        serverGroup.shutdownGracefully(0L, 1L, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    public void pushToClientsTest() throws InterruptedException {
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            PushClient client = connect("127.0.0.1:8080_" + i);
+            client.subscribe("v1");
+            clients.add(client);
+        }
+        for (PushClient client : clients) {
+            ConfigPushMessage<Map<String, Object>> subscribed = client.take();
+            Assert.assertEquals(ConfigPushMessage.Type.SUBSCRIBED, subscribed.getType());
+            Assert.assertTrue(subscribed.getConfigs().isEmpty());
+        }
+        Assert.assertEquals(CLIENT_COUNT, configPushService.size());
+
+        serverMd5 = "v2";
+        configPushService.dataChange(null, GROUP_KEY);
+        for (PushClient client : clients) {
+            ConfigPushMessage<Map<String, Object>> changed = client.take();
+            Assert.assertEquals(ConfigPushMessage.Type.CHANGED, changed.getType());
+            Assert.assertEquals("v2", changed.getConfigs().get(0).get("md5"));
+            Assert.assertEquals(client.identify, changed.getConfigs().get(0).get("identify"));
+        }
+
+        // the same change is not pushed twice
+        configPushService.dataChange(null, GROUP_KEY);
+        // the change of an instance is only pushed to the instance
+        serverMd5 = "v3";
+        configPushService.dataChange(clients.get(0).identify, GROUP_KEY);
+        Assert.assertEquals("v3", clients.get(0).take().getConfigs().get(0).get("md5"));
+        for (PushClient client : clients.subList(1, CLIENT_COUNT)) {
+            Assert.assertTrue(client.messages.isEmpty());
+        }
+    }
+
+    @Test
+    public void resubscribeAfterReconnectTest() throws InterruptedException {
+        PushClient client = connect("127.0.0.1:8080_a");
+        client.subscribe("v1");
+        Assert.assertTrue(client.take().getConfigs().isEmpty());
+        client.close();
+        awaitTrue(() -> configPushService.size() == 0);
+
+        // the change made while the channel was lost is pushed on resubscription
+        serverMd5 = "v2";
+        configPushService.dataChange(null, GROUP_KEY);
+        PushClient reconnected = connect("127.0.0.1:8080_a");
+        clients.add(reconnected);
+        reconnected.subscribe("v1");
+        ConfigPushMessage<Map<String, Object>> subscribed = reconnected.take();
+        Assert.assertEquals(ConfigPushMessage.Type.SUBSCRIBED, subscribed.getType());
+        Assert.assertEquals("v2", subscribed.getConfigs().get(0).get("md5"));
+
+        // the subscription of channel is replaced
+        reconnected.subscribe(Collections.emptyMap());
+        Assert.assertTrue(reconnected.take().getConfigs().isEmpty());
+        serverMd5 = "v3";
+        configPushService.dataChange(null, GROUP_KEY);
+        Assert.assertNull(reconnected.messages.poll(200L, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void subscribeWhileLongPollingBusyTest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        ConfigExecutor.executeLongPolling(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            PushClient client = connect("127.0.0.1:8080_a");
+            clients.add(client);
+            client.subscribe("v1");
+            Assert.assertEquals(ConfigPushMessage.Type.SUBSCRIBED, client.take().getType());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void rejectInvalidAccessTokenTest() throws InterruptedException {
+        PushClient client = connect("127.0.0.1:8080_a");
+        clients.add(client);
+        client.accessToken = "invalid";
+        client.subscribe("v1");
+        Assert.assertEquals(ConfigPushMessage.Type.REJECTED, client.take().getType());
+        awaitTrue(() -> !client.channel.isActive());
+        Assert.assertEquals(0, configPushService.size());
+
+        PushClient anonymous = connect("127.0.0.1:8080_b");
+        clients.add(anonymous);
+        anonymous.accessToken = null;
+        anonymous.subscribe("v1");
+        Assert.assertEquals(ConfigPushMessage.Type.REJECTED, anonymous.take().getType());
+        Assert.assertEquals(0, configPushService.size());
+    }
+
+    @Test
+    public void heartbeatTest() throws InterruptedException {
+        PushClient client = connect("127.0.0.1:8080_a");
+        clients.add(client);
+        client.send(ConfigPushMessage.of(ConfigPushMessage.Type.HEARTBEAT));
+        Assert.assertEquals(ConfigPushMessage.Type.HEARTBEAT, client.take().getType());
+        Assert.assertEquals(0, configPushService.size());
+    }
+
+    private PushClient connect(String identify) throws InterruptedException {
+        PushClient client = new PushClient(identify);
+        client.channel = new Bootstrap()
+                .group(clientGroup)
+                .channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<SocketChannel>() {
+
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(new LengthFieldBasedFrameDecoder(1024 * 1024, 0, 4, 0, 4));
+                        ch.pipeline().addLast(new LengthFieldPrepender(4));
+                        ch.pipeline().addLast(new SimpleChannelInboundHandler<ByteBuf>() {
+
+                            @Override
+                            protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+                                client.messages.add(ConfigPushCodec.decode(ByteBufUtil.getBytes(frame), MESSAGE_TYPE));
+                            }
+                        });
+                    }
+                })
+                .connect("127.0.0.1", port).sync().channel();
+        return client;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10L));
+        }
+        Assert.assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Simulated client of config push.
+     */
+    private static class PushClient {
+
+        private final String identify;
+
+        private final BlockingQueue<ConfigPushMessage<Map<String, Object>>> messages = new LinkedBlockingQueue<>();
+
+        private Channel channel;
+
+        private String accessToken = ACCESS_TOKEN;
+
+        PushClient(String identify) {
+            this.identify = identify;
+        }
+
+        void subscribe(String md5) {
+            subscribe(Collections.singletonMap(GROUP_KEY, md5));
+        }
+
+        void subscribe(Map<String, String> md5) {
+            ConfigPushMessage<Object> message = ConfigPushMessage.of(ConfigPushMessage.Type.SUBSCRIBE);
+            message.setIdentify(identify);
+            message.setAccessToken(accessToken);
+            message.setMd5(md5);
+            send(message);
+        }
+
+        void send(ConfigPushMessage<?> message) {
+            channel.writeAndFlush(Unpooled.wrappedBuffer(ConfigPushCodec.encode(message)));
+        }
+
+        ConfigPushMessage<Map<String, Object>> take() throws InterruptedException {
+            ConfigPushMessage<Map<String, Object>> message = messages.poll(10L, TimeUnit.SECONDS);
+            Assert.assertNotNull(message);
+            return message;
+        }
+
+        void close() {
+            channel.close().syncUninterruptibly();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.netty;
+
+import cn.hippo4j.common.monitor.Message;
+import cn.hippo4j.common.monitor.MessageTypeEnum;
+import cn.hippo4j.common.monitor.RuntimeMessage;
+import cn.hippo4j.config.service.biz.HisRunDataService;
+import cn.hippo4j.server.common.base.Results;
+import cn.hippo4j.server.common.base.exception.ErrorCodeEnum;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * test for {@link ServerHandler}
+ */
+public class ServerHandlerTest {
+
+    @Test
+    public void retryInOrderWhenBusyTest() throws InterruptedException {
+        HisRunDataService hisRunDataService = Mockito.mock(HisRunDataService.class);
+        Mockito.when(hisRunDataService.dataCollect(Mockito.any(Message.class)))
+                .thenReturn(Results.failure(ErrorCodeEnum.SERVICE_BUSY), Results.success());
+        EmbeddedChannel channel = new EmbeddedChannel(new ServerHandler(hisRunDataService));
+        RuntimeMessage first = message("first");
+        RuntimeMessage second = message("second");
+        channel.writeInbound(first, second);
+        Assert.assertFalse(channel.config().isAutoRead());
+        Mockito.verify(hisRunDataService, Mockito.times(1)).dataCollect(Mockito.any(Message.class));
+        TimeUnit.MILLISECONDS.sleep(600L);
+        channel.runPendingTasks();
+        Assert.assertTrue(channel.config().isAutoRead());
+        InOrder inOrder = Mockito.inOrder(hisRunDataService);
+        // the messages are compared by identity, their group keys are not part of equals
+        inOrder.verify(hisRunDataService, Mockito.times(2)).dataCollect(Mockito.same(first));
+        inOrder.verify(hisRunDataService).dataCollect(Mockito.same(second));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void collectWhenNotBusyTest() {
+        HisRunDataService hisRunDataService = Mockito.mock(HisRunDataService.class);
+        Mockito.when(hisRunDataService.dataCollect(Mockito.any(Message.class))).thenReturn(Results.success());
+        EmbeddedChannel channel = new EmbeddedChannel(new ServerHandler(hisRunDataService));
+        channel.writeInbound(message("first"), message("second"));
+        Assert.assertTrue(channel.config().isAutoRead());
+        Mockito.verify(hisRunDataService, Mockito.times(2)).dataCollect(Mockito.any(Message.class));
+        channel.finishAndReleaseAll();
+    }
+
+    private static RuntimeMessage message(String groupKey) {
+        RuntimeMessage message = new RuntimeMessage();
+        message.setGroupKey(groupKey);
+        message.setMessageType(MessageTypeEnum.DEFAULT);
+        return message;
+    }
+}
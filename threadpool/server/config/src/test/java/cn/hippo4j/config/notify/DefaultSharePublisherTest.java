@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.notify;
+
+import cn.hippo4j.config.event.AbstractEvent;
+import cn.hippo4j.config.event.AbstractSlowEvent;
+import cn.hippo4j.config.event.ConfigMetadataChangeEvent;
+import cn.hippo4j.config.notify.listener.AbstractSubscriber;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DefaultSharePublisherTest {
+
+    @Test
+    public void assertReceiveEventBySubscribeType() {
+        DefaultSharePublisher publisher = new DefaultSharePublisher();
+        List<AbstractEvent> metadataEvents = new ArrayList<>();
+        List<AbstractEvent> otherEvents = new ArrayList<>();
+        publisher.addSubscriber(new CollectingSubscriber(metadataEvents, ConfigMetadataChangeEvent.class), ConfigMetadataChangeEvent.class);
+        publisher.addSubscriber(new CollectingSubscriber(otherEvents, OtherSlowEvent.class), OtherSlowEvent.class);
+        ConfigMetadataChangeEvent event = new ConfigMetadataChangeEvent(ConfigMetadataChangeEvent.Type.ITEM, false, "tenant", "item", null);
+        publisher.receiveEvent(event);
+        Assert.assertEquals(1, metadataEvents.size());
+        Assert.assertSame(event, metadataEvents.get(0));
+        Assert.assertTrue(otherEvents.isEmpty());
+        Assert.assertEquals(2, publisher.subscribers.size());
+    }
+
+    private static final class OtherSlowEvent extends AbstractSlowEvent {
+    }
+
+    private static final class CollectingSubscriber extends AbstractSubscriber<AbstractEvent> {
+
+        private final List<AbstractEvent> events;
+
+        private final Class<? extends AbstractEvent> subscribeType;
+
+        CollectingSubscriber(List<AbstractEvent> events, Class<? extends AbstractEvent> subscribeType) {
+            this.events = events;
+            this.subscribeType = subscribeType;
+        }
+
+        @Override
+        public void onEvent(AbstractEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public Class<? extends AbstractEvent> subscribeType() {
+            return subscribeType;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service;
+
+import cn.hippo4j.common.toolkit.Md5Util;
+import cn.hippo4j.config.model.ConfigAllInfo;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * ConfigContentCache Test
+ */
+public class ConfigContentCacheTest {
+
+    private static final String GROUP_KEY = "tp1+item+tenant";
+
+    private static final String IDENTIFY_A = "127.0.0.1:8080_a";
+
+    private static final String IDENTIFY_B = "127.0.0.1:8081_b";
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @Before
+    public void before() {
+        ConfigContentCache.clear();
+        loadCount.set(0);
+    }
+
+    @Test
+    public void getTest() {
+        ConfigContentCache.Entry entry = ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, loader(1));
+        Assert.assertEquals(Integer.valueOf(1), entry.getConfigAllInfo().getCoreSize());
+        Assert.assertEquals(Md5Util.getTpContentMd5(entry.getConfigAllInfo()), entry.getMd5());
+        Assert.assertSame(entry, ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, loader(2)));
+        Assert.assertEquals(1, loadCount.get());
+
+        // the config without instance is cached separately
+        Assert.assertEquals(Integer.valueOf(3), ConfigContentCache.get(GROUP_KEY, null, loader(3)).getConfigAllInfo().getCoreSize());
+        Assert.assertSame(ConfigContentCache.get(GROUP_KEY, "", loader(4)), ConfigContentCache.get(GROUP_KEY, null, loader(5)));
+        Assert.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void invalidateTest() {
+        ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, loader(1));
+        ConfigContentCache.get(GROUP_KEY, IDENTIFY_B, loader(1));
+        long version = ConfigContentCache.getVersion(GROUP_KEY);
+
+        ConfigContentCache.invalidate(GROUP_KEY, IDENTIFY_A);
+        Assert.assertTrue(ConfigContentCache.getVersion(GROUP_KEY) > version);
+        Assert.assertEquals(Integer.valueOf(2), ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, loader(2)).getConfigAllInfo().getCoreSize());
+        Assert.assertEquals(Integer.valueOf(1), ConfigContentCache.get(GROUP_KEY, IDENTIFY_B, loader(2)).getConfigAllInfo().getCoreSize());
+
+        ConfigContentCache.invalidate("tenant", "item", "tp1");
+        Assert.assertEquals(Integer.valueOf(3), ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, loader(3)).getConfigAllInfo().getCoreSize());
+        Assert.assertEquals(Integer.valueOf(3), ConfigContentCache.get(GROUP_KEY, IDENTIFY_B, loader(3)).getConfigAllInfo().getCoreSize());
+        Assert.assertEquals(5, loadCount.get());
+    }
+
+    @Test
+    public void evictTest() {
+        ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, loader(1));
+        ConfigContentCache.get(GROUP_KEY, IDENTIFY_B, loader(1));
+        Assert.assertEquals(2, ConfigContentCache.size());
+
+        ConfigContentCache.evict(GROUP_KEY, IDENTIFY_A);
+        Assert.assertEquals(1, ConfigContentCache.size());
+        ConfigContentCache.evict(GROUP_KEY, IDENTIFY_B);
+        Assert.assertEquals(0, ConfigContentCache.size());
+        Assert.assertEquals(Integer.valueOf(2), ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, loader(2)).getConfigAllInfo().getCoreSize());
+    }
+
+    @Test
+    public void invalidateWhileLoadingTest() {
+        // the config read before the change must not be cached
+        ConfigContentCache.Entry stale = ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, () -> {
+            ConfigAllInfo config = loader(1).get();
+            ConfigContentCache.invalidate(GROUP_KEY, null);
+            return config;
+        });
+        Assert.assertEquals(Integer.valueOf(1), stale.getConfigAllInfo().getCoreSize());
+        Assert.assertEquals(Integer.valueOf(2), ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, loader(2)).getConfigAllInfo().getCoreSize());
+    }
+
+    @Test
+    public void unrelatedChangeWhileLoadingTest() {
+        // neither the invalidation of another thread-pool nor the eviction of a removed instance discards the load
+        ConfigContentCache.get(GROUP_KEY, IDENTIFY_B, loader(1));
+        ConfigContentCache.get("tp2+item+tenant", IDENTIFY_A, loader(1));
+        ConfigContentCache.Entry entry = ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, () -> {
+            ConfigAllInfo config = loader(1).get();
+            ConfigContentCache.invalidate("tp2+item+tenant", null);
+            ConfigContentCache.evict(GROUP_KEY, IDENTIFY_B);
+            return config;
+        });
+        Assert.assertSame(entry, ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, loader(2)));
+        Assert.assertEquals(3, loadCount.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void loadFailureTest() {
+        ConfigContentCache.get(GROUP_KEY, IDENTIFY_A, () -> {
+            throw new IllegalStateException("Thread pool configuration is not defined");
+        });
+    }
+
+    private Supplier<ConfigAllInfo> loader(int coreSize) {
+        return () -> {
+            loadCount.incrementAndGet();
+            ConfigAllInfo config = new ConfigAllInfo();
+            config.setTenantId("tenant");
+            config.setItemId("item");
+            config.setTpId("tp1");
+            config.setCoreSize(coreSize);
+            config.setMaxSize(coreSize);
+            return config;
+        };
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service;
+
+import cn.hippo4j.common.model.Result;
+import cn.hippo4j.common.toolkit.GroupKey;
+import cn.hippo4j.common.toolkit.JSONUtil;
+import cn.hippo4j.common.toolkit.Md5Util;
+import cn.hippo4j.config.model.ConfigAllInfo;
+import cn.hippo4j.config.service.biz.ConfigService;
+import cn.hippo4j.core.config.ApplicationContextHolder;
+import cn.hippo4j.server.common.base.exception.ServiceException;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * test for {@link LongPollingService}
+ */
+public class LongPollingServiceTest {
+
+    private static final String IDENTIFY = "127.0.0.1:8080_a";
+
+    private static final String GROUP_KEY_A = GroupKey.getKeyTenant("long-polling-a", "item", "tenant");
+
+    private static final String GROUP_KEY_B = GroupKey.getKeyTenant("long-polling-b", "item", "tenant");
+
+    @BeforeClass
+    public static void beforeClass() {
+        ConfigAllInfo config = new ConfigAllInfo();
+        config.setTpId("long-polling-a");
+        config.setItemId("item");
+        config.setTenantId("tenant");
+        config.setCoreSize(4);
+        ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.findConfigRecentInfo("long-polling-a", "item", "tenant", IDENTIFY)).thenReturn(config);
+        Mockito.when(configService.findConfigRecentInfo("long-polling-b", "item", "tenant", IDENTIFY))
+                .thenThrow(new ServiceException("Thread pool configuration is not defined"));
+        ApplicationContext context = Mockito.mock(ApplicationContext.class);
+        Mockito.when(context.getBean(ConfigService.class)).thenReturn(configService);
+        new ApplicationContextHolder().setApplicationContext(context);
+    }
+
+    @Test
+    public void buildPlainRespStrTest() throws Exception {
+        List<String> changedGroups = Arrays.asList(GROUP_KEY_A, GROUP_KEY_B);
+        Result result = JSONUtil.parseObject(LongPollingService.buildRespStr(changedGroups, null), Result.class);
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(Md5Util.compareMd5ResultString(changedGroups), result.getData());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void buildInlineRespStrTest() throws Exception {
+        List<String> changedGroups = Arrays.asList(GROUP_KEY_A, GROUP_KEY_B);
+        Result result = JSONUtil.parseObject(LongPollingService.buildRespStr(changedGroups, IDENTIFY), Result.class);
+        Assert.assertTrue(result.isSuccess());
+        Map<String, Object> data = (Map<String, Object>) result.getData();
+        Assert.assertEquals(Md5Util.compareMd5ResultString(changedGroups), data.get("changedGroups"));
+        // the thread-pool failed to load is absent
+        List<Map<String, Object>> configs = (List<Map<String, Object>>) data.get("configs");
+        Assert.assertEquals(1, configs.size());
+        Assert.assertEquals("long-polling-a", configs.get(0).get("tpId"));
+        Assert.assertEquals(4, configs.get(0).get("coreSize"));
+    }
+}
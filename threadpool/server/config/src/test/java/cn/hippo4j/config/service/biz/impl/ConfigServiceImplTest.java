@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.service.biz.impl;
+
+import cn.hippo4j.common.model.ConfigBatchQueryInfo;
+import cn.hippo4j.common.model.ThreadPoolParameterInfo;
+import cn.hippo4j.config.mapper.ConfigInfoMapper;
+import cn.hippo4j.config.mapper.ConfigInstanceMapper;
+import cn.hippo4j.config.model.ConfigAllInfo;
+import cn.hippo4j.config.service.ConfigContentCache;
+import cn.hippo4j.config.service.biz.NotifyService;
+import cn.hippo4j.config.service.biz.OperationLogService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * test for {@link ConfigServiceImpl}
+ */
+public class ConfigServiceImplTest {
+
+    private ConfigInfoMapper configInfoMapper;
+
+    private ConfigServiceImpl configService;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        ConfigContentCache.clear();
+        configInfoMapper = Mockito.mock(ConfigInfoMapper.class);
+        configService = new ConfigServiceImpl(configInfoMapper, Mockito.mock(ConfigInstanceMapper.class), Mockito.mock(OperationLogService.class),
+                Mockito.mock(NotifyService.class), Mockito.mock(ObjectProvider.class));
+    }
+
+    @Test
+    public void findConfigRecentInfosTest() {
+        Mockito.when(configInfoMapper.selectOne(Mockito.any())).thenReturn(config("tp1"), null, config("tp3"));
+        ConfigBatchQueryInfo query = new ConfigBatchQueryInfo(null, Arrays.asList(parameter("tp1"), parameter("tp2"), parameter("tp3")));
+        List<ConfigAllInfo> configs = configService.findConfigRecentInfos(query);
+        // the thread-pool not defined is skipped
+        Assert.assertEquals(2, configs.size());
+        Assert.assertEquals("tp1", configs.get(0).getTpId());
+        Assert.assertEquals("tp3", configs.get(1).getTpId());
+    }
+
+    @Test
+    public void findConfigRecentInfosEmptyTest() {
+        Assert.assertTrue(configService.findConfigRecentInfos(new ConfigBatchQueryInfo(null, Collections.emptyList())).isEmpty());
+        Assert.assertTrue(configService.findConfigRecentInfos(new ConfigBatchQueryInfo(null, null)).isEmpty());
+        Mockito.verifyNoInteractions(configInfoMapper);
+    }
+
+    private static ThreadPoolParameterInfo parameter(String tpId) {
+        return new ThreadPoolParameterInfo().setTenantId("tenant").setItemId("item").setTpId(tpId);
+    }
+
+    private static ConfigAllInfo config(String tpId) {
+        ConfigAllInfo config = new ConfigAllInfo();
+        config.setTenantId("tenant");
+        config.setItemId("item");
+        config.setTpId(tpId);
+        config.setCoreSize(1);
+        config.setMaxSize(1);
+        return config;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.toolkit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ConfigCacheIndex Test
+ */
+public class ConfigCacheIndexTest {
+
+    private static final String IDENTIFY_A = "127.0.0.1:8080_a";
+
+    private static final String IDENTIFY_B = "127.0.0.1:8081_b";
+
+    @Test
+    public void computeIfAbsentTest() {
+        ConfigCacheIndex<String> index = new ConfigCacheIndex<>();
+        String key = "tp1+item+tenant+" + IDENTIFY_A;
+        Assert.assertNull(index.computeIfAbsent(key, IDENTIFY_A, each -> null));
+        Assert.assertEquals(0, index.size());
+        Assert.assertEquals(key, index.computeIfAbsent(key, IDENTIFY_A, each -> each));
+        Assert.assertEquals(key, index.computeIfAbsent(key, IDENTIFY_A, each -> "other"));
+        Assert.assertEquals(key, index.get(key, IDENTIFY_A));
+        Assert.assertNull(index.get(key, IDENTIFY_B));
+        Assert.assertEquals(1, index.size());
+    }
+
+    @Test
+    public void getValuesAndKeysTest() {
+        ConfigCacheIndex<String> index = newIndex();
+        Assert.assertEquals(2, index.getValues("tp1+item+tenant").size());
+        Assert.assertEquals(2, index.getKeys("tp1+item+tenant").size());
+        Assert.assertTrue(index.getKeys("tp3+item+tenant").isEmpty());
+        Map<String, String> values = index.getValues(IDENTIFY_A);
+        Assert.assertEquals(1, values.size());
+        Assert.assertTrue(index.getValues("127.0.0.1:8080").isEmpty());
+    }
+
+    @Test
+    public void removeGroupTest() {
+        ConfigCacheIndex<String> index = newIndex();
+        Assert.assertEquals(2, index.remove("tp1+item+tenant").size());
+        Assert.assertEquals(2, index.size());
+        Assert.assertTrue(index.getValues("tp1+item+tenant").isEmpty());
+    }
+
+    @Test
+    public void removeInstanceTest() {
+        ConfigCacheIndex<String> index = newIndex();
+        Assert.assertEquals(1, index.remove("tp1+item+tenant+" + IDENTIFY_A).size());
+        Assert.assertEquals(3, index.size());
+        // client close hook: itemId+tenantId+identify
+        Assert.assertEquals(1, index.remove("item+tenant+" + IDENTIFY_A).size());
+        Assert.assertEquals(2, index.size());
+        // instance eviction: identify
+        Assert.assertEquals(2, index.remove(IDENTIFY_B).size());
+        Assert.assertEquals(0, index.size());
+        Assert.assertTrue(index.remove(IDENTIFY_B).isEmpty());
+    }
+
+    @Test
+    public void removeOtherCoarseKeyTest() {
+        ConfigCacheIndex<String> index = newIndex();
+        Assert.assertEquals(2, index.remove("tp2+item").size());
+        Assert.assertEquals(2, index.size());
+    }
+
+    @Test
+    public void containsSegmentsTest() {
+        Assert.assertTrue(ConfigCacheIndex.containsSegments("a+b+c+d", "b+c"));
+        Assert.assertTrue(ConfigCacheIndex.containsSegments("a+b+c+d", "d"));
+        Assert.assertTrue(ConfigCacheIndex.containsSegments("a+bc+b+d", "b"));
+        Assert.assertFalse(ConfigCacheIndex.containsSegments("a+bc+d", "b"));
+    }
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        ConfigCacheIndex<String> index = new ConfigCacheIndex<>();
+        int threadCount = 8;
+        int keyCount = 2000;
+        AtomicInteger loadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < keyCount; i++) {
+                    String identify = "127.0.0.1:" + i;
+                    index.computeIfAbsent("tp" + (i % 10) + "+item+tenant+" + identify, identify, each -> {
+                        loadCount.incrementAndGet();
+                        return each;
+                    });
+                }
+                latch.countDown();
+            });
+        }
+        Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertEquals(keyCount, loadCount.get());
+        Assert.assertEquals(keyCount, index.size());
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            keys.addAll(index.getKeys("tp" + i + "+item+tenant"));
+        }
+        Assert.assertEquals(keyCount, keys.size());
+    }
+
+    private ConfigCacheIndex<String> newIndex() {
+        ConfigCacheIndex<String> index = new ConfigCacheIndex<>();
+        for (String tpId : new String[]{"tp1", "tp2"}) {
+            for (String identify : new String[]{IDENTIFY_A, IDENTIFY_B}) {
+                index.computeIfAbsent(tpId + "+item+tenant+" + identify, identify, each -> each);
+            }
+        }
+        return index;
+    }
+}
@@ -17,8 +17,12 @@
 
 package cn.hippo4j.config.toolkit;
 
+import io.netty.util.Timeout;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
 import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -32,6 +36,13 @@ public class ConfigExecutorTest {
         ConfigExecutor.executeLongPolling(() -> log.info(Thread.currentThread().getName()));
     }
 
+    @Test
+    public void executeConfigPushTest() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        ConfigExecutor.executeConfigPush(latch::countDown);
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
     @Test
     public void scheduleLongPollingTest() {
         ConfigExecutor.scheduleLongPolling(() -> log.info(Thread.currentThread().getName()), 5, TimeUnit.SECONDS);
@@ -41,4 +52,13 @@ public class ConfigExecutorTest {
     public void scheduleLongPollingInitialTest() {
         ConfigExecutor.scheduleLongPolling(() -> log.info(Thread.currentThread().getName()), 0, 5, TimeUnit.SECONDS);
     }
+
+    @Test
+    public void scheduleLongPollingTimeoutTest() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        ConfigExecutor.scheduleLongPollingTimeout(latch::countDown, 100, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Timeout timeout = ConfigExecutor.scheduleLongPollingTimeout(() -> log.info(Thread.currentThread().getName()), 5, TimeUnit.SECONDS);
+        Assert.assertTrue(timeout.cancel());
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.config.toolkit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SubscriptionIndex Test
+ */
+public class SubscriptionIndexTest {
+
+    @Test
+    public void registerAndRemoveTest() {
+        SubscriptionIndex<String> index = new SubscriptionIndex<>();
+        List<String> keys = Arrays.asList("tp1+item+tenant+127.0.0.1:8080_a", "tp2+item+tenant+127.0.0.1:8080_a");
+        index.register("client", keys);
+        Assert.assertEquals(1, index.size());
+        Assert.assertTrue(index.getSubscribers("tp1+item+tenant+127.0.0.1:8080_a").contains("client"));
+        Assert.assertTrue(index.getSubscribers("tp2+item+tenant").contains("client"));
+        Assert.assertTrue(index.getSubscribers("tp3+item+tenant").isEmpty());
+        Assert.assertTrue(index.remove("client", keys));
+        Assert.assertFalse(index.remove("client", keys));
+        Assert.assertEquals(0, index.size());
+        Assert.assertTrue(index.getSubscribers("tp1+item+tenant").isEmpty());
+    }
+
+    @Test
+    public void matchesTest() {
+        Assert.assertTrue(SubscriptionIndex.matches("a+b+c", "a+b+c"));
+        Assert.assertTrue(SubscriptionIndex.matches("a+b+c+d", "a+b+c"));
+        Assert.assertFalse(SubscriptionIndex.matches("a+b+cd+e", "a+b+c"));
+        Assert.assertFalse(SubscriptionIndex.matches("a+b", "a+b+c"));
+    }
+
+    @Test
+    public void prefixBoundaryTest() {
+        SubscriptionIndex<String> index = new SubscriptionIndex<>();
+        index.register("c1", Collections.singletonList("a+b+c+id"));
+        index.register("c2", Collections.singletonList("a+b+cd+id"));
+        Assert.assertEquals(Collections.singleton("c1"), new HashSet<>(index.getSubscribers("a+b+c")));
+        Assert.assertEquals(2, index.getSubscribers("a+b").size());
+    }
+
+    @Test
+    public void indexKeysTest() {
+        Assert.assertEquals(Arrays.asList("a+b+c+d", "a+b+c", "a+b", "a"), SubscriptionIndex.indexKeys("a+b+c+d"));
+        Assert.assertEquals(Collections.singletonList("a"), SubscriptionIndex.indexKeys("a"));
+    }
+
+    @Test
+    public void lookupMatchesScanTest() {
+        int poolCount = 10;
+        int subscriberCount = 200;
+        SubscriptionIndex<Integer> index = new SubscriptionIndex<>();
+        Map<Integer, List<String>> allSubs = new HashMap<>(subscriberCount);
+        for (int i = 0; i < subscriberCount; i++) {
+            List<String> keys = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                keys.add("tp" + ((i + j) % poolCount) + "+item+tenant+127.0.0.1:" + i + "_id");
+            }
+            index.register(i, keys);
+            allSubs.put(i, keys);
+        }
+        int indexedCount = 0;
+        for (int p = 0; p < poolCount; p++) {
+            String groupKey = "tp" + p + "+item+tenant";
+            Set<Integer> scanned = new HashSet<>();
+            allSubs.forEach((subscriber, keys) -> {
+                if (keys.stream().anyMatch(key -> SubscriptionIndex.matches(key, groupKey))) {
+                    scanned.add(subscriber);
+                }
+            });
+            Set<Integer> indexed = index.getSubscribers(groupKey);
+            Assert.assertEquals(scanned, indexed);
+            indexedCount += indexed.size();
+        }
+        Assert.assertEquals(subscriberCount * 3, indexedCount);
+    }
+}
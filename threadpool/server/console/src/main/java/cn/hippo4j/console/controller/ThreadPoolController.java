@@ -27,7 +27,8 @@ import cn.hippo4j.common.toolkit.UserContext;
 import cn.hippo4j.common.toolkit.http.HttpUtil;
 import cn.hippo4j.common.model.Result;
 import cn.hippo4j.server.common.base.Results;
-import cn.hippo4j.config.model.CacheItem;
+import cn.hippo4j.config.cluster.ClusterService;
+import cn.hippo4j.config.model.ConfigAllInfo;
 import cn.hippo4j.config.model.biz.threadpool.ConfigModifySaveReqDTO;
 import cn.hippo4j.config.model.biz.threadpool.ThreadPoolDelReqDTO;
 import cn.hippo4j.config.model.biz.threadpool.ThreadPoolQueryReqDTO;
@@ -44,6 +45,7 @@ import cn.hippo4j.discovery.core.Lease;
 import cn.hippo4j.server.common.base.exception.ErrorCodeEnum;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -55,6 +57,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -75,6 +78,8 @@ public class ThreadPoolController {
 
     private final ConfigModificationVerifyServiceChoose configModificationVerifyServiceChoose;
 
+    private final ObjectProvider<ClusterService> clusterService;
+
     private static final String HTTP = "http://";
 
     @PostMapping("/query/page")
@@ -105,7 +110,7 @@ public class ThreadPoolController {
         InstanceInfo holder = first.getHolder();
         String itemTenantKey = holder.getGroupKey();
         String groupKey = getGroupKey(reqDTO.getTpId(), itemTenantKey);
-        Map<String, CacheItem> content = ConfigCacheService.getContent(groupKey);
+        Map<String, ConfigAllInfo> content = getInstanceContent(groupKey);
         if (!content.isEmpty()) {
             return Results.failure(ErrorCodeEnum.SERVICE_ERROR.getCode(), "this thread pool has instances running");
         }
@@ -204,7 +209,7 @@ public class ThreadPoolController {
         InstanceInfo holder = first.getHolder();
         String itemTenantKey = holder.getGroupKey();
         String groupKey = getGroupKey(tpId, itemTenantKey);
-        Map<String, CacheItem> content = ConfigCacheService.getContent(groupKey);
+        Map<String, ConfigAllInfo> content = getInstanceContent(groupKey);
         Map<String, String> activeMap =
                 leases.stream().map(each -> each.getHolder()).filter(each -> StringUtil.isNotBlank(each.getActive()))
                         .collect(Collectors.toMap(InstanceInfo::getIdentify, InstanceInfo::getActive));
@@ -214,7 +219,7 @@ public class ThreadPoolController {
         List<ThreadPoolInstanceInfo> returnThreadPool = new ArrayList<>();
         content.forEach((key, val) -> {
             ThreadPoolInstanceInfo threadPoolInstanceInfo =
-                    BeanUtil.convert(val.getConfigAllInfo(), ThreadPoolInstanceInfo.class);
+                    BeanUtil.convert(val, ThreadPoolInstanceInfo.class);
             threadPoolInstanceInfo.setClientAddress(StringUtil.subBefore(key, Constants.IDENTIFY_SLICER_SYMBOL));
             threadPoolInstanceInfo.setActive(activeMap.get(key));
             threadPoolInstanceInfo.setIdentify(key);
@@ -223,4 +228,20 @@ public class ThreadPoolController {
         });
         return Results.success(returnThreadPool);
     }
+
+    /**
+     * Get the configs of the instances subscribing the thread-pool, gathered from all the members in cluster mode.
+     *
+     * @param groupKey tpId+itemId+tenantId
+     * @return instance identify -> most recent config
+     */
+    private Map<String, ConfigAllInfo> getInstanceContent(String groupKey) {
+        ClusterService cluster = clusterService.getIfAvailable();
+        if (cluster != null) {
+            return cluster.getClusterInstanceContent(groupKey);
+        }
+        Map<String, ConfigAllInfo> result = new LinkedHashMap<>();
+        ConfigCacheService.getContent(groupKey).forEach((key, val) -> result.put(key, val.getConfigAllInfo()));
+        return result;
+    }
 }
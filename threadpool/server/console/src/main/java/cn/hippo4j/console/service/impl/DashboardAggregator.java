@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.console.service.impl;
+
+import cn.hippo4j.config.event.AbstractEvent;
+import cn.hippo4j.config.event.ConfigMetadataChangeEvent;
+import cn.hippo4j.config.mapper.DashboardMapper;
+import cn.hippo4j.config.mapper.HisRunDataMapper;
+import cn.hippo4j.config.monitor.store.HisRunDataStore;
+import cn.hippo4j.config.notify.NotifyCenter;
+import cn.hippo4j.config.notify.listener.AbstractSubscriber;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Aggregates of the dashboard, served from memory. <br />
+ * Tenant, item and thread-pool counts are loaded by one statement, then kept up to date incrementally
+ * by {@link ConfigMetadataChangeEvent}, and reloaded after {@link #METADATA_RELOAD_MILLIS}
+ * to pick up the changes made by other server nodes.
+ * Task rankings are read from {@link HisRunDataStore}, which rolls them up from the ingest stream,
+ * and cached for {@link #RANKING_TTL_MILLIS}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardAggregator implements InitializingBean {
+
+    private static final long METADATA_RELOAD_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final long RANKING_TTL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final long RANKING_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final DashboardMapper dashboardMapper;
+
+    private final HisRunDataStore hisRunDataStore;
+
+    /**
+     * Loaded metadata, null before the first load
+     */
+    private volatile Metadata metadata;
+
+    /**
+     * Metadata view, null if the metadata changed after the view was built
+     */
+    private volatile MetadataView metadataView;
+
+    /**
+     * Cached rankings by limit
+     */
+    private final Map<Integer, Ranking> rankings = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        NotifyCenter.registerToPublisher(ConfigMetadataChangeEvent.class, NotifyCenter.SHARE_BUFFER_SIZE);
+        NotifyCenter.registerSubscriber(new AbstractSubscriber() {
+
+            @Override
+            public void onEvent(AbstractEvent event) {
+                if (event instanceof ConfigMetadataChangeEvent) {
+                    apply((ConfigMetadataChangeEvent) event);
+                }
+            }
+
+            @Override
+            public Class<? extends AbstractEvent> subscribeType() {
+                return ConfigMetadataChangeEvent.class;
+            }
+        });
+    }
+
+    /**
+     * Get the view of tenants, items and thread-pool counts.
+     *
+     * @return metadata view
+     */
+    public MetadataView getMetadataView() {
+        MetadataView view = metadataView;
+        if (view != null && System.currentTimeMillis() - view.loadTime < METADATA_RELOAD_MILLIS) {
+            return view;
+        }
+        synchronized (this) {
+            Metadata current = metadata;
+            if (current == null || System.currentTimeMillis() - current.loadTime >= METADATA_RELOAD_MILLIS) {
+                current = loadMetadata();
+                metadata = current;
+            }
+            view = new MetadataView(current);
+            metadataView = view;
+            return view;
+        }
+    }
+
+    /**
+     * Get the thread-pools with the most completed tasks in the latest ten minutes.
+     *
+     * @param limit max count of thread-pools
+     * @return rankings ordered by max completed task count descending
+     */
+    public List<HisRunDataMapper.ThreadPoolTaskRanking> getTaskRanking(int limit) {
+        long currentTime = System.currentTimeMillis();
+        Ranking ranking = rankings.get(limit);
+        if (ranking == null || currentTime - ranking.queryTime >= RANKING_TTL_MILLIS) {
+            ranking = new Ranking(currentTime, hisRunDataStore.queryTaskRanking(currentTime - RANKING_WINDOW_MILLIS, currentTime, limit));
+            rankings.put(limit, ranking);
+        }
+        return ranking.taskRankings;
+    }
+
+    private synchronized void apply(ConfigMetadataChangeEvent event) {
+        Metadata current = metadata;
+        if (current == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case TENANT:
+                if (event.isRemoved()) {
+                    current.tenants.remove(event.getTenantId());
+                } else {
+                    current.tenants.add(event.getTenantId());
+                }
+                break;
+            case ITEM:
+                if (event.isRemoved()) {
+                    current.itemTenants.remove(event.getItemId(), event.getTenantId());
+                } else {
+                    current.itemTenants.put(event.getItemId(), event.getTenantId());
+                }
+                break;
+            case THREAD_POOL:
+                if (!event.isRemoved()) {
+                    current.itemThreadPoolCounts.merge(event.getItemId(), 1, Integer::sum);
+                    current.threadPoolCount++;
+                } else if (current.itemThreadPoolCounts.containsKey(event.getItemId())) {
+                    current.itemThreadPoolCounts.computeIfPresent(event.getItemId(), (key, value) -> value > 1 ? value - 1 : null);
+                    current.threadPoolCount--;
+                }
+                break;
+            default:
+                return;
+        }
+        metadataView = null;
+    }
+
+    private Metadata loadMetadata() {
+        Metadata result = new Metadata(System.currentTimeMillis());
+        for (DashboardMapper.ConfigMetadataCount each : dashboardMapper.queryConfigMetadataCount()) {
+            switch (ConfigMetadataChangeEvent.Type.valueOf(each.getType())) {
+                case TENANT:
+                    result.tenants.add(each.getTenantId());
+                    break;
+                case ITEM:
+                    result.itemTenants.put(each.getItemId(), each.getTenantId());
+                    break;
+                default:
+                    int count = each.getThreadPoolCount() == null ? 0 : each.getThreadPoolCount();
+                    result.itemThreadPoolCounts.merge(each.getItemId(), count, Integer::sum);
+                    result.threadPoolCount += count;
+            }
+        }
+        log.debug("Dashboard metadata loaded, tenants: {}, items: {}, thread-pools: {}",
+                result.tenants.size(), result.itemTenants.size(), result.threadPoolCount);
+        return result;
+    }
+
+    /**
+     * Mutable metadata, guarded by the monitor of {@link DashboardAggregator}.
+     */
+    private static final class Metadata {
+
+        private final long loadTime;
+
+        private final Set<String> tenants = new HashSet<>();
+
+        /**
+         * itemId -> tenantId
+         */
+        private final Map<String, String> itemTenants = new HashMap<>();
+
+        /**
+         * itemId -> thread-pool count
+         */
+        private final Map<String, Integer> itemThreadPoolCounts = new HashMap<>();
+
+        private int threadPoolCount;
+
+        Metadata(long loadTime) {
+            this.loadTime = loadTime;
+        }
+    }
+
+    /**
+     * Immutable view of metadata.
+     */
+    @Getter
+    public static final class MetadataView {
+
+        private final long loadTime;
+
+        private final int tenantCount;
+
+        private final int itemCount;
+
+        private final int threadPoolCount;
+
+        /**
+         * Tenants ordered by thread-pool count descending
+         */
+        private final List<Map.Entry<String, Integer>> tenantThreadPoolCounts;
+
+        /**
+         * Items ordered by thread-pool count descending
+         */
+        private final List<Map.Entry<String, Integer>> itemThreadPoolCounts;
+
+        private MetadataView(Metadata metadata) {
+            this.loadTime = metadata.loadTime;
+            this.tenantCount = metadata.tenants.size();
+            this.itemCount = metadata.itemTenants.size();
+            this.threadPoolCount = metadata.threadPoolCount;
+            Map<String, Integer> tenantCounts = new HashMap<>();
+            metadata.tenants.forEach(each -> tenantCounts.put(each, 0));
+            Map<String, Integer> itemCounts = new HashMap<>();
+            metadata.itemTenants.forEach((itemId, tenantId) -> {
+                int count = metadata.itemThreadPoolCounts.getOrDefault(itemId, 0);
+                itemCounts.put(itemId, count);
+                tenantCounts.computeIfPresent(tenantId, (key, value) -> value + count);
+            });
+            this.tenantThreadPoolCounts = sortByCount(tenantCounts);
+            this.itemThreadPoolCounts = sortByCount(itemCounts);
+        }
+
+        private static List<Map.Entry<String, Integer>> sortByCount(Map<String, Integer> counts) {
+            List<Map.Entry<String, Integer>> result = new ArrayList<>(counts.entrySet());
+            result.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+            return Collections.unmodifiableList(result);
+        }
+    }
+
+    /**
+     * Rankings with the time queried.
+     */
+    private static final class Ranking {
+
+        private final long queryTime;
+
+        private final List<HisRunDataMapper.ThreadPoolTaskRanking> taskRankings;
+
+        Ranking(long queryTime, List<HisRunDataMapper.ThreadPoolTaskRanking> taskRankings) {
+            this.queryTime = queryTime;
+            this.taskRankings = taskRankings;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -54,6 +55,17 @@ public class BaseInstanceRegistry implements InstanceRegistry<InstanceInfo> {
 
     private final ConcurrentHashMap<String, Map<String, Lease<InstanceInfo>>> registry = new ConcurrentHashMap<>(CONTAINER_SIZE);
 
+    private final List<InstanceRegistryListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Add a listener of the changes made by clients.
+     *
+     * @param listener listener
+     */
+    public void addListener(InstanceRegistryListener listener) {
+        listeners.add(listener);
+    }
+
     @Override
     public List<Lease<InstanceInfo>> listInstance(String appName) {
         Map<String, Lease<InstanceInfo>> appNameLeaseMap = registry.get(appName);
@@ -62,6 +74,16 @@ public class BaseInstanceRegistry implements InstanceRegistry<InstanceInfo> {
 
     @Override
     public void register(InstanceInfo registrant) {
+        register(registrant, false);
+    }
+
+    /**
+     * Register.
+     *
+     * @param registrant    instance
+     * @param isReplication whether the registration is replicated from a peer
+     */
+    public void register(InstanceInfo registrant, boolean isReplication) {
         Map<String, Lease<InstanceInfo>> registerMap = registry.get(registrant.getAppName());
         if (registerMap == null) {
             ConcurrentHashMap<String, Lease<InstanceInfo>> registerNewMap = new ConcurrentHashMap<>();
@@ -88,10 +110,26 @@ public class BaseInstanceRegistry implements InstanceRegistry<InstanceInfo> {
         }
         registrant.setActionType(InstanceInfo.ActionType.ADDED);
         registrant.setLastUpdatedTimestamp();
+        if (!isReplication) {
+            for (InstanceRegistryListener each : listeners) {
+                each.onRegister(registrant);
+            }
+        }
     }
 
     @Override
     public boolean renew(InstanceInfo.InstanceRenew instanceRenew) {
+        return renew(instanceRenew, false);
+    }
+
+    /**
+     * Renew.
+     *
+     * @param instanceRenew instance renew
+     * @param isReplication whether the renewal is replicated from a peer
+     * @return false if the instance is not registered
+     */
+    public boolean renew(InstanceInfo.InstanceRenew instanceRenew, boolean isReplication) {
         String appName = instanceRenew.getAppName();
         String instanceId = instanceRenew.getInstanceId();
         Map<String, Lease<InstanceInfo>> registryMap = registry.get(appName);
@@ -103,11 +141,31 @@ public class BaseInstanceRegistry implements InstanceRegistry<InstanceInfo> {
             return false;
         }
         leaseToRenew.renew();
+        if (!isReplication && leaseToRenew.getHolder() != null) {
+            for (InstanceRegistryListener each : listeners) {
+                each.onRenew(leaseToRenew.getHolder());
+            }
+        }
         return true;
     }
 
     @Override
     public void remove(InstanceInfo info) {
+        remove(info, false);
+    }
+
+    /**
+     * Remove.
+     *
+     * @param info          instance
+     * @param isReplication whether the removal is replicated from a peer
+     */
+    public void remove(InstanceInfo info, boolean isReplication) {
+        if (!isReplication) {
+            for (InstanceRegistryListener each : listeners) {
+                each.onRemove(info);
+            }
+        }
         String appName = info.getAppName();
         String instanceId = info.getInstanceId();
         Map<String, Lease<InstanceInfo>> leaseMap = registry.get(appName);
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package cn.hippo4j.discovery.core;
+
+import cn.hippo4j.common.model.InstanceInfo;
+
+/**
+ * Listener of the changes of instance registry made by clients, the changes replicated from peers are not listened.
+ */
+public interface InstanceRegistryListener {
+
+    /**
+     * Invoked after an instance is registered.
+     *
+     * @param instanceInfo registered instance
+     */
+    void onRegister(InstanceInfo instanceInfo);
+
+    /**
+     * Invoked after the lease of an instance is renewed.
+     *
+     * @param instanceInfo renewed instance
+     */
+    void onRenew(InstanceInfo instanceInfo);
+
+    /**
+     * Invoked after an instance is removed.
+     *
+     * @param instanceInfo removed instance, only the app name and instance id are required
+     */
+    void onRemove(InstanceInfo instanceInfo);
+}